@@ -22,6 +22,7 @@ import org.eclipse.che.ide.api.parts.PartStackType;
 import org.eclipse.che.ide.api.parts.WorkspaceAgent;
 import org.eclipse.che.ide.ext.runner.client.actions.ChooseRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.actions.RunAction;
+import org.eclipse.che.ide.ext.runner.client.actions.RunMatrixAction;
 import org.eclipse.che.ide.ext.runner.client.actions.RunWithAction;
 import org.eclipse.che.ide.ext.runner.client.constants.ActionId;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
@@ -62,7 +63,8 @@ public class RunnerExtension {
     public void setUpRunActions(ActionManager actionManager,
                                 RunAction runAction,
                                 RunWithAction runWithAction,
-                                ChooseRunnerAction chooseRunner) {
+                                ChooseRunnerAction chooseRunner,
+                                RunMatrixAction runMatrixAction) {
 
         //add actions in main toolbar
         DefaultActionGroup runToolbarGroup = (DefaultActionGroup)actionManager.getAction(GROUP_RUN_TOOLBAR);
@@ -76,6 +78,7 @@ public class RunnerExtension {
         actionManager.registerAction(ActionId.CHOOSE_RUNNER_ID.getId(), chooseRunner);
         actionManager.registerAction(ActionId.RUN_APP_ID.getId(), runAction);
         actionManager.registerAction(ActionId.RUN_WITH.getId(), runWithAction);
+        actionManager.registerAction(ActionId.RUN_MATRIX.getId(), runMatrixAction);
 
         // add actions in context menu
         DefaultActionGroup contextMenuGroup = (DefaultActionGroup)actionManager.getAction(GROUP_MAIN_CONTEXT_MENU);
@@ -90,6 +93,7 @@ public class RunnerExtension {
         DefaultActionGroup runMenuActionGroup = (DefaultActionGroup)actionManager.getAction(GROUP_RUN);
         runMenuActionGroup.add(runAction, FIRST);
         runMenuActionGroup.add(runWithAction, new Constraints(Anchor.AFTER, ActionId.RUN_APP_ID.getId()));
+        runMenuActionGroup.add(runMatrixAction, new Constraints(Anchor.AFTER, ActionId.RUN_WITH.getId()));
     }
 
 }
\ No newline at end of file
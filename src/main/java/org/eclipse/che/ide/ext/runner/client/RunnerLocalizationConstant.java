@@ -77,6 +77,9 @@ public interface RunnerLocalizationConstant extends Messages {
     @Key("action.project.running.now")
     String projectRunningNow(@Nonnull String project);
 
+    @Key("action.project.running.processes")
+    String projectRunningProcesses(@Nonnegative int count, @Nonnull String project);
+
     @Key("titles.warning")
     String titlesWarning();
 
@@ -141,6 +144,36 @@ public interface RunnerLocalizationConstant extends Messages {
     @Key("tooltip.body.ram")
     String tooltipBodyRam();
 
+    @Key("tooltip.body.output.rate")
+    String tooltipBodyOutputRate();
+
+    @Key("tooltip.body.total.lines")
+    String tooltipBodyTotalLines();
+
+    @Key("tooltip.body.reorder.depth")
+    String tooltipBodyReorderDepth();
+
+    @Key("tooltip.body.gaps")
+    String tooltipBodyGaps();
+
+    @Key("tooltip.body.render.latency")
+    String tooltipBodyRenderLatency();
+
+    @Key("tooltip.body.launch.resources")
+    String tooltipBodyLaunchResources();
+
+    @Key("tooltip.body.launch.request")
+    String tooltipBodyLaunchRequest();
+
+    @Key("tooltip.body.launch.build")
+    String tooltipBodyLaunchBuild();
+
+    @Key("tooltip.body.launch.boot")
+    String tooltipBodyLaunchBoot();
+
+    @Key("tooltip.body.launch.percentiles")
+    String tooltipBodyLaunchPercentiles();
+
     @Key("runner.tab.history")
     String runnerTabHistory();
 
@@ -227,6 +260,30 @@ public interface RunnerLocalizationConstant extends Messages {
     @Key("console.tooltip.wraptext")
     String consoleTooltipWraptext();
 
+    @Key("console.search.placeholder")
+    String consoleSearchPlaceholder();
+
+    @Key("console.search.errors.only")
+    String consoleSearchErrorsOnly();
+
+    @Key("console.search.previous")
+    String consoleSearchPrevious();
+
+    @Key("console.search.next")
+    String consoleSearchNext();
+
+    @Key("console.search.matches")
+    String consoleSearchMatches(@Nonnegative int current, @Nonnegative int total);
+
+    @Key("console.loading.progress")
+    String consoleLoadingProgress(@Nonnegative int percent);
+
+    @Key("console.loading.cancelled")
+    String consoleLoadingCancelled();
+
+    @Key("console.lines.suppressed")
+    String consoleLinesSuppressed(@Nonnegative int count);
+
     @Key("properties.button.create")
     String propertiesButtonCreate();
 
@@ -244,4 +301,55 @@ public interface RunnerLocalizationConstant extends Messages {
 
     @Key("message.runner.shutting.down")
     String messageRunnerShuttingDown();
+
+    @Key("message.build.skipped")
+    String messageBuildSkipped();
+
+    @Key("message.build.skipped.time")
+    String messageBuildSkippedTime(@Nonnegative long buildTime);
+
+    @Key("action.run.matrix")
+    String actionRunMatrix();
+
+    @Key("action.run.matrix.description")
+    String actionRunMatrixDescription();
+
+    @Key("matrix.summary.title")
+    String matrixSummaryTitle();
+
+    @Key("matrix.summary.environment")
+    String matrixSummaryEnvironment();
+
+    @Key("matrix.summary.memory")
+    String matrixSummaryMemory();
+
+    @Key("matrix.summary.status")
+    String matrixSummaryStatus();
+
+    @Key("matrix.summary.boot")
+    String matrixSummaryBoot();
+
+    @Key("matrix.status.skipped")
+    String matrixStatusSkipped();
+
+    @Key("matrix.status.ready")
+    String matrixStatusReady();
+
+    @Key("matrix.status.running")
+    String matrixStatusRunning();
+
+    @Key("matrix.status.failed")
+    String matrixStatusFailed();
+
+    @Key("matrix.status.stopped")
+    String matrixStatusStopped();
+
+    @Key("matrix.status.timeout")
+    String matrixStatusTimeout();
+
+    @Key("matrix.status.unfinished")
+    String matrixStatusUnfinished();
+
+    @Key("matrix.no.environments")
+    String matrixNoEnvironments();
 }
\ No newline at end of file
@@ -132,6 +132,10 @@ public interface RunnerResources extends ClientBundle {
 
         String wrappedText();
 
+        String virtualizedConsole();
+
+        String searchMatch();
+
         String runnersAction();
 
         String runnerFontStyle();
@@ -127,6 +127,12 @@ public class ChooseRunnerAction extends AbstractRunnerActions implements CustomC
         selectDefaultRunner();
     }
 
+    /** @return environments which are described in the current project. */
+    @Nonnull
+    public List<Environment> getProjectEnvironments() {
+        return new LinkedList<>(projectRunners);
+    }
+
     /** @return selected environment. */
     @Nullable
     public Environment selectEnvironment() {
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.actions;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+import org.eclipse.che.ide.api.action.ActionEvent;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.app.CurrentProject;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.matrix.MatrixEntry;
+import org.eclipse.che.ide.ext.runner.client.matrix.MatrixLaunch;
+import org.eclipse.che.ide.ext.runner.client.models.Environment;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.properties.panel.common.RAM.MB_512;
+
+/**
+ * Action which launches the current project on all project environments as a run matrix. Memory sizes of the matrix are read from
+ * the project attribute {@code runner:matrixRam} (comma separated values in MB), the number of runners which are launched at the
+ * same time is read from the project attribute {@code runner:matrixConcurrency}.
+ *
+ * @author Andrey Plotnikov
+ */
+public class RunMatrixAction extends AbstractRunnerActions {
+
+    public static final String MATRIX_RAM_ATTRIBUTE         = "runner:matrixRam";
+    public static final String MATRIX_CONCURRENCY_ATTRIBUTE = "runner:matrixConcurrency";
+    public static final int    DEFAULT_CONCURRENCY          = 2;
+
+    private final ChooseRunnerAction         chooseRunnerAction;
+    private final Provider<MatrixLaunch>     matrixLaunchProvider;
+    private final NotificationManager        notificationManager;
+    private final AppContext                 appContext;
+    private final RunnerLocalizationConstant locale;
+
+    @Inject
+    public RunMatrixAction(ChooseRunnerAction chooseRunnerAction,
+                           Provider<MatrixLaunch> matrixLaunchProvider,
+                           NotificationManager notificationManager,
+                           RunnerLocalizationConstant locale,
+                           AppContext appContext) {
+        super(appContext, locale.actionRunMatrix(), locale.actionRunMatrixDescription(), null);
+
+        this.chooseRunnerAction = chooseRunnerAction;
+        this.matrixLaunchProvider = matrixLaunchProvider;
+        this.notificationManager = notificationManager;
+        this.appContext = appContext;
+        this.locale = locale;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        CurrentProject currentProject = appContext.getCurrentProject();
+        if (currentProject == null) {
+            return;
+        }
+
+        List<Environment> environments = chooseRunnerAction.getProjectEnvironments();
+        if (environments.isEmpty()) {
+            notificationManager.showError(locale.matrixNoEnvironments());
+            return;
+        }
+
+        List<Integer> memorySizes = parseValues(currentProject.getAttributeValue(MATRIX_RAM_ATTRIBUTE));
+        List<Integer> concurrency = parseValues(currentProject.getAttributeValue(MATRIX_CONCURRENCY_ATTRIBUTE));
+
+        List<MatrixEntry> matrix = new ArrayList<>();
+
+        for (Environment environment : environments) {
+            if (!memorySizes.isEmpty()) {
+                for (int ram : memorySizes) {
+                    matrix.add(new MatrixEntry(environment, ram));
+                }
+
+                continue;
+            }
+
+            int ram = environment.getRam();
+            matrix.add(new MatrixEntry(environment, ram > 0 ? ram : MB_512.getValue()));
+        }
+
+        matrixLaunchProvider.get().launch(matrix, concurrency.isEmpty() ? DEFAULT_CONCURRENCY : concurrency.get(0));
+    }
+
+    @Nonnull
+    private List<Integer> parseValues(@Nullable String attributeValue) {
+        List<Integer> values = new ArrayList<>();
+
+        if (attributeValue == null) {
+            return values;
+        }
+
+        for (String value : attributeValue.split(",")) {
+            try {
+                int number = Integer.parseInt(value.trim());
+
+                if (number > 0) {
+                    values.add(number);
+                }
+            } catch (NumberFormatException exception) {
+                // ignore wrong values of the attribute
+            }
+        }
+
+        return values;
+    }
+}
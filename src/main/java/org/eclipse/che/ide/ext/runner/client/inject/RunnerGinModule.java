@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.inject;
 
+import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.inject.client.AbstractGinModule;
 import com.google.gwt.inject.client.assistedinject.GinFactoryModuleBuilder;
 import com.google.inject.Provides;
@@ -29,10 +30,12 @@ import org.eclipse.che.ide.ext.runner.client.models.Environment;
 import org.eclipse.che.ide.ext.runner.client.models.EnvironmentImpl;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.models.RunnerImpl;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.ReadinessProber;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.button.ConsoleButton;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.button.ConsoleButtonImpl;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Console;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.ConsoleImpl;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.LogBufferManager;
 import org.eclipse.che.ide.ext.runner.client.tabs.container.TabContainer;
 import org.eclipse.che.ide.ext.runner.client.tabs.container.TabContainerPresenter;
 import org.eclipse.che.ide.ext.runner.client.tabs.container.tab.TabWidget;
@@ -95,4 +98,59 @@ public class RunnerGinModule extends AbstractGinModule {
     protected String provideEnvironmentsFolderRelPath() {
         return ".codenvy/runners/environments";
     }
+
+    /** Provides scheduler which is used for deferred rendering of console output. */
+    @Provides
+    @Singleton
+    protected Scheduler provideScheduler() {
+        return Scheduler.get();
+    }
+
+    /** Provides amount of lines per second above which the console renders printed lines once a second. */
+    @Provides
+    @Named(ConsoleImpl.OVERLOAD_THRESHOLD)
+    @Singleton
+    protected int provideConsoleOverloadThreshold() {
+        return 5_000;
+    }
+
+    /** Provides delay in milliseconds before the first request to a started application. */
+    @Provides
+    @Named(ReadinessProber.INITIAL_PROBE_DELAY)
+    @Singleton
+    protected int provideInitialProbeDelay() {
+        return 250;
+    }
+
+    /** Provides maximum delay in milliseconds between requests to a started application. */
+    @Provides
+    @Named(ReadinessProber.MAX_PROBE_DELAY)
+    @Singleton
+    protected int provideMaxProbeDelay() {
+        return 5_000;
+    }
+
+    /** Provides maximum amount of requests to a started application. */
+    @Provides
+    @Named(ReadinessProber.MAX_PROBE_ATTEMPTS)
+    @Singleton
+    protected int provideMaxProbeAttempts() {
+        return 20;
+    }
+
+    /** Provides maximum amount of memory in bytes which can be taken by console output of one runner. */
+    @Provides
+    @Named(LogBufferManager.RUNNER_LOG_BUDGET)
+    @Singleton
+    protected int provideRunnerLogBudget() {
+        return 10 * 1024 * 1024;
+    }
+
+    /** Provides maximum amount of memory in bytes which can be taken by console output of all runners of the workspace. */
+    @Provides
+    @Named(LogBufferManager.WORKSPACE_LOG_BUDGET)
+    @Singleton
+    protected int provideWorkspaceLogBudget() {
+        return 50 * 1024 * 1024;
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.eclipse.che.ide.ext.runner.client.runneractions.impl.CheckRamAndRunAc
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetLogsAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetRunningProcessesAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.StopAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.AttachAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.LaunchAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.CheckHealthStatusAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.OutputAction;
@@ -60,6 +61,10 @@ public interface RunnerActionFactory {
     @Nonnull
     LaunchAction createLaunch();
 
+    /** @return an instance of {@link org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.AttachAction} */
+    @Nonnull
+    AttachAction createAttach();
+
     /** @return an instance of {@link org.eclipse.che.ide.ext.runner.client.runneractions.impl.CheckRamAndRunAction} */
     @Nonnull
     CheckRamAndRunAction createCheckRamAndRun();
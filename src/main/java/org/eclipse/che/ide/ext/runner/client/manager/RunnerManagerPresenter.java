@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.manager;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.resources.client.ImageResource;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
@@ -39,6 +41,7 @@ import org.eclipse.che.ide.ext.runner.client.runneractions.impl.CheckRamAndRunAc
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetRunningProcessesAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.StopAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.environments.GetSystemEnvironmentsAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.AttachAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.LaunchAction;
 import org.eclipse.che.ide.ext.runner.client.selection.Selection;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
@@ -93,6 +96,9 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
                                                                      SelectionManager.SelectionChangeListener {
     public static final String TIMER_STUB = "--:--:--";
 
+    private static final String SKIP_BUILD_ATTRIBUTE      = "runner:skipBuild";
+    private static final String AUTO_SKIP_BUILD_ATTRIBUTE = "runner:autoSkipBuild";
+
     private final RunnerManagerView           view;
     private final DtoFactory                  dtoFactory;
     private final AppContext                  appContext;
@@ -113,11 +119,15 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
     private final RunnerCounter               runnerCounter;
     private final Set<Long>                   runnersId;
     private final RunnerUtil                  runnerUtil;
+    private final Scheduler                   scheduler;
+    private final ScheduledCommand            attachCommand;
+    private final SourceChangesTracker        changesTracker;
 
     private GetRunningProcessesAction getRunningProcessAction;
 
     private Runner      selectedRunner;
     private Environment selectedEnvironment;
+    private boolean     isAttachScheduled;
 
     @Inject
     public RunnerManagerPresenter(final RunnerManagerView view,
@@ -140,7 +150,9 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
                                   SelectionManager selectionManager,
                                   TimerFactory timerFactory,
                                   GetSystemEnvironmentsAction getSystemEnvironmentsAction,
-                                  RunnerUtil runnerUtil) {
+                                  RunnerUtil runnerUtil,
+                                  Scheduler scheduler,
+                                  SourceChangesTracker changesTracker) {
         this.view = view;
         this.view.setDelegate(this);
         this.locale = locale;
@@ -151,6 +163,8 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         this.runnerCounter = runnerCounter;
         this.getSystemEnvironmentsAction = getSystemEnvironmentsAction;
         this.runnerUtil = runnerUtil;
+        this.scheduler = scheduler;
+        this.changesTracker = changesTracker;
 
         this.selectionManager = selectionManager;
         this.selectionManager.addListener(this);
@@ -177,6 +191,13 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
             }
         });
 
+        this.attachCommand = new ScheduledCommand() {
+            @Override
+            public void execute() {
+                attachSelectedRunner();
+            }
+        };
+
         eventBus.addHandler(ProjectActionEvent.TYPE, this);
         runnersId = new HashSet<>();
 
@@ -380,8 +401,10 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
     public void onRerunButtonClicked() {
         selectedRunner.setStatus(IN_QUEUE);
 
+        skipBuildIfSourcesAreNotChanged(selectedRunner);
+
         RunnerAction runnerAction = runnerActions.get(selectedRunner);
-        if (runnerAction == null || runnerAction instanceof LaunchAction) {
+        if (runnerAction == null || runnerAction instanceof LaunchAction || runnerAction instanceof AttachAction) {
             //Create new CheckRamAndRunAction and update selected runner
             launchRunner(selectedRunner);
         } else {
@@ -392,6 +415,28 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         }
     }
 
+    private void skipBuildIfSourcesAreNotChanged(@Nonnull Runner runner) {
+        CurrentProject currentProject = appContext.getCurrentProject();
+        boolean isSkipBuildRequired = currentProject != null && Boolean.valueOf(currentProject.getAttributeValue(SKIP_BUILD_ATTRIBUTE));
+        // not all changes of sources are tracked, so the build is skipped automatically only when the project allows it
+        boolean isAutoSkipBuildEnabled =
+                currentProject != null && Boolean.valueOf(currentProject.getAttributeValue(AUTO_SKIP_BUILD_ATTRIBUTE));
+
+        boolean isBuildUpToDate = isAutoSkipBuildEnabled && changesTracker.isBuildUpToDate(runner);
+
+        changesTracker.onLaunchStarted(runner, isBuildUpToDate);
+
+        runner.getOptions().withSkipBuild(isSkipBuildRequired || isBuildUpToDate);
+
+        if (!isBuildUpToDate) {
+            return;
+        }
+
+        long buildTime = changesTracker.getSavedBuildTime(runner);
+
+        consoleContainer.printInfo(runner, buildTime < 0 ? locale.messageBuildSkipped() : locale.messageBuildSkippedTime(buildTime));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void onStopButtonClicked() {
@@ -440,24 +485,31 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         }
 
         RunOptions runOptions = dtoFactory.createDto(RunOptions.class)
-                                          .withSkipBuild(Boolean.valueOf(currentProject.getAttributeValue("runner:skipBuild")))
+                                          .withSkipBuild(Boolean.valueOf(currentProject.getAttributeValue(SKIP_BUILD_ATTRIBUTE)))
                                           .withMemorySize(MB_512.getValue());
 
-        return launchRunner(modelsFactory.createRunner(runOptions));
+        return launchNewRunner(modelsFactory.createRunner(runOptions));
     }
 
     /** {@inheritDoc} */
     @Nonnull
     @Override
     public Runner launchRunner(@Nonnull RunOptions runOptions) {
-        return launchRunner(modelsFactory.createRunner(runOptions));
+        return launchNewRunner(modelsFactory.createRunner(runOptions));
     }
 
     /** {@inheritDoc} */
     @Override
     @Nonnull
     public Runner launchRunner(@Nonnull RunOptions runOptions, @Nonnull String environmentName) {
-        return launchRunner(modelsFactory.createRunner(runOptions, environmentName));
+        return launchNewRunner(modelsFactory.createRunner(runOptions, environmentName));
+    }
+
+    @Nonnull
+    private Runner launchNewRunner(@Nonnull Runner runner) {
+        changesTracker.onLaunchStarted(runner, false);
+
+        return launchRunner(runner);
     }
 
     @Nonnull
@@ -565,7 +617,13 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         view.setTimeout(TIMER_STUB);
 
         history.clear();
+
+        for (RunnerAction runnerAction : runnerActions.values()) {
+            runnerAction.stop();
+        }
         runnerActions.clear();
+        runnersId.clear();
+        changesTracker.clear();
 
         runnerCounter.reset();
         terminalContainer.reset();
@@ -577,7 +635,8 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
     }
 
     /**
-     * Adds already running runner.
+     * Adds already running runner. Only the status of the runner is tracked until the runner is selected: the log and the output of the
+     * runner are attached when the runner is selected for the first time.
      *
      * @param processDescriptor
      *         The descriptor of new runner
@@ -594,22 +653,48 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         runner.setStatus(Runner.Status.DONE);
         runner.resetCreationTime();
 
+        AttachAction attachAction = actionFactory.createAttach();
+        runnerActions.put(runner, attachAction);
+
         history.addRunner(runner);
 
         onSelectionChanged(RUNNER);
 
         runnerTimer.schedule(ONE_SEC.getValue());
 
-        LaunchAction launchAction = actionFactory.createLaunch();
-        runnerActions.put(runner, launchAction);
-
-        launchAction.perform(runner);
+        attachAction.perform(runner);
 
         selectHistoryTab();
 
         return runner;
     }
 
+    /**
+     * Stops tracking of a runner which process was finished while the runner was restored from the cache of running processes. The
+     * console of the runner is removed to release memory of its lines.
+     *
+     * @param processId
+     *         process id of the runner
+     * @param status
+     *         final status of the runner
+     */
+    public void finishRunner(long processId, @Nonnull Runner.Status status) {
+        for (Map.Entry<Runner, RunnerAction> entry : runnerActions.entrySet()) {
+            Runner runner = entry.getKey();
+
+            if (runner.getDescriptor() != null && runner.getProcessId() == processId) {
+                entry.getValue().stop();
+
+                runner.setStatus(status);
+                update(runner);
+
+                consoleContainer.removeConsole(runner);
+
+                return;
+            }
+        }
+    }
+
     /**
      * Adds id of new running runner.
      *
@@ -653,6 +738,22 @@ public class RunnerManagerPresenter extends BasePresenter implements RunnerManag
         update(selectedRunner);
 
         updateRunnerTimer();
+
+        RunnerAction runnerAction = runnerActions.get(selectedRunner);
+        if (runnerAction instanceof AttachAction && !((AttachAction)runnerAction).isOutputAttached() && !isAttachScheduled) {
+            // runners are selected one by one while they are added, so only the runner which stays selected is attached
+            isAttachScheduled = true;
+            scheduler.scheduleDeferred(attachCommand);
+        }
+    }
+
+    private void attachSelectedRunner() {
+        isAttachScheduled = false;
+
+        RunnerAction runnerAction = selectedRunner == null ? null : runnerActions.get(selectedRunner);
+        if (runnerAction instanceof AttachAction) {
+            ((AttachAction)runnerAction).attachOutput();
+        }
     }
 
     private void environmentSelected() {
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.ide.api.event.FileEvent;
+import org.eclipse.che.ide.api.event.FileEventHandler;
+import org.eclipse.che.ide.api.event.RefreshProjectTreeEvent;
+import org.eclipse.che.ide.api.event.RefreshProjectTreeHandler;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.eclipse.che.ide.api.event.FileEvent.FileOperation.SAVE;
+
+/**
+ * Tracks modifications of project files since launches of runners. Every saving of a file in the editor and every refreshing of the
+ * project tree (e.g. after changes which were made outside of the editor) is a modification. The build of a runner is up to date
+ * when the build phase of its latest launch was finished and no files were modified since the launch was started, so the runner can
+ * be launched again without building of the project.
+ * <p/>
+ * Changes which were made on the server side and weren't followed by refreshing of the project tree aren't tracked, so the build
+ * is skipped automatically only when the project allows it.
+ *
+ * @author Andrey Plotnikov
+ */
+@Singleton
+public class SourceChangesTracker implements FileEventHandler, RefreshProjectTreeHandler {
+
+    private final RunnerMetrics        runnerMetrics;
+    private final Map<Runner, Integer> launchModifications;
+    private final Map<Runner, Long>    buildTimes;
+    private final Set<Runner>          skippedBuilds;
+
+    /**
+     * Modifications aren't bound to projects, so a modification of any project makes builds of all runners out of date. It can
+     * only cause an extra build.
+     */
+    private int modifications;
+
+    @Inject
+    public SourceChangesTracker(EventBus eventBus, RunnerMetrics runnerMetrics) {
+        this.runnerMetrics = runnerMetrics;
+
+        this.launchModifications = new HashMap<>();
+        this.buildTimes = new HashMap<>();
+        this.skippedBuilds = new HashSet<>();
+
+        eventBus.addHandler(FileEvent.TYPE, this);
+        eventBus.addHandler(RefreshProjectTreeEvent.TYPE, this);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onFileOperation(FileEvent event) {
+        if (event.getOperationType() == SAVE) {
+            modifications++;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onRefresh(RefreshProjectTreeEvent event) {
+        modifications++;
+    }
+
+    /**
+     * Checks whether the build of the latest launch of a given runner can be reused.
+     *
+     * @param runner
+     *         runner which needs to be checked
+     * @return <code>true</code> when the build phase of the latest launch was finished and no files were modified since the launch
+     * was started, <code>false</code> otherwise
+     */
+    public boolean isBuildUpToDate(@Nonnull Runner runner) {
+        Integer launchModification = launchModifications.get(runner);
+        LaunchTrace trace = runnerMetrics.getLaunchTrace(runner);
+
+        return launchModification != null
+               && launchModification == modifications
+               && trace != null
+               && trace.isFinished(LaunchPhase.BUILD);
+    }
+
+    /**
+     * Registers the start of a launch of a given runner. The time of the latest real build is kept when the launch skips the build,
+     * so the method has to be called before the launch trace of the runner is replaced.
+     *
+     * @param runner
+     *         runner which is launched
+     * @param skipBuild
+     *         <code>true</code> when the launch reuses the build of the previous launch
+     */
+    public void onLaunchStarted(@Nonnull Runner runner, boolean skipBuild) {
+        launchModifications.put(runner, modifications);
+
+        if (!skipBuild) {
+            skippedBuilds.remove(runner);
+            buildTimes.remove(runner);
+            return;
+        }
+
+        if (skippedBuilds.add(runner)) {
+            LaunchTrace trace = runnerMetrics.getLaunchTrace(runner);
+
+            buildTimes.put(runner, trace == null ? -1 : trace.getDuration(LaunchPhase.BUILD));
+        }
+    }
+
+    /**
+     * Returns the time which is saved by launching of a given runner without building of the project.
+     *
+     * @param runner
+     *         runner which time needs to be returned
+     * @return duration of the latest real build in milliseconds or <code>-1</code> if it is unknown
+     */
+    public long getSavedBuildTime(@Nonnull Runner runner) {
+        Long buildTime = buildTimes.get(runner);
+
+        return buildTime == null ? -1 : buildTime;
+    }
+
+    /** Removes all information about launches of runners. */
+    public void clear() {
+        launchModifications.clear();
+        buildTimes.clear();
+        skippedBuilds.clear();
+    }
+
+}
@@ -13,24 +13,36 @@ package org.eclipse.che.ide.ext.runner.client.manager.info;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
+import com.google.gwt.dom.client.Style;
 import com.google.gwt.user.client.ui.Composite;
+import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.RunnerResources;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchStatistics;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.RenderMetrics;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import static org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter.TIMER_STUB;
 
 /**
- * Class provides view representation of panel which contains additional information about runner.
+ * Class provides view representation of panel which contains additional information about runner. Besides the time and the memory of the
+ * runner, the panel shows metrics of the runner output, so it is possible to tell a slow application apart from a slow output pipeline.
+ * The launch of the runner is shown as a waterfall of its phases with percentiles of launch times of the environment.
  *
  * @author Dmitry Shnurenko
  * @author Valeriy Svydenko
+ * @author Andrey Plotnikov
  */
 public class MoreInfoImpl extends Composite implements MoreInfo {
 
@@ -39,6 +51,8 @@ public class MoreInfoImpl extends Composite implements MoreInfo {
 
     private static final MoreInfoPopupImplUiBinder UI_BINDER = GWT.create(MoreInfoPopupImplUiBinder.class);
 
+    private static final String METRIC_STUB = "-";
+
     @UiField
     Label started;
     @UiField
@@ -49,16 +63,47 @@ public class MoreInfoImpl extends Composite implements MoreInfo {
     Label activeTime;
     @UiField
     Label ram;
+    @UiField
+    Label outputRate;
+    @UiField
+    Label totalLines;
+    @UiField
+    Label reorderDepth;
+    @UiField
+    Label gaps;
+    @UiField
+    Label renderLatency;
+    @UiField
+    FlowPanel resourcesBar;
+    @UiField
+    Label resourcesTime;
+    @UiField
+    FlowPanel requestBar;
+    @UiField
+    Label requestTime;
+    @UiField
+    FlowPanel buildBar;
+    @UiField
+    Label buildTime;
+    @UiField
+    FlowPanel bootBar;
+    @UiField
+    Label bootTime;
+    @UiField
+    Label launchPercentiles;
 
     @UiField(provided = true)
     final RunnerResources            resources;
     @UiField(provided = true)
     final RunnerLocalizationConstant locale;
 
+    private final RunnerMetrics runnerMetrics;
+
     @Inject
-    public MoreInfoImpl(RunnerResources resources, RunnerLocalizationConstant locale) {
+    public MoreInfoImpl(RunnerResources resources, RunnerLocalizationConstant locale, RunnerMetrics runnerMetrics) {
         this.resources = resources;
         this.locale = locale;
+        this.runnerMetrics = runnerMetrics;
 
         initWidget(UI_BINDER.createAndBindUi(this));
     }
@@ -73,6 +118,15 @@ public class MoreInfoImpl extends Composite implements MoreInfo {
             activeTime.setText(TIMER_STUB);
 
             ram.setText(0 + "MB");
+
+            outputRate.setText(METRIC_STUB);
+            totalLines.setText(METRIC_STUB);
+            reorderDepth.setText(METRIC_STUB);
+            gaps.setText(METRIC_STUB);
+            renderLatency.setText(METRIC_STUB);
+
+            updateLaunchTrace(null);
+            launchPercentiles.setText(METRIC_STUB);
         } else {
             started.setText(runner.getCreationTime());
             finished.setText(runner.getStopTime());
@@ -80,6 +134,61 @@ public class MoreInfoImpl extends Composite implements MoreInfo {
             activeTime.setText(runner.getActiveTime());
 
             ram.setText(runner.getRAM() + "MB");
+
+            updateMetrics(runnerMetrics.getMetrics(runner));
+
+            updateLaunchTrace(runnerMetrics.getLaunchTrace(runner));
+            updateLaunchStatistics(runnerMetrics.getLaunchStatistics(runner.getEnvironmentId()));
         }
     }
-}
\ No newline at end of file
+
+    private void updateMetrics(@Nonnull OutputMetrics metrics) {
+        long now = System.currentTimeMillis();
+        RenderMetrics renderMetrics = metrics.getRenderMetrics();
+
+        outputRate.setText(metrics.getLinesPerSecond(now) + "/s, " + metrics.getBytesPerSecond(now) / 1024 + "KB/s");
+        totalLines.setText(String.valueOf(metrics.getTotalLines()));
+        reorderDepth.setText(metrics.getReorderDepth() + " (max " + metrics.getMaxReorderDepth() + ')');
+        gaps.setText(metrics.getRecoveredGaps() + "/" + metrics.getDetectedGaps());
+        renderLatency.setText(renderMetrics.getLastLatency() + "ms (max " + renderMetrics.getMaxLatency() + "ms)");
+    }
+
+    private void updateLaunchTrace(@Nullable LaunchTrace trace) {
+        updatePhase(trace, LaunchPhase.RESOURCES_CHECK, resourcesBar, resourcesTime);
+        updatePhase(trace, LaunchPhase.RUN_REQUEST, requestBar, requestTime);
+        updatePhase(trace, LaunchPhase.BUILD, buildBar, buildTime);
+        updatePhase(trace, LaunchPhase.BOOT, bootBar, bootTime);
+    }
+
+    private void updatePhase(@Nullable LaunchTrace trace, @Nonnull LaunchPhase phase, @Nonnull FlowPanel bar, @Nonnull Label time) {
+        Style style = bar.getElement().getStyle();
+
+        long duration = trace == null ? -1 : trace.getDuration(phase);
+        long totalDuration = trace == null ? 0 : trace.getTotalDuration();
+
+        if (duration < 0 || totalDuration == 0) {
+            style.setMarginLeft(0, Style.Unit.PCT);
+            style.setWidth(0, Style.Unit.PCT);
+
+            time.setText(duration < 0 ? METRIC_STUB : duration + "ms");
+            return;
+        }
+
+        // the bar of a phase starts where the previous phase finished, so bars of all phases make up the waterfall of the launch
+        style.setMarginLeft(100.0 * trace.getOffset(phase) / totalDuration, Style.Unit.PCT);
+        style.setWidth(100.0 * duration / totalDuration, Style.Unit.PCT);
+
+        time.setText(duration + "ms");
+    }
+
+    private void updateLaunchStatistics(@Nonnull LaunchStatistics statistics) {
+        long median = statistics.getTotalPercentile(50);
+
+        if (median < 0) {
+            launchPercentiles.setText(METRIC_STUB);
+            return;
+        }
+
+        launchPercentiles.setText(median + "ms / " + statistics.getTotalPercentile(95) + "ms");
+    }
+}
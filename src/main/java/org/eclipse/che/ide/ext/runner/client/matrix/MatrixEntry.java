@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import org.eclipse.che.ide.ext.runner.client.models.Environment;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * The cell of a run matrix: an environment which is launched with a given memory size.
+ *
+ * @author Andrey Plotnikov
+ */
+public class MatrixEntry {
+
+    private final Environment environment;
+    private final int         ram;
+
+    public MatrixEntry(@Nonnull Environment environment, @Nonnegative int ram) {
+        this.environment = environment;
+        this.ram = ram;
+    }
+
+    /** @return environment which is launched */
+    @Nonnull
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /** @return memory size of the runner in megabytes */
+    @Nonnegative
+    public int getRam() {
+        return ram;
+    }
+
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import com.google.gwt.user.client.Timer;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+import org.eclipse.che.api.runner.dto.ResourcesDescriptor;
+import org.eclipse.che.api.runner.dto.RunOptions;
+import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.manager.RunnerManager;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.models.Environment;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.WorkspaceResources;
+import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.ui.dialogs.DialogFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.THIRTY_SEC;
+
+/**
+ * Launches the current project on several environments and shows the side-by-side summary of the launches when all of them are
+ * finished. Resources are checked once for the whole matrix. The memory of launched runners is reserved on the client side, and
+ * the runners are checked against resources which are known on the client side (see {@link WorkspaceResources}), revalidation of the
+ * resources is suspended while the matrix is launched.
+ * <p/>
+ * Not more than a given number of runners are launched at the same time. A launch is finished when the application of the runner is
+ * ready or the runner is failed, memory of failed runners is released. The application which has no url or which isn't reported as
+ * ready during {@link #HEALTH_TIMEOUT} is considered as launched. A cell whose launch was cancelled by the user or which needs more
+ * memory than is available when there are no launches which can release memory is skipped. Launches which aren't finished in
+ * {@link #DEADLINE} are reported as unfinished.
+ *
+ * @author Andrey Plotnikov
+ */
+public class MatrixLaunch {
+
+    /** Time in milliseconds after which a running application is considered as launched even if it isn't reported as ready. */
+    static final int HEALTH_TIMEOUT = THIRTY_SEC.getValue();
+    /** Time in milliseconds which the whole matrix can take. */
+    static final int DEADLINE       = 15 * 60 * 1_000;
+
+    private static final String TIME_STUB = "-";
+
+    private final RunnerManager                                       runnerManager;
+    private final DtoFactory                                          dtoFactory;
+    private final RunnerServiceClient                                 service;
+    private final Provider<AsyncCallbackBuilder<ResourcesDescriptor>> callbackBuilderProvider;
+    private final WorkspaceResources                                  resources;
+    private final RunnerMetrics                                       runnerMetrics;
+    private final RunnerLocalizationConstant                          locale;
+    private final NotificationManager                                 notificationManager;
+    private final DialogFactory                                       dialogFactory;
+    private final MatrixSummaryView                                   summaryView;
+    private final Timer                                               launchTimer;
+    private final List<MatrixEntry>                                   entries;
+    private final LinkedList<MatrixEntry>                             queue;
+    private final List<MatrixEntry>                                   launching;
+    private final Map<MatrixEntry, Runner>                            runners;
+    private final Map<MatrixEntry, Integer>                           runningTimes;
+
+    private int concurrency;
+    private int availableMemory;
+    private int elapsedTime;
+
+    @Inject
+    public MatrixLaunch(RunnerManager runnerManager,
+                        DtoFactory dtoFactory,
+                        RunnerServiceClient service,
+                        Provider<AsyncCallbackBuilder<ResourcesDescriptor>> callbackBuilderProvider,
+                        WorkspaceResources resources,
+                        RunnerMetrics runnerMetrics,
+                        RunnerLocalizationConstant locale,
+                        NotificationManager notificationManager,
+                        DialogFactory dialogFactory,
+                        MatrixSummaryView summaryView,
+                        TimerFactory timerFactory) {
+        this.runnerManager = runnerManager;
+        this.dtoFactory = dtoFactory;
+        this.service = service;
+        this.callbackBuilderProvider = callbackBuilderProvider;
+        this.resources = resources;
+        this.runnerMetrics = runnerMetrics;
+        this.locale = locale;
+        this.notificationManager = notificationManager;
+        this.dialogFactory = dialogFactory;
+        this.summaryView = summaryView;
+
+        this.entries = new ArrayList<>();
+        this.queue = new LinkedList<>();
+        this.launching = new ArrayList<>();
+        this.runners = new LinkedHashMap<>();
+        this.runningTimes = new HashMap<>();
+
+        this.launchTimer = timerFactory.newInstance(new TimerFactory.TimerCallBack() {
+            @Override
+            public void onRun() {
+                checkLaunches();
+            }
+        });
+    }
+
+    /**
+     * Launches given cells of a run matrix.
+     *
+     * @param matrix
+     *         cells which need to be launched
+     * @param concurrency
+     *         maximum number of runners which are launched at the same time
+     */
+    public void launch(@Nonnull List<MatrixEntry> matrix, @Nonnegative int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+
+        entries.addAll(matrix);
+        queue.addAll(matrix);
+
+        AsyncRequestCallback<ResourcesDescriptor> callback = callbackBuilderProvider
+                .get()
+                .unmarshaller(ResourcesDescriptor.class)
+                .success(new SuccessCallback<ResourcesDescriptor>() {
+                    @Override
+                    public void onSuccess(ResourcesDescriptor resourcesDescriptor) {
+                        resources.setResources(resourcesDescriptor);
+                        resources.suspendRevalidation();
+
+                        availableMemory = resources.getTotalMemory() - resources.getUsedMemory();
+
+                        launchTimer.scheduleRepeating(ONE_SEC.getValue());
+
+                        launchNext();
+                    }
+                })
+                .failure(new FailureCallback() {
+                    @Override
+                    public void onFailure(@Nonnull Throwable reason) {
+                        notificationManager.showError(locale.getResourcesFailed());
+                    }
+                })
+                .build();
+
+        service.getResources(callback);
+    }
+
+    private void checkLaunches() {
+        elapsedTime += ONE_SEC.getValue();
+
+        Iterator<MatrixEntry> iterator = launching.iterator();
+
+        while (iterator.hasNext()) {
+            MatrixEntry entry = iterator.next();
+            Runner runner = runners.get(entry);
+            Runner.Status status = runner.getStatus();
+
+            if (status == Runner.Status.DONE || status == Runner.Status.RUNNING && isApplicationLaunched(entry, runner)) {
+                iterator.remove();
+            } else if (status == Runner.Status.FAILED || status == Runner.Status.STOPPED || status == Runner.Status.TIMEOUT) {
+                iterator.remove();
+
+                availableMemory += entry.getRam();
+
+                if (status == Runner.Status.STOPPED && runner.getDescriptor() == null) {
+                    // the launch was cancelled before the process was started
+                    runners.remove(entry);
+                }
+            }
+        }
+
+        if (elapsedTime >= DEADLINE) {
+            queue.clear();
+            launching.clear();
+        }
+
+        launchNext();
+    }
+
+    /** Returns <code>true</code> when the application can't be reported as ready or it wasn't reported during the health timeout. */
+    private boolean isApplicationLaunched(@Nonnull MatrixEntry entry, @Nonnull Runner runner) {
+        if (runner.getApplicationURL() == null) {
+            return true;
+        }
+
+        Integer runningTime = runningTimes.get(entry);
+        runningTime = runningTime == null ? 0 : runningTime + ONE_SEC.getValue();
+
+        runningTimes.put(entry, runningTime);
+
+        return runningTime >= HEALTH_TIMEOUT;
+    }
+
+    private void launchNext() {
+        while (!queue.isEmpty() && launching.size() < concurrency) {
+            MatrixEntry entry = queue.peek();
+
+            if (entry.getRam() > availableMemory && !launching.isEmpty()) {
+                // launches which are in progress can release memory
+                break;
+            }
+
+            queue.poll();
+
+            if (entry.getRam() <= availableMemory) {
+                launchRunner(entry);
+            }
+        }
+
+        if (launching.isEmpty()) {
+            launchTimer.cancel();
+            resources.resumeRevalidation();
+
+            showSummary();
+        }
+    }
+
+    private void launchRunner(@Nonnull MatrixEntry entry) {
+        Environment environment = entry.getEnvironment();
+
+        RunOptions runOptions = dtoFactory.createDto(RunOptions.class)
+                                          .withOptions(environment.getOptions())
+                                          .withEnvironmentId(environment.getId())
+                                          .withMemorySize(entry.getRam());
+
+        Runner runner = runnerManager.launchRunner(runOptions, environment.getName());
+
+        availableMemory -= entry.getRam();
+
+        runners.put(entry, runner);
+        launching.add(entry);
+    }
+
+    private void showSummary() {
+        summaryView.clear();
+
+        for (MatrixEntry entry : entries) {
+            Runner runner = runners.get(entry);
+
+            String status = runner == null ? locale.matrixStatusSkipped() : getStatusLabel(runner.getStatus());
+            long bootTime = runner == null ? -1 : runnerMetrics.getTimeToReady(runner);
+
+            summaryView.addRow(entry.getEnvironment().getName(),
+                               entry.getRam() + "MB",
+                               status,
+                               bootTime < 0 ? TIME_STUB : bootTime + "ms");
+        }
+
+        dialogFactory.createMessageDialog(locale.matrixSummaryTitle(), summaryView, null).show();
+    }
+
+    @Nonnull
+    private String getStatusLabel(@Nonnull Runner.Status status) {
+        switch (status) {
+            case DONE:
+                return locale.matrixStatusReady();
+            case RUNNING:
+                return locale.matrixStatusRunning();
+            case FAILED:
+                return locale.matrixStatusFailed();
+            case STOPPED:
+                return locale.matrixStatusStopped();
+            case TIMEOUT:
+                return locale.matrixStatusTimeout();
+            default:
+                return locale.matrixStatusUnfinished();
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import com.google.gwt.user.client.ui.IsWidget;
+import com.google.inject.ImplementedBy;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides methods which allow show the side-by-side summary of a run matrix: one row per launched environment.
+ *
+ * @author Andrey Plotnikov
+ */
+@ImplementedBy(MatrixSummaryViewImpl.class)
+public interface MatrixSummaryView extends IsWidget {
+
+    /** Removes all rows of the summary. */
+    void clear();
+
+    /**
+     * Adds a row to the summary.
+     *
+     * @param environment
+     *         name of the environment
+     * @param memory
+     *         memory size of the runner
+     * @param status
+     *         status of the runner
+     * @param bootTime
+     *         time which the application took to become ready
+     */
+    void addRow(@Nonnull String environment, @Nonnull String memory, @Nonnull String status, @Nonnull String bootTime);
+
+}
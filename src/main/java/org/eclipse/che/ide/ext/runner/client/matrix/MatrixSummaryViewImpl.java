@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.uibinder.client.UiBinder;
+import com.google.gwt.uibinder.client.UiField;
+import com.google.gwt.user.client.ui.Composite;
+import com.google.gwt.user.client.ui.FlexTable;
+import com.google.gwt.user.client.ui.Widget;
+import com.google.inject.Inject;
+
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The class contains methods which allow change view representation of the summary of a run matrix.
+ *
+ * @author Andrey Plotnikov
+ */
+public class MatrixSummaryViewImpl extends Composite implements MatrixSummaryView {
+    interface MatrixSummaryViewImplUiBinder extends UiBinder<Widget, MatrixSummaryViewImpl> {
+    }
+
+    private static final MatrixSummaryViewImplUiBinder UI_BINDER = GWT.create(MatrixSummaryViewImplUiBinder.class);
+
+    @UiField
+    FlexTable table;
+
+    private final RunnerLocalizationConstant locale;
+
+    @Inject
+    public MatrixSummaryViewImpl(RunnerLocalizationConstant locale) {
+        this.locale = locale;
+
+        initWidget(UI_BINDER.createAndBindUi(this));
+
+        clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        table.removeAllRows();
+
+        addRow(locale.matrixSummaryEnvironment(), locale.matrixSummaryMemory(), locale.matrixSummaryStatus(), locale.matrixSummaryBoot());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void addRow(@Nonnull String environment, @Nonnull String memory, @Nonnull String status, @Nonnull String bootTime) {
+        int row = table.getRowCount();
+
+        table.setText(row, 0, environment);
+        table.setText(row, 1, memory);
+        table.setText(row, 2, status);
+        table.setText(row, 3, bootTime);
+    }
+
+}
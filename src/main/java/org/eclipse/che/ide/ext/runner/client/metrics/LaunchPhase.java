@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+/**
+ * The phases of a runner launch in the order they are passed.
+ *
+ * @author Andrey Plotnikov
+ */
+public enum LaunchPhase {
+    /** The request for resources of the workspace and the check of memory. */
+    RESOURCES_CHECK,
+    /** The run request which is finished when the server accepts the launch. */
+    RUN_REQUEST,
+    /** Waiting in the queue, building the project and starting the runner until the application process is running. */
+    BUILD,
+    /** Boot of the application until it responds. */
+    BOOT
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The statistic of finished launches of one environment. Durations of the latest launches are kept, percentiles are calculated by
+ * the nearest-rank method.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LaunchStatistics {
+
+    /** Maximum amount of launches which durations are kept. */
+    static final int MAX_LAUNCHES = 100;
+
+    private final Map<LaunchPhase, List<Long>> durations;
+    private final List<Long>                   totalDurations;
+
+    public LaunchStatistics() {
+        this.durations = new EnumMap<>(LaunchPhase.class);
+        this.totalDurations = new ArrayList<>();
+
+        for (LaunchPhase phase : LaunchPhase.values()) {
+            durations.put(phase, new ArrayList<Long>());
+        }
+    }
+
+    /**
+     * Adds durations of a finished launch.
+     *
+     * @param trace
+     *         trace of the launch
+     */
+    public void addLaunch(@Nonnull LaunchTrace trace) {
+        for (LaunchPhase phase : LaunchPhase.values()) {
+            long duration = trace.getDuration(phase);
+
+            if (duration >= 0) {
+                addDuration(durations.get(phase), duration);
+            }
+        }
+
+        addDuration(totalDurations, trace.getTotalDuration());
+    }
+
+    /** @return amount of launches which durations are kept */
+    @Nonnegative
+    public int getLaunches() {
+        return totalDurations.size();
+    }
+
+    /**
+     * Returns a given percentile of durations of a given phase.
+     *
+     * @param phase
+     *         phase of launches
+     * @param percentile
+     *         percentile from 1 to 100
+     * @return duration in milliseconds or <code>-1</code> if no duration of the phase is known
+     */
+    public long getPercentile(@Nonnull LaunchPhase phase, @Nonnegative int percentile) {
+        return getPercentile(durations.get(phase), percentile);
+    }
+
+    /**
+     * Returns a given percentile of total durations of launches.
+     *
+     * @param percentile
+     *         percentile from 1 to 100
+     * @return duration in milliseconds or <code>-1</code> if there is no launch
+     */
+    public long getTotalPercentile(@Nonnegative int percentile) {
+        return getPercentile(totalDurations, percentile);
+    }
+
+    private static void addDuration(@Nonnull List<Long> values, long duration) {
+        if (values.size() == MAX_LAUNCHES) {
+            values.remove(0);
+        }
+
+        values.add(duration);
+    }
+
+    private static long getPercentile(@Nonnull List<Long> values, @Nonnegative int percentile) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+
+        int rank = (percentile * sorted.size() + 99) / 100;
+
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+}
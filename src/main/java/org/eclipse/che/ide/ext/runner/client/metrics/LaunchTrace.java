@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The trace of one runner launch. It keeps the time when every phase of the launch was finished. A phase starts when the latest
+ * earlier finished phase was finished, so a skipped phase doesn't break durations of next phases.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LaunchTrace {
+
+    private static final LaunchPhase[] PHASES = LaunchPhase.values();
+
+    private final long   startTime;
+    private final long[] finishTimes;
+
+    public LaunchTrace(long startTime) {
+        this.startTime = startTime;
+        this.finishTimes = new long[PHASES.length];
+    }
+
+    /**
+     * Registers the end of a given phase. Only the first end of the phase is registered.
+     *
+     * @param phase
+     *         phase which was finished
+     * @param time
+     *         time when the phase was finished
+     * @return <code>true</code> when the end of the phase is registered, <code>false</code> when it was registered before
+     */
+    public boolean onPhaseFinished(@Nonnull LaunchPhase phase, long time) {
+        int index = phase.ordinal();
+
+        if (finishTimes[index] != 0) {
+            return false;
+        }
+
+        finishTimes[index] = Math.max(time, startTime);
+
+        return true;
+    }
+
+    /** @return time when the launch was started */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /** @return <code>true</code> when a given phase was finished, <code>false</code> otherwise */
+    public boolean isFinished(@Nonnull LaunchPhase phase) {
+        return finishTimes[phase.ordinal()] != 0;
+    }
+
+    /**
+     * Returns time from the start of the launch to the start of a given phase.
+     *
+     * @param phase
+     *         phase which offset needs to be returned
+     * @return offset in milliseconds
+     */
+    public long getOffset(@Nonnull LaunchPhase phase) {
+        long phaseStart = startTime;
+
+        for (int i = 0; i < phase.ordinal(); i++) {
+            if (finishTimes[i] != 0) {
+                phaseStart = finishTimes[i];
+            }
+        }
+
+        return phaseStart - startTime;
+    }
+
+    /**
+     * Returns duration of a given phase.
+     *
+     * @param phase
+     *         phase which duration needs to be returned
+     * @return duration in milliseconds or <code>-1</code> if the phase isn't finished
+     */
+    public long getDuration(@Nonnull LaunchPhase phase) {
+        long finishTime = finishTimes[phase.ordinal()];
+
+        if (finishTime == 0) {
+            return -1;
+        }
+
+        return finishTime - startTime - getOffset(phase);
+    }
+
+    /** @return time from the start of the launch to the end of the latest finished phase */
+    public long getTotalDuration() {
+        long lastTime = startTime;
+
+        for (long finishTime : finishTimes) {
+            if (finishTime != 0) {
+                lastTime = finishTime;
+            }
+        }
+
+        return lastTime - startTime;
+    }
+
+}
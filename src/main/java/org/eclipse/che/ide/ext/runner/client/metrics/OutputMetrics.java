@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.RenderMetrics;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+
+/**
+ * The class contains statistic of the output pipeline of one runner: how many lines and bytes were received from the runner and how fast,
+ * how many lines wait in the reorder buffer, how many gaps between received lines were found and recovered, and how the console renders
+ * received lines. Rates are measured by one second windows.
+ *
+ * @author Andrey Plotnikov
+ */
+public class OutputMetrics {
+
+    static final int WINDOW = ONE_SEC.getValue();
+
+    private final RenderMetrics renderMetrics;
+
+    private long totalLines;
+    private long totalBytes;
+    private long windowStart;
+    private int  windowLines;
+    private int  windowBytes;
+    private int  linesPerSecond;
+    private int  bytesPerSecond;
+    private int  reorderDepth;
+    private int  maxReorderDepth;
+    private int  detectedGaps;
+    private int  recoveredGaps;
+
+    public OutputMetrics() {
+        this.renderMetrics = new RenderMetrics();
+    }
+
+    /**
+     * Registers lines which were received from the runner.
+     *
+     * @param lines
+     *         amount of received lines
+     * @param bytes
+     *         amount of bytes of received lines
+     * @param now
+     *         current time in milliseconds
+     */
+    public void onLinesReceived(@Nonnegative int lines, @Nonnegative int bytes, long now) {
+        updateWindow(now);
+
+        totalLines += lines;
+        totalBytes += bytes;
+
+        windowLines += lines;
+        windowBytes += bytes;
+    }
+
+    private void updateWindow(long now) {
+        long elapsed = now - windowStart;
+
+        if (elapsed < WINDOW) {
+            return;
+        }
+
+        // the window can be longer than one second when nothing was received for a while
+        linesPerSecond = (int)(windowLines * (long)WINDOW / elapsed);
+        bytesPerSecond = (int)(windowBytes * (long)WINDOW / elapsed);
+
+        windowStart = now;
+        windowLines = 0;
+        windowBytes = 0;
+    }
+
+    /**
+     * Returns amount of lines which were received during the last second.
+     *
+     * @param now
+     *         current time in milliseconds
+     */
+    @Nonnegative
+    public int getLinesPerSecond(long now) {
+        updateWindow(now);
+
+        return linesPerSecond;
+    }
+
+    /**
+     * Returns amount of bytes which were received during the last second.
+     *
+     * @param now
+     *         current time in milliseconds
+     */
+    @Nonnegative
+    public int getBytesPerSecond(long now) {
+        updateWindow(now);
+
+        return bytesPerSecond;
+    }
+
+    /** @return total amount of received lines */
+    @Nonnegative
+    public long getTotalLines() {
+        return totalLines;
+    }
+
+    /** @return total amount of bytes of received lines */
+    @Nonnegative
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Changes amount of lines which wait for missing lines in the reorder buffer.
+     *
+     * @param depth
+     *         amount of buffered lines
+     */
+    public void setReorderDepth(@Nonnegative int depth) {
+        reorderDepth = depth;
+        maxReorderDepth = Math.max(maxReorderDepth, depth);
+    }
+
+    /** @return amount of lines which wait for missing lines in the reorder buffer */
+    @Nonnegative
+    public int getReorderDepth() {
+        return reorderDepth;
+    }
+
+    /** @return maximum amount of lines which waited for missing lines in the reorder buffer */
+    @Nonnegative
+    public int getMaxReorderDepth() {
+        return maxReorderDepth;
+    }
+
+    /** Registers a gap between received lines. */
+    public void onGapDetected() {
+        detectedGaps++;
+    }
+
+    /** Registers a gap which was filled by lines loaded from the log of the runner. */
+    public void onGapRecovered() {
+        recoveredGaps++;
+    }
+
+    /** @return amount of gaps between received lines */
+    @Nonnegative
+    public int getDetectedGaps() {
+        return detectedGaps;
+    }
+
+    /** @return amount of gaps which were filled by lines loaded from the log of the runner */
+    @Nonnegative
+    public int getRecoveredGaps() {
+        return recoveredGaps;
+    }
+
+    /** @return statistic of rendering of received lines */
+    @Nonnull
+    public RenderMetrics getRenderMetrics() {
+        return renderMetrics;
+    }
+
+}
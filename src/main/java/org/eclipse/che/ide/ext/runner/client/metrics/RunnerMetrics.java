@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The registry of output metrics of runners. Metrics of a runner are created when they are requested for the first time, so every part of
+ * the output pipeline (the log handler, the console) updates the same metrics.
+ * <p/>
+ * The registry keeps traces of runner launches too. Every action of the launch pipeline registers the end of its phase, finished
+ * launches are added to {@link LaunchStatistics} of the environment of the runner.
+ *
+ * @author Andrey Plotnikov
+ */
+@Singleton
+public class RunnerMetrics {
+
+    private final Map<Runner, OutputMetrics>    metrics;
+    private final Map<Runner, LaunchTrace>      traces;
+    private final Map<String, LaunchStatistics> statistics;
+
+    @Inject
+    public RunnerMetrics() {
+        this.metrics = new HashMap<>();
+        this.traces = new HashMap<>();
+        this.statistics = new HashMap<>();
+    }
+
+    /**
+     * Returns output metrics of a given runner.
+     *
+     * @param runner
+     *         runner which metrics need to be returned
+     * @return metrics of the runner
+     */
+    @Nonnull
+    public OutputMetrics getMetrics(@Nonnull Runner runner) {
+        OutputMetrics runnerMetrics = metrics.get(runner);
+
+        if (runnerMetrics == null) {
+            runnerMetrics = new OutputMetrics();
+            metrics.put(runner, runnerMetrics);
+        }
+
+        return runnerMetrics;
+    }
+
+    /**
+     * Starts a new trace of the launch of a given runner.
+     *
+     * @param runner
+     *         runner which is launched
+     * @param time
+     *         time when the launch is started
+     */
+    public void onLaunchStarted(@Nonnull Runner runner, long time) {
+        traces.put(runner, new LaunchTrace(time));
+    }
+
+    /**
+     * Registers the end of a given phase of the launch of a given runner. Nothing is registered when the launch isn't traced.
+     *
+     * @param runner
+     *         runner which is launched
+     * @param phase
+     *         phase which was finished
+     * @param time
+     *         time when the phase was finished
+     */
+    public void onLaunchPhaseFinished(@Nonnull Runner runner, @Nonnull LaunchPhase phase, long time) {
+        LaunchTrace trace = traces.get(runner);
+
+        if (trace == null || !trace.onPhaseFinished(phase, time)) {
+            return;
+        }
+
+        if (phase == LaunchPhase.BOOT) {
+            getLaunchStatistics(runner.getEnvironmentId()).addLaunch(trace);
+        }
+    }
+
+    /**
+     * Returns the trace of the latest launch of a given runner.
+     *
+     * @param runner
+     *         runner which trace needs to be returned
+     * @return trace of the launch or <code>null</code> if the launch isn't traced
+     */
+    @Nullable
+    public LaunchTrace getLaunchTrace(@Nonnull Runner runner) {
+        return traces.get(runner);
+    }
+
+    /**
+     * Returns the time which the application of a given runner took to become ready since the application process was started.
+     *
+     * @param runner
+     *         runner which time needs to be returned
+     * @return time in milliseconds or <code>-1</code> if the application isn't ready yet
+     */
+    public long getTimeToReady(@Nonnull Runner runner) {
+        LaunchTrace trace = traces.get(runner);
+
+        return trace == null ? -1 : trace.getDuration(LaunchPhase.BOOT);
+    }
+
+    /**
+     * Returns the statistic of finished launches of a given environment.
+     *
+     * @param environmentId
+     *         id of the environment
+     * @return statistic of launches
+     */
+    @Nonnull
+    public LaunchStatistics getLaunchStatistics(@Nonnull String environmentId) {
+        LaunchStatistics environmentStatistics = statistics.get(environmentId);
+
+        if (environmentStatistics == null) {
+            environmentStatistics = new LaunchStatistics();
+            statistics.put(environmentId, environmentStatistics);
+        }
+
+        return environmentStatistics;
+    }
+
+    /**
+     * Removes output metrics and the launch trace of a given runner.
+     *
+     * @param runner
+     *         runner which metrics need to be removed
+     */
+    public void remove(@Nonnull Runner runner) {
+        metrics.remove(runner);
+        traces.remove(runner);
+    }
+
+    /** Removes output metrics and launch traces of all runners. Statistics of environments are kept. */
+    public void clear() {
+        metrics.clear();
+        traces.clear();
+    }
+
+}
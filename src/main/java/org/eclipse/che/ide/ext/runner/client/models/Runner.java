@@ -128,6 +128,10 @@ public interface Runner {
     @Nullable
     Link getStopUrl();
 
+    /** @return url where the rest service for getting status of runner is located */
+    @Nullable
+    Link getStatusUrl();
+
     /** @return type of current runner */
     @Nonnull
     String getType();
@@ -33,6 +33,7 @@ import java.util.EnumSet;
 import java.util.Objects;
 
 import static org.eclipse.che.api.runner.ApplicationStatus.NEW;
+import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_GET_STATUS;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_RUNNER_RECIPE;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_SHELL_URL;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_STOP;
@@ -373,6 +374,13 @@ public class RunnerImpl implements Runner {
         return RunnerUtils.getLink(descriptor, LINK_REL_STOP);
     }
 
+    /** {@inheritDoc} */
+    @Nullable
+    @Override
+    public Link getStatusUrl() {
+        return RunnerUtils.getLink(descriptor, LINK_REL_GET_STATUS);
+    }
+
     /** {@inheritDoc} */
     @Nonnull
     @Override
@@ -26,11 +26,15 @@ import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.ui.dialogs.CancelCallback;
 import org.eclipse.che.ide.ui.dialogs.ConfirmCallback;
 import org.eclipse.che.ide.ui.dialogs.DialogFactory;
 import org.eclipse.che.ide.ui.dialogs.confirm.ConfirmDialog;
@@ -44,6 +48,13 @@ import static org.eclipse.che.ide.ext.runner.client.tabs.properties.panel.common
 /**
  * This action executes a request on the server side for getting resources of project. These resources are used for checking RAM and
  * running a runner with the custom memory size. Action uses {@link RunAction}
+ * <p/>
+ * When resources are known on the client side (see {@link WorkspaceResources}), RAM is checked against them and the runner is run at
+ * once. Resources are revalidated in parallel with the run request, the server rejects the request when the memory isn't sufficient.
+ * The known resources may be stale, so the runner isn't rejected by them: resources are loaded from the server when the known memory
+ * isn't sufficient. Known resources aren't revalidated while revalidation is suspended (e.g. while a run matrix is launched).
+ * <p/>
+ * The runner is stopped when the user refuses to run it with the required memory.
  *
  * @author Artem Zatsarynnyy
  * @author Andrey Parfonov
@@ -62,6 +73,8 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
     private final RunAction                                           runAction;
     private final RunnerManagerPresenter                              managerPresenter;
     private final ConsoleContainer                                    consoleContainer;
+    private final RunnerMetrics                                       runnerMetrics;
+    private final WorkspaceResources                                  resources;
 
     private RunnerConfiguration runnerConfiguration;
     private CurrentProject      project;
@@ -76,7 +89,9 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
                                 RunnerLocalizationConstant constant,
                                 RunnerUtil runnerUtil,
                                 RunnerActionFactory actionFactory,
-                                RunnerManagerPresenter managerPresenter) {
+                                RunnerManagerPresenter managerPresenter,
+                                RunnerMetrics runnerMetrics,
+                                WorkspaceResources resources) {
         this.service = service;
         this.appContext = appContext;
         this.callbackBuilderProvider = callbackBuilderProvider;
@@ -86,6 +101,8 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
         this.dialogFactory = dialogFactory;
         this.consoleContainer = consoleContainer;
         this.managerPresenter = managerPresenter;
+        this.runnerMetrics = runnerMetrics;
+        this.resources = resources;
 
         addAction(runAction);
     }
@@ -100,13 +117,30 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
             return;
         }
 
+        runnerMetrics.onLaunchStarted(runner, System.currentTimeMillis());
+
+        if (resources.isLoaded() && isMemoryEnough(resources.getTotalMemory(), resources.getUsedMemory())) {
+            runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.RESOURCES_CHECK, System.currentTimeMillis());
+
+            checkRamAndRunProject(resources.getTotalMemory(), resources.getUsedMemory());
+
+            if (!resources.isRevalidationSuspended()) {
+                revalidateResources();
+            }
+            return;
+        }
+
         AsyncRequestCallback<ResourcesDescriptor> callback = callbackBuilderProvider
                 .get()
                 .unmarshaller(ResourcesDescriptor.class)
                 .success(new SuccessCallback<ResourcesDescriptor>() {
                     @Override
                     public void onSuccess(ResourcesDescriptor resourcesDescriptor) {
-                        checkRamAndRunProject(resourcesDescriptor);
+                        runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.RESOURCES_CHECK, System.currentTimeMillis());
+
+                        resources.setResources(resourcesDescriptor);
+
+                        checkRamAndRunProject(resources.getTotalMemory(), resources.getUsedMemory());
                     }
                 })
                 .failure(new FailureCallback() {
@@ -120,10 +154,39 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
         service.getResources(callback);
     }
 
-    private void checkRamAndRunProject(@Nonnull ResourcesDescriptor resourcesDescriptor) {
-        int totalMemory = Integer.valueOf(resourcesDescriptor.getTotalMemory());
-        int usedMemory = Integer.valueOf(resourcesDescriptor.getUsedMemory());
+    private void revalidateResources() {
+        AsyncRequestCallback<ResourcesDescriptor> callback = callbackBuilderProvider
+                .get()
+                .unmarshaller(ResourcesDescriptor.class)
+                .success(new SuccessCallback<ResourcesDescriptor>() {
+                    @Override
+                    public void onSuccess(ResourcesDescriptor resourcesDescriptor) {
+                        resources.setResources(resourcesDescriptor);
+                    }
+                })
+                .failure(new FailureCallback() {
+                    @Override
+                    public void onFailure(@Nonnull Throwable reason) {
+                        resources.invalidate();
+
+                        Log.error(CheckRamAndRunAction.class, reason);
+                    }
+                })
+                .build();
+
+        service.getResources(callback);
+    }
+
+    /** Checks the memory without any messages, the runner is checked by {@link #checkRamAndRunProject(int, int)} anyway. */
+    private boolean isMemoryEnough(@Nonnegative int totalMemory, @Nonnegative int usedMemory) {
+        int overrideMemory = getOverrideMemory();
+        int requiredMemory = runnerConfiguration != null ? runnerConfiguration.getRam() : 0;
+        int availableMemory = totalMemory - usedMemory;
+
+        return availableMemory >= requiredMemory && availableMemory >= overrideMemory;
+    }
 
+    private void checkRamAndRunProject(@Nonnegative int totalMemory, @Nonnegative int usedMemory) {
         int overrideMemory = getOverrideMemory();
         int requiredMemory = runnerConfiguration != null ? runnerConfiguration.getRam() : 0;
 
@@ -200,7 +263,14 @@ public class CheckRamAndRunAction extends AbstractRunnerAction {
 
                         runAction.perform(runner);
                     }
-                }, null);
+                }, new CancelCallback() {
+                    @Override
+                    public void cancelled() {
+                        runner.setStatus(Runner.Status.STOPPED);
+
+                        managerPresenter.update(runner);
+                    }
+                });
 
         final MessageDialog messageDialog = dialogFactory.createMessageDialog(
                 constant.titlesWarning(),
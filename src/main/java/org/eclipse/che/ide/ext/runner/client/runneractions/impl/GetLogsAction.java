@@ -15,22 +15,21 @@ import com.google.inject.Provider;
 
 import org.eclipse.che.api.analytics.client.logger.AnalyticsEventLogger;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
-import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
-import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
 import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
-import org.eclipse.che.ide.rest.AsyncRequestCallback;
-import org.eclipse.che.ide.rest.StringUnmarshaller;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Action for getting  logs from current runner.
@@ -39,27 +38,24 @@ import javax.annotation.Nonnull;
  */
 public class GetLogsAction extends AbstractRunnerAction {
 
-    private final RunnerServiceClient                    service;
-    private final AppContext                             appContext;
-    private final Provider<AsyncCallbackBuilder<String>> callbackBuilderProvider;
-    private final RunnerLocalizationConstant             constant;
-    private final RunnerUtil                             runnerUtil;
-    private final RunnerManagerPresenter                 presenter;
-    private final ConsoleContainer                       consoleContainer;
-    private final AnalyticsEventLogger                   eventLogger;
+    private final AppContext                 appContext;
+    private final Provider<PagedLogReader>   logReaderProvider;
+    private final RunnerLocalizationConstant constant;
+    private final RunnerUtil                 runnerUtil;
+    private final RunnerManagerPresenter     presenter;
+    private final ConsoleContainer           consoleContainer;
+    private final AnalyticsEventLogger       eventLogger;
 
     @Inject
-    public GetLogsAction(RunnerServiceClient service,
-                         AppContext appContext,
-                         Provider<AsyncCallbackBuilder<String>> callbackBuilderProvider,
+    public GetLogsAction(AppContext appContext,
+                         Provider<PagedLogReader> logReaderProvider,
                          RunnerLocalizationConstant constant,
                          RunnerUtil runnerUtil,
                          ConsoleContainer consoleContainer,
                          RunnerManagerPresenter runnerManagerPresenter,
                          AnalyticsEventLogger eventLogger) {
-        this.service = service;
         this.appContext = appContext;
-        this.callbackBuilderProvider = callbackBuilderProvider;
+        this.logReaderProvider = logReaderProvider;
         this.constant = constant;
         this.runnerUtil = runnerUtil;
         this.presenter = runnerManagerPresenter;
@@ -69,7 +65,19 @@ public class GetLogsAction extends AbstractRunnerAction {
 
     /** {@inheritDoc} */
     @Override
-    public void perform(@Nonnull final Runner runner) {
+    public void perform(@Nonnull Runner runner) {
+        perform(runner, null);
+    }
+
+    /**
+     * Shows the log of a given runner.
+     *
+     * @param runner
+     *         runner which log needs to be shown
+     * @param logCallback
+     *         callback that is called with the shown page of the log when it is loaded
+     */
+    public void perform(@Nonnull final Runner runner, @Nullable SuccessCallback<LogPage> logCallback) {
         eventLogger.log(this);
 
         CurrentProject project = appContext.getCurrentProject();
@@ -84,23 +92,15 @@ public class GetLogsAction extends AbstractRunnerAction {
 
         presenter.setActive();
 
-        AsyncRequestCallback<String> callback = callbackBuilderProvider
-                .get()
-                .unmarshaller(new StringUnmarshaller())
-                .success(new SuccessCallback<String>() {
-                    @Override
-                    public void onSuccess(String result) {
-                        consoleContainer.print(runner, result);
-                    }
-                })
-                .failure(new FailureCallback() {
-                    @Override
-                    public void onFailure(@Nonnull Throwable reason) {
-                        runnerUtil.showError(runner, constant.applicationLogsFailed(), reason);
-                    }
-                })
-                .build();
+        PagedLogReader logReader = logReaderProvider.get();
+
+        consoleContainer.showLog(runner, logReader);
 
-        service.getLogs(viewLogsLink, callback);
+        logReader.open(viewLogsLink.getHref(), logCallback, new FailureCallback() {
+            @Override
+            public void onFailure(@Nonnull Throwable reason) {
+                runnerUtil.showError(runner, constant.applicationLogsFailed(), reason);
+            }
+        });
     }
-}
\ No newline at end of file
+}
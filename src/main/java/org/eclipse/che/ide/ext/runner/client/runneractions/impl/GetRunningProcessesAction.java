@@ -22,52 +22,56 @@ import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
 import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
-import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.tabs.properties.container.PropertiesContainer;
-import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.util.loging.Log;
-import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
-import com.google.inject.name.Named;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.eclipse.che.api.runner.ApplicationStatus.CANCELLED;
+import static org.eclipse.che.api.runner.ApplicationStatus.FAILED;
 import static org.eclipse.che.api.runner.ApplicationStatus.NEW;
 import static org.eclipse.che.api.runner.ApplicationStatus.RUNNING;
 import static org.eclipse.che.ide.api.notification.Notification.Type.INFO;
 
 /**
- * This action executes a request on the server side for getting runner processes by project name.
+ * This action executes a request on the server side for getting runner processes by project name. Found runners are attached lazily (see
+ * {@link RunnerManagerPresenter#addRunner(ApplicationProcessDescriptor)}) and announced by one notification.
+ * <p/>
+ * When the project was opened before, its runners are restored from {@link RunningProcessesCache} at once. Loaded processes are
+ * reconciled with restored runners: new runners are added and runners which processes were finished are stopped.
  *
  * @author Valeriy Svydenko
  * @author Andrey Plotnikov
  * @author Dmitry Shnurenko
  */
-public class GetRunningProcessesAction extends AbstractRunnerAction {
-
-    private static final String PROCESS_STARTED_CHANNEL = "runner:process_started:";
+public class GetRunningProcessesAction extends AbstractRunnerAction implements RunningProcessesCache.ProcessStartedListener {
 
     private final NotificationManager                                                 notificationManager;
     private final RunnerServiceClient                                                 service;
     private final DtoUnmarshallerFactory                                              dtoUnmarshallerFactory;
     private final AppContext                                                          appContext;
     private final RunnerLocalizationConstant                                          locale;
-    private final GetLogsAction                                                       logsAction;
     private final Provider<AsyncCallbackBuilder<Array<ApplicationProcessDescriptor>>> callbackBuilderProvider;
-    private final WebSocketUtil                                                       webSocketUtil;
+    private final RunningProcessesCache                                               processesCache;
     private final RunnerManagerPresenter                                              runnerManagerPresenter;
-    private final String                                                              workspaceId;
     private final PropertiesContainer                                                 propertiesContainer;
+    private final Set<Long>                                                           restoredProcesses;
 
-    private String                                            channel;
-    private SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler;
-    private CurrentProject                                    project;
+    private String         projectPath;
+    private CurrentProject project;
 
     @Inject
     public GetRunningProcessesAction(NotificationManager notificationManager,
@@ -76,24 +80,19 @@ public class GetRunningProcessesAction extends AbstractRunnerAction {
                                      AppContext appContext,
                                      RunnerLocalizationConstant locale,
                                      Provider<AsyncCallbackBuilder<Array<ApplicationProcessDescriptor>>> callbackBuilderProvider,
-                                     WebSocketUtil webSocketUtil,
-                                     RunnerActionFactory actionFactory,
+                                     RunningProcessesCache processesCache,
                                      RunnerManagerPresenter runnerManagerPresenter,
-                                     PropertiesContainer propertiesContainer,
-                                     @Named("workspaceId") String workspaceId) {
+                                     PropertiesContainer propertiesContainer) {
         this.notificationManager = notificationManager;
         this.service = service;
         this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
         this.appContext = appContext;
         this.locale = locale;
-        this.logsAction = actionFactory.createGetLogs();
         this.callbackBuilderProvider = callbackBuilderProvider;
-        this.webSocketUtil = webSocketUtil;
+        this.processesCache = processesCache;
         this.runnerManagerPresenter = runnerManagerPresenter;
         this.propertiesContainer = propertiesContainer;
-        this.workspaceId = workspaceId;
-
-        addAction(logsAction);
+        this.restoredProcesses = new HashSet<>();
     }
 
     /** {@inheritDoc} */
@@ -104,7 +103,11 @@ public class GetRunningProcessesAction extends AbstractRunnerAction {
             return;
         }
 
-        startCheckingNewProcesses();
+        projectPath = project.getProjectDescription().getPath();
+
+        processesCache.watch(projectPath, this);
+
+        restoreProcesses();
 
         AsyncRequestCallback<Array<ApplicationProcessDescriptor>> callback = callbackBuilderProvider
                 .get()
@@ -112,17 +115,14 @@ public class GetRunningProcessesAction extends AbstractRunnerAction {
                 .success(new SuccessCallback<Array<ApplicationProcessDescriptor>>() {
                     @Override
                     public void onSuccess(Array<ApplicationProcessDescriptor> result) {
-                        if (result.isEmpty()) {
+                        if (projectPath == null) {
+                            // the project was closed while processes were loading
                             return;
                         }
 
-                        propertiesContainer.setVisible(true);
+                        processesCache.setProcesses(projectPath, result.asIterable());
 
-                        for (ApplicationProcessDescriptor processDescriptor : result.asIterable()) {
-                            if (isNewOrRunningProcess(processDescriptor)) {
-                                prepareRunnerWithRunningApp(processDescriptor);
-                            }
-                        }
+                        reconcileProcesses(result);
                     }
                 })
                 .failure(new FailureCallback() {
@@ -133,57 +133,112 @@ public class GetRunningProcessesAction extends AbstractRunnerAction {
                 })
                 .build();
 
-        service.getRunningProcesses(project.getProjectDescription().getPath(), callback);
+        service.getRunningProcesses(projectPath, callback);
     }
 
-    private boolean isNewOrRunningProcess(@Nonnull ApplicationProcessDescriptor processDescriptor) {
-        ApplicationStatus status = processDescriptor.getStatus();
-        return status == NEW || status == RUNNING;
+    private void restoreProcesses() {
+        restoredProcesses.clear();
+
+        List<ApplicationProcessDescriptor> cachedProcesses = processesCache.getProcesses(projectPath);
+        if (cachedProcesses == null) {
+            return;
+        }
+
+        for (ApplicationProcessDescriptor processDescriptor : cachedProcesses) {
+            if (isNewOrRunningProcess(processDescriptor)) {
+                runnerManagerPresenter.addRunner(processDescriptor);
+                restoredProcesses.add(processDescriptor.getProcessId());
+            }
+        }
+
+        if (!restoredProcesses.isEmpty()) {
+            propertiesContainer.setVisible(true);
+        }
     }
 
-    private void startCheckingNewProcesses() {
-        processStartedHandler = new SubscriptionHandler<ApplicationProcessDescriptor>(
-                dtoUnmarshallerFactory.newWSUnmarshaller(ApplicationProcessDescriptor.class)) {
-            @Override
-            protected void onMessageReceived(ApplicationProcessDescriptor processDescriptor) {
-                if (!runnerManagerPresenter.isRunnerExist(processDescriptor.getProcessId()) && isNewOrRunningProcess(processDescriptor)) {
-                    prepareRunnerWithRunningApp(processDescriptor);
-                }
+    private void reconcileProcesses(@Nonnull Array<ApplicationProcessDescriptor> result) {
+        Map<Long, ApplicationProcessDescriptor> loadedProcesses = new HashMap<>();
+        int runningProcesses = 0;
+
+        for (ApplicationProcessDescriptor processDescriptor : result.asIterable()) {
+            long processId = processDescriptor.getProcessId();
+            loadedProcesses.put(processId, processDescriptor);
+
+            if (isNewOrRunningProcess(processDescriptor) && !restoredProcesses.contains(processId)
+                && !runnerManagerPresenter.isRunnerExist(processId)) {
+                runnerManagerPresenter.addRunner(processDescriptor);
+                runningProcesses++;
             }
+        }
 
-            @Override
-            protected void onErrorReceived(Throwable exception) {
-                Log.error(GetRunningProcessesAction.class, exception);
+        for (Long processId : restoredProcesses) {
+            ApplicationProcessDescriptor processDescriptor = loadedProcesses.get(processId);
+
+            if (processDescriptor == null || !isNewOrRunningProcess(processDescriptor)) {
+                runnerManagerPresenter.finishRunner(processId, getFinalStatus(processDescriptor));
             }
-        };
+        }
 
-        channel = PROCESS_STARTED_CHANNEL + workspaceId + ':' + project.getProjectDescription().getPath() + ':' +
-                  appContext.getCurrentUser().getProfile().getId();
-        webSocketUtil.subscribeHandler(channel, processStartedHandler);
+        restoredProcesses.clear();
+
+        if (runningProcesses > 0) {
+            propertiesContainer.setVisible(true);
+        }
+
+        showNotification(runningProcesses);
+    }
+
+    @Nonnull
+    private Runner.Status getFinalStatus(ApplicationProcessDescriptor processDescriptor) {
+        if (processDescriptor == null) {
+            return Runner.Status.STOPPED;
+        }
+
+        ApplicationStatus status = processDescriptor.getStatus();
+
+        return status == FAILED || status == CANCELLED ? Runner.Status.FAILED : Runner.Status.STOPPED;
+    }
+
+    private boolean isNewOrRunningProcess(@Nonnull ApplicationProcessDescriptor processDescriptor) {
+        ApplicationStatus status = processDescriptor.getStatus();
+        return status == NEW || status == RUNNING;
     }
 
-    private void prepareRunnerWithRunningApp(@Nonnull ApplicationProcessDescriptor processDescriptor) {
-        Runner runner = runnerManagerPresenter.addRunner(processDescriptor);
+    /** {@inheritDoc} */
+    @Override
+    public void onProcessStarted(@Nonnull ApplicationProcessDescriptor processDescriptor) {
+        if (!runnerManagerPresenter.isRunnerExist(processDescriptor.getProcessId()) && isNewOrRunningProcess(processDescriptor)) {
+            runnerManagerPresenter.addRunner(processDescriptor);
+
+            showNotification(1);
+        }
+    }
+
+    /** Shows one notification about all runners which were found, instead of a notification per runner. */
+    private void showNotification(@Nonnegative int runningProcesses) {
+        if (runningProcesses == 0) {
+            return;
+        }
 
-        logsAction.perform(runner);
+        String projectName = project.getProjectDescription().getName();
+        String message = runningProcesses == 1 ? locale.projectRunningNow(projectName)
+                                               : locale.projectRunningProcesses(runningProcesses, projectName);
 
-        Notification notification = new Notification(locale.projectRunningNow(project.getProjectDescription().getName()), INFO, true);
-        notificationManager.showNotification(notification);
+        notificationManager.showNotification(new Notification(message, INFO, true));
     }
 
     /** {@inheritDoc} */
     @Override
     public void stop() {
-        if (channel == null || processStartedHandler == null) {
+        if (projectPath == null) {
             return;
         }
 
-        webSocketUtil.unSubscribeHandler(channel, processStartedHandler);
+        processesCache.removeListener(projectPath);
 
         super.stop();
 
-        channel = null;
-        processStartedHandler = null;
+        projectPath = null;
     }
 
-}
\ No newline at end of file
+}
@@ -21,6 +21,9 @@ import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.LaunchAction;
@@ -50,6 +53,8 @@ public class RunAction extends AbstractRunnerAction {
     private final RunnerUtil                                                   runnerUtil;
     private final LaunchAction                                                 launchAction;
     private final AnalyticsEventLogger                                         eventLogger;
+    private final RunnerMetrics                                                runnerMetrics;
+    private final WorkspaceResources                                           resources;
 
     @Inject
     public RunAction(RunnerServiceClient service,
@@ -59,7 +64,9 @@ public class RunAction extends AbstractRunnerAction {
                      Provider<AsyncCallbackBuilder<ApplicationProcessDescriptor>> callbackBuilderProvider,
                      RunnerUtil runnerUtil,
                      RunnerActionFactory actionFactory,
-                     AnalyticsEventLogger eventLogger) {
+                     AnalyticsEventLogger eventLogger,
+                     RunnerMetrics runnerMetrics,
+                     WorkspaceResources resources) {
         this.service = service;
         this.appContext = appContext;
         this.locale = locale;
@@ -67,6 +74,8 @@ public class RunAction extends AbstractRunnerAction {
         this.callbackBuilderProvider = callbackBuilderProvider;
         this.runnerUtil = runnerUtil;
         this.eventLogger = eventLogger;
+        this.runnerMetrics = runnerMetrics;
+        this.resources = resources;
         this.launchAction = actionFactory.createLaunch();
 
         addAction(launchAction);
@@ -84,25 +93,38 @@ public class RunAction extends AbstractRunnerAction {
 
         presenter.setActive();
 
+        LaunchTrace trace = runnerMetrics.getLaunchTrace(runner);
+        if (trace == null || trace.isFinished(LaunchPhase.RUN_REQUEST)) {
+            // the runner is launched without checking of resources
+            runnerMetrics.onLaunchStarted(runner, System.currentTimeMillis());
+        }
+
         AsyncRequestCallback<ApplicationProcessDescriptor> callback = callbackBuilderProvider
                 .get()
                 .unmarshaller(ApplicationProcessDescriptor.class)
                 .success(new SuccessCallback<ApplicationProcessDescriptor>() {
                     @Override
                     public void onSuccess(ApplicationProcessDescriptor descriptor) {
+                        runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.RUN_REQUEST, System.currentTimeMillis());
+
                         runner.setProcessDescriptor(descriptor);
                         runner.setRAM(descriptor.getMemorySize());
                         runner.setStatus(Runner.Status.IN_PROGRESS);
 
                         presenter.addRunnerId(descriptor.getProcessId());
 
+                        resources.onProcessStarted(descriptor.getProcessId(), descriptor.getMemorySize());
+
                         launchAction.perform(runner);
                     }
                 })
                 .failure(new FailureCallback() {
                     @Override
                     public void onFailure(@Nonnull Throwable reason) {
-                        runnerUtil.showError(runner, locale.startApplicationFailed(project.getProjectDescription().getName()), null);
+                        // resources which are known on the client side may be stale, e.g. the server rejected the run request
+                        resources.invalidate();
+
+                        runnerUtil.showError(runner, locale.startApplicationFailed(project.getProjectDescription().getName()), reason);
                     }
                 })
                 .build();
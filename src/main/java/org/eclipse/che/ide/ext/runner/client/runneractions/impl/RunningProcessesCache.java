@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl;
+
+import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The workspace-level cache of runner processes of projects. Processes of a project are cached when they are loaded for the first time,
+ * after that the cache is kept fresh by the channel of started processes of the project, even when the project is closed. So runners of
+ * a reopened project can be restored at once, before the processes are loaded again.
+ * <p/>
+ * Only {@link #MAX_PROJECTS} projects are cached. When one more project is watched, the closed project which was watched the earliest is
+ * evicted: its processes are removed and its channel is unsubscribed.
+ *
+ * @author Andrey Plotnikov
+ */
+@Singleton
+public class RunningProcessesCache {
+
+    /** Maximum amount of projects which processes are cached. */
+    static final int MAX_PROJECTS = 8;
+
+    private static final String PROCESS_STARTED_CHANNEL = "runner:process_started:";
+
+    private final WebSocketUtil                                                  webSocketUtil;
+    private final DtoUnmarshallerFactory                                         dtoUnmarshallerFactory;
+    private final AppContext                                                     appContext;
+    private final String                                                         workspaceId;
+    private final Map<String, Map<Long, ApplicationProcessDescriptor>>           processes;
+    private final Map<String, SubscriptionHandler<ApplicationProcessDescriptor>> handlers;
+    private final Map<String, ProcessStartedListener>                            listeners;
+
+    @Inject
+    public RunningProcessesCache(WebSocketUtil webSocketUtil,
+                                 DtoUnmarshallerFactory dtoUnmarshallerFactory,
+                                 AppContext appContext,
+                                 @Named("workspaceId") String workspaceId) {
+        this.webSocketUtil = webSocketUtil;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+        this.appContext = appContext;
+        this.workspaceId = workspaceId;
+
+        this.processes = new HashMap<>();
+        this.handlers = new LinkedHashMap<>();
+        this.listeners = new HashMap<>();
+    }
+
+    /**
+     * Starts watching of processes which are started for a given project. The project stays watched when the listener is removed.
+     *
+     * @param projectPath
+     *         path of the project
+     * @param listener
+     *         listener which is notified about started processes while the project is open
+     */
+    public void watch(@Nonnull final String projectPath, @Nonnull ProcessStartedListener listener) {
+        listeners.put(projectPath, listener);
+
+        SubscriptionHandler<ApplicationProcessDescriptor> watchedHandler = handlers.remove(projectPath);
+        if (watchedHandler != null) {
+            // the project becomes the latest watched one
+            handlers.put(projectPath, watchedHandler);
+            return;
+        }
+
+        SubscriptionHandler<ApplicationProcessDescriptor> handler = new SubscriptionHandler<ApplicationProcessDescriptor>(
+                dtoUnmarshallerFactory.newWSUnmarshaller(ApplicationProcessDescriptor.class)) {
+            @Override
+            protected void onMessageReceived(ApplicationProcessDescriptor processDescriptor) {
+                onProcessStarted(projectPath, processDescriptor);
+            }
+
+            @Override
+            protected void onErrorReceived(Throwable exception) {
+                Log.error(RunningProcessesCache.class, exception);
+            }
+        };
+
+        handlers.put(projectPath, handler);
+
+        webSocketUtil.subscribeHandler(getChannel(projectPath), handler);
+
+        evictIfNeeded();
+    }
+
+    /** Evicts the earliest watched projects which are closed while too many projects are cached. */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, SubscriptionHandler<ApplicationProcessDescriptor>>> iterator = handlers.entrySet().iterator();
+
+        while (handlers.size() > MAX_PROJECTS && iterator.hasNext()) {
+            Map.Entry<String, SubscriptionHandler<ApplicationProcessDescriptor>> entry = iterator.next();
+            String projectPath = entry.getKey();
+
+            if (listeners.containsKey(projectPath)) {
+                continue;
+            }
+
+            iterator.remove();
+            processes.remove(projectPath);
+
+            webSocketUtil.unSubscribeHandler(getChannel(projectPath), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes the listener of started processes of a given project.
+     *
+     * @param projectPath
+     *         path of the project
+     */
+    public void removeListener(@Nonnull String projectPath) {
+        listeners.remove(projectPath);
+    }
+
+    /**
+     * Returns cached processes of a given project.
+     *
+     * @param projectPath
+     *         path of the project
+     * @return processes of the project or <code>null</code> if processes of the project weren't loaded before
+     */
+    @Nullable
+    public List<ApplicationProcessDescriptor> getProcesses(@Nonnull String projectPath) {
+        Map<Long, ApplicationProcessDescriptor> projectProcesses = processes.get(projectPath);
+
+        return projectProcesses == null ? null : new ArrayList<>(projectProcesses.values());
+    }
+
+    /**
+     * Replaces cached processes of a given project with loaded ones.
+     *
+     * @param projectPath
+     *         path of the project
+     * @param loadedProcesses
+     *         processes which were loaded from the server
+     */
+    public void setProcesses(@Nonnull String projectPath, @Nonnull Iterable<ApplicationProcessDescriptor> loadedProcesses) {
+        Map<Long, ApplicationProcessDescriptor> projectProcesses = new LinkedHashMap<>();
+
+        for (ApplicationProcessDescriptor processDescriptor : loadedProcesses) {
+            projectProcesses.put(processDescriptor.getProcessId(), processDescriptor);
+        }
+
+        processes.put(projectPath, projectProcesses);
+    }
+
+    private void onProcessStarted(@Nonnull String projectPath, @Nonnull ApplicationProcessDescriptor processDescriptor) {
+        Map<Long, ApplicationProcessDescriptor> projectProcesses = processes.get(projectPath);
+
+        if (projectProcesses != null) {
+            projectProcesses.put(processDescriptor.getProcessId(), processDescriptor);
+        }
+
+        ProcessStartedListener listener = listeners.get(projectPath);
+
+        if (listener != null) {
+            listener.onProcessStarted(processDescriptor);
+        }
+    }
+
+    @Nonnull
+    private String getChannel(@Nonnull String projectPath) {
+        return PROCESS_STARTED_CHANNEL + workspaceId + ':' + projectPath + ':' + appContext.getCurrentUser().getProfile().getId();
+    }
+
+    /** The listener of processes which are started for an open project. */
+    public interface ProcessStartedListener {
+        /**
+         * Performs some actions when a process is started.
+         *
+         * @param processDescriptor
+         *         descriptor of the started process
+         */
+        void onProcessStarted(@Nonnull ApplicationProcessDescriptor processDescriptor);
+    }
+
+}
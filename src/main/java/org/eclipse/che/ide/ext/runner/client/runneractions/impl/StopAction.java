@@ -59,6 +59,7 @@ public class StopAction extends AbstractRunnerAction {
     private final ConsoleContainer                                             consoleContainer;
     private final AnalyticsEventLogger                                         eventLogger;
     private final EventBus                                                     eventBus;
+    private final WorkspaceResources                                           resources;
 
     private CurrentProject         project;
     private Runner                 runner;
@@ -76,7 +77,8 @@ public class StopAction extends AbstractRunnerAction {
                       ConsoleContainer consoleContainer,
                       EventBus eventBus,
                       AnalyticsEventLogger eventLogger,
-                      RunnerManagerPresenter runnerManagerPresenter) {
+                      RunnerManagerPresenter runnerManagerPresenter,
+                      WorkspaceResources resources) {
         this.service = service;
         this.appContext = appContext;
         this.eventBus = eventBus;
@@ -87,6 +89,7 @@ public class StopAction extends AbstractRunnerAction {
         this.eventLogger = eventLogger;
         this.logsAction = actionFactory.createGetLogs();
         this.consoleContainer = consoleContainer;
+        this.resources = resources;
 
         presenter = runnerManagerPresenter;
 
@@ -149,6 +152,8 @@ public class StopAction extends AbstractRunnerAction {
     private void processStoppedMessage(@Nonnull ApplicationProcessDescriptor descriptor) {
         runner.setProcessDescriptor(descriptor);
 
+        resources.onProcessFinished(descriptor.getProcessId());
+
         project.setIsRunningEnabled(true);
 
         String projectName = project.getProjectDescription().getName();
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl;
+
+import org.eclipse.che.api.runner.dto.ResourcesDescriptor;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The client-side model of the memory of workspace runners. The model is loaded from {@link ResourcesDescriptor} and is kept up to
+ * date by processes which are started and finished in the IDE, so memory of a new runner can be checked without a request to the
+ * server. The memory which is known on the client side may differ from the real one, so the model is revalidated in the background.
+ * <p/>
+ * Only processes which were started in the IDE are tracked, so the memory of a process which was attached or discovered is released
+ * only when the model is loaded again. When the tracked processes take more memory than the server reports as used, some of them are
+ * already finished on the server side, so tracking is restarted from the loaded memory to keep released memory from drifting.
+ * <p/>
+ * Revalidation can be suspended while a batch of runners is launched against one loaded model (e.g. a run matrix).
+ *
+ * @author Andrey Plotnikov
+ */
+@Singleton
+public class WorkspaceResources {
+
+    private final Map<Long, Integer> processes;
+
+    private boolean isLoaded;
+    private int     suspensions;
+    private int     totalMemory;
+    private int     usedMemory;
+
+    @Inject
+    public WorkspaceResources() {
+        this.processes = new HashMap<>();
+    }
+
+    /** @return <code>true</code> if the model was loaded from the server and wasn't invalidated, <code>false</code> otherwise */
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    /** @return total memory of workspace runners */
+    @Nonnegative
+    public int getTotalMemory() {
+        return totalMemory;
+    }
+
+    /** @return memory which is used by workspace runners */
+    @Nonnegative
+    public int getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * Replaces the memory which is known on the client side with the memory which was loaded from the server.
+     *
+     * @param resourcesDescriptor
+     *         resources which were loaded from the server
+     */
+    public void setResources(@Nonnull ResourcesDescriptor resourcesDescriptor) {
+        totalMemory = Integer.valueOf(resourcesDescriptor.getTotalMemory());
+        usedMemory = Integer.valueOf(resourcesDescriptor.getUsedMemory());
+
+        int trackedMemory = 0;
+        for (int memory : processes.values()) {
+            trackedMemory += memory;
+        }
+
+        if (trackedMemory > usedMemory) {
+            processes.clear();
+        }
+
+        isLoaded = true;
+    }
+
+    /** Marks the model as stale, so the memory is loaded from the server before the next launch of a runner. */
+    public void invalidate() {
+        isLoaded = false;
+    }
+
+    /** Suspends revalidation of the model until {@link #resumeRevalidation()} is called. Suspensions are counted. */
+    public void suspendRevalidation() {
+        suspensions++;
+    }
+
+    /** Resumes revalidation of the model which was suspended by {@link #suspendRevalidation()}. */
+    public void resumeRevalidation() {
+        suspensions = Math.max(0, suspensions - 1);
+    }
+
+    /** @return <code>true</code> if revalidation of the model is suspended, <code>false</code> otherwise */
+    public boolean isRevalidationSuspended() {
+        return suspensions > 0;
+    }
+
+    /**
+     * Adds memory of a started process to the used memory. The memory of the process is added once.
+     *
+     * @param processId
+     *         id of the process
+     * @param memory
+     *         memory of the process
+     */
+    public void onProcessStarted(long processId, @Nonnegative int memory) {
+        if (processes.containsKey(processId)) {
+            return;
+        }
+
+        processes.put(processId, memory);
+        usedMemory += memory;
+    }
+
+    /**
+     * Releases memory of a finished process. Nothing is released when the process wasn't started in the IDE.
+     *
+     * @param processId
+     *         id of the process
+     */
+    public void onProcessFinished(long processId) {
+        Integer memory = processes.remove(processId);
+
+        if (memory != null) {
+            usedMemory = Math.max(0, usedMemory - memory);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.app.CurrentProject;
+import org.eclipse.che.ide.api.notification.Notification;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.RunnerAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetLogsAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.OutputAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+
+import javax.annotation.Nonnull;
+
+import static org.eclipse.che.ide.api.notification.Notification.Type.INFO;
+
+/**
+ * The action that attaches to a runner which was launched before the project was opened. Only the status of the runner is tracked at
+ * first, the tail of the log is loaded and the output is subscribed to when the runner is shown for the first time. The output continues
+ * the loaded log, so lines which were shown with the log aren't printed again.
+ *
+ * @author Andrey Plotnikov
+ */
+public class AttachAction extends AbstractRunnerAction {
+
+    private final AppContext                 appContext;
+    private final RunnerLocalizationConstant locale;
+    private final RunnerActionFactory        runnerActionFactory;
+    private final GetLogsAction              logsAction;
+    private final OutputAction               outputAction;
+
+    private Runner  runner;
+    private boolean isOutputAttached;
+
+    @Inject
+    public AttachAction(AppContext appContext, RunnerLocalizationConstant locale, RunnerActionFactory runnerActionFactory) {
+        this.appContext = appContext;
+        this.locale = locale;
+        this.runnerActionFactory = runnerActionFactory;
+
+        logsAction = runnerActionFactory.createGetLogs();
+        outputAction = runnerActionFactory.createOutput();
+
+        addAction(logsAction);
+        addAction(outputAction);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void perform(@Nonnull Runner runner) {
+        CurrentProject project = appContext.getCurrentProject();
+        if (project == null) {
+            return;
+        }
+
+        this.runner = runner;
+
+        project.setIsRunningEnabled(false);
+
+        String projectName = project.getProjectDescription().getName();
+
+        // the notification isn't shown, attached runners are announced by one summary notification
+        Notification notification = new Notification(locale.projectRunningNow(projectName), INFO, true);
+
+        RunnerAction statusAction = runnerActionFactory.createStatus(notification);
+        addAction(statusAction);
+
+        statusAction.perform(runner);
+    }
+
+    /** Loads the tail of the log of the runner and subscribes to the output of the runner. Nothing happens when it was done before. */
+    public void attachOutput() {
+        if (runner == null || isOutputAttached) {
+            return;
+        }
+
+        isOutputAttached = true;
+
+        outputAction.attach(runner);
+        logsAction.perform(runner, new SuccessCallback<LogPage>() {
+            @Override
+            public void onSuccess(LogPage page) {
+                outputAction.onLogLoaded(page);
+            }
+        });
+    }
+
+    /** @return <code>true</code> when the output of the runner is attached, <code>false</code> otherwise */
+    public boolean isOutputAttached() {
+        return isOutputAttached;
+    }
+
+}
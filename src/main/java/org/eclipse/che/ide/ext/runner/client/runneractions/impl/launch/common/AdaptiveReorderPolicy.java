@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import javax.annotation.Nonnegative;
+
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.FIVE_SEC;
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+
+/**
+ * The policy which defines how long log messages wait for a missing message. It tracks delays after which missing messages are
+ * received: the smoothed delay and its smoothed deviation are updated with every observed delay and the waiting time is the smoothed
+ * delay plus four deviations. So a stream with occasional reordering doesn't wait long for a message which is really lost, and a
+ * stream with jittery delivery gets more time. The waiting time is limited by {@link #MIN_DELAY} and {@link #MAX_DELAY}.
+ *
+ * @author Andrey Plotnikov
+ */
+public class AdaptiveReorderPolicy {
+
+    /** The waiting time which is used until some delay is observed. */
+    static final int INITIAL_DELAY = ONE_SEC.getValue();
+    static final int MIN_DELAY     = 200;
+    static final int MAX_DELAY     = FIVE_SEC.getValue();
+
+    private static final double DELAY_GAIN     = 1.0 / 8;
+    private static final double DEVIATION_GAIN = 1.0 / 4;
+    private static final int    DEVIATIONS     = 4;
+
+    private double  smoothedDelay;
+    private double  deviation;
+    private boolean hasSamples;
+
+    /**
+     * Adds a delay after which a missing message was received.
+     *
+     * @param delay
+     *         time in milliseconds between the moment when the gap was found and the moment when it was filled
+     */
+    public void addDelay(@Nonnegative long delay) {
+        if (!hasSamples) {
+            smoothedDelay = delay;
+            deviation = delay / 2.0;
+            hasSamples = true;
+
+            return;
+        }
+
+        deviation += DEVIATION_GAIN * (Math.abs(smoothedDelay - delay) - deviation);
+        smoothedDelay += DELAY_GAIN * (delay - smoothedDelay);
+    }
+
+    /** @return time in milliseconds during which buffered messages wait for a missing message */
+    @Nonnegative
+    public int getDelay() {
+        if (!hasSamples) {
+            return INITIAL_DELAY;
+        }
+
+        long delay = Math.round(smoothedDelay + DEVIATIONS * deviation);
+
+        return (int)Math.max(MIN_DELAY, Math.min(MAX_DELAY, delay));
+    }
+
+}
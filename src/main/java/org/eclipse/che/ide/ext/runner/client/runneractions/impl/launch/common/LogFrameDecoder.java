@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.eclipse.che.ide.ext.runner.client.util.JsonScanner;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * The decoder which reads log messages straight from the text of a frame. It doesn't create JSON values for every field of a message,
+ * so a frame with a batch of lines costs one string per line. The decoder throws {@link IllegalStateException} when the frame has an
+ * unexpected structure, so {@link LogMessageUnmarshaller} is able to parse such frame in the generic way.
+ *
+ * @author Andrey Plotnikov
+ */
+final class LogFrameDecoder {
+    static final String LINE   = "line";
+    static final String LINES  = "lines";
+    static final String NUMBER = "num";
+
+    private LogFrameDecoder() {
+        throw new UnsupportedOperationException("Creation instance of this class isn't supported");
+    }
+
+    /**
+     * Reads log messages from a given frame.
+     *
+     * @param frame
+     *         text of the frame
+     * @param messages
+     *         list where messages are added
+     * @throws IllegalStateException
+     *         when the frame has an unexpected structure
+     */
+    static void decode(@Nonnull String frame, @Nonnull List<LogMessage> messages) {
+        JsonScanner scanner = new JsonScanner(frame);
+
+        if (scanner.consume('[')) {
+            if (!scanner.consume(']')) {
+                do {
+                    readObject(scanner, messages);
+                } while (scanner.consume(','));
+
+                scanner.expect(']');
+            }
+        } else {
+            readObject(scanner, messages);
+        }
+
+        if (!scanner.isEnd()) {
+            throw new IllegalStateException("Unexpected content after the end of the frame");
+        }
+    }
+
+    private static void readObject(@Nonnull JsonScanner scanner, @Nonnull List<LogMessage> messages) {
+        scanner.expect('{');
+
+        int number = -1;
+        String line = null;
+        int linesIndex = messages.size();
+        boolean hasLines = false;
+        boolean isLinesNumbered = false;
+
+        if (!scanner.consume('}')) {
+            do {
+                String key = scanner.readString();
+                scanner.expect(':');
+
+                if (NUMBER.equals(key)) {
+                    number = scanner.readInt();
+                } else if (LINE.equals(key)) {
+                    line = scanner.readString();
+                } else if (LINES.equals(key)) {
+                    hasLines = true;
+                    isLinesNumbered = number >= 0;
+                    readLines(scanner, messages, Math.max(number, 0));
+                } else {
+                    scanner.skipValue();
+                }
+            } while (scanner.consume(','));
+
+            scanner.expect('}');
+        }
+
+        if (hasLines && !isLinesNumbered) {
+            numberLines(number, messages, linesIndex);
+        } else if (!hasLines && line != null) {
+            if (number < 0) {
+                throw new IllegalStateException("Number of the line is absent");
+            }
+
+            messages.add(new LogMessage(number, line));
+        }
+    }
+
+    /**
+     * Lines are added with numbers counted from a given number. When the number of the first line goes after the array, the lines are
+     * added with their offsets and numbered later.
+     */
+    private static void readLines(@Nonnull JsonScanner scanner, @Nonnull List<LogMessage> messages, int firstNumber) {
+        scanner.expect('[');
+
+        if (scanner.consume(']')) {
+            return;
+        }
+
+        int offset = 0;
+
+        do {
+            if (scanner.peek() == '"') {
+                messages.add(new LogMessage(firstNumber + offset, scanner.readString()));
+            } else {
+                scanner.skipValue();
+            }
+
+            offset++;
+        } while (scanner.consume(','));
+
+        scanner.expect(']');
+    }
+
+    private static void numberLines(int firstNumber, @Nonnull List<LogMessage> messages, int fromIndex) {
+        if (firstNumber < 0) {
+            throw new IllegalStateException("Number of the first line is absent");
+        }
+
+        for (int i = fromIndex; i < messages.size(); i++) {
+            LogMessage message = messages.get(i);
+
+            messages.set(i, new LogMessage(firstNumber + message.getNumber(), message.getText()));
+        }
+    }
+
+}
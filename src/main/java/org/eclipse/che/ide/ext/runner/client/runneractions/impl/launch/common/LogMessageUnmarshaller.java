@@ -13,21 +13,33 @@ package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
 import org.eclipse.che.ide.commons.exception.UnmarshallerException;
 import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.rest.Unmarshallable;
+import com.google.gwt.json.client.JSONArray;
 import com.google.gwt.json.client.JSONObject;
 import com.google.gwt.json.client.JSONParser;
+import com.google.gwt.json.client.JSONString;
+import com.google.gwt.json.client.JSONValue;
 import com.google.inject.Inject;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogFrameDecoder.LINE;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogFrameDecoder.LINES;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogFrameDecoder.NUMBER;
+
 /**
- * Unmarshaller for a log message.
+ * Unmarshaller for log messages. One frame can contain a single log message <code>{"num":1,"line":"text"}</code> or a batch of log
+ * messages. A batch is an array of single messages <code>[{"num":1,"line":"text"},{"num":2,"line":"text"}]</code> or a number of the
+ * first line with an array of lines <code>{"num":1,"lines":["text","text"]}</code>. The frame is read by {@link LogFrameDecoder} without
+ * building JSON values. The generic JSON parser is used only for frames which the decoder doesn't expect.
  *
  * @author Artem Zatsarynnyy
  * @author Andrey Plotnikov
  */
-public class LogMessageUnmarshaller implements Unmarshallable<LogMessage> {
-    private static final String LINE   = "line";
-    private static final String NUMBER = "num";
-
-    private LogMessage logMessage;
+public class LogMessageUnmarshaller implements Unmarshallable<List<LogMessage>> {
+    private List<LogMessage> logMessages;
 
     @Inject
     public LogMessageUnmarshaller() {
@@ -37,8 +49,43 @@ public class LogMessageUnmarshaller implements Unmarshallable<LogMessage> {
     /** {@inheritDoc} */
     @Override
     public void unmarshal(Message response) throws UnmarshallerException {
-        JSONObject jsonObject = JSONParser.parseStrict(response.getBody()).isObject();
+        String body = response.getBody();
+
+        logMessages = new ArrayList<>();
+
+        try {
+            LogFrameDecoder.decode(body, logMessages);
+        } catch (IllegalStateException e) {
+            logMessages.clear();
+            parse(body);
+        }
+    }
+
+    private void parse(@Nonnull String body) {
+        JSONValue frame = JSONParser.parseStrict(body);
+
+        JSONArray batch = frame.isArray();
+        if (batch != null) {
+            for (int i = 0; i < batch.size(); i++) {
+                addMessage(batch.get(i).isObject());
+            }
+
+            return;
+        }
 
+        JSONObject jsonObject = frame.isObject();
+        if (jsonObject == null) {
+            return;
+        }
+
+        if (jsonObject.containsKey(LINES)) {
+            addMessages(jsonObject);
+        } else {
+            addMessage(jsonObject);
+        }
+    }
+
+    private void addMessage(@Nullable JSONObject jsonObject) {
         if (jsonObject == null || !jsonObject.containsKey(LINE)) {
             return;
         }
@@ -46,13 +93,26 @@ public class LogMessageUnmarshaller implements Unmarshallable<LogMessage> {
         int lineNumber = (int)jsonObject.get(NUMBER).isNumber().doubleValue();
         String text = jsonObject.get(LINE).isString().stringValue();
 
-        logMessage = new LogMessage(lineNumber, text);
+        logMessages.add(new LogMessage(lineNumber, text));
+    }
+
+    private void addMessages(@Nonnull JSONObject jsonObject) {
+        int firstNumber = (int)jsonObject.get(NUMBER).isNumber().doubleValue();
+        JSONArray lines = jsonObject.get(LINES).isArray();
+
+        for (int i = 0; i < lines.size(); i++) {
+            JSONString line = lines.get(i).isString();
+
+            if (line != null) {
+                logMessages.add(new LogMessage(firstNumber + i, line.stringValue()));
+            }
+        }
     }
 
     /** {@inheritDoc} */
     @Override
-    public LogMessage getPayload() {
-        return logMessage;
+    public List<LogMessage> getPayload() {
+        return logMessages;
     }
 
-}
\ No newline at end of file
+}
@@ -10,43 +10,88 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
 
-import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogRangeReader;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
-import org.eclipse.che.ide.ext.runner.client.constants.TimeInterval;
 import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import com.google.gwt.user.client.Timer;
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  * This class listens for log messages from the server and process it. Logic of this class is slightly complicated since we can't guaranty
  * correct order of messages and delivery it from the server over WebSocket connection. So messages may be received in shuffled order and
- * some messages may be never received.
+ * some messages may be never received. The order is restored by {@link LogReorderBuffer}.
+ * <p/>
+ * One frame can contain a batch of messages. All lines which become printable while a frame is handled are passed to the console as a
+ * single text, so the console renders them at once.
+ * <p/>
+ * Buffered messages wait for a missing one as long as {@link AdaptiveReorderPolicy} allows, the waiting time follows delays which were
+ * observed for earlier gaps. One timer is used for the whole stream and it is rearmed only when the deadline of the first gap changes.
+ * When the deadline is reached, the missing lines are loaded from the log of the runner by a range request and spliced into place. The
+ * handler counts bytes of printed lines, so the position of the first missing line in the log is known while no line was skipped and
+ * the window wasn't moved over lines which weren't printed. The handler of an attached runner continues the log which was shown
+ * already, so the position is known only when the whole log was shown (see {@link #onLogLoaded(LogPage)}).
+ * <p/>
+ * Received lines, the depth of the reorder buffer and found gaps are registered in {@link OutputMetrics} of the runner. Messages which
+ * still wait for missing ones after the recovery are printed skipping the gap.
+ * <p/>
+ * Messages which were sent while WebSocket connection was lost are never delivered, so lines which follow the last printed line are
+ * loaded from the log when the connection is restored.
  *
  * @author Artem Zatsarynnyy
  * @author Andrey Plotnikov
  * @author Valeriy Svydenko
  */
-public class LogMessagesHandler extends SubscriptionHandler<LogMessage> {
+public class LogMessagesHandler extends SubscriptionHandler<List<LogMessage>> {
 
-    private final Runner                   runner;
-    private final ErrorHandler             errorHandler;
-    private final Map<Integer, LogMessage> postponedMessages;
-    private final Timer                    flushTimer;
-    private final ConsoleContainer         consoleContainer;
+    /** Maximum amount of bytes which are loaded to recover one gap. */
+    static final int MAX_RECOVERY_LENGTH = 64 * 1024;
+    /** Amount of bytes which is expected for one missing line. */
+    static final int LINE_LENGTH         = 256;
+    /** Maximum amount of pages which are loaded one after another when the connection is restored. */
+    static final int MAX_MISSED_PAGES    = 4;
 
-    private int lastPrintedMessageNum;
+    private final Runner                runner;
+    private final ErrorHandler          errorHandler;
+    private final LogReorderBuffer      reorderBuffer;
+    private final AdaptiveReorderPolicy reorderPolicy;
+    private final Timer                 flushTimer;
+    private final ConsoleContainer      consoleContainer;
+    private final LogRangeReader        rangeReader;
+    private final StringBuilder         output;
+    private final OutputMetrics         metrics;
+
+    private int     printedLines;
+    private int     printedBytes;
+    private int     missedPages;
+    private int     outputLines;
+    private int     outputBytes;
+    private int     gapBase;
+    private long    gapTime;
+    private long    deadline;
+    private boolean isRecovering;
+    private boolean isLoadingMissedLines;
+    private boolean isWaitingForStart;
 
     @Inject
     public LogMessagesHandler(LogMessageUnmarshaller unmarshaller,
                               ConsoleContainer consoleContainer,
                               TimerFactory timerFactory,
+                              LogRangeReader rangeReader,
+                              RunnerMetrics runnerMetrics,
                               @Nonnull @Assisted Runner runner,
                               @Nonnull @Assisted ErrorHandler errorHandler) {
         super(unmarshaller);
@@ -54,66 +99,444 @@ public class LogMessagesHandler extends SubscriptionHandler<LogMessage> {
         this.runner = runner;
         this.errorHandler = errorHandler;
         this.consoleContainer = consoleContainer;
-        this.postponedMessages = new HashMap<>();
+        this.rangeReader = rangeReader;
+        this.output = new StringBuilder();
+        this.metrics = runnerMetrics.getMetrics(runner);
+        this.reorderPolicy = new AdaptiveReorderPolicy();
+        this.reorderBuffer = new LogReorderBuffer(new LogReorderBuffer.Printer() {
+            @Override
+            public void print(@Nonnull LogMessage message) {
+                printLine(message);
+            }
+        });
 
         this.flushTimer = timerFactory.newInstance(new TimerFactory.TimerCallBack() {
             @Override
             public void onRun() {
-                printAllPostponedMessages();
+                if (isRecovering) {
+                    // the deadline is forgotten, so the timer is rearmed when the recovery is finished
+                    deadline = 0;
+                    return;
+                }
+
+                // the deadline is kept, so the timer isn't rearmed for the same gap
+                if (!recoverGap()) {
+                    flush();
+                }
             }
         });
     }
 
     /** {@inheritDoc} */
     @Override
-    protected void onMessageReceived(LogMessage message) {
-        int number = message.getNumber();
+    protected void onMessageReceived(List<LogMessage> messages) {
+        if (isWaitingForStart && !messages.isEmpty()) {
+            startFrom(messages);
+        }
+
+        for (LogMessage message : messages) {
+            if (message.getNumber() == reorderBuffer.getBase()) {
+                onGapFilled();
+            }
+
+            reorderBuffer.add(message);
+        }
+
+        checkPosition();
+
+        printOutput();
+
+        scheduleFlush();
+    }
 
-        if (number == lastPrintedMessageNum + 1) {
-            flushTimer.cancel();
-            printLine(message);
-        } else if (number > lastPrintedMessageNum) {
-            postponedMessages.put(number, message);
+    /**
+     * Makes the handler continue the log of the runner which is shown already (e.g. the runner was attached). Lines which precede the
+     * first received line are considered as shown, they aren't loaded or printed again. The position of the next line in the log is
+     * unknown until the whole shown log is passed to {@link #onLogLoaded(LogPage)}.
+     */
+    public void attach() {
+        isWaitingForStart = true;
+        printedBytes = -1;
+    }
+
+    /**
+     * Continues the log which was shown for an attached runner. The position of the next line in the log becomes known when the page
+     * contains the whole log and no line was received before. Nothing happens otherwise.
+     *
+     * @param page
+     *         the page of the log which was shown
+     */
+    public void onLogLoaded(@Nonnull LogPage page) {
+        if (!isWaitingForStart || page.getStart() != 0 || page.getEnd() < page.getTotal()) {
+            return;
+        }
+
+        isWaitingForStart = false;
+
+        String text = page.getText();
+        int end = text.lastIndexOf('\n') + 1;
+
+        int lines = 0;
+        for (int i = 0; i < end; i++) {
+            if (text.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+
+        // the line which is being written will be delivered by WebSocket
+        reorderBuffer.skip(lines + 1);
+
+        printedLines = lines;
+        printedBytes = getByteLength(text.substring(0, end));
+    }
+
+    /** Skips lines which precede the first received line, they were shown with the log of the runner. */
+    private void startFrom(@Nonnull List<LogMessage> messages) {
+        isWaitingForStart = false;
+
+        int first = Integer.MAX_VALUE;
+        for (LogMessage message : messages) {
+            first = Math.min(first, message.getNumber());
         }
 
-        printNextPostponedMessages();
+        reorderBuffer.skip(first);
+
+        printedLines = reorderBuffer.getBase() - 1;
+    }
+
+    /** The position of the next line in the log isn't known anymore when the window was moved over lines which weren't printed. */
+    private void checkPosition() {
+        if (reorderBuffer.getBase() != printedLines + 1) {
+            printedBytes = -1;
+        }
+    }
 
-        flushTimer.schedule(TimeInterval.FIVE_SEC.getValue());
+    /** @return <code>true</code> when the position of the first line which wasn't printed is known, <code>false</code> otherwise */
+    private boolean isPositionKnown() {
+        return printedBytes >= 0 && reorderBuffer.getBase() == printedLines + 1;
     }
 
     /** Print all messages from buffer for the moment and stop handling. */
     public void stop() {
-        printAllPostponedMessages();
+        flush();
         flushTimer.cancel();
+        deadline = 0;
+    }
+
+    /**
+     * Loads lines which follow the last printed line from the log of the runner and prints them. At most {@link #MAX_MISSED_PAGES} pages
+     * are loaded, the rest of lines are delivered by WebSocket or recovered as gaps. Nothing is loaded when no line was printed yet or
+     * the position of the last printed line in the log isn't known.
+     */
+    public void loadMissedLines() {
+        missedPages = 0;
+
+        loadMissedPage();
+    }
+
+    /** Loads the next page of lines which follow the last printed line. */
+    private void loadMissedPage() {
+        Link logLink = runner.getLogUrl();
+
+        if (isLoadingMissedLines || printedLines == 0 || !isPositionKnown() || logLink == null || logLink.getHref() == null) {
+            return;
+        }
+
+        final int from = reorderBuffer.getBase();
+        final int offset = printedBytes;
+
+        isLoadingMissedLines = true;
+        missedPages++;
+
+        rangeReader.read(logLink.getHref(),
+                         LogRangeReader.getRange(offset, offset + MAX_RECOVERY_LENGTH - 1),
+                         new SuccessCallback<LogPage>() {
+                             @Override
+                             public void onSuccess(LogPage page) {
+                                 isLoadingMissedLines = false;
+
+                                 onMissedLinesLoaded(page, from, offset);
+                             }
+                         },
+                         new FailureCallback() {
+                             @Override
+                             public void onFailure(@Nonnull Throwable reason) {
+                                 isLoadingMissedLines = false;
+
+                                 Log.error(LogMessagesHandler.class, reason);
+                             }
+                         });
+    }
+
+    /** Prints all buffered messages skipping missing ones. */
+    private void flush() {
+        reorderBuffer.flush();
+        checkPosition();
+        printOutput();
+
+        gapTime = 0;
+    }
+
+    /** Passes the time which the filled gap took to the reorder policy. */
+    private void onGapFilled() {
+        if (gapTime != 0 && gapBase == reorderBuffer.getBase()) {
+            reorderPolicy.addDelay(System.currentTimeMillis() - gapTime);
+            gapTime = 0;
+        }
+    }
+
+    /**
+     * Arms the flush timer for the deadline of the first gap. The timer isn't touched while the deadline stays the same, so messages
+     * which are received during the gap don't postpone it.
+     */
+    private void scheduleFlush() {
+        if (!reorderBuffer.hasGap()) {
+            gapTime = 0;
+
+            if (deadline != 0) {
+                flushTimer.cancel();
+                deadline = 0;
+            }
+
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        if (gapTime == 0 || gapBase != reorderBuffer.getBase()) {
+            gapBase = reorderBuffer.getBase();
+            gapTime = now;
+
+            metrics.onGapDetected();
+        }
+
+        long gapDeadline = gapTime + reorderPolicy.getDelay();
+
+        if (gapDeadline != deadline) {
+            deadline = gapDeadline;
+            flushTimer.schedule((int)Math.max(0, gapDeadline - now));
+        }
+    }
+
+    /**
+     * Loads missing lines of the first gap from the log of the runner.
+     *
+     * @return <code>true</code> when missing lines are being loaded, <code>false</code> when they can't be loaded
+     */
+    private boolean recoverGap() {
+        Link logLink = runner.getLogUrl();
+
+        if (!reorderBuffer.hasGap() || !isPositionKnown() || logLink == null || logLink.getHref() == null) {
+            return false;
+        }
+
+        final int from = reorderBuffer.getBase();
+        final int to = reorderBuffer.getGapEnd();
+        final int offset = printedBytes;
+
+        // lengths of missing lines are unknown, so the length of the range is estimated
+        long length = Math.min(MAX_RECOVERY_LENGTH, (long)(to - from + 2) * LINE_LENGTH);
+
+        isRecovering = true;
+
+        rangeReader.read(logLink.getHref(),
+                         LogRangeReader.getRange(offset, (int)(offset + length - 1)),
+                         new SuccessCallback<LogPage>() {
+                             @Override
+                             public void onSuccess(LogPage page) {
+                                 isRecovering = false;
+
+                                 onGapLoaded(page, from, to, offset);
+                             }
+                         },
+                         new FailureCallback() {
+                             @Override
+                             public void onFailure(@Nonnull Throwable reason) {
+                                 isRecovering = false;
+
+                                 Log.error(LogMessagesHandler.class, reason);
+                                 flush();
+                             }
+                         });
+
+        return true;
     }
 
-    /** Print next postponed messages with contiguous line numbers. */
-    private void printNextPostponedMessages() {
-        LogMessage nextLogMessage = postponedMessages.remove(lastPrintedMessageNum + 1);
+    /** Splices loaded lines into the gap. The loaded text is used only if it is consistent with the message after the gap. */
+    private void onGapLoaded(@Nonnull LogPage page, @Nonnegative int from, @Nonnegative int to, @Nonnegative int offset) {
+        if (reorderBuffer.getBase() != from || printedBytes != offset) {
+            // the gap was filled or skipped while lines were loading
+            printOutput();
+            scheduleFlush();
+            return;
+        }
+
+        String text = page.getText();
+        int position = offset - page.getStart();
+
+        if (position < 0 || position > text.length()) {
+            flush();
+            return;
+        }
+
+        boolean isEndOfLog = page.getEnd() >= page.getTotal();
+        LogMessage nextMessage = reorderBuffer.get(to + 1);
+
+        int number = from;
+        int count = 0;
+        String[] lines = new String[to - from + 1];
+
+        while (number <= to + 1 && position < text.length()) {
+            int end = text.indexOf('\n', position);
+            if (end < 0 && !isEndOfLog) {
+                // the line isn't complete
+                break;
+            }
+
+            String line = text.substring(position, end < 0 ? text.length() : end);
+            position = end < 0 ? text.length() : end + 1;
+
+            if (number == to + 1) {
+                if (nextMessage != null && !nextMessage.getText().equals(line)) {
+                    // positions of lines in the log are different from counted ones
+                    printedBytes = -1;
+                    flush();
+                    return;
+                }
+
+                break;
+            }
+
+            lines[count++] = line;
+            number++;
+        }
 
-        while (nextLogMessage != null) {
-            printLine(nextLogMessage);
+        if (count == 0) {
+            // the first missing line isn't loaded, so waiting for the same range again doesn't make sense
+            flush();
+            return;
+        }
 
-            nextLogMessage = postponedMessages.remove(nextLogMessage.getNumber() + 1);
+        for (int i = 0; i < count; i++) {
+            reorderBuffer.add(new LogMessage(from + i, lines[i]));
         }
+
+        metrics.onGapRecovered();
+
+        printOutput();
+
+        // the rest of the gap will be loaded or skipped when the new deadline is reached
+        scheduleFlush();
     }
 
-    /** Print all postponed messages in correct order. */
-    private void printAllPostponedMessages() {
-        for (int i = lastPrintedMessageNum + 1; !postponedMessages.isEmpty(); i++) {
-            LogMessage nextLogMessage = postponedMessages.remove(i);
+    /** Adds loaded lines to the buffer. Only complete lines are used, the line which is being written will be delivered by WebSocket. */
+    private void onMissedLinesLoaded(@Nonnull LogPage page, @Nonnegative int from, @Nonnegative int offset) {
+        if (reorderBuffer.getBase() != from || printedBytes != offset) {
+            // lines were printed while the log was loading
+            return;
+        }
+
+        String text = page.getText();
+        int position = offset - page.getStart();
 
-            if (nextLogMessage == null) {
-                continue;
+        if (position < 0 || position > text.length()) {
+            return;
+        }
+
+        int number = from;
+        int end = text.indexOf('\n', position);
+
+        while (end >= 0) {
+            String line = text.substring(position, end);
+            LogMessage message = reorderBuffer.get(number);
+
+            if (message != null && !message.getText().equals(line)) {
+                // positions of lines in the log are different from counted ones
+                printedBytes = -1;
+                break;
             }
 
-            printLine(nextLogMessage);
+            reorderBuffer.add(new LogMessage(number++, line));
+
+            position = end + 1;
+            end = text.indexOf('\n', position);
+        }
+
+        if (number == from) {
+            return;
+        }
+
+        printOutput();
+
+        scheduleFlush();
+
+        if (page.getEnd() < page.getTotal() && missedPages < MAX_MISSED_PAGES) {
+            loadMissedPage();
         }
     }
 
     private void printLine(@Nonnull LogMessage logMessage) {
-        consoleContainer.print(runner, logMessage.getText());
-        lastPrintedMessageNum = logMessage.getNumber();
+        String text = logMessage.getText();
+        int number = logMessage.getNumber();
+        int bytes = getByteLength(text) + 1;
+
+        if (number != printedLines + 1) {
+            // some lines were skipped, so the position of the next line in the log isn't known anymore
+            printedBytes = -1;
+        } else if (printedBytes >= 0) {
+            printedBytes += bytes;
+        }
+
+        outputLines++;
+        outputBytes += bytes;
+
+        printedLines = number;
+
+        if (output.length() > 0) {
+            output.append('\n');
+        }
+
+        output.append(text);
+    }
+
+    /** Passes all lines which became printable to the console as a single text. */
+    private void printOutput() {
+        metrics.setReorderDepth(reorderBuffer.getBuffered());
+
+        if (output.length() == 0) {
+            return;
+        }
+
+        metrics.onLinesReceived(outputLines, outputBytes, System.currentTimeMillis());
+
+        consoleContainer.print(runner, output.toString());
+
+        output.setLength(0);
+        outputLines = 0;
+        outputBytes = 0;
+    }
+
+    /** Returns length of a given text in UTF-8 encoding. */
+    @Nonnegative
+    private static int getByteLength(@Nonnull String text) {
+        int length = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
     }
 
     /** {@inheritDoc} */
@@ -128,4 +551,4 @@ public class LogMessagesHandler extends SubscriptionHandler<LogMessage> {
         void onErrorHappened();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The sliding window which restores order of log messages. Messages are kept in a ring which is indexed by distance between the number
+ * of a message and the number of the next expected message (the base of the window). Messages with contiguous numbers are passed to the
+ * printer as soon as possible. The window has a fixed size: when a message is too far ahead of the base, the window is moved forward and
+ * all messages which leave it are printed skipping missing ones. So the amount of work for one message doesn't depend on a gap between
+ * line numbers.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogReorderBuffer {
+
+    /** Maximum distance between the next expected message and a buffered message. It has to be a power of two. */
+    public static final int WINDOW_SIZE = 1024;
+
+    private static final int MASK = WINDOW_SIZE - 1;
+
+    private final LogMessage[] ring;
+    private final Printer      printer;
+
+    private int base;
+    private int highest;
+    private int buffered;
+
+    public LogReorderBuffer(@Nonnull Printer printer) {
+        this.printer = printer;
+        this.ring = new LogMessage[WINDOW_SIZE];
+        this.base = 1;
+        this.highest = 0;
+    }
+
+    /**
+     * Adds a message to the window. The message is printed at once when it is the next expected message, the messages which follow it
+     * without gaps are printed too. A message which was printed or skipped already is ignored.
+     *
+     * @param message
+     *         message that needs to be added
+     */
+    public void add(@Nonnull LogMessage message) {
+        int number = message.getNumber();
+
+        if (number < base) {
+            return;
+        }
+
+        if (number - base >= WINDOW_SIZE) {
+            // the message doesn't fit the window, so messages which leave the window are printed without waiting for missing ones
+            moveBase(number - WINDOW_SIZE + 1);
+        }
+
+        int index = number & MASK;
+        if (ring[index] == null) {
+            buffered++;
+        }
+
+        ring[index] = message;
+        highest = Math.max(highest, number);
+
+        printContiguous();
+    }
+
+    /** Prints all buffered messages in correct order skipping missing ones. The window is moved after the last buffered message. */
+    public void flush() {
+        if (buffered > 0) {
+            moveBase(highest + 1);
+        }
+    }
+
+    /**
+     * Moves the window to a given number without printing. Buffered messages which leave the window are dropped, messages with numbers
+     * less than the given one are ignored after that.
+     *
+     * @param newBase
+     *         number of the next expected message
+     */
+    public void skip(int newBase) {
+        if (newBase <= base) {
+            return;
+        }
+
+        for (int number = base; number < newBase && number <= highest && buffered > 0; number++) {
+            int index = number & MASK;
+
+            if (ring[index] != null) {
+                ring[index] = null;
+                buffered--;
+            }
+        }
+
+        base = newBase;
+        highest = Math.max(highest, newBase - 1);
+    }
+
+    /** @return number of the next expected message */
+    @Nonnegative
+    public int getBase() {
+        return base;
+    }
+
+    /** @return amount of messages which are waiting for missing messages */
+    @Nonnegative
+    public int getBuffered() {
+        return buffered;
+    }
+
+    /** @return <code>true</code> when some messages are waiting for missing messages, <code>false</code> otherwise */
+    public boolean hasGap() {
+        return buffered > 0;
+    }
+
+    /**
+     * Returns number of the last missing message of the first gap. Messages from {@link #getBase()} to the returned number (inclusive)
+     * are missing.
+     *
+     * @return number of the last missing message or <code>-1</code> if there is no gap
+     */
+    public int getGapEnd() {
+        if (buffered == 0) {
+            return -1;
+        }
+
+        int number = base;
+        while (ring[number & MASK] == null) {
+            number++;
+        }
+
+        return number - 1;
+    }
+
+    /**
+     * Returns a buffered message with a given number.
+     *
+     * @param number
+     *         number of the message
+     * @return buffered message or <code>null</code> if the message isn't buffered
+     */
+    @Nullable
+    public LogMessage get(int number) {
+        if (number < base || number - base >= WINDOW_SIZE) {
+            return null;
+        }
+
+        LogMessage message = ring[number & MASK];
+
+        return message != null && message.getNumber() == number ? message : null;
+    }
+
+    /** Prints buffered messages with numbers less than a given number and moves the base of the window to the number. */
+    private void moveBase(int newBase) {
+        int last = Math.min(newBase, highest + 1);
+
+        for (int number = base; number < last && buffered > 0; number++) {
+            printAt(number);
+        }
+
+        base = newBase;
+    }
+
+    private void printContiguous() {
+        while (buffered > 0 && ring[base & MASK] != null) {
+            printAt(base);
+            base++;
+        }
+    }
+
+    private void printAt(int number) {
+        int index = number & MASK;
+        LogMessage message = ring[index];
+
+        if (message == null) {
+            return;
+        }
+
+        ring[index] = null;
+        buffered--;
+
+        printer.print(message);
+    }
+
+    /** The receiver of messages in correct order. */
+    public interface Printer {
+        /**
+         * Prints a given message.
+         *
+         * @param message
+         *         message that needs to be printed
+         */
+        void print(@Nonnull LogMessage message);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
+import org.eclipse.che.ide.ext.runner.client.util.UrlProbe;
+import com.google.gwt.user.client.Timer;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * The prober that checks whether an application responds. The url of the application is requested with growing delays: the first
+ * delay is the initial one, every next delay is doubled until the maximum delay is reached. Probing is stopped when the application
+ * responds with a successful or a redirect status code or when the maximum amount of probes is sent. A response which status can't be
+ * read (e.g. the application doesn't allow cross-origin requests) isn't considered as ready, in this case the readiness is reported by
+ * the server or the launch is finished by its own timeout.
+ *
+ * @author Andrey Plotnikov
+ */
+public class ReadinessProber {
+
+    /** Name of the delay in milliseconds before the first probe. */
+    public static final String INITIAL_PROBE_DELAY = "readinessInitialProbeDelay";
+    /** Name of the maximum delay in milliseconds between probes. */
+    public static final String MAX_PROBE_DELAY     = "readinessMaxProbeDelay";
+    /** Name of the maximum amount of probes of one url. */
+    public static final String MAX_PROBE_ATTEMPTS  = "readinessMaxProbeAttempts";
+
+    private final UrlProbe urlProbe;
+    private final Timer    probeTimer;
+    private final int      initialDelay;
+    private final int      maxDelay;
+    private final int      maxAttempts;
+
+    private String        url;
+    private ReadyCallback callback;
+    private int           delay;
+    private int           probeId;
+    private int           attempts;
+
+    @Inject
+    public ReadinessProber(UrlProbe urlProbe,
+                           TimerFactory timerFactory,
+                           @Named(INITIAL_PROBE_DELAY) int initialDelay,
+                           @Named(MAX_PROBE_DELAY) int maxDelay,
+                           @Named(MAX_PROBE_ATTEMPTS) int maxAttempts) {
+        this.urlProbe = urlProbe;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.maxAttempts = maxAttempts;
+
+        this.probeTimer = timerFactory.newInstance(new TimerFactory.TimerCallBack() {
+            @Override
+            public void onRun() {
+                probe();
+            }
+        });
+    }
+
+    /**
+     * Starts probing of a given url. Probing which was started before is stopped.
+     *
+     * @param url
+     *         url of the application
+     * @param callback
+     *         callback that is called when the application responds
+     */
+    public void start(@Nonnull String url, @Nonnull ReadyCallback callback) {
+        stop();
+
+        this.url = url;
+        this.callback = callback;
+
+        delay = initialDelay;
+        attempts = 0;
+        probeTimer.schedule(delay);
+    }
+
+    /** Stops probing. Responses of probes which were sent already are ignored. */
+    public void stop() {
+        probeTimer.cancel();
+
+        url = null;
+        callback = null;
+        probeId++;
+    }
+
+    private void probe() {
+        if (url == null) {
+            return;
+        }
+
+        final int id = probeId;
+
+        attempts++;
+
+        urlProbe.probe(url,
+                       new SuccessCallback<Integer>() {
+                           @Override
+                           public void onSuccess(Integer statusCode) {
+                               if (id == probeId) {
+                                   onResponse(statusCode);
+                               }
+                           }
+                       },
+                       new FailureCallback() {
+                           @Override
+                           public void onFailure(@Nonnull Throwable reason) {
+                               if (id == probeId) {
+                                   scheduleProbe();
+                               }
+                           }
+                       });
+    }
+
+    private void onResponse(@Nonnegative int statusCode) {
+        if (!isReady(statusCode)) {
+            scheduleProbe();
+            return;
+        }
+
+        ReadyCallback readyCallback = callback;
+
+        stop();
+
+        readyCallback.onReady();
+    }
+
+    private void scheduleProbe() {
+        if (attempts >= maxAttempts) {
+            stop();
+            return;
+        }
+
+        delay = Math.min(delay * 2, maxDelay);
+
+        probeTimer.schedule(delay);
+    }
+
+    /** Returns <code>true</code> when a given status code says that the application handles requests. */
+    private static boolean isReady(@Nonnegative int statusCode) {
+        return statusCode >= 200 && statusCode < 400;
+    }
+
+    public interface ReadyCallback {
+        /** Performs some actions when the application responds. */
+        void onReady();
+    }
+
+}
@@ -14,10 +14,13 @@ import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.api.notification.Notification;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.ReadinessProber;
 import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
 import org.eclipse.che.ide.util.loging.Log;
@@ -35,9 +38,14 @@ import static org.eclipse.che.ide.api.notification.Notification.Status.FINISHED;
 import static org.eclipse.che.ide.api.notification.Notification.Type.INFO;
 import static org.eclipse.che.ide.api.notification.Notification.Type.WARNING;
 import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.THIRTY_SEC;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.HealthFrameDecoder.OK_STATUS;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.HealthFrameDecoder.STATUS;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.HealthFrameDecoder.URL;
 
 /**
- * The action that checks status of runner. It pings runner every 30 second and the client side knows that the runner is alive.
+ * The action that checks status of runner. The application is considered as started when the server reports that it is healthy or
+ * when {@link ReadinessProber} gets a successful response from the application url, whichever happens first. The time which the
+ * application took to become ready is registered in {@link RunnerMetrics} as the end of the launch.
  *
  * @author Andrey Plotnikov
  * @author Dmitry Shnurenko
@@ -48,19 +56,17 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
     /** WebSocket channel to check application's health. */
     private static final String APP_HEALTH_CHANNEL = "runner:app_health:";
 
-    private static final String STATUS    = "status";
-    private static final String URL       = "url";
-    private static final String OK_STATUS = "OK";
-
     private final AppContext                 appContext;
     private final RunnerLocalizationConstant locale;
     private final RunnerManagerPresenter     presenter;
     private final WebSocketUtil              webSocketUtil;
     private final Notification               notification;
     private final ConsoleContainer           consoleContainer;
+    private final ReadinessProber            readinessProber;
+    private final RunnerMetrics              runnerMetrics;
 
-    // The server makes the limited quantity of tries checking application's health,
-    // so we're waiting for some time (about 30 sec.) and assume that app health is OK.
+    // The server makes the limited quantity of tries checking application's health and the application url may be unavailable
+    // for the client side, so we're waiting for some time (about 30 sec.) and assume that app health is OK.
     private Timer changeAppAliveTimer;
 
     private SubscriptionHandler<String> runnerHealthHandler;
@@ -75,6 +81,8 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
                                    WebSocketUtil webSocketUtil,
                                    ConsoleContainer consoleContainer,
                                    TimerFactory timerFactory,
+                                   ReadinessProber readinessProber,
+                                   RunnerMetrics runnerMetrics,
                                    @Nonnull @Assisted Notification notification) {
         this.appContext = appContext;
         this.locale = locale;
@@ -83,6 +91,8 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
         this.consoleContainer = consoleContainer;
         this.timerFactory = timerFactory;
         this.notification = notification;
+        this.readinessProber = readinessProber;
+        this.runnerMetrics = runnerMetrics;
     }
 
     /** {@inheritDoc} */
@@ -90,7 +100,8 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
     public void perform(@Nonnull final Runner runner) {
         project = appContext.getCurrentProject();
 
-        if (runner.getApplicationURL() == null) {
+        String applicationUrl = runner.getApplicationURL();
+        if (applicationUrl == null) {
             return;
         }
 
@@ -98,6 +109,8 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
             /** {@inheritDoc} */
             @Override
             public void onRun() {
+                readinessProber.stop();
+
                 presenter.update(runner);
 
                 String projectName = project.getProjectDescription().getName();
@@ -117,16 +130,9 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
         runnerHealthHandler = new SubscriptionHandler<String>(new StringUnmarshallerWS()) {
             @Override
             protected void onMessageReceived(String result) {
-                JSONObject jsonObject = JSONParser.parseStrict(result).isObject();
-                if(!jsonObjectIsValid(jsonObject)) {
-                    return;
+                if (isApplicationAlive(result)) {
+                    onApplicationReady(runner, notificationMessage);
                 }
-                changeAppAliveTimer.cancel();
-                runner.setStatus(Runner.Status.DONE);
-                presenter.update(runner);
-                notification.update(notificationMessage, INFO, FINISHED, null, true);
-                consoleContainer.printInfo(runner, notificationMessage);
-                stop();
             }
 
             @Override
@@ -136,6 +142,33 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
         };
 
         webSocketUtil.subscribeHandler(webSocketChannel, runnerHealthHandler);
+
+        readinessProber.start(applicationUrl, new ReadinessProber.ReadyCallback() {
+            @Override
+            public void onReady() {
+                onApplicationReady(runner, notificationMessage);
+            }
+        });
+    }
+
+    private void onApplicationReady(@Nonnull Runner runner, @Nonnull String notificationMessage) {
+        changeAppAliveTimer.cancel();
+
+        runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.BOOT, System.currentTimeMillis());
+
+        runner.setStatus(Runner.Status.DONE);
+        presenter.update(runner);
+        notification.update(notificationMessage, INFO, FINISHED, null, true);
+        consoleContainer.printInfo(runner, notificationMessage);
+        stop();
+    }
+
+    private boolean isApplicationAlive(@Nonnull String result) {
+        try {
+            return HealthFrameDecoder.isAlive(result);
+        } catch (IllegalStateException e) {
+            return jsonObjectIsValid(JSONParser.parseStrict(result).isObject());
+        }
     }
 
     private boolean jsonObjectIsValid(JSONObject jsonObject) {
@@ -157,6 +190,8 @@ public class CheckHealthStatusAction extends AbstractRunnerAction {
         }
         webSocketUtil.unSubscribeHandler(webSocketChannel, runnerHealthHandler);
 
+        readinessProber.stop();
+
         if (changeAppAliveTimer != null) {
             changeAppAliveTimer.cancel();
         }
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions;
+
+import org.eclipse.che.ide.ext.runner.client.util.JsonScanner;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The decoder which reads the status of an application straight from the text of a health frame
+ * <code>{"url":"http://...","status":"OK"}</code>. The decoder throws {@link IllegalStateException} when the frame has an unexpected
+ * structure, so {@link CheckHealthStatusAction} is able to parse such frame in the generic way.
+ *
+ * @author Andrey Plotnikov
+ */
+final class HealthFrameDecoder {
+    static final String STATUS    = "status";
+    static final String URL       = "url";
+    static final String OK_STATUS = "OK";
+
+    private HealthFrameDecoder() {
+        throw new UnsupportedOperationException("Creation instance of this class isn't supported");
+    }
+
+    /**
+     * Checks whether a given frame says that the application is alive.
+     *
+     * @param frame
+     *         text of the frame
+     * @return <code>true</code> when the frame contains url of the application and status {@link #OK_STATUS},
+     * <code>false</code> otherwise
+     * @throws IllegalStateException
+     *         when the frame has an unexpected structure
+     */
+    static boolean isAlive(@Nonnull String frame) {
+        JsonScanner scanner = new JsonScanner(frame);
+        scanner.expect('{');
+
+        boolean hasUrl = false;
+        String status = null;
+
+        if (!scanner.consume('}')) {
+            do {
+                String key = scanner.readString();
+                scanner.expect(':');
+
+                if (STATUS.equals(key)) {
+                    status = scanner.readString();
+                } else {
+                    hasUrl |= URL.equals(key);
+                    scanner.skipValue();
+                }
+            } while (scanner.consume(','));
+
+            scanner.expect('}');
+        }
+
+        if (!scanner.isEnd()) {
+            throw new IllegalStateException("Unexpected content after the end of the frame");
+        }
+
+        return hasUrl && OK_STATUS.equals(status);
+    }
+
+}
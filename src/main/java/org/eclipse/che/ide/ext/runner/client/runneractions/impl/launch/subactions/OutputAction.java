@@ -14,13 +14,15 @@ import org.eclipse.che.ide.ext.runner.client.inject.factories.HandlerFactory;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogMessagesHandler;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
 import com.google.inject.Inject;
 
 import javax.annotation.Nonnull;
 
 /**
- * The action for analyzing output messages.
+ * The action for analyzing output messages. Lines which were missed while WebSocket connection was lost are loaded when the connection
+ * is restored.
  *
  * @author Andrey Plotnikov
  */
@@ -46,7 +48,41 @@ public class OutputAction extends AbstractRunnerAction implements LogMessagesHan
         runnerOutputHandler = handlerFactory.createLogMessageHandler(runner, this);
         webSocketChannel = OUTPUT_CHANNEL + runner.getProcessId();
 
-        webSocketUtil.subscribeHandler(webSocketChannel, runnerOutputHandler);
+        final LogMessagesHandler outputHandler = runnerOutputHandler;
+
+        webSocketUtil.subscribeHandler(webSocketChannel, outputHandler, new WebSocketUtil.ReconnectHandler() {
+            @Override
+            public void onReconnected() {
+                outputHandler.loadMissedLines();
+            }
+        });
+    }
+
+    /**
+     * Subscribes to the output of a given runner which log is shown already. Lines which precede the first received line aren't printed
+     * again.
+     *
+     * @param runner
+     *         runner which output needs to be handled
+     */
+    public void attach(@Nonnull Runner runner) {
+        perform(runner);
+
+        if (runnerOutputHandler != null) {
+            runnerOutputHandler.attach();
+        }
+    }
+
+    /**
+     * Passes the shown log of the attached runner to the output handler, so the output continues the log.
+     *
+     * @param page
+     *         the page of the log which was shown
+     */
+    public void onLogLoaded(@Nonnull LogPage page) {
+        if (runnerOutputHandler != null) {
+            runnerOutputHandler.onLogLoaded(page);
+        }
     }
 
     /** {@inheritDoc} */
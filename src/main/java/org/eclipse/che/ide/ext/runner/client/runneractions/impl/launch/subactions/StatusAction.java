@@ -10,38 +10,62 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions;
 
+import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.runner.ApplicationStatus;
 import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
+import org.eclipse.che.api.runner.dto.RunnerMetric;
+import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.api.notification.Notification;
 import org.eclipse.che.ide.commons.exception.ServerException;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerView;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.AbstractRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.RunnerAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetLogsAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.WorkspaceResources;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.RunnerApplicationStatusEvent;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.util.loging.Log;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 import com.google.inject.assistedinject.Assisted;
 import com.google.web.bindery.event.shared.EventBus;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
 
 import static org.eclipse.che.ide.api.notification.Notification.Status.FINISHED;
 import static org.eclipse.che.ide.api.notification.Notification.Type.INFO;
 
 /**
- * The action that checks status of a runner and changes it on UI part.
+ * The action that checks status of a runner and changes it on UI part. Status messages which were sent while WebSocket connection
+ * was lost aren't delivered, so the current status is loaded when the connection is restored.
+ * <p/>
+ * Messages which don't change the status, the links or the statistics of the runner are ignored. Changes which arrive in a burst are
+ * applied once: only the latest descriptor is applied by a deferred command. Launch phases which are finished by skipped descriptors
+ * are registered in {@link RunnerMetrics} anyway, e.g. the build is finished even if the runner fails before its RUNNING status is
+ * applied.
  *
  * @author Andrey Plotnikov
  * @author Valeriy Svydenko
@@ -51,20 +75,27 @@ public class StatusAction extends AbstractRunnerAction {
     /** WebSocket channel to get application's status. */
     private static final String STATUS_CHANNEL = "runner:status:";
 
-    private final DtoUnmarshallerFactory     dtoUnmarshallerFactory;
-    private final DtoFactory                 dtoFactory;
-    private final WebSocketUtil              webSocketUtil;
-    private final AppContext                 appContext;
-    private final EventBus                   eventBus;
-    private final RunnerLocalizationConstant locale;
-    private final RunnerManagerPresenter     presenter;
-    private final GetLogsAction              logsAction;
-    private final RunnerUtil                 runnerUtil;
-    private final RunnerAction               checkHealthStatusAction;
-    private final Notification               notification;
-    private final RunnerManagerView          view;
-    private final ConsoleContainer           consoleContainer;
-
+    private final DtoUnmarshallerFactory                                       dtoUnmarshallerFactory;
+    private final DtoFactory                                                   dtoFactory;
+    private final WebSocketUtil                                                webSocketUtil;
+    private final AppContext                                                   appContext;
+    private final EventBus                                                     eventBus;
+    private final RunnerLocalizationConstant                                   locale;
+    private final RunnerManagerPresenter                                       presenter;
+    private final GetLogsAction                                                logsAction;
+    private final RunnerUtil                                                   runnerUtil;
+    private final RunnerAction                                                 checkHealthStatusAction;
+    private final Notification                                                 notification;
+    private final RunnerManagerView                                            view;
+    private final ConsoleContainer                                             consoleContainer;
+    private final RunnerServiceClient                                          service;
+    private final Provider<AsyncCallbackBuilder<ApplicationProcessDescriptor>> callbackBuilderProvider;
+    private final RunnerMetrics                                                runnerMetrics;
+    private final Scheduler                                                    scheduler;
+    private final WorkspaceResources                                           resources;
+    private final ScheduledCommand                                             applyDescriptorCommand;
+
+    private ApplicationProcessDescriptor                      pendingDescriptor;
     private SubscriptionHandler<ApplicationProcessDescriptor> runnerStatusHandler;
     private String                                            webSocketChannel;
     private Runner                                            runner;
@@ -81,6 +112,11 @@ public class StatusAction extends AbstractRunnerAction {
                         RunnerUtil runnerUtil,
                         ConsoleContainer consoleContainer,
                         RunnerActionFactory actionFactory,
+                        RunnerServiceClient service,
+                        Provider<AsyncCallbackBuilder<ApplicationProcessDescriptor>> callbackBuilderProvider,
+                        RunnerMetrics runnerMetrics,
+                        Scheduler scheduler,
+                        WorkspaceResources resources,
                         @Nonnull @Assisted Notification notification) {
         this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
         this.dtoFactory = dtoFactory;
@@ -93,6 +129,17 @@ public class StatusAction extends AbstractRunnerAction {
         this.consoleContainer = consoleContainer;
         this.runnerUtil = runnerUtil;
         this.notification = notification;
+        this.service = service;
+        this.callbackBuilderProvider = callbackBuilderProvider;
+        this.runnerMetrics = runnerMetrics;
+        this.scheduler = scheduler;
+        this.resources = resources;
+        this.applyDescriptorCommand = new ScheduledCommand() {
+            @Override
+            public void execute() {
+                applyPendingDescriptor();
+            }
+        };
 
         this.logsAction = actionFactory.createGetLogs();
         this.checkHealthStatusAction = actionFactory.createCheckHealthStatus(notification);
@@ -112,7 +159,7 @@ public class StatusAction extends AbstractRunnerAction {
             /** {@inheritDoc} */
             @Override
             protected void onMessageReceived(ApplicationProcessDescriptor descriptor) {
-                onApplicationStatusUpdated(descriptor);
+                onDescriptorReceived(descriptor);
             }
 
             /** {@inheritDoc} */
@@ -128,11 +175,128 @@ public class StatusAction extends AbstractRunnerAction {
             }
         };
 
-        webSocketUtil.subscribeHandler(webSocketChannel, runnerStatusHandler);
+        webSocketUtil.subscribeHandler(webSocketChannel, runnerStatusHandler, new WebSocketUtil.ReconnectHandler() {
+            @Override
+            public void onReconnected() {
+                loadStatus();
+            }
+        });
 
         notification.setStatus(FINISHED);
     }
 
+    /** Loads the current status of the runner, the status is applied if it was changed while status messages weren't delivered. */
+    private void loadStatus() {
+        Link statusLink = runner.getStatusUrl();
+        if (statusLink == null) {
+            return;
+        }
+
+        final SubscriptionHandler<ApplicationProcessDescriptor> statusHandler = runnerStatusHandler;
+
+        AsyncRequestCallback<ApplicationProcessDescriptor> callback = callbackBuilderProvider
+                .get()
+                .unmarshaller(ApplicationProcessDescriptor.class)
+                .success(new SuccessCallback<ApplicationProcessDescriptor>() {
+                    @Override
+                    public void onSuccess(ApplicationProcessDescriptor result) {
+                        if (statusHandler == runnerStatusHandler) {
+                            onDescriptorReceived(result);
+                        }
+                    }
+                })
+                .failure(new FailureCallback() {
+                    @Override
+                    public void onFailure(@Nonnull Throwable reason) {
+                        Log.error(StatusAction.class, reason);
+                    }
+                })
+                .build();
+
+        service.getStatus(statusLink, callback);
+    }
+
+    private void onDescriptorReceived(@Nonnull ApplicationProcessDescriptor descriptor) {
+        boolean isApplyScheduled = pendingDescriptor != null;
+        ApplicationProcessDescriptor latest = isApplyScheduled ? pendingDescriptor : runner.getDescriptor();
+
+        if (!isDescriptorChanged(latest, descriptor)) {
+            return;
+        }
+
+        if (isApplyScheduled) {
+            onDescriptorSkipped(pendingDescriptor);
+        }
+
+        pendingDescriptor = descriptor;
+
+        if (!isApplyScheduled) {
+            scheduler.scheduleDeferred(applyDescriptorCommand);
+        }
+    }
+
+    /** Registers the launch phase which is finished by a descriptor that is replaced by a newer one before it is applied. */
+    private void onDescriptorSkipped(@Nonnull ApplicationProcessDescriptor descriptor) {
+        if (descriptor.getStatus() == ApplicationStatus.RUNNING) {
+            runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.BUILD, System.currentTimeMillis());
+        }
+    }
+
+    private void applyPendingDescriptor() {
+        ApplicationProcessDescriptor descriptor = pendingDescriptor;
+        pendingDescriptor = null;
+
+        if (descriptor == null || runnerStatusHandler == null) {
+            // the action was stopped while the descriptor was waiting for applying
+            return;
+        }
+
+        onApplicationStatusUpdated(descriptor);
+    }
+
+    private boolean isDescriptorChanged(@Nullable ApplicationProcessDescriptor current, @Nonnull ApplicationProcessDescriptor descriptor) {
+        return current == null
+               || current.getStatus() != descriptor.getStatus()
+               || !isLinksEqual(current.getLinks(), descriptor.getLinks())
+               || !isStatsEqual(current.getRunStats(), descriptor.getRunStats());
+    }
+
+    private boolean isLinksEqual(@Nonnull List<Link> links, @Nonnull List<Link> otherLinks) {
+        if (links.size() != otherLinks.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < links.size(); i++) {
+            Link link = links.get(i);
+            Link otherLink = otherLinks.get(i);
+
+            if (!Objects.equals(link.getRel(), otherLink.getRel())
+                || !Objects.equals(link.getHref(), otherLink.getHref())
+                || !Objects.equals(link.getMethod(), otherLink.getMethod())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isStatsEqual(@Nonnull List<RunnerMetric> stats, @Nonnull List<RunnerMetric> otherStats) {
+        if (stats.size() != otherStats.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < stats.size(); i++) {
+            RunnerMetric stat = stats.get(i);
+            RunnerMetric otherStat = otherStats.get(i);
+
+            if (!Objects.equals(stat.getName(), otherStat.getName()) || !Objects.equals(stat.getValue(), otherStat.getValue())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private void showError(Throwable exception) {
         String projectName = project.getProjectDescription().getName();
 
@@ -149,9 +313,21 @@ public class StatusAction extends AbstractRunnerAction {
     }
 
     private void onApplicationStatusUpdated(@Nonnull ApplicationProcessDescriptor descriptor) {
+        ApplicationProcessDescriptor previous = runner.getDescriptor();
+
         runner.setProcessDescriptor(descriptor);
 
-        switch (descriptor.getStatus()) {
+        if (previous != null && previous.getStatus() == descriptor.getStatus()) {
+            // only links or statistics of the runner were changed
+            presenter.update(runner);
+
+            eventBus.fireEvent(new RunnerApplicationStatusEvent(runner));
+            return;
+        }
+
+        ApplicationStatus status = descriptor.getStatus();
+
+        switch (status) {
             case RUNNING:
                 processRunningMessage();
                 break;
@@ -176,6 +352,11 @@ public class StatusAction extends AbstractRunnerAction {
             default:
         }
 
+        if (status != ApplicationStatus.NEW && status != ApplicationStatus.RUNNING) {
+            // memory of the finished process is released at once, before resources are revalidated
+            resources.onProcessFinished(descriptor.getProcessId());
+        }
+
         eventBus.fireEvent(new RunnerApplicationStatusEvent(runner));
     }
 
@@ -197,6 +378,8 @@ public class StatusAction extends AbstractRunnerAction {
     }
 
     private void processRunningMessage() {
+        runnerMetrics.onLaunchPhaseFinished(runner, LaunchPhase.BUILD, System.currentTimeMillis());
+
         runner.setStatus(Runner.Status.RUNNING);
 
         presenter.update(runner);
@@ -244,6 +427,8 @@ public class StatusAction extends AbstractRunnerAction {
 
         webSocketUtil.unSubscribeHandler(webSocketChannel, runnerStatusHandler);
 
+        pendingDescriptor = null;
+
         checkHealthStatusAction.stop();
         super.stop();
 
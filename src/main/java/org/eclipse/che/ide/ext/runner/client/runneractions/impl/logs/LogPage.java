@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * The class contains a part of the application log which was got by one range request.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogPage {
+
+    private final int    start;
+    private final int    end;
+    private final int    total;
+    private final String text;
+
+    /**
+     * @param start
+     *         offset of the first byte of the page in the log
+     * @param end
+     *         offset of the byte which follows the last byte of the page
+     * @param total
+     *         size of the whole log in bytes
+     * @param text
+     *         content of the page
+     */
+    public LogPage(@Nonnegative int start, @Nonnegative int end, @Nonnegative int total, @Nonnull String text) {
+        this.start = start;
+        this.end = end;
+        this.total = total;
+        this.text = text;
+    }
+
+    /** @return offset of the first byte of the page in the log */
+    @Nonnegative
+    public int getStart() {
+        return start;
+    }
+
+    /** @return offset of the byte which follows the last byte of the page */
+    @Nonnegative
+    public int getEnd() {
+        return end;
+    }
+
+    /** @return size of the whole log in bytes */
+    @Nonnegative
+    public int getTotal() {
+        return total;
+    }
+
+    /** @return content of the page */
+    @Nonnull
+    public String getText() {
+        return text;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
+import org.eclipse.che.ide.rest.Unmarshallable;
+import com.google.gwt.http.client.Response;
+
+import javax.annotation.Nullable;
+
+/**
+ * Unmarshaller for a page of the application log. Position of the page is read from <code>Content-Range</code> header of the response
+ * (e.g. <code>bytes 100-199/1000</code>). When the server ignores range of the request the response contains the whole log.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogPageUnmarshaller implements Unmarshallable<LogPage> {
+
+    static final String CONTENT_RANGE = "Content-Range";
+
+    private LogPage page;
+
+    /** {@inheritDoc} */
+    @Override
+    public void unmarshal(Response response) throws UnmarshallerException {
+        String text = response.getText() == null ? "" : response.getText();
+        String range = response.getHeader(CONTENT_RANGE);
+
+        page = parseRange(range, text);
+    }
+
+    private static LogPage parseRange(@Nullable String range, String text) throws UnmarshallerException {
+        if (range == null || range.isEmpty()) {
+            return new LogPage(0, text.length(), text.length(), text);
+        }
+
+        int space = range.indexOf(' ');
+        int dash = range.indexOf('-', space);
+        int slash = range.indexOf('/', dash);
+
+        if (space < 0 || dash < 0 || slash < 0) {
+            throw new UnmarshallerException("Can't parse content range: " + range, null);
+        }
+
+        try {
+            int start = Integer.parseInt(range.substring(space + 1, dash).trim());
+            int end = Integer.parseInt(range.substring(dash + 1, slash).trim()) + 1;
+            int total = Integer.parseInt(range.substring(slash + 1).trim());
+
+            return new LogPage(start, end, total, text);
+        } catch (NumberFormatException e) {
+            throw new UnmarshallerException("Can't parse content range: " + range, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LogPage getPayload() {
+        return page;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import com.google.gwt.http.client.Response;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.rest.AsyncRequestFactory;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * The reader that loads a part of the application log using HTTP range request. Both full (<code>200</code>) and partial
+ * (<code>206</code>) responses are accepted, position of the loaded text in the log is described by {@link LogPage}.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogRangeReader {
+
+    static final String RANGE = "Range";
+
+    private final AsyncRequestFactory                     asyncRequestFactory;
+    private final Provider<AsyncCallbackBuilder<LogPage>> callbackBuilderProvider;
+
+    @Inject
+    public LogRangeReader(AsyncRequestFactory asyncRequestFactory, Provider<AsyncCallbackBuilder<LogPage>> callbackBuilderProvider) {
+        this.asyncRequestFactory = asyncRequestFactory;
+        this.callbackBuilderProvider = callbackBuilderProvider;
+    }
+
+    /**
+     * Loads a given byte range of the log.
+     *
+     * @param url
+     *         url of the log
+     * @param range
+     *         value of range header, e.g. <code>bytes=100-199</code> or <code>bytes=-100</code>
+     * @param successCallback
+     *         callback that is called when the range is loaded
+     * @param failureCallback
+     *         callback that is called when the range can't be loaded
+     */
+    public void read(@Nonnull String url,
+                     @Nonnull String range,
+                     @Nonnull SuccessCallback<LogPage> successCallback,
+                     @Nonnull FailureCallback failureCallback) {
+        AsyncRequestCallback<LogPage> callback = callbackBuilderProvider.get()
+                                                                        .unmarshaller(new LogPageUnmarshaller())
+                                                                        .success(successCallback)
+                                                                        .failure(failureCallback)
+                                                                        .build();
+
+        callback.setSuccessCodes(new int[]{Response.SC_OK, Response.SC_PARTIAL_CONTENT});
+
+        asyncRequestFactory.createGetRequest(url).header(RANGE, range).send(callback);
+    }
+
+    /**
+     * Returns value of range header for given bounds.
+     *
+     * @param start
+     *         position of the first byte
+     * @param end
+     *         position of the last byte (inclusive)
+     * @return value of range header
+     */
+    @Nonnull
+    public static String getRange(@Nonnegative int start, @Nonnegative int end) {
+        return "bytes=" + start + '-' + end;
+    }
+
+}
@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import com.google.inject.Inject;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The reader that loads the application log by pages using HTTP range requests. At first the last page of the log is loaded, older and
+ * newer pages are loaded on demand. Only a window of {@link #RESIDENT_PAGES} adjacent pages is kept in memory: when a page is loaded
+ * the page from the opposite side of the window is dropped.
+ *
+ * @author Andrey Plotnikov
+ */
+public class PagedLogReader {
+
+    /** Size of one page in bytes. */
+    public static final int PAGE_SIZE      = 64 * 1024;
+    /** Maximum amount of pages which are kept in memory. */
+    public static final int RESIDENT_PAGES = 4;
+
+    private final LogRangeReader rangeReader;
+    private final List<LogPage>  pages;
+
+    private String          url;
+    private Listener        listener;
+    private FailureCallback failureCallback;
+    private boolean         isLoading;
+
+    @Inject
+    public PagedLogReader(LogRangeReader rangeReader) {
+        this.rangeReader = rangeReader;
+        this.pages = new ArrayList<>(RESIDENT_PAGES + 1);
+    }
+
+    /**
+     * Sets listener which is notified when pages are loaded.
+     *
+     * @param listener
+     *         listener that needs to be notified
+     */
+    public void setListener(@Nonnull Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts reading of a log. The last page of the log is loaded.
+     *
+     * @param url
+     *         url of the log
+     * @param failureCallback
+     *         callback that is called when a page can't be loaded
+     */
+    public void open(@Nonnull String url, @Nonnull FailureCallback failureCallback) {
+        open(url, null, failureCallback);
+    }
+
+    /**
+     * Starts reading of a log. The last page of the log is loaded.
+     *
+     * @param url
+     *         url of the log
+     * @param openCallback
+     *         callback that is called with the last page of the log when it is loaded
+     * @param failureCallback
+     *         callback that is called when a page can't be loaded
+     */
+    public void open(@Nonnull String url,
+                     @Nullable final SuccessCallback<LogPage> openCallback,
+                     @Nonnull FailureCallback failureCallback) {
+        this.url = url;
+        this.failureCallback = failureCallback;
+
+        pages.clear();
+
+        load("bytes=-" + PAGE_SIZE, new SuccessCallback<LogPage>() {
+            @Override
+            public void onSuccess(LogPage page) {
+                pages.add(page);
+
+                notifyListener(getLines().size() - 1, false);
+
+                if (openCallback != null) {
+                    openCallback.onSuccess(page);
+                }
+            }
+        });
+    }
+
+    /** Loads the page which precedes the first loaded page. Nothing happens if it is loading now or the first page of the log is loaded. */
+    public void loadPrevious() {
+        if (isLoading || !hasPrevious()) {
+            return;
+        }
+
+        int end = pages.get(0).getStart();
+        int start = Math.max(0, end - PAGE_SIZE);
+
+        load(LogRangeReader.getRange(start, end - 1), new SuccessCallback<LogPage>() {
+            @Override
+            public void onSuccess(LogPage page) {
+                pages.add(0, page);
+
+                if (pages.size() > RESIDENT_PAGES) {
+                    pages.remove(pages.size() - 1);
+                }
+
+                // the first line of the previous window is the first line which starts after the boundary of the new page
+                notifyListener(countLines(page.getText().length(), false), true);
+            }
+        });
+    }
+
+    /** Loads the page which follows the last loaded page. Nothing happens if it is loading now or the last page of the log is loaded. */
+    public void loadNext() {
+        if (isLoading || !hasNext()) {
+            return;
+        }
+
+        int start = pages.get(pages.size() - 1).getEnd();
+
+        load(LogRangeReader.getRange(start, start + PAGE_SIZE - 1), new SuccessCallback<LogPage>() {
+            @Override
+            public void onSuccess(LogPage page) {
+                pages.add(page);
+
+                if (pages.size() > RESIDENT_PAGES) {
+                    pages.remove(0);
+                }
+
+                // the last line of the previous window is the last line which ends before the boundary of the new page
+                notifyListener(Math.max(0, countLines(getText().length() - page.getText().length(), true) - 1), false);
+            }
+        });
+    }
+
+    private void load(@Nonnull String range, @Nonnull SuccessCallback<LogPage> successCallback) {
+        isLoading = true;
+
+        rangeReader.read(url, range, successCallback, new FailureCallback() {
+            @Override
+            public void onFailure(@Nonnull Throwable reason) {
+                isLoading = false;
+
+                failureCallback.onFailure(reason);
+            }
+        });
+    }
+
+    private void notifyListener(@Nonnegative int anchorLine, boolean isAnchorAtTop) {
+        isLoading = false;
+
+        if (listener != null) {
+            listener.onPagesLoaded(getLines(), anchorLine, isAnchorAtTop);
+        }
+    }
+
+    /** @return <code>true</code> when the log contains lines before loaded pages, <code>false</code> otherwise */
+    public boolean hasPrevious() {
+        return !pages.isEmpty() && pages.get(0).getStart() > 0;
+    }
+
+    /** @return <code>true</code> when the log contains lines after loaded pages, <code>false</code> otherwise */
+    public boolean hasNext() {
+        if (pages.isEmpty()) {
+            return false;
+        }
+
+        LogPage last = pages.get(pages.size() - 1);
+
+        return last.getEnd() < last.getTotal();
+    }
+
+    /** @return <code>true</code> when a page is loading now, <code>false</code> otherwise */
+    public boolean isLoading() {
+        return isLoading;
+    }
+
+    @Nonnull
+    private String getText() {
+        StringBuilder text = new StringBuilder();
+
+        for (LogPage page : pages) {
+            text.append(page.getText());
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Returns complete lines of loaded pages. The first line is skipped when it can be started on the previous page and the last line is
+     * skipped when it can be continued on the next page.
+     *
+     * @return lines of loaded pages
+     */
+    @Nonnull
+    public List<String> getLines() {
+        if (pages.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String text = getText();
+        int from = getFirstLineStart(text);
+        int to = getLastLineEnd(text, from);
+
+        List<String> lines = new ArrayList<>();
+
+        for (String line : text.substring(from, to).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+
+        return lines;
+    }
+
+    @Nonnegative
+    private int getFirstLineStart(@Nonnull String text) {
+        return hasPrevious() ? text.indexOf('\n') + 1 : 0;
+    }
+
+    @Nonnegative
+    private int getLastLineEnd(@Nonnull String text, @Nonnegative int from) {
+        return hasNext() ? Math.max(from, text.lastIndexOf('\n')) : text.length();
+    }
+
+    /**
+     * Counts lines from {@link #getLines()} which precede a given position of loaded text. Empty lines are skipped the same way as
+     * {@link #getLines()} does.
+     *
+     * @param position
+     *         position of loaded text
+     * @param isEndRequired
+     *         <code>true</code> when a line precedes the position only if it ends before it, <code>false</code> when it is enough that the
+     *         line starts at or before the position
+     * @return number of lines which precede the position
+     */
+    @Nonnegative
+    private int countLines(@Nonnegative int position, boolean isEndRequired) {
+        String text = getText();
+        int start = getFirstLineStart(text);
+        int to = getLastLineEnd(text, start);
+        int count = 0;
+
+        while (start < to) {
+            int end = text.indexOf('\n', start);
+            end = end < 0 || end > to ? to : end;
+
+            if (isEndRequired ? end >= position : start > position) {
+                break;
+            }
+
+            if (end > start) {
+                count++;
+            }
+
+            start = end + 1;
+        }
+
+        return count;
+    }
+
+    /** The listener which is notified when pages of the log are loaded. */
+    public interface Listener {
+        /**
+         * Performs some actions when pages are loaded.
+         *
+         * @param lines
+         *         lines of all loaded pages
+         * @param anchorLine
+         *         index of the line which was shown at the edge of the console before loading
+         * @param isAnchorAtTop
+         *         <code>true</code> when the anchor line has to be shown at the top of the console, <code>false</code> when it has to be
+         *         shown at the bottom
+         */
+        void onPagesLoaded(@Nonnull List<String> lines, @Nonnegative int anchorLine, boolean isAnchorAtTop);
+    }
+
+}
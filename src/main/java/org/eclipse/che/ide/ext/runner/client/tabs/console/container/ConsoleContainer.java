@@ -11,6 +11,7 @@
 package org.eclipse.che.ide.ext.runner.client.tabs.console.container;
 
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 import org.eclipse.che.ide.ext.runner.client.tabs.common.TabPresenter;
 import com.google.inject.ImplementedBy;
 
@@ -70,4 +71,24 @@ public interface ConsoleContainer extends TabPresenter {
     /** Cleans the data of the console widgets. */
     void reset();
 
+    /**
+     * Removes the console of a given runner and releases memory which is taken by its lines. A new console is created when something is
+     * printed for the runner or when the runner is selected again.
+     *
+     * @param runner
+     *         runner which console needs to be removed
+     */
+    void removeConsole(@Nonnull Runner runner);
+
+    /**
+     * Shows the application log for a given runner. The console of the runner shows pages which are loaded by a given reader, previous
+     * and next pages are loaded when the console is scrolled to its top or bottom.
+     *
+     * @param runner
+     *         runner that needs to show the log
+     * @param logReader
+     *         reader that loads pages of the log
+     */
+    void showLog(@Nonnull Runner runner, @Nonnull PagedLogReader logReader);
+
 }
\ No newline at end of file
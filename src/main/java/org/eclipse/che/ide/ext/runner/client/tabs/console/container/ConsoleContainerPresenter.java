@@ -11,10 +11,13 @@
 package org.eclipse.che.ide.ext.runner.client.tabs.console.container;
 
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 import org.eclipse.che.ide.ext.runner.client.selection.Selection;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Console;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.LogBufferManager;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.inject.Inject;
@@ -24,6 +27,9 @@ import javax.annotation.Nonnull;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDERR;
+
 /**
  * @author Andrey Plotnikov
  * @author Valeriy Svydenko
@@ -36,20 +42,34 @@ public class ConsoleContainerPresenter implements ConsoleContainer,
     private final ConsoleContainerView view;
     private final SelectionManager     selectionManager;
     private final WidgetFactory        widgetFactory;
+    private final LogBufferManager     logBufferManager;
+    private final RunnerMetrics        runnerMetrics;
     private final Map<Runner, Console> consoles;
 
     private Console selectedConsole;
+    private boolean isVisible;
+    private String  searchQuery;
+    private int     searchTypes;
+    private int     matchesCount;
 
     @Inject
-    public ConsoleContainerPresenter(ConsoleContainerView view, WidgetFactory widgetFactory, SelectionManager selectionManager) {
+    public ConsoleContainerPresenter(ConsoleContainerView view,
+                                     WidgetFactory widgetFactory,
+                                     SelectionManager selectionManager,
+                                     LogBufferManager logBufferManager,
+                                     RunnerMetrics runnerMetrics) {
         this.view = view;
         this.view.setDelegate(this);
         this.widgetFactory = widgetFactory;
+        this.logBufferManager = logBufferManager;
+        this.runnerMetrics = runnerMetrics;
         this.selectionManager = selectionManager;
 
         this.selectionManager.addListener(this);
 
         consoles = new HashMap<>();
+        searchQuery = "";
+        isVisible = true;
     }
 
     /** {@inheritDoc} */
@@ -80,14 +100,44 @@ public class ConsoleContainerPresenter implements ConsoleContainer,
         console.printWarn(message);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void showLog(@Nonnull Runner runner, @Nonnull PagedLogReader logReader) {
+        Console console = getConsoleOrCreate(runner);
+        console.setLogReader(logReader);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void reset() {
         for (Console console : consoles.values()) {
             view.removeWidget(console);
+            console.release();
         }
 
         consoles.clear();
+        logBufferManager.releaseAll();
+        runnerMetrics.clear();
+
+        selectedConsole = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void removeConsole(@Nonnull Runner runner) {
+        Console console = consoles.remove(runner);
+        if (console == null) {
+            return;
+        }
+
+        view.removeWidget(console);
+        console.release();
+
+        if (console == selectedConsole) {
+            selectedConsole = null;
+
+            onSelectionChanged(Selection.RUNNER);
+        }
     }
 
     /** {@inheritDoc} */
@@ -102,8 +152,19 @@ public class ConsoleContainerPresenter implements ConsoleContainer,
             return;
         }
 
+        if (selectedConsole != null) {
+            selectedConsole.setActive(false);
+        }
+
         selectedConsole = getConsoleOrCreate(runner);
         view.showWidget(selectedConsole);
+
+        // only the selected console renders printed lines, other consoles store them until they are selected
+        selectedConsole.setActive(isVisible);
+
+        if (isSearchActive()) {
+            search();
+        }
     }
 
     @Nonnull
@@ -127,7 +188,13 @@ public class ConsoleContainerPresenter implements ConsoleContainer,
     /** {@inheritDoc} */
     @Override
     public void setVisible(boolean visible) {
+        isVisible = visible;
+
         view.setVisible(visible);
+
+        if (selectedConsole != null) {
+            selectedConsole.setActive(visible);
+        }
     }
 
     /** {@inheritDoc} */
@@ -165,6 +232,63 @@ public class ConsoleContainerPresenter implements ConsoleContainer,
         }
 
         selectedConsole.clear();
+
+        if (isSearchActive()) {
+            search();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSearchChanged(@Nonnull String query, boolean isErrorsOnly) {
+        int types = isErrorsOnly ? ERROR.getMask() | STDERR.getMask() : 0;
+
+        if (searchQuery.equals(query) && searchTypes == types) {
+            return;
+        }
+
+        searchQuery = query;
+        searchTypes = types;
+
+        search();
+    }
+
+    private void search() {
+        if (selectedConsole == null) {
+            return;
+        }
+
+        matchesCount = selectedConsole.search(searchQuery, searchTypes);
+
+        if (!isSearchActive()) {
+            view.clearMatchesInfo();
+        } else {
+            view.showMatchesInfo(matchesCount == 0 ? 0 : 1, matchesCount);
+        }
+    }
+
+    private boolean isSearchActive() {
+        return !searchQuery.isEmpty() || searchTypes != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onNextMatchClicked() {
+        if (selectedConsole == null || matchesCount == 0) {
+            return;
+        }
+
+        view.showMatchesInfo(selectedConsole.selectNextMatch() + 1, matchesCount);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onPreviousMatchClicked() {
+        if (selectedConsole == null || matchesCount == 0) {
+            return;
+        }
+
+        view.showMatchesInfo(selectedConsole.selectPreviousMatch() + 1, matchesCount);
     }
 
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import org.eclipse.che.ide.api.mvp.View;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.inject.ImplementedBy;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 /**
@@ -56,6 +57,19 @@ public interface ConsoleContainerView extends View<ConsoleContainerView.ActionDe
      */
     void selectWrapTextButton(boolean isChecked);
 
+    /**
+     * Shows information about found lines of the console.
+     *
+     * @param current
+     *         position of the selected line among found lines, it starts from 1
+     * @param total
+     *         amount of found lines
+     */
+    void showMatchesInfo(@Nonnegative int current, @Nonnegative int total);
+
+    /** Hides information about found lines of the console. */
+    void clearMatchesInfo();
+
     interface ActionDelegate {
         /** Performs some actions in response to user's clicking on 'Wrap Text' button. */
         void onWrapTextClicked();
@@ -65,6 +79,22 @@ public interface ConsoleContainerView extends View<ConsoleContainerView.ActionDe
 
         /** Performs some actions in response to user's clicking on 'Clean' button. */
         void onCleanClicked();
+
+        /**
+         * Performs some actions in response to user's changing of search parameters.
+         *
+         * @param query
+         *         text that needs to be found
+         * @param isErrorsOnly
+         *         <code>true</code> if only error lines need to be found, <code>false</code> otherwise
+         */
+        void onSearchChanged(@Nonnull String query, boolean isErrorsOnly);
+
+        /** Performs some actions in response to user's clicking on 'Next' button. */
+        void onNextMatchClicked();
+
+        /** Performs some actions in response to user's clicking on 'Previous' button. */
+        void onPreviousMatchClicked();
     }
 
 }
\ No newline at end of file
@@ -15,17 +15,27 @@ import org.eclipse.che.ide.ext.runner.client.RunnerResources;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.button.ConsoleButton;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.KeyCodes;
+import com.google.gwt.event.dom.client.KeyUpEvent;
+import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
+import com.google.gwt.uibinder.client.UiHandler;
+import com.google.gwt.user.client.ui.Button;
+import com.google.gwt.user.client.ui.CheckBox;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.IsWidget;
+import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.SimplePanel;
+import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 
 import org.vectomatic.dom.svg.ui.SVGResource;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 /**
@@ -42,8 +52,20 @@ public class ConsoleContainerViewImpl extends Composite implements ConsoleContai
     SimplePanel mainPanel;
     @UiField
     FlowPanel   buttons;
+    @UiField
+    TextBox     searchField;
+    @UiField
+    Button      previousMatch;
+    @UiField
+    Button      nextMatch;
+    @UiField
+    CheckBox    errorsOnly;
+    @UiField
+    Label       matchesInfo;
+    @UiField(provided = true)
+    final RunnerResources            resources;
     @UiField(provided = true)
-    final RunnerResources resources;
+    final RunnerLocalizationConstant locale;
 
     private final WidgetFactory  widgetFactory;
     private final ConsoleButton  btnWrapText;
@@ -55,9 +77,12 @@ public class ConsoleContainerViewImpl extends Composite implements ConsoleContai
                                     RunnerLocalizationConstant locale) {
         this.resources = resources;
         this.widgetFactory = widgetFactory;
+        this.locale = locale;
 
         initWidget(UI_BINDER.createAndBindUi(this));
 
+        searchField.getElement().setAttribute("placeholder", locale.consoleSearchPlaceholder());
+
         ConsoleButton.ActionDelegate wrapTextDelegate = new ConsoleButton.ActionDelegate() {
             @Override
             public void onButtonClicked() {
@@ -119,4 +144,42 @@ public class ConsoleContainerViewImpl extends Composite implements ConsoleContai
         btnWrapText.setCheckedStatus(isChecked);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void showMatchesInfo(@Nonnegative int current, @Nonnegative int total) {
+        matchesInfo.setText(locale.consoleSearchMatches(current, total));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clearMatchesInfo() {
+        matchesInfo.setText("");
+    }
+
+    @UiHandler("searchField")
+    public void onSearchFieldKeyUp(KeyUpEvent event) {
+        if (event.getNativeKeyCode() != KeyCodes.KEY_ENTER) {
+            delegate.onSearchChanged(searchField.getText(), errorsOnly.getValue());
+        } else if (event.isShiftKeyDown()) {
+            delegate.onPreviousMatchClicked();
+        } else {
+            delegate.onNextMatchClicked();
+        }
+    }
+
+    @UiHandler("errorsOnly")
+    public void onErrorsOnlyChanged(@SuppressWarnings("UnusedParameters") ValueChangeEvent<Boolean> event) {
+        delegate.onSearchChanged(searchField.getText(), errorsOnly.getValue());
+    }
+
+    @UiHandler("previousMatch")
+    public void onPreviousMatchClicked(@SuppressWarnings("UnusedParameters") ClickEvent event) {
+        delegate.onPreviousMatchClicked();
+    }
+
+    @UiHandler("nextMatch")
+    public void onNextMatchClicked(@SuppressWarnings("UnusedParameters") ClickEvent event) {
+        delegate.onNextMatchClicked();
+    }
+
 }
\ No newline at end of file
@@ -10,8 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
 
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
+
 import com.google.gwt.user.client.ui.IsWidget;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 
 /**
@@ -24,7 +27,8 @@ import javax.annotation.Nonnull;
 public interface Console extends IsWidget {
 
     /**
-     * Prints message with s given content.
+     * Prints message with s given content. Printed lines aren't rendered at once, they are collected by the render queue which is flushed
+     * once per browser event loop.
      *
      * @param message
      *         message that needs to be printed
@@ -64,6 +68,9 @@ public interface Console extends IsWidget {
     /** Removes all messages from widget. */
     void clear();
 
+    /** Removes all messages and returns memory of the console to the log buffer manager. The console can't be used after that. */
+    void release();
+
     /**
      * Changes visibility of the console.
      *
@@ -72,6 +79,16 @@ public interface Console extends IsWidget {
      */
     void setVisible(boolean isVisible);
 
+    /**
+     * Changes activity of the console. Inactive console only stores printed lines in its buffer and doesn't touch DOM. All stored lines
+     * are rendered when the console becomes active. Incremental processing of a large printed text is cancelled when the console becomes
+     * inactive.
+     *
+     * @param isActive
+     *         <code>true</code> console renders printed lines,<code>false</code> console only stores printed lines
+     */
+    void setActive(boolean isActive);
+
     /** Changes wrap text param to opposite value that the widget has now. */
     void changeWrapTextParam();
 
@@ -81,4 +98,45 @@ public interface Console extends IsWidget {
      */
     boolean isWrapText();
 
+    /**
+     * Finds lines of the console which contain a given text and have one of given message types. The first found line is selected and
+     * the console is scrolled to it. Search with empty text and without types resets the previous search.
+     *
+     * @param query
+     *         text that needs to be found, the search is case insensitive
+     * @param types
+     *         bitmask of message types of lines that need to be found, <code>0</code> means lines of all types
+     * @return amount of found lines
+     */
+    @Nonnegative
+    int search(@Nonnull String query, int types);
+
+    /**
+     * Selects the next line which was found by the last search. The first found line is selected after the last one.
+     *
+     * @return position of the selected line among found lines or <code>-1</code> if no lines were found
+     */
+    int selectNextMatch();
+
+    /**
+     * Selects the previous line which was found by the last search. The last found line is selected after the first one.
+     *
+     * @return position of the selected line among found lines or <code>-1</code> if no lines were found
+     */
+    int selectPreviousMatch();
+
+    /**
+     * Shows pages of the application log which are loaded by a given reader above printed lines. Printed lines are kept and lines which
+     * are printed later are added below them. The console loads the previous page when it is scrolled to the top and the next page when
+     * it is scrolled to the bottom. The reader is detached when the console is cleared.
+     *
+     * @param logReader
+     *         reader that loads pages of the log
+     */
+    void setLogReader(@Nonnull PagedLogReader logReader);
+
+    /** @return statistic of flushes of the render queue */
+    @Nonnull
+    RenderMetrics getRenderMetrics();
+
 }
\ No newline at end of file
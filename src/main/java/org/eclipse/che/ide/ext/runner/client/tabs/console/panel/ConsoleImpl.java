@@ -12,33 +12,71 @@ package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
 
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.RunnerResources;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.dom.client.Style;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.safehtml.shared.SafeHtml;
+import com.google.gwt.safehtml.shared.SafeHtmlBuilder;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.HTML;
+import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.assistedinject.Assisted;
+import com.google.inject.name.Named;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import java.util.List;
 
-import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.CLEANED;
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.MAXIMUM;
-import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.DOCKER;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.OVERSCAN;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.WARNING;
 
 /**
+ * The console keeps all printed lines in a {@link LogBuffer} as plain text with bitmask of message types, html of a line is built only
+ * when the line is rendered. By default the console works in virtualized mode: only lines which are
+ * inside the visible area of the scroll panel (plus a small overscan) exist as DOM nodes, so a console with a huge amount of lines costs
+ * the same as a console with a few lines. Wrapped lines have different heights, that's why in wrap text mode the console shows only
+ * {@link Lines#MAXIMUM} lines of the store: the last lines or the lines around the selected found line.
+ * <p/>
+ * Printed lines aren't rendered at once. They are collected by the render queue which is flushed by the deferred command, so a burst of
+ * lines is rendered as a single DOM update with a single scroll adjustment. The render queue isn't flushed while the console is inactive
+ * (e.g. its runner isn't selected), such console only stores printed lines until it becomes active.
+ * <p/>
+ * All lines are indexed by {@link LogSearchIndex}, so lines can be found without touching DOM. Found lines are highlighted when they are
+ * rendered and the console isn't scrolled to the bottom while a found line is selected.
+ * <p/>
+ * A large printed text isn't split into lines at once. It is processed by {@link LogIngestion} in time-sliced chunks while the progress of
+ * the processing is shown. The processing is cancelled when the console becomes inactive.
+ * <p/>
+ * The console can show the application log which is loaded by {@link PagedLogReader}. In this case lines of loaded pages are shown above
+ * lines which were printed to the console, the printed lines are kept in a separate buffer, so loading of a page never removes them. The
+ * previous or the next page is loaded when the console is scrolled to its top or bottom. Large pages are passed through its own
+ * {@link LogIngestion}, lines which are printed meanwhile are shown when all lines of the pages are processed.
+ * <p/>
+ * When lines are printed faster than {@link #OVERLOAD_THRESHOLD} lines per second, the console switches to sampled rendering: printed
+ * lines are still stored, but the console is rendered once a second and shows how many lines weren't shown while they were printed.
+ * The console renders every flush again when the rate drops.
+ *
  * @author Artem Zatsarynnyy
  * @author Vitaliy Guliy
  * @author Mihail Kuznyetsov
@@ -50,39 +88,152 @@ public class ConsoleImpl extends Composite implements Console {
     interface ConsoleImplUiBinder extends UiBinder<Widget, ConsoleImpl> {
     }
 
+    public static final String OVERLOAD_THRESHOLD = "consoleOverloadThreshold";
+
     private static final ConsoleImplUiBinder UI_BINDER = GWT.create(ConsoleImplUiBinder.class);
 
+    /** The height of one line in virtualized mode. It has to be the same as the line height from the virtualized console style. */
+    private static final int LINE_HEIGHT = 14;
+
+    /** Printed text or loaded pages which are longer than this value are processed incrementally. */
+    static final int INCREMENTAL_LENGTH = 16 * 1024;
+
     @UiField
     ScrollPanel panel;
     @UiField
     FlowPanel   output;
     @UiField
+    HTML        viewport;
+    @UiField
     FlowPanel   mainPanel;
+    @UiField
+    Label       progress;
+    @UiField
+    Label       overload;
     @UiField(provided = true)
     final RunnerResources res;
 
-    private final Provider<MessageBuilder> messageBuilderProvider;
-    private final WidgetFactory            widgetFactory;
-    private final Runner                   runner;
-
-    private boolean isWrappedText;
+    private final Provider<MessageBuilder>   messageBuilderProvider;
+    private final WidgetFactory              widgetFactory;
+    private final RunnerLocalizationConstant locale;
+    private final Runner                     runner;
+    private final LogBufferManager           logBufferManager;
+    private final LogBuffer                  lines;
+    private final Scheduler                  scheduler;
+    private final RenderMetrics              renderMetrics;
+    private final ScheduledCommand           flushCommand;
+    private final LogSearchIndex             searchIndex;
+    private final LogIngestion               ingestion;
+    private final LogIngestion               pageIngestion;
+    private final OverloadDetector           overloadDetector;
+    private final RepeatingCommand           sampleCommand;
+
+    private FullLogMessageWidget fullLogMessage;
+    private PagedLogReader       logReader;
+    private LogBuffer            printedLines;
+    private boolean              isPageIngested;
+    private int                  anchorLine;
+    private boolean              isAnchorAtTop;
+    private boolean              isWrappedText;
+    private boolean              isFlushScheduled;
+    private boolean              isActive;
+    private boolean              isSampling;
+    private boolean              isReleased;
+    private int                  pendingLines;
+    private long                 pendingTime;
+    private int                  suppressedLines;
+    private int[]                matches;
+    private int                  selectedMatch;
 
     @Inject
     public ConsoleImpl(RunnerResources resources,
                        Provider<MessageBuilder> messageBuilderProvider,
                        WidgetFactory widgetFactory,
+                       RunnerLocalizationConstant locale,
+                       LogBufferManager logBufferManager,
+                       Scheduler scheduler,
+                       RunnerMetrics runnerMetrics,
+                       @Named(OVERLOAD_THRESHOLD) int overloadThreshold,
                        @Nonnull @Assisted Runner runner) {
         this.res = resources;
         this.messageBuilderProvider = messageBuilderProvider;
         this.widgetFactory = widgetFactory;
+        this.locale = locale;
         this.runner = runner;
+        this.logBufferManager = logBufferManager;
+        this.lines = logBufferManager.create();
+        this.searchIndex = new LogSearchIndex(lines);
+        this.matches = new int[0];
+        this.selectedMatch = -1;
+        this.scheduler = scheduler;
+        this.renderMetrics = runnerMetrics.getMetrics(runner).getRenderMetrics();
+        this.flushCommand = new ScheduledCommand() {
+            @Override
+            public void execute() {
+                flush();
+            }
+        };
+        this.overloadDetector = new OverloadDetector(overloadThreshold);
+        this.sampleCommand = new RepeatingCommand() {
+            @Override
+            public boolean execute() {
+                return sample();
+            }
+        };
+        this.ingestion = new LogIngestion(new LogIngestion.Sink() {
+            @Override
+            public void onLine(@Nonnull String line, int flags) {
+                print(line, flags);
+            }
+
+            @Override
+            public void onSliceProcessed() {
+                updateProgress();
+            }
+        });
+        this.pageIngestion = new LogIngestion(new LogIngestion.Sink() {
+            @Override
+            public void onLine(@Nonnull String line, int flags) {
+                lines.add(line, flags);
+                searchIndex.onLineAdded();
+            }
+
+            @Override
+            public void onSliceProcessed() {
+                updateProgress();
+
+                if (isPageIngested && !pageIngestion.isRunning()) {
+                    showLoadedPages();
+                }
+            }
+        });
 
         initWidget(UI_BINDER.createAndBindUi(this));
+
+        viewport.getElement().getStyle().setPaddingLeft(2, Style.Unit.PX);
+        viewport.addStyleName(res.runnerCss().virtualizedConsole());
+
+        panel.addScrollHandler(new ScrollHandler() {
+            @Override
+            public void onScroll(ScrollEvent event) {
+                if (!isWrappedText) {
+                    renderVisibleLines();
+                }
+
+                loadPageIfNeeded();
+            }
+        });
     }
 
     /** {@inheritDoc} */
     @Override
     public void print(@Nonnull String text) {
+        if (ingestion.isRunning() || text.length() > INCREMENTAL_LENGTH) {
+            // the text is queued after the text which is being processed to keep the order of lines
+            scheduleIngestion(ingestion.add(text));
+            return;
+        }
+
         //The message from server can be include a few lines of console
         for (String message : text.split("\n")) {
             if (message.isEmpty()) {
@@ -90,68 +241,195 @@ public class ConsoleImpl extends Composite implements Console {
                 continue;
             }
 
-            MessageType messageType = MessageType.detect(message);
-            MessageBuilder messageBuilder = messageBuilderProvider.get()
-                                                                  .message(message)
-                                                                  .type(messageType);
-
-            if (DOCKER.equals(messageType) && message.startsWith(DOCKER.getPrefix() + ' ' + ERROR.getPrefix())) {
-                messageBuilder.type(ERROR);
-            }
-
-            print(messageBuilder.build());
+            print(message, PrefixClassifier.classify(message));
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public void printInfo(@Nonnull String line) {
-        MessageBuilder messageBuilder = messageBuilderProvider.get()
-                                                              .type(INFO)
-                                                              .message(INFO.getPrefix() + ' ' + line);
-        print(messageBuilder.build());
+        printTyped(INFO.getPrefix() + ' ' + line, INFO.getMask());
     }
 
     /** {@inheritDoc} */
     @Override
     public void printError(@Nonnull String line) {
-        MessageBuilder messageBuilder = messageBuilderProvider.get()
-                                                              .type(ERROR)
-                                                              .message(ERROR.getPrefix() + ' ' + line);
-        print(messageBuilder.build());
+        printTyped(ERROR.getPrefix() + ' ' + line, ERROR.getMask());
     }
 
     /** {@inheritDoc} */
     @Override
     public void printWarn(@Nonnull String line) {
-        MessageBuilder messageBuilder = messageBuilderProvider.get()
-                                                              .type(WARNING)
-                                                              .message(WARNING.getPrefix() + ' ' + line);
-        print(messageBuilder.build());
+        printTyped(WARNING.getPrefix() + ' ' + line, WARNING.getMask());
     }
 
-    private void print(@Nonnull SafeHtml message) {
-        cleanOverHeadLinesIfAny();
+    private void printTyped(@Nonnull String message, int flags) {
+        if (ingestion.isRunning()) {
+            scheduleIngestion(ingestion.add(message, flags));
+        } else {
+            print(message, flags);
+        }
+    }
 
-        HTML html = new HTML(message);
-        html.getElement().getStyle().setPaddingLeft(2, Style.Unit.PX);
-        if (isWrappedText) {
-            html.addStyleName(res.runnerCss().wrappedText());
+    private void scheduleIngestion(boolean isNeedSchedule) {
+        if (isNeedSchedule) {
+            scheduler.scheduleIncremental(ingestion);
         }
 
-        output.add(html);
+        updateProgress();
+    }
+
+    private void updateProgress() {
+        LogIngestion runningIngestion = pageIngestion.isRunning() ? pageIngestion : ingestion;
+        boolean isRunning = runningIngestion.isRunning();
 
-        scrollBottom();
+        progress.setVisible(isRunning);
+
+        if (isRunning) {
+            progress.setText(locale.consoleLoadingProgress(runningIngestion.getProgress()));
+        }
+    }
+
+    private void print(@Nonnull String message, int flags) {
+        if (isReleased) {
+            // released buffers aren't counted by the log buffer manager anymore
+            return;
+        }
+
+        if (printedLines != null) {
+            printedLines.add(message, flags);
+
+            if (isPageIngested) {
+                // the line is added below lines of the pages when they are processed
+                return;
+            }
+        }
+
+        lines.add(message, flags);
+        searchIndex.onLineAdded();
+
+        if (pendingLines == 0) {
+            pendingTime = System.currentTimeMillis();
+        }
+
+        pendingLines++;
+
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        // the sampled rendering renders pending lines itself
+        if (isActive && !isFlushScheduled && !isSampling) {
+            isFlushScheduled = true;
+            scheduler.scheduleDeferred(flushCommand);
+        }
     }
 
-    private void cleanOverHeadLinesIfAny() {
-        if (output.getWidgetCount() < MAXIMUM.getValue()) {
+    /** Renders all lines which were printed since the previous flush by one DOM update. */
+    private void flush() {
+        isFlushScheduled = false;
+
+        if (!isActive || pendingLines == 0) {
             return;
         }
 
-        // remove first 10% of current lines on screen
-        for (int i = 0; i < CLEANED.getValue(); i++) {
-            output.remove(0);
+        if (overloadDetector.onLines(pendingLines, System.currentTimeMillis())) {
+            isSampling = true;
+            scheduler.scheduleFixedDelay(sampleCommand, ONE_SEC.getValue());
+        }
+
+        renderPendingLines();
+    }
+
+    /**
+     * Renders pending lines while the console is overloaded.
+     *
+     * @return <code>true</code> when the console is still overloaded, <code>false</code> when the sampled rendering is finished
+     */
+    private boolean sample() {
+        if (!isActive) {
+            // pending lines are rendered when the console becomes active
+            stopSampling();
+            return false;
+        }
+
+        boolean isOverloaded = overloadDetector.onLines(pendingLines, System.currentTimeMillis());
+
+        if (!isOverloaded) {
+            stopSampling();
+        }
+
+        if (pendingLines > 0) {
+            renderPendingLines();
+        }
+
+        return isOverloaded;
+    }
+
+    private void stopSampling() {
+        isSampling = false;
+        suppressedLines = 0;
+
+        updateOverloadMessage();
+    }
+
+    private void updateOverloadMessage() {
+        overload.setVisible(isSampling);
+
+        if (isSampling) {
+            overload.setText(locale.consoleLinesSuppressed(suppressedLines));
+        }
+    }
+
+    private void renderPendingLines() {
+        long start = System.currentTimeMillis();
+
+        if (isSampling) {
+            // only the last lines of the batch get into the visible area
+            int shownLines = isWrappedText ? MAXIMUM.getValue() : panel.getOffsetHeight() / LINE_HEIGHT;
+
+            suppressedLines += Math.max(0, pendingLines - shownLines);
+        }
+
+        updateFullLogMessage();
+
+        if (selectedMatch < 0) {
+            scrollBottom();
+        } else {
+            // keep the selected line in the visible area
+            resizeViewport();
+            render();
+        }
+
+        long end = System.currentTimeMillis();
+
+        renderMetrics.onFlushed(pendingLines, end - start, end - pendingTime);
+
+        pendingLines = 0;
+
+        if (isSampling) {
+            updateOverloadMessage();
+        }
+    }
+
+    /**
+     * Shows link to full logs in top of console when some lines can't be shown and hides it otherwise. The link isn't needed when the
+     * console shows pages of the log.
+     */
+    private void updateFullLogMessage() {
+        boolean hasHiddenLines = logReader == null && (lines.getEvicted() > 0 || isWrappedText && lines.size() > MAXIMUM.getValue());
+
+        if (!hasHiddenLines) {
+            if (fullLogMessage != null) {
+                output.remove(fullLogMessage);
+                fullLogMessage = null;
+            }
+
+            return;
+        }
+
+        if (fullLogMessage != null) {
+            return;
         }
 
         Link logLink = runner.getLogUrl();
@@ -164,20 +442,282 @@ public class ConsoleImpl extends Composite implements Console {
             return;
         }
 
-        // print link to full logs in top of console
-        output.insert(widgetFactory.createFullLogMessage(logUrl), 0);
+        fullLogMessage = widgetFactory.createFullLogMessage(logUrl);
+        output.insert(fullLogMessage, 0);
+    }
+
+    /** Renders lines which are located inside the visible area of the scroll panel. */
+    private void renderVisibleLines() {
+        int count = lines.size();
+        int offset = fullLogMessage == null ? 0 : fullLogMessage.getOffsetHeight();
+        int scrollTop = Math.max(0, panel.getVerticalScrollPosition() - offset);
+
+        int first = Math.max(0, scrollTop / LINE_HEIGHT - OVERSCAN.getValue());
+        int last = Math.min(count, (scrollTop + panel.getOffsetHeight()) / LINE_HEIGHT + 1 + OVERSCAN.getValue());
+
+        SafeHtmlBuilder builder = new SafeHtmlBuilder().appendHtmlConstant("<div style='position:relative;top:" +
+                                                                           first * LINE_HEIGHT + "px;'>");
+        appendLines(builder, first, last);
+
+        viewport.setHTML(builder.appendHtmlConstant("</div>").toSafeHtml());
+    }
+
+    private void render() {
+        if (isWrappedText) {
+            renderWrappedLines();
+        } else {
+            renderVisibleLines();
+        }
+    }
+
+    /** Renders a window of lines of the store. This way is used when lines are wrapped and they have different height. */
+    private void renderWrappedLines() {
+        int first = getFirstWrappedLine();
+
+        SafeHtmlBuilder builder = new SafeHtmlBuilder();
+        appendLines(builder, first, Math.min(lines.size(), first + MAXIMUM.getValue()));
+
+        viewport.setHTML(builder.toSafeHtml());
+    }
+
+    /** Returns index of the first line which is rendered in wrap text mode: the window contains the selected found line or last lines. */
+    @Nonnegative
+    private int getFirstWrappedLine() {
+        int lastWindow = Math.max(0, lines.size() - MAXIMUM.getValue());
+        int index = selectedMatch < 0 ? -1 : lines.indexOf(matches[selectedMatch]);
+
+        if (index < 0) {
+            return lastWindow;
+        }
+
+        return Math.min(lastWindow, Math.max(0, index - MAXIMUM.getValue() / 2));
+    }
+
+    private void appendLines(@Nonnull SafeHtmlBuilder builder, @Nonnegative int from, @Nonnegative int to) {
+        int selectedSequence = selectedMatch < 0 ? -1 : matches[selectedMatch];
+
+        for (int i = from; i < to; i++) {
+            if (lines.getSequence(i) == selectedSequence) {
+                builder.appendHtmlConstant("<div class='" + res.runnerCss().searchMatch() + "'>")
+                       .append(buildLine(i))
+                       .appendHtmlConstant("</div>");
+            } else {
+                builder.append(buildLine(i));
+            }
+        }
+    }
+
+    @Nonnull
+    private SafeHtml buildLine(@Nonnegative int index) {
+        return messageBuilderProvider.get()
+                                     .message(lines.getText(index))
+                                     .types(lines.getFlags(index))
+                                     .build();
+    }
+
+    private void resizeViewport() {
+        Style style = viewport.getElement().getStyle();
+
+        if (isWrappedText) {
+            style.clearHeight();
+        } else {
+            style.setHeight(lines.size() * LINE_HEIGHT, Style.Unit.PX);
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void scrollBottom() {
+        resizeViewport();
+
+        if (isWrappedText) {
+            renderWrappedLines();
+        }
+
         panel.getElement().setScrollTop(panel.getElement().getScrollHeight());
+
+        if (!isWrappedText) {
+            renderVisibleLines();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setLogReader(@Nonnull PagedLogReader logReader) {
+        if (printedLines == null) {
+            printedLines = logBufferManager.create();
+
+            for (int i = 0; i < lines.size(); i++) {
+                printedLines.add(lines.getText(i), lines.getFlags(i));
+            }
+        }
+
+        this.logReader = logReader;
+
+        logReader.setListener(new PagedLogReader.Listener() {
+            @Override
+            public void onPagesLoaded(@Nonnull List<String> pageLines, @Nonnegative int anchorLine, boolean isAnchorAtTop) {
+                showPages(pageLines, anchorLine, isAnchorAtTop);
+            }
+        });
+    }
+
+    /**
+     * Replaces all lines of the console with lines of loaded pages followed by printed lines and keeps the anchor line at the same edge of
+     * the console. Large pages are processed incrementally.
+     */
+    private void showPages(@Nonnull List<String> pageLines, @Nonnegative int anchorLine, boolean isAnchorAtTop) {
+        if (logReader == null) {
+            // the console was cleared while the page was loading
+            return;
+        }
+
+        resetLines();
+        pageIngestion.cancel();
+
+        this.anchorLine = anchorLine;
+        this.isAnchorAtTop = isAnchorAtTop;
+
+        int length = 0;
+        for (String line : pageLines) {
+            length += line.length();
+        }
+
+        if (length <= INCREMENTAL_LENGTH) {
+            isPageIngested = false;
+
+            for (String line : pageLines) {
+                lines.add(line, PrefixClassifier.classify(line));
+                searchIndex.onLineAdded();
+            }
+
+            showLoadedPages();
+            return;
+        }
+
+        isPageIngested = true;
+
+        boolean isNeedSchedule = false;
+        for (String line : pageLines) {
+            isNeedSchedule |= pageIngestion.add(line);
+        }
+
+        if (isNeedSchedule) {
+            scheduler.scheduleIncremental(pageIngestion);
+        }
+
+        updateProgress();
+    }
+
+    /** Adds printed lines below lines of the pages and shows the anchor line when all lines of the pages are processed. */
+    private void showLoadedPages() {
+        isPageIngested = false;
+
+        updateProgress();
+
+        for (int i = 0; i < printedLines.size(); i++) {
+            lines.add(printedLines.getText(i), printedLines.getFlags(i));
+            searchIndex.onLineAdded();
+        }
+
+        if (!isActive) {
+            pendingLines = lines.size();
+            pendingTime = System.currentTimeMillis();
+            return;
+        }
+
+        resizeViewport();
+
+        if (isWrappedText) {
+            renderWrappedLines();
+        }
+
+        int anchor = Math.min(anchorLine, Math.max(0, lines.size() - 1));
+        int position = isAnchorAtTop ? getLinePosition(anchor) : getLinePosition(anchor + 1) - panel.getOffsetHeight();
+
+        panel.setVerticalScrollPosition(Math.max(0, position));
+
+        if (!isWrappedText) {
+            renderVisibleLines();
+        }
+    }
+
+    /** Loads the previous page of the log when the console is scrolled to the top and the next page when it is scrolled to the bottom. */
+    private void loadPageIfNeeded() {
+        if (logReader == null || logReader.isLoading() || isPageIngested) {
+            return;
+        }
+
+        int scrollTop = panel.getVerticalScrollPosition();
+
+        if (scrollTop <= 0) {
+            logReader.loadPrevious();
+        } else if (scrollTop >= panel.getMaximumVerticalScrollPosition()) {
+            logReader.loadNext();
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public void clear() {
-        output.clear();
+        logReader = null;
+
+        isPageIngested = false;
+        pageIngestion.cancel();
+
+        if (printedLines != null) {
+            logBufferManager.release(printedLines);
+            printedLines = null;
+        }
+
+        ingestion.cancel();
+        updateProgress();
+
+        resetLines();
+
+        suppressedLines = 0;
+        updateOverloadMessage();
+
+        updateFullLogMessage();
+
+        scrollBottom();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void release() {
+        // the sampled rendering stops when the console isn't active
+        isActive = false;
+        isReleased = true;
+
+        clear();
+
+        logBufferManager.release(lines);
+    }
+
+    private void resetLines() {
+        lines.clear();
+        searchIndex.clear();
+        pendingLines = 0;
+        matches = new int[0];
+        selectedMatch = -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setActive(boolean isActive) {
+        this.isActive = isActive;
+
+        if (!isActive && ingestion.isRunning()) {
+            ingestion.cancel();
+            updateProgress();
+
+            print(WARNING.getPrefix() + ' ' + locale.consoleLoadingCancelled(), WARNING.getMask());
+        }
+
+        if (pendingLines > 0) {
+            scheduleFlush();
+        }
     }
 
     /** {@inheritDoc} */
@@ -185,16 +725,19 @@ public class ConsoleImpl extends Composite implements Console {
     public void changeWrapTextParam() {
         isWrappedText = !isWrappedText;
         String wrappedText = res.runnerCss().wrappedText();
+        String virtualizedConsole = res.runnerCss().virtualizedConsole();
 
-        for (int i = 0; i < output.getWidgetCount(); i++) {
-            Widget widget = output.getWidget(i);
-
-            if (isWrappedText) {
-                widget.addStyleName(wrappedText);
-            } else {
-                widget.removeStyleName(wrappedText);
-            }
+        if (isWrappedText) {
+            viewport.removeStyleName(virtualizedConsole);
+            viewport.addStyleName(wrappedText);
+        } else {
+            viewport.removeStyleName(wrappedText);
+            viewport.addStyleName(virtualizedConsole);
         }
+
+        updateFullLogMessage();
+
+        scrollBottom();
     }
 
     /** {@inheritDoc} */
@@ -203,4 +746,91 @@ public class ConsoleImpl extends Composite implements Console {
         return isWrappedText;
     }
 
+    /** {@inheritDoc} */
+    @Nonnegative
+    @Override
+    public int search(@Nonnull String query, int types) {
+        boolean isReset = query.isEmpty() && types == 0;
+
+        matches = isReset ? new int[0] : searchIndex.search(query, types);
+        selectedMatch = -1;
+
+        if (matches.length == 0) {
+            // remove highlighting of the previous search
+            render();
+        } else {
+            selectMatch(0);
+        }
+
+        return matches.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int selectNextMatch() {
+        if (matches.length == 0) {
+            return -1;
+        }
+
+        selectMatch((selectedMatch + 1) % matches.length);
+
+        return selectedMatch;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int selectPreviousMatch() {
+        if (matches.length == 0) {
+            return -1;
+        }
+
+        selectMatch((selectedMatch - 1 + matches.length) % matches.length);
+
+        return selectedMatch;
+    }
+
+    /** Selects a found line and scrolls the console to it. Only lines of the visible area are rendered again. */
+    private void selectMatch(@Nonnegative int match) {
+        selectedMatch = match;
+
+        int index = lines.indexOf(matches[match]);
+        if (index < 0) {
+            // the line was evicted from the buffer after the search
+            render();
+            return;
+        }
+
+        if (isWrappedText) {
+            renderWrappedLines();
+        }
+
+        panel.setVerticalScrollPosition(Math.max(0, getLinePosition(index) - panel.getOffsetHeight() / 2));
+
+        if (!isWrappedText) {
+            renderVisibleLines();
+        }
+    }
+
+    /** Returns the vertical position of the top of a line with a given index inside the scroll panel. */
+    private int getLinePosition(@Nonnegative int index) {
+        if (isWrappedText) {
+            // wrapped lines have different heights, so the position of the line is approximate
+            int first = getFirstWrappedLine();
+            int rendered = Math.max(1, Math.min(lines.size() - first, MAXIMUM.getValue()));
+
+            return Math.max(0, index - first) * panel.getElement().getScrollHeight() / rendered;
+        }
+
+        int offset = fullLogMessage == null ? 0 : fullLogMessage.getOffsetHeight();
+
+        return offset + index * LINE_HEIGHT;
+    }
+
+    /** {@inheritDoc} */
+    @Nonnull
+    @Override
+    public RenderMetrics getRenderMetrics() {
+        return renderMetrics;
+    }
+
 }
\ No newline at end of file
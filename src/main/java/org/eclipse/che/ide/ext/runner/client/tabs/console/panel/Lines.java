@@ -18,7 +18,7 @@ import javax.annotation.Nonnegative;
  * @author Andrey Plotnikov
  */
 public enum Lines {
-    MAXIMUM(1_000), CLEANED(100);
+    MAXIMUM(1_000), CLEANED(100), OVERSCAN(20);
 
     private final int value;
 
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.CLEANED;
+
+/**
+ * The ring buffer that stores console lines of one runner. Every line is kept as its text, bitmask of message types and sequence number in
+ * compact parallel arrays. The buffer has a memory budget: when lines take more memory than the budget the oldest lines are evicted by
+ * chunks of {@link Lines#CLEANED} lines. All buffers are controlled by {@link LogBufferManager} which keeps the memory of all runners
+ * inside the workspace budget.
+ * <p/>
+ * Memory of data which is built over lines of the buffer (e.g. {@link LogSearchIndex}) is counted in the budget too. Such data is
+ * notified by {@link EvictionListener} when lines are evicted, so it is evicted with its lines.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogBuffer {
+
+    /** Approximate amount of memory which is taken by one line without its text: string header, references and array cells. */
+    static final int LINE_OVERHEAD = 32;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final LogBufferManager manager;
+    private final int              budget;
+
+    private String[]         texts;
+    private int[]            flags;
+    private int[]            sequences;
+    private int              head;
+    private int              size;
+    private int              bytes;
+    private int              evicted;
+    private EvictionListener evictionListener;
+
+    LogBuffer(@Nonnull LogBufferManager manager, @Nonnegative int budget) {
+        this.manager = manager;
+        this.budget = budget;
+
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(@Nonnegative int capacity) {
+        texts = new String[capacity];
+        flags = new int[capacity];
+        sequences = new int[capacity];
+        head = 0;
+    }
+
+    /**
+     * Adds a line to the end of the buffer. The oldest lines are evicted when the budget of the buffer is exceeded.
+     *
+     * @param text
+     *         text of the line
+     * @param typeFlags
+     *         bitmask of message types of the line
+     */
+    public void add(@Nonnull String text, int typeFlags) {
+        if (size == texts.length) {
+            grow();
+        }
+
+        int index = toArrayIndex(size);
+
+        texts[index] = text;
+        flags[index] = typeFlags;
+        sequences[index] = manager.nextSequence();
+
+        size++;
+
+        changeBytes(getBytes(text));
+
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        while (bytes > budget && size > 1) {
+            evictChunk();
+        }
+    }
+
+    /**
+     * Sets the listener which is notified when lines are evicted or the buffer is cleaned.
+     *
+     * @param evictionListener
+     *         listener that needs to be notified or <code>null</code> to remove the current listener
+     */
+    void setEvictionListener(@Nullable EvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Changes amount of memory which is taken by data built over lines of the buffer. The oldest lines are evicted when the budget of
+     * the buffer is exceeded.
+     *
+     * @param delta
+     *         amount of bytes which were taken (positive value) or released (negative value)
+     */
+    void changeExternalBytes(int delta) {
+        changeBytes(delta);
+
+        if (delta > 0) {
+            evictIfNeeded();
+        }
+    }
+
+    private void grow() {
+        String[] oldTexts = texts;
+        int[] oldFlags = flags;
+        int[] oldSequences = sequences;
+        int oldHead = head;
+        int capacity = oldTexts.length;
+
+        allocate(capacity * 2);
+
+        // copy lines in order, so the oldest line is located at the beginning of new arrays
+        int tail = capacity - oldHead;
+
+        System.arraycopy(oldTexts, oldHead, texts, 0, tail);
+        System.arraycopy(oldTexts, 0, texts, tail, oldHead);
+        System.arraycopy(oldFlags, oldHead, flags, 0, tail);
+        System.arraycopy(oldFlags, 0, flags, tail, oldHead);
+        System.arraycopy(oldSequences, oldHead, sequences, 0, tail);
+        System.arraycopy(oldSequences, 0, sequences, tail, oldHead);
+    }
+
+    /**
+     * Evicts a chunk of the oldest lines. The newest line is never evicted.
+     *
+     * @return amount of bytes which were released, including bytes which were released by the eviction listener
+     */
+    @Nonnegative
+    int evictChunk() {
+        int count = Math.min(CLEANED.getValue(), size - 1);
+        int released = 0;
+        int initialBytes = bytes;
+
+        List<String> evictedTexts = evictionListener == null ? null : new ArrayList<String>(count);
+
+        for (int i = 0; i < count; i++) {
+            released += getBytes(texts[head]);
+
+            if (evictedTexts != null) {
+                evictedTexts.add(texts[head]);
+            }
+
+            texts[head] = null;
+            head = (head + 1) & (texts.length - 1);
+        }
+
+        size -= count;
+        evicted += count;
+
+        changeBytes(-released);
+
+        if (evictedTexts != null && count > 0) {
+            evictionListener.onLinesEvicted(evictedTexts, getSequence(0));
+        }
+
+        return initialBytes - bytes;
+    }
+
+    private void changeBytes(int delta) {
+        bytes += delta;
+
+        manager.onBytesChanged(delta);
+    }
+
+    @Nonnegative
+    private static int getBytes(@Nonnull String text) {
+        return LINE_OVERHEAD + 2 * text.length();
+    }
+
+    @Nonnegative
+    private int toArrayIndex(@Nonnegative int index) {
+        return (head + index) & (texts.length - 1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * Returns text of a line.
+     *
+     * @param index
+     *         index of the line, the oldest line has index 0
+     * @return text of the line
+     */
+    @Nonnull
+    public String getText(@Nonnegative int index) {
+        checkIndex(index);
+
+        return texts[toArrayIndex(index)];
+    }
+
+    /**
+     * Returns bitmask of message types of a line.
+     *
+     * @param index
+     *         index of the line, the oldest line has index 0
+     * @return bitmask of message types
+     */
+    public int getFlags(@Nonnegative int index) {
+        checkIndex(index);
+
+        return flags[toArrayIndex(index)];
+    }
+
+    /**
+     * Returns sequence number of a line. The sequence number is unique for all buffers and it shows order in which lines were added.
+     *
+     * @param index
+     *         index of the line, the oldest line has index 0
+     * @return sequence number of the line
+     */
+    public int getSequence(@Nonnegative int index) {
+        checkIndex(index);
+
+        return sequences[toArrayIndex(index)];
+    }
+
+    /**
+     * Finds index of the line with a given sequence number.
+     *
+     * @param sequence
+     *         sequence number of the line
+     * @return index of the line or <code>-1</code> if the buffer doesn't contain the line
+     */
+    public int indexOf(int sequence) {
+        int low = 0;
+        int high = size - 1;
+
+        // sequence numbers of lines are in ascending order
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = sequences[toArrayIndex(middle)];
+
+            if (value < sequence) {
+                low = middle + 1;
+            } else if (value > sequence) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    /** @return amount of lines in the buffer */
+    @Nonnegative
+    public int size() {
+        return size;
+    }
+
+    /** @return <code>true</code> when the buffer doesn't contain any line, <code>false</code> otherwise */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** @return approximate amount of memory in bytes which is taken by lines of the buffer and by data built over them */
+    @Nonnegative
+    public int getBytes() {
+        return bytes;
+    }
+
+    /** @return amount of lines which were evicted from the buffer since the last cleaning */
+    @Nonnegative
+    public int getEvicted() {
+        return evicted;
+    }
+
+    /** Removes all lines from the buffer. */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+
+        size = 0;
+        evicted = 0;
+
+        changeBytes(-bytes);
+
+        if (evictionListener != null) {
+            evictionListener.onCleared();
+        }
+    }
+
+    /** The listener of evictions of lines. It keeps data which is built over lines of the buffer in sync with the buffer. */
+    interface EvictionListener {
+        /**
+         * Called when the oldest lines were evicted from the buffer. The listener has to release memory of the evicted lines by
+         * {@link #changeExternalBytes(int)}.
+         *
+         * @param texts
+         *         texts of evicted lines
+         * @param firstSequence
+         *         sequence number of the oldest line which is still stored in the buffer
+         */
+        void onLinesEvicted(@Nonnull List<String> texts, int firstSequence);
+
+        /** Called when all lines were removed from the buffer. Memory of the listener is already released by the buffer. */
+        void onCleared();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The manager that creates log buffers for consoles of runners and keeps total amount of memory which is taken by all buffers inside the
+ * workspace budget. When the workspace budget is exceeded the oldest lines of all buffers are evicted first.
+ *
+ * @author Andrey Plotnikov
+ */
+@Singleton
+public class LogBufferManager {
+
+    public static final String RUNNER_LOG_BUDGET    = "runnerLogBudget";
+    public static final String WORKSPACE_LOG_BUDGET = "workspaceLogBudget";
+
+    private final int             runnerBudget;
+    private final int             workspaceBudget;
+    private final List<LogBuffer> buffers;
+
+    private int sequence;
+    private int bytes;
+
+    @Inject
+    public LogBufferManager(@Named(RUNNER_LOG_BUDGET) int runnerBudget, @Named(WORKSPACE_LOG_BUDGET) int workspaceBudget) {
+        this.runnerBudget = runnerBudget;
+        this.workspaceBudget = workspaceBudget;
+
+        this.buffers = new ArrayList<>();
+    }
+
+    /** @return a new log buffer which is controlled by the manager */
+    @Nonnull
+    public LogBuffer create() {
+        LogBuffer buffer = new LogBuffer(this, runnerBudget);
+
+        buffers.add(buffer);
+
+        return buffer;
+    }
+
+    /**
+     * Removes all lines from a given buffer and stops controlling it.
+     *
+     * @param buffer
+     *         buffer that needs to be released
+     */
+    public void release(@Nonnull LogBuffer buffer) {
+        buffer.clear();
+
+        buffers.remove(buffer);
+    }
+
+    /** Releases all buffers which were created by the manager. */
+    public void releaseAll() {
+        for (LogBuffer buffer : new ArrayList<>(buffers)) {
+            release(buffer);
+        }
+    }
+
+    /** @return approximate amount of memory in bytes which is taken by all buffers */
+    @Nonnegative
+    public int getBytes() {
+        return bytes;
+    }
+
+    @Nonnegative
+    int nextSequence() {
+        return sequence++;
+    }
+
+    void onBytesChanged(int delta) {
+        bytes += delta;
+
+        if (delta <= 0) {
+            return;
+        }
+
+        while (bytes > workspaceBudget) {
+            LogBuffer oldest = findOldestBuffer();
+
+            if (oldest == null) {
+                return;
+            }
+
+            oldest.evictChunk();
+        }
+    }
+
+    /** Finds the buffer which contains the oldest line. Buffers with one line are skipped, because the newest line is never evicted. */
+    @Nullable
+    private LogBuffer findOldestBuffer() {
+        LogBuffer oldest = null;
+        int oldestSequence = Integer.MAX_VALUE;
+
+        for (LogBuffer buffer : buffers) {
+            if (buffer.size() < 2) {
+                continue;
+            }
+
+            int firstSequence = buffer.getSequence(0);
+
+            if (firstSequence < oldestSequence) {
+                oldest = buffer;
+                oldestSequence = firstSequence;
+            }
+        }
+
+        return oldest;
+    }
+
+}
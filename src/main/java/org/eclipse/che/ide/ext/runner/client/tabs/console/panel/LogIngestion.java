@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.LinkedList;
+
+/**
+ * The command splits queued text into lines, classifies them and passes them to the console by time-sliced chunks, so a huge log payload
+ * doesn't block the UI thread. One execution of the command processes lines until {@link #SLICE_DURATION} milliseconds are spent or
+ * {@link #SLICE_LINES} lines are processed, the command is repeated by the scheduler until the queue is empty. Lines are passed to the
+ * console in the same order they were queued.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogIngestion implements RepeatingCommand {
+
+    /** Maximum time in milliseconds that one slice can take. */
+    public static final int SLICE_DURATION = 8;
+    /** Maximum amount of lines that one slice can process. */
+    public static final int SLICE_LINES    = 2_000;
+
+    /** The flags of queued text which has to be split into lines and classified. */
+    private static final int UNKNOWN = -1;
+    /** Amount of lines that are processed between checks of the slice time. */
+    private static final int TIME_CHECK_INTERVAL = 64;
+
+    private final Sink              sink;
+    private final LinkedList<Chunk> chunks;
+
+    private int     position;
+    private long    queuedLength;
+    private long    processedLength;
+    private boolean isScheduled;
+
+    public LogIngestion(@Nonnull Sink sink) {
+        this.sink = sink;
+        this.chunks = new LinkedList<>();
+    }
+
+    /**
+     * Adds text with unknown content to the queue. The text is split into lines and each line is classified by its prefix.
+     *
+     * @param text
+     *         text that needs to be processed
+     * @return <code>true</code> when the command has to be scheduled, <code>false</code> when it is scheduled already
+     */
+    public boolean add(@Nonnull String text) {
+        return add(text, UNKNOWN);
+    }
+
+    /**
+     * Adds a single line with known message types to the queue.
+     *
+     * @param line
+     *         line that needs to be passed to the console
+     * @param flags
+     *         bitmask of message types of the line
+     * @return <code>true</code> when the command has to be scheduled, <code>false</code> when it is scheduled already
+     */
+    public boolean add(@Nonnull String line, int flags) {
+        chunks.add(new Chunk(line, flags));
+        queuedLength += line.length();
+
+        if (isScheduled) {
+            return false;
+        }
+
+        isScheduled = true;
+
+        return true;
+    }
+
+    /** @return <code>true</code> when the queue contains text which isn't passed to the console yet, <code>false</code> otherwise */
+    public boolean isRunning() {
+        return !chunks.isEmpty();
+    }
+
+    /** @return percent of queued text which is passed to the console */
+    @Nonnegative
+    public int getProgress() {
+        return queuedLength == 0 ? 100 : (int)(processedLength * 100 / queuedLength);
+    }
+
+    /** Removes all queued text. The text which is passed to the console already stays in the console. */
+    public void cancel() {
+        chunks.clear();
+        position = 0;
+        queuedLength = 0;
+        processedLength = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean execute() {
+        long deadline = System.currentTimeMillis() + SLICE_DURATION;
+        int lines = 0;
+
+        while (!chunks.isEmpty() && lines < SLICE_LINES) {
+            processNextLine(chunks.getFirst());
+            lines++;
+
+            if (lines % TIME_CHECK_INTERVAL == 0 && System.currentTimeMillis() >= deadline) {
+                break;
+            }
+        }
+
+        if (chunks.isEmpty()) {
+            isScheduled = false;
+            queuedLength = 0;
+            processedLength = 0;
+        }
+
+        sink.onSliceProcessed();
+
+        return isScheduled;
+    }
+
+    private void processNextLine(@Nonnull Chunk chunk) {
+        String text = chunk.text;
+
+        if (chunk.flags != UNKNOWN) {
+            sink.onLine(text, chunk.flags);
+
+            processedLength += text.length();
+            chunks.removeFirst();
+            return;
+        }
+
+        int end = text.indexOf('\n', position);
+        if (end < 0) {
+            end = text.length();
+        }
+
+        // don't pass empty lines
+        if (end > position) {
+            String line = text.substring(position, end);
+            sink.onLine(line, PrefixClassifier.classify(line));
+        }
+
+        processedLength += Math.min(end + 1, text.length()) - position;
+        position = end + 1;
+
+        if (position >= text.length()) {
+            position = 0;
+            chunks.removeFirst();
+        }
+    }
+
+    /** The receiver of processed lines. */
+    public interface Sink {
+        /**
+         * Receives a processed line.
+         *
+         * @param line
+         *         text of the line
+         * @param flags
+         *         bitmask of message types of the line
+         */
+        void onLine(@Nonnull String line, int flags);
+
+        /** Performs some actions when a slice is processed, e.g. shows the progress. */
+        void onSliceProcessed();
+    }
+
+    private static final class Chunk {
+        private final String text;
+        private final int    flags;
+
+        private Chunk(@Nonnull String text, int flags) {
+            this.text = text;
+            this.flags = flags;
+        }
+    }
+
+}
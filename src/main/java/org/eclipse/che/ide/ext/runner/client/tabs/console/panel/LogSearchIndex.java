@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The trigram index over lines of a {@link LogBuffer}. The index is updated incrementally when a line is added to the buffer and it
+ * provides case insensitive substring search with filtering by message types. Lines are identified by their sequence numbers.
+ * <p/>
+ * Memory of the index is counted in the budget of the buffer, and postings of lines are removed from the index when the lines are
+ * evicted from the buffer. So the index can make the buffer evict its lines earlier, but the buffer and the index together never take
+ * more memory than the budget.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogSearchIndex {
+
+    /** Length of n-grams which are stored in the index. */
+    static final int GRAM_LENGTH = 3;
+
+    /** Approximate amount of memory which is taken by one posting: the array cell and the spare capacity of the growable array. */
+    static final int POSTING_BYTES = 8;
+
+    /** Approximate amount of memory which is taken by one gram without its postings: the map entry, the key and the list object. */
+    static final int GRAM_OVERHEAD = 64;
+
+    private final LogBuffer             buffer;
+    private final Map<String, Postings> grams;
+
+    private int bytes;
+
+    public LogSearchIndex(@Nonnull LogBuffer buffer) {
+        this.buffer = buffer;
+        this.grams = new HashMap<>();
+
+        buffer.setEvictionListener(new LogBuffer.EvictionListener() {
+            @Override
+            public void onLinesEvicted(@Nonnull List<String> texts, int firstSequence) {
+                removeEvictedLines(texts, firstSequence);
+            }
+
+            @Override
+            public void onCleared() {
+                grams.clear();
+                bytes = 0;
+            }
+        });
+    }
+
+    /**
+     * Adds the last line of the buffer to the index. The method has to be called every time when a line is added to the buffer.
+     */
+    public void onLineAdded() {
+        int index = buffer.size() - 1;
+        int sequence = buffer.getSequence(index);
+        String text = buffer.getText(index).toLowerCase();
+        int taken = 0;
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM_LENGTH);
+            Postings postings = grams.get(gram);
+
+            if (postings == null) {
+                postings = new Postings();
+                grams.put(gram, postings);
+
+                taken += GRAM_OVERHEAD;
+            }
+
+            // the same gram can be met a few times in one line, but the line has to be stored once
+            if (postings.addIfAbsent(sequence)) {
+                taken += POSTING_BYTES;
+            }
+        }
+
+        changeBytes(taken);
+    }
+
+    /** Removes postings of evicted lines. Only grams of evicted lines can contain their postings, so other grams aren't touched. */
+    private void removeEvictedLines(@Nonnull List<String> texts, int firstSequence) {
+        Set<String> evictedGrams = new HashSet<>();
+
+        for (String line : texts) {
+            String text = line.toLowerCase();
+
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                evictedGrams.add(text.substring(i, i + GRAM_LENGTH));
+            }
+        }
+
+        int released = 0;
+
+        for (String gram : evictedGrams) {
+            Postings postings = grams.get(gram);
+
+            if (postings == null) {
+                continue;
+            }
+
+            released += postings.removeLessThan(firstSequence) * POSTING_BYTES;
+
+            if (postings.size == 0) {
+                grams.remove(gram);
+
+                released += GRAM_OVERHEAD;
+            }
+        }
+
+        changeBytes(-released);
+    }
+
+    private void changeBytes(int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        bytes += delta;
+
+        buffer.changeExternalBytes(delta);
+    }
+
+    /** @return approximate amount of memory in bytes which is taken by the index */
+    @Nonnegative
+    int getBytes() {
+        return bytes;
+    }
+
+    /** Removes all lines from the index and releases its memory in the budget of the buffer. */
+    public void clear() {
+        grams.clear();
+
+        changeBytes(-bytes);
+    }
+
+    /**
+     * Finds lines of the buffer which contain a given text and have one of given message types.
+     *
+     * @param query
+     *         text that needs to be found, the search is case insensitive. Empty text matches all lines
+     * @param types
+     *         bitmask of message types of lines that need to be found. <code>0</code> means lines of all types
+     * @return sequence numbers of found lines in ascending order
+     */
+    @Nonnull
+    public int[] search(@Nonnull String query, int types) {
+        String text = query.toLowerCase();
+
+        if (text.length() < GRAM_LENGTH) {
+            return scan(text, types);
+        }
+
+        Postings candidates = findShortestPostings(text);
+
+        if (candidates == null) {
+            return new int[0];
+        }
+
+        Postings result = new Postings();
+        int firstSequence = buffer.isEmpty() ? 0 : buffer.getSequence(0);
+
+        for (int i = 0; i < candidates.size; i++) {
+            int sequence = candidates.values[i];
+
+            if (sequence < firstSequence) {
+                continue;
+            }
+
+            int index = buffer.indexOf(sequence);
+
+            if (index >= 0 && matches(index, text, types)) {
+                result.addIfAbsent(sequence);
+            }
+        }
+
+        return result.toArray();
+    }
+
+    /** Finds the smallest list of lines which contain all grams of the text or returns <code>null</code> if some gram is absent. */
+    private Postings findShortestPostings(@Nonnull String text) {
+        Postings shortest = null;
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            Postings postings = grams.get(text.substring(i, i + GRAM_LENGTH));
+
+            if (postings == null) {
+                return null;
+            }
+
+            if (shortest == null || postings.size < shortest.size) {
+                shortest = postings;
+            }
+        }
+
+        return shortest;
+    }
+
+    @Nonnull
+    private int[] scan(@Nonnull String text, int types) {
+        Postings result = new Postings();
+
+        for (int i = 0; i < buffer.size(); i++) {
+            if (matches(i, text, types)) {
+                result.addIfAbsent(buffer.getSequence(i));
+            }
+        }
+
+        return result.toArray();
+    }
+
+    private boolean matches(@Nonnegative int index, @Nonnull String text, int types) {
+        if (types != 0 && (buffer.getFlags(index) & types) == 0) {
+            return false;
+        }
+
+        return text.isEmpty() || buffer.getText(index).toLowerCase().contains(text);
+    }
+
+    /** The growable list of ascending numbers. */
+    private static class Postings {
+        private int[] values = new int[4];
+        private int   size;
+
+        private boolean addIfAbsent(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return false;
+            }
+
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+
+            values[size++] = value;
+
+            return true;
+        }
+
+        /** Removes values which are less than a given value and returns amount of removed values. */
+        private int removeLessThan(int value) {
+            int from = 0;
+
+            while (from < size && values[from] < value) {
+                from++;
+            }
+
+            System.arraycopy(values, from, values, 0, size - from);
+            size -= from;
+
+            return from;
+        }
+
+        @Nonnull
+        private int[] toArray() {
+            int[] result = new int[size];
+            System.arraycopy(values, 0, result, 0, size);
+            return result;
+        }
+    }
+
+}
@@ -16,23 +16,20 @@ import com.google.gwt.safehtml.shared.SimpleHtmlSanitizer;
 import com.google.inject.Inject;
 
 import javax.annotation.Nonnull;
-import java.util.EnumSet;
-import java.util.Iterator;
-import java.util.Set;
 
 /**
- * The builder that simplifies work flow of using {@link SimpleHtmlSanitizer} class for avoiding hackers attacks.
+ * The builder that simplifies work flow of using {@link SimpleHtmlSanitizer} class for avoiding hackers attacks. Html of message prefixes
+ * is taken from {@link PrefixClassifier}, so only the message content is sanitized for every message.
  *
  * @author Andrey Plotnikov
  */
 public class MessageBuilder {
 
-    private final Set<MessageType> types;
-    private       String           message;
+    private int    types;
+    private String message;
 
     @Inject
     public MessageBuilder() {
-        types = EnumSet.noneOf(MessageType.class);
         message = "";
     }
 
@@ -46,7 +43,21 @@ public class MessageBuilder {
      */
     @Nonnull
     public MessageBuilder type(@Nonnull MessageType type) {
-        types.add(type);
+        types |= type.getMask();
+        return this;
+    }
+
+    /**
+     * The bitmask of message types that need to be applied for message. It has the same behaviour as {@link #type(MessageType)} which is
+     * performed for every type of the bitmask.
+     *
+     * @param mask
+     *         bitmask of types that need to apply
+     * @return an instance of {@link MessageBuilder}
+     */
+    @Nonnull
+    public MessageBuilder types(int mask) {
+        types |= mask;
         return this;
     }
 
@@ -67,27 +78,12 @@ public class MessageBuilder {
     /** @return an instance of {@link SafeHtml} with all given information */
     @Nonnull
     public SafeHtml build() {
-        SafeHtmlBuilder builder = new SafeHtmlBuilder().appendHtmlConstant("<pre style='margin:0px;'>");
-        StringBuilder prefixes = new StringBuilder();
-
-        for (Iterator<MessageType> iterator = types.iterator(); iterator.hasNext(); ) {
-            MessageType type = iterator.next();
-            String prefix = type.getPrefix();
-
-            builder.appendHtmlConstant("[<span style='color:" + type.getColor() + ";'>")
-                   .appendHtmlConstant("<b>" + prefix.replaceAll("[\\[\\]]", "") + "</b></span>]");
-
-            prefixes.append(prefix);
-
-            if (iterator.hasNext()) {
-                prefixes.append(' ');
-            }
-        }
-
-        builder.append(SimpleHtmlSanitizer.sanitizeHtml(message.substring(prefixes.length())));
+        String content = message.substring(PrefixClassifier.getPrefixLength(types));
 
-        return builder.appendHtmlConstant("</pre>")
-                      .toSafeHtml();
+        return new SafeHtmlBuilder().append(PrefixClassifier.getPrefixHtml(message, types))
+                                    .append(SimpleHtmlSanitizer.sanitizeHtml(content))
+                                    .appendHtmlConstant("</pre>")
+                                    .toSafeHtml();
     }
 
 }
\ No newline at end of file
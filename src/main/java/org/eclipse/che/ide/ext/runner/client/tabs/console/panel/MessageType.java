@@ -45,6 +45,11 @@ public enum MessageType {
         return color;
     }
 
+    /** @return bit of the current message type which is used in bitmask of message types */
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
     /**
      * Detect type of message by content.
      *
@@ -54,8 +59,10 @@ public enum MessageType {
      */
     @Nonnull
     public static MessageType detect(@Nonnull String content) {
+        int mask = PrefixClassifier.classify(content);
+
         for (MessageType type : MessageType.values()) {
-            if (content.startsWith(type.getPrefix())) {
+            if ((mask & type.getMask()) != 0) {
                 return type;
             }
         }
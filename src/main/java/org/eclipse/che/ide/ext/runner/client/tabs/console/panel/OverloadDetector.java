@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import javax.annotation.Nonnegative;
+
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+
+/**
+ * The detector which finds out that a console receives more lines than it is able to render. Lines are counted by one second windows.
+ * The overload starts as soon as the amount of lines in the current window exceeds the threshold. The overload ends when a whole window
+ * contains less than a half of the threshold, so the console doesn't switch between modes when the rate is close to the threshold.
+ *
+ * @author Andrey Plotnikov
+ */
+public class OverloadDetector {
+
+    static final int WINDOW = ONE_SEC.getValue();
+
+    private final int threshold;
+
+    private long    windowStart;
+    private int     windowLines;
+    private boolean isOverloaded;
+
+    /**
+     * @param threshold
+     *         maximum amount of lines per second which are rendered without sampling
+     */
+    public OverloadDetector(@Nonnegative int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Registers lines which were printed to the console.
+     *
+     * @param count
+     *         amount of printed lines, it can be <code>0</code> to check whether the overload is over
+     * @param now
+     *         current time in milliseconds
+     * @return <code>true</code> when the console is overloaded, <code>false</code> otherwise
+     */
+    public boolean onLines(@Nonnegative int count, long now) {
+        long elapsed = now - windowStart;
+
+        if (elapsed >= WINDOW) {
+            // a window without lines between the previous window and now means that the rate has dropped
+            boolean isQuiet = windowLines <= threshold / 2 || elapsed >= 2 * WINDOW;
+
+            if (isQuiet) {
+                isOverloaded = false;
+            }
+
+            windowStart = now;
+            windowLines = 0;
+        }
+
+        windowLines += count;
+
+        if (windowLines > threshold) {
+            isOverloaded = true;
+        }
+
+        return isOverloaded;
+    }
+
+    /** @return <code>true</code> when the console is overloaded, <code>false</code> otherwise */
+    public boolean isOverloaded() {
+        return isOverloaded;
+    }
+
+}
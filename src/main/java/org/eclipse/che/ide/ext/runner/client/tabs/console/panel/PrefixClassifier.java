@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import com.google.gwt.safehtml.shared.SafeHtml;
+import com.google.gwt.safehtml.shared.SafeHtmlUtils;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The table-driven classifier of console lines. It parses stacked prefixes of a line (e.g. <code>[DOCKER] [ERROR]</code>) by one scan and
+ * returns bitmask of message types. Also it keeps pre-rendered html of prefixes for every sequence of message types, so the html isn't
+ * built again for every line. Prefixes are rendered in the order in which they are written in the line.
+ *
+ * @author Andrey Plotnikov
+ */
+public final class PrefixClassifier {
+
+    /** Number of bits which are used for one message type in a sequence of message types. */
+    private static final int SEQUENCE_BITS = 3;
+
+    private static final MessageType[][]        TYPES_BY_FIRST_CHAR = new MessageType[128][];
+    private static final Map<Integer, SafeHtml> PREFIX_HTML         = new HashMap<>();
+    private static final int[]                  PREFIX_LENGTH       = new int[1 << MessageType.values().length];
+
+    static {
+        List<List<MessageType>> table = new ArrayList<>(TYPES_BY_FIRST_CHAR.length);
+
+        for (int i = 0; i < TYPES_BY_FIRST_CHAR.length; i++) {
+            table.add(new ArrayList<MessageType>());
+        }
+
+        for (MessageType type : MessageType.values()) {
+            // the first symbol of every prefix is '[', so types are grouped by the second symbol
+            table.get(type.getPrefix().charAt(1)).add(type);
+        }
+
+        for (int i = 0; i < TYPES_BY_FIRST_CHAR.length; i++) {
+            List<MessageType> types = table.get(i);
+
+            TYPES_BY_FIRST_CHAR[i] = types.toArray(new MessageType[types.size()]);
+        }
+
+        for (int mask = 0; mask < PREFIX_LENGTH.length; mask++) {
+            PREFIX_LENGTH[mask] = computePrefixLength(mask);
+        }
+    }
+
+    private PrefixClassifier() {
+        throw new UnsupportedOperationException("Creation instance for this class is unsupported operation");
+    }
+
+    /**
+     * Classifies a given line by its prefixes. Prefixes are parsed from the beginning of the line while they are separated by one space.
+     *
+     * @param line
+     *         line that needs to be classified
+     * @return bitmask of message types of the line or <code>0</code> when the line doesn't have any known prefix
+     */
+    public static int classify(@Nonnull String line) {
+        int length = line.length();
+        int position = 0;
+        int mask = 0;
+
+        while (position + 1 < length && line.charAt(position) == '[') {
+            MessageType type = findType(line, position);
+
+            if (type == null || (mask & type.getMask()) != 0) {
+                return mask;
+            }
+
+            mask |= type.getMask();
+            position += type.getPrefix().length();
+
+            if (position + 1 >= length || line.charAt(position) != ' ' || line.charAt(position + 1) != '[') {
+                return mask;
+            }
+
+            position++;
+        }
+
+        return mask;
+    }
+
+    private static MessageType findType(@Nonnull String line, @Nonnegative int position) {
+        char symbol = line.charAt(position + 1);
+
+        if (symbol >= TYPES_BY_FIRST_CHAR.length) {
+            return null;
+        }
+
+        for (MessageType type : TYPES_BY_FIRST_CHAR[symbol]) {
+            if (line.startsWith(type.getPrefix(), position)) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns length of the stacked prefix of a line with given message types.
+     *
+     * @param mask
+     *         bitmask of message types
+     * @return length of prefixes which are separated by one space
+     */
+    @Nonnegative
+    public static int getPrefixLength(int mask) {
+        return PREFIX_LENGTH[mask];
+    }
+
+    @Nonnegative
+    private static int computePrefixLength(int mask) {
+        int length = 0;
+
+        for (MessageType type : MessageType.values()) {
+            if ((mask & type.getMask()) != 0) {
+                length += length == 0 ? type.getPrefix().length() : type.getPrefix().length() + 1;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Returns html of the beginning of a line with given message types. The html opens the line's tag and contains colored prefixes in
+     * the order in which they are written in the line. The html is built once for every sequence of message types.
+     *
+     * @param line
+     *         line which starts with the prefixes
+     * @param mask
+     *         bitmask of message types of the line
+     * @return html of the beginning of a line
+     */
+    @Nonnull
+    public static SafeHtml getPrefixHtml(@Nonnull String line, int mask) {
+        int sequence = getSequence(line, mask);
+        SafeHtml html = PREFIX_HTML.get(sequence);
+
+        if (html == null) {
+            html = buildPrefixHtml(sequence);
+            PREFIX_HTML.put(sequence, html);
+        }
+
+        return html;
+    }
+
+    /**
+     * Returns ordinals of message types in the order of prefixes of a line. Every ordinal is increased by one and takes
+     * {@link #SEQUENCE_BITS} bits, the first prefix takes the highest bits. Types which aren't written in the line follow in the order of
+     * declaration.
+     */
+    private static int getSequence(@Nonnull String line, int mask) {
+        int sequence = 0;
+        int rest = mask;
+        int position = 0;
+
+        while (rest != 0 && position + 1 < line.length()) {
+            MessageType type = findType(line, position);
+
+            if (type == null || (rest & type.getMask()) == 0) {
+                break;
+            }
+
+            sequence = (sequence << SEQUENCE_BITS) | (type.ordinal() + 1);
+            rest &= ~type.getMask();
+            position += type.getPrefix().length() + 1;
+        }
+
+        for (MessageType type : MessageType.values()) {
+            if ((rest & type.getMask()) != 0) {
+                sequence = (sequence << SEQUENCE_BITS) | (type.ordinal() + 1);
+            }
+        }
+
+        return sequence;
+    }
+
+    @Nonnull
+    private static SafeHtml buildPrefixHtml(int sequence) {
+        List<MessageType> types = new ArrayList<>();
+
+        for (int rest = sequence; rest != 0; rest >>>= SEQUENCE_BITS) {
+            types.add(0, MessageType.values()[(rest & ((1 << SEQUENCE_BITS) - 1)) - 1]);
+        }
+
+        StringBuilder html = new StringBuilder("<pre style='margin:0px;'>");
+
+        for (MessageType type : types) {
+            String prefix = type.getPrefix();
+
+            html.append("[<span style='color:").append(type.getColor()).append(";'>")
+                .append("<b>").append(prefix.substring(1, prefix.length() - 1)).append("</b></span>]");
+        }
+
+        return SafeHtmlUtils.fromTrustedString(html.toString());
+    }
+
+}
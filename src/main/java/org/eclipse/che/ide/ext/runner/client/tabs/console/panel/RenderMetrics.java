@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * The class contains statistic of console rendering: how many lines were rendered by one flush of the render queue, how much time the
+ * flush took and how long lines waited for the flush.
+ *
+ * @author Andrey Plotnikov
+ */
+public class RenderMetrics {
+
+    private int  flushCount;
+    private long totalLines;
+    private int  lastLinesPerFlush;
+    private int  maxLinesPerFlush;
+    private long totalFlushTime;
+    private long lastFlushTime;
+    private long maxFlushTime;
+    private long lastLatency;
+    private long maxLatency;
+
+    /**
+     * Registers a flush of the render queue.
+     *
+     * @param lines
+     *         amount of lines which were rendered by the flush
+     * @param flushTime
+     *         time in milliseconds which the flush took
+     * @param latency
+     *         time in milliseconds between printing of the first rendered line and the end of the flush
+     */
+    public void onFlushed(@Nonnegative int lines, @Nonnegative long flushTime, @Nonnegative long latency) {
+        flushCount++;
+
+        totalLines += lines;
+        lastLinesPerFlush = lines;
+        maxLinesPerFlush = Math.max(maxLinesPerFlush, lines);
+
+        totalFlushTime += flushTime;
+        lastFlushTime = flushTime;
+        maxFlushTime = Math.max(maxFlushTime, flushTime);
+
+        lastLatency = latency;
+        maxLatency = Math.max(maxLatency, latency);
+    }
+
+    /** @return amount of flushes of the render queue */
+    @Nonnegative
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    /** @return amount of lines which were rendered by the last flush */
+    @Nonnegative
+    public int getLastLinesPerFlush() {
+        return lastLinesPerFlush;
+    }
+
+    /** @return maximum amount of lines which were rendered by one flush */
+    @Nonnegative
+    public int getMaxLinesPerFlush() {
+        return maxLinesPerFlush;
+    }
+
+    /** @return average amount of lines which were rendered by one flush */
+    @Nonnegative
+    public double getAverageLinesPerFlush() {
+        return flushCount == 0 ? 0 : (double)totalLines / flushCount;
+    }
+
+    /** @return time in milliseconds which the last flush took */
+    @Nonnegative
+    public long getLastFlushTime() {
+        return lastFlushTime;
+    }
+
+    /** @return maximum time in milliseconds which one flush took */
+    @Nonnegative
+    public long getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    /** @return average time in milliseconds which one flush took */
+    @Nonnegative
+    public double getAverageFlushTime() {
+        return flushCount == 0 ? 0 : (double)totalFlushTime / flushCount;
+    }
+
+    /** @return time in milliseconds which lines of the last flush waited to be rendered */
+    @Nonnegative
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    /** @return maximum time in milliseconds which lines waited to be rendered */
+    @Nonnegative
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+}
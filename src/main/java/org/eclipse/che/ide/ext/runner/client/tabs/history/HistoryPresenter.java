@@ -16,6 +16,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
 import org.eclipse.che.ide.ext.runner.client.tabs.common.item.RunnerItems;
@@ -38,12 +39,14 @@ public class HistoryPresenter implements HistoryPanel, RunnerWidget.ActionDelega
     private final WidgetFactory             widgetFactory;
     private final Map<Runner, RunnerWidget> runnerWidgets;
     private final SelectionManager          selectionManager;
+    private final RunnerMetrics             runnerMetrics;
 
     @Inject
-    public HistoryPresenter(HistoryView view, WidgetFactory widgetFactory, SelectionManager selectionManager) {
+    public HistoryPresenter(HistoryView view, WidgetFactory widgetFactory, SelectionManager selectionManager, RunnerMetrics runnerMetrics) {
         this.view = view;
 
         this.selectionManager = selectionManager;
+        this.runnerMetrics = runnerMetrics;
         this.widgetFactory = widgetFactory;
         this.runnerWidgets = new HashMap<>();
     }
@@ -124,6 +127,7 @@ public class HistoryPresenter implements HistoryPanel, RunnerWidget.ActionDelega
 
         view.removeRunner(widget);
         runnerWidgets.remove(runner);
+        runnerMetrics.remove(runner);
 
         if (runner.equals(selectionManager.getRunner())) {
             selectFirst();
@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.util;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The cursor over JSON text which reads values one by one without building a tree of JSON values. It is used to pull known fields out of
+ * frequent WebSocket frames. The scanner throws {@link IllegalStateException} when the text doesn't have the expected structure, so a
+ * caller can fall back to the generic JSON parser.
+ *
+ * @author Andrey Plotnikov
+ */
+public class JsonScanner {
+
+    private final String text;
+
+    private int position;
+
+    public JsonScanner(@Nonnull String text) {
+        this.text = text;
+    }
+
+    /** @return next character which isn't a whitespace or <code>0</code> when the end of the text is reached */
+    public char peek() {
+        skipWhitespaces();
+
+        return position < text.length() ? text.charAt(position) : 0;
+    }
+
+    /**
+     * Skips a given character if it is the next character which isn't a whitespace.
+     *
+     * @param c
+     *         character that needs to be skipped
+     * @return <code>true</code> when the character is skipped, <code>false</code> when the next character is different
+     */
+    public boolean consume(char c) {
+        if (peek() != c) {
+            return false;
+        }
+
+        position++;
+
+        return true;
+    }
+
+    /**
+     * Skips a given character.
+     *
+     * @param c
+     *         character that needs to be skipped
+     * @throws IllegalStateException
+     *         when the next character is different
+     */
+    public void expect(char c) {
+        if (!consume(c)) {
+            throw error("'" + c + "' expected");
+        }
+    }
+
+    /** @return <code>true</code> when the text doesn't contain anything except whitespaces after the current position */
+    public boolean isEnd() {
+        return peek() == 0;
+    }
+
+    /**
+     * Reads a string value. A string without escaped characters is returned as a substring of the text.
+     *
+     * @throws IllegalStateException
+     *         when the next value isn't a string
+     */
+    @Nonnull
+    public String readString() {
+        expect('"');
+
+        int start = position;
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c == '"') {
+                return text.substring(start, position++);
+            }
+
+            if (c == '\\') {
+                return readEscapedString(start);
+            }
+
+            position++;
+        }
+
+        throw error("unterminated string");
+    }
+
+    @Nonnull
+    private String readEscapedString(int start) {
+        StringBuilder builder = new StringBuilder(text.substring(start, position));
+
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+
+            if (c == '"') {
+                return builder.toString();
+            }
+
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+
+            if (position >= text.length()) {
+                break;
+            }
+
+            char escaped = text.charAt(position++);
+
+            switch (escaped) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    builder.append(readUnicode());
+                    break;
+                default:
+                    // '"', '\\' and '/'
+                    builder.append(escaped);
+            }
+        }
+
+        throw error("unterminated string");
+    }
+
+    private char readUnicode() {
+        if (position + 4 > text.length()) {
+            throw error("wrong unicode escape");
+        }
+
+        int code = 0;
+
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(text.charAt(position++), 16);
+
+            if (digit < 0) {
+                throw error("wrong unicode escape");
+            }
+
+            code = code * 16 + digit;
+        }
+
+        return (char)code;
+    }
+
+    /**
+     * Reads an integer value.
+     *
+     * @throws IllegalStateException
+     *         when the next value isn't an integer
+     */
+    public int readInt() {
+        boolean isNegative = consume('-');
+        int start = position;
+        long value = 0;
+
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c < '0' || c > '9') {
+                break;
+            }
+
+            value = value * 10 + (c - '0');
+
+            if (value > Integer.MAX_VALUE) {
+                throw error("number is too big");
+            }
+
+            position++;
+        }
+
+        if (position == start) {
+            throw error("number expected");
+        }
+
+        if (position < text.length() && "eE.".indexOf(text.charAt(position)) >= 0) {
+            throw error("integer expected");
+        }
+
+        return (int)(isNegative ? -value : value);
+    }
+
+    /**
+     * Skips the next value of any type.
+     *
+     * @throws IllegalStateException
+     *         when the next value isn't a valid JSON value
+     */
+    public void skipValue() {
+        char c = peek();
+
+        switch (c) {
+            case '"':
+                readString();
+                break;
+            case '{':
+                skipContainer('{', '}', true);
+                break;
+            case '[':
+                skipContainer('[', ']', false);
+                break;
+            case 't':
+                skipLiteral("true");
+                break;
+            case 'f':
+                skipLiteral("false");
+                break;
+            case 'n':
+                skipLiteral("null");
+                break;
+            default:
+                skipNumber();
+        }
+    }
+
+    private void skipContainer(char open, char close, boolean isObject) {
+        expect(open);
+
+        if (consume(close)) {
+            return;
+        }
+
+        do {
+            if (isObject) {
+                readString();
+                expect(':');
+            }
+
+            skipValue();
+        } while (consume(','));
+
+        expect(close);
+    }
+
+    private void skipLiteral(@Nonnull String literal) {
+        if (!text.startsWith(literal, position)) {
+            throw error(literal + " expected");
+        }
+
+        position += literal.length();
+    }
+
+    private void skipNumber() {
+        int start = position;
+
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+
+        if (position == start) {
+            throw error("value expected");
+        }
+    }
+
+    private void skipWhitespaces() {
+        while (position < text.length()) {
+            char c = text.charAt(position);
+
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return;
+            }
+
+            position++;
+        }
+    }
+
+    @Nonnull
+    private IllegalStateException error(@Nonnull String message) {
+        return new IllegalStateException("Can't read JSON at position " + position + ": " + message);
+    }
+
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.util;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import com.google.inject.ImplementedBy;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The utility that checks whether some url responds.
+ *
+ * @author Andrey Plotnikov
+ */
+@ImplementedBy(UrlProbeImpl.class)
+public interface UrlProbe {
+
+    /**
+     * Sends a request to a given url.
+     *
+     * @param url
+     *         url that has to be checked
+     * @param successCallback
+     *         callback that receives HTTP status code of the response
+     * @param failureCallback
+     *         callback that is called when no response is received or its status can't be read
+     */
+    void probe(@Nonnull String url, @Nonnull SuccessCallback<Integer> successCallback, @Nonnull FailureCallback failureCallback);
+
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.util;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import com.google.gwt.http.client.Request;
+import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.RequestCallback;
+import com.google.gwt.http.client.RequestException;
+import com.google.gwt.http.client.Response;
+import com.google.inject.Inject;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The implementation of {@link UrlProbe} which sends GET request. When the application has another origin than the IDE and doesn't
+ * allow cross-origin requests, the browser returns status code <code>0</code> for the request, the same as when the connection is
+ * refused. The status of such response can't be read (a proxy may answer with an error while the application is starting), so it is
+ * reported as a failure.
+ *
+ * @author Andrey Plotnikov
+ */
+public class UrlProbeImpl implements UrlProbe {
+
+    @Inject
+    public UrlProbeImpl() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void probe(@Nonnull final String url,
+                      @Nonnull final SuccessCallback<Integer> successCallback,
+                      @Nonnull final FailureCallback failureCallback) {
+        try {
+            new RequestBuilder(RequestBuilder.GET, url).sendRequest(null, new RequestCallback() {
+                @Override
+                public void onResponseReceived(Request request, Response response) {
+                    int statusCode = response.getStatusCode();
+
+                    if (statusCode == 0) {
+                        failureCallback.onFailure(new RequestException("Status of the response can't be read"));
+                    } else {
+                        successCallback.onSuccess(statusCode);
+                    }
+                }
+
+                @Override
+                public void onError(Request request, Throwable exception) {
+                    failureCallback.onFailure(exception);
+                }
+            });
+        } catch (RequestException e) {
+            failureCallback.onFailure(e);
+        }
+    }
+
+}
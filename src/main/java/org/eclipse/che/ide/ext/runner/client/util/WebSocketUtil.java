@@ -33,6 +33,20 @@ public interface WebSocketUtil {
      */
     void subscribeHandler(@Nonnull String channel, @Nonnull SubscriptionHandler handler);
 
+    /**
+     * Subscribe a given handler to WebSocket. The channel is subscribed again when WebSocket connection is restored, after that a
+     * given reconnect handler is notified. So the owner of the subscription can load the state which was changed while messages
+     * weren't delivered.
+     *
+     * @param channel
+     *         channel where handler has to be subscribed
+     * @param handler
+     *         handler that has to analyze messages from WebSocket
+     * @param reconnectHandler
+     *         handler that is notified when the channel is subscribed again after reconnection
+     */
+    void subscribeHandler(@Nonnull String channel, @Nonnull SubscriptionHandler handler, @Nonnull ReconnectHandler reconnectHandler);
+
     /**
      * Unsubsribe a given handler from WebSocket. It means new messages from this chanel will be not analyzed.
      *
@@ -43,4 +57,9 @@ public interface WebSocketUtil {
      */
     void unSubscribeHandler(@Nonnull String channel, @Nonnull SubscriptionHandler handler);
 
+    interface ReconnectHandler {
+        /** Performs some actions when WebSocket connection is restored and the channel is subscribed again. */
+        void onReconnected();
+    }
+
 }
\ No newline at end of file
@@ -11,49 +11,286 @@
 package org.eclipse.che.ide.ext.runner.client.util;
 
 import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.MessageBus;
 import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.events.ConnectionClosedHandler;
+import org.eclipse.che.ide.websocket.events.ConnectionOpenedHandler;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
+import org.eclipse.che.ide.websocket.events.WebSocketClosedEvent;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
+ * Multiplexes WebSocket channels between local handlers. Only one handler per channel is registered on the message bus, it fans
+ * messages out to all local handlers of the channel. The channel is subscribed when the first local handler appears and is
+ * unsubscribed when the last one leaves. Changes of the message bus subscriptions are applied in one deferred command, so
+ * subscribing and unsubscribing a channel during the same event loop doesn't touch the message bus at all.
+ * <p/>
+ * When WebSocket connection is restored after it was closed, all channels which have local handlers are subscribed again and reconnect
+ * handlers of local handlers are notified, because messages which were sent while the connection was closed are lost. Channels whose
+ * subscription failed while the connection was closed are subscribed on reconnect too.
+ *
  * @author Andrey Plotnikov
  */
 @Singleton
 public class WebSocketUtilImpl implements WebSocketUtil {
 
-    private final MessageBus messageBus;
+    private final MessageBus           messageBus;
+    private final Scheduler            scheduler;
+    private final Map<String, Channel> channels;
+    private final Set<Channel>         changedChannels;
+    private final ScheduledCommand     applyChangesCommand;
+
+    private boolean isApplyScheduled;
+    private boolean isConnectionLost;
 
     @Inject
-    public WebSocketUtilImpl(MessageBus messageBus) {
+    public WebSocketUtilImpl(MessageBus messageBus, Scheduler scheduler) {
         this.messageBus = messageBus;
+        this.scheduler = scheduler;
+
+        this.channels = new HashMap<>();
+        this.changedChannels = new LinkedHashSet<>();
+        this.applyChangesCommand = new ScheduledCommand() {
+            @Override
+            public void execute() {
+                applyChanges();
+            }
+        };
+
+        messageBus.addOnCloseHandler(new ConnectionClosedHandler() {
+            @Override
+            public void onClose(WebSocketClosedEvent event) {
+                isConnectionLost = true;
+            }
+        });
+
+        messageBus.addOnOpenHandler(new ConnectionOpenedHandler() {
+            @Override
+            public void onOpen() {
+                if (isConnectionLost) {
+                    isConnectionLost = false;
+
+                    resubscribe();
+                }
+            }
+        });
     }
 
     /** {@inheritDoc} */
     @Override
     public void subscribeHandler(@Nonnull String channel, @Nonnull SubscriptionHandler handler) {
-        try {
-            messageBus.subscribe(channel, handler);
-        } catch (WebSocketException e) {
-            Log.error(getClass(), e);
+        addSubscription(channel, handler, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribeHandler(@Nonnull String channel,
+                                 @Nonnull SubscriptionHandler handler,
+                                 @Nonnull ReconnectHandler reconnectHandler) {
+        addSubscription(channel, handler, reconnectHandler);
+    }
+
+    private void addSubscription(@Nonnull String channel, @Nonnull SubscriptionHandler handler, @Nullable ReconnectHandler reconnectHandler) {
+        Channel subscription = channels.get(channel);
+
+        if (subscription == null) {
+            subscription = new Channel(channel);
+            channels.put(channel, subscription);
         }
+
+        subscription.addHandler(handler, reconnectHandler);
+
+        scheduleChanges(subscription);
     }
 
     /** {@inheritDoc} */
     @Override
     public void unSubscribeHandler(@Nonnull String channel, @Nonnull SubscriptionHandler handler) {
-        if (!messageBus.isHandlerSubscribed(handler, channel)) {
+        Channel subscription = channels.get(channel);
+
+        if (subscription == null || !subscription.removeHandler(handler)) {
+            return;
+        }
+
+        scheduleChanges(subscription);
+    }
+
+    private void scheduleChanges(@Nonnull Channel channel) {
+        changedChannels.add(channel);
+
+        if (isApplyScheduled) {
+            return;
+        }
+
+        isApplyScheduled = true;
+        scheduler.scheduleDeferred(applyChangesCommand);
+    }
+
+    private void applyChanges() {
+        isApplyScheduled = false;
+
+        Channel[] changes = changedChannels.toArray(new Channel[changedChannels.size()]);
+        changedChannels.clear();
+
+        for (Channel channel : changes) {
+            if (channel.hasHandlers()) {
+                subscribe(channel);
+            } else {
+                unsubscribe(channel);
+            }
+        }
+    }
+
+    /**
+     * Subscribes all channels which have handlers on the message bus again and notifies reconnect handlers of them. The channels which
+     * weren't subscribed because the message bus failed are subscribed as well.
+     */
+    private void resubscribe() {
+        Channel[] subscribed = channels.values().toArray(new Channel[channels.size()]);
+
+        for (Channel channel : subscribed) {
+            if (!channel.hasHandlers()) {
+                continue;
+            }
+
+            if (channel.isSubscribed) {
+                // the message bus sends subscription request only for a channel which has no handlers
+                try {
+                    messageBus.unsubscribe(channel.name, channel);
+                } catch (WebSocketException e) {
+                    Log.error(getClass(), e);
+                }
+
+                channel.isSubscribed = false;
+            }
+
+            subscribe(channel);
+        }
+
+        for (Channel channel : subscribed) {
+            if (channel.isSubscribed) {
+                channel.onReconnected();
+            }
+        }
+    }
+
+    private void subscribe(@Nonnull Channel channel) {
+        if (channel.isSubscribed) {
             return;
         }
 
         try {
-            messageBus.unsubscribe(channel, handler);
+            messageBus.subscribe(channel.name, channel);
+            channel.isSubscribed = true;
         } catch (WebSocketException e) {
             Log.error(getClass(), e);
         }
     }
 
-}
\ No newline at end of file
+    private void unsubscribe(@Nonnull Channel channel) {
+        channels.remove(channel.name);
+
+        if (!channel.isSubscribed) {
+            return;
+        }
+
+        channel.isSubscribed = false;
+
+        try {
+            messageBus.unsubscribe(channel.name, channel);
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+        }
+    }
+
+    /** The single message bus handler of a channel. It counts subscriptions of every local handler. */
+    private static class Channel implements MessageHandler {
+
+        private final String                                 name;
+        private final Map<SubscriptionHandler, Subscription> handlers;
+
+        private boolean isSubscribed;
+
+        private Channel(@Nonnull String name) {
+            this.name = name;
+            this.handlers = new LinkedHashMap<>();
+        }
+
+        private void addHandler(@Nonnull SubscriptionHandler handler, @Nullable ReconnectHandler reconnectHandler) {
+            Subscription subscription = handlers.get(handler);
+
+            if (subscription == null) {
+                subscription = new Subscription();
+                handlers.put(handler, subscription);
+            }
+
+            subscription.count++;
+
+            if (reconnectHandler != null) {
+                subscription.reconnectHandler = reconnectHandler;
+            }
+        }
+
+        private boolean removeHandler(@Nonnull SubscriptionHandler handler) {
+            Subscription subscription = handlers.get(handler);
+
+            if (subscription == null) {
+                return false;
+            }
+
+            subscription.count--;
+
+            if (subscription.count == 0) {
+                handlers.remove(handler);
+            }
+
+            return true;
+        }
+
+        private void onReconnected() {
+            Subscription[] subscriptions = handlers.values().toArray(new Subscription[handlers.size()]);
+
+            for (Subscription subscription : subscriptions) {
+                if (subscription.count > 0 && subscription.reconnectHandler != null) {
+                    subscription.reconnectHandler.onReconnected();
+                }
+            }
+        }
+
+        private boolean hasHandlers() {
+            return !handlers.isEmpty();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void onMessage(Message message) {
+            // handlers usually unsubscribe themselves while they analyze a message
+            SubscriptionHandler[] receivers = handlers.keySet().toArray(new SubscriptionHandler[handlers.size()]);
+
+            for (SubscriptionHandler handler : receivers) {
+                if (handlers.containsKey(handler)) {
+                    handler.onMessage(message);
+                }
+            }
+        }
+    }
+
+    private static class Subscription {
+        private int              count;
+        private ReconnectHandler reconnectHandler;
+    }
+
+}
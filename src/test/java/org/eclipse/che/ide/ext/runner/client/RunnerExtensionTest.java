@@ -20,6 +20,7 @@ import org.eclipse.che.ide.api.parts.PartStackType;
 import org.eclipse.che.ide.api.parts.WorkspaceAgent;
 import org.eclipse.che.ide.ext.runner.client.actions.ChooseRunnerAction;
 import org.eclipse.che.ide.ext.runner.client.actions.RunAction;
+import org.eclipse.che.ide.ext.runner.client.actions.RunMatrixAction;
 import org.eclipse.che.ide.ext.runner.client.actions.RunWithAction;
 import org.eclipse.che.ide.ext.runner.client.constants.ActionId;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
@@ -94,6 +95,7 @@ public class RunnerExtensionTest {
         RunAction runAction = mock(RunAction.class);
         RunWithAction runWithAction = mock(RunWithAction.class);
         ChooseRunnerAction chooseRunnerAction = mock(ChooseRunnerAction.class);
+        RunMatrixAction runMatrixAction = mock(RunMatrixAction.class);
 
         DefaultActionGroup rightToolbarGroup = mock(DefaultActionGroup.class);
         DefaultActionGroup runContextGroup = mock(DefaultActionGroup.class);
@@ -106,7 +108,7 @@ public class RunnerExtensionTest {
         when(actionManager.getAction(GROUP_RUN)).thenReturn(mainMenuGroup);
 
         // test step
-        extension.setUpRunActions(actionManager, runAction, runWithAction, chooseRunnerAction);
+        extension.setUpRunActions(actionManager, runAction, runWithAction, chooseRunnerAction, runMatrixAction);
 
         // check step
         verify(rightToolbarGroup).add(actionGroupCaptor.capture(), constraintsCaptor.capture());
@@ -122,6 +124,10 @@ public class RunnerExtensionTest {
         verify(actionManager).registerAction(GROUP_RUN_TOOLBAR, runToolbarGroup);
 
         verifyConstants(Anchor.AFTER, GROUP_BUILD_TOOLBAR);
+
+        verify(actionManager).registerAction(ActionId.RUN_MATRIX.getId(), runMatrixAction);
+        verify(mainMenuGroup).add(eq(runMatrixAction), constraintsCaptor.capture());
+        verifyConstants(Anchor.AFTER, ActionId.RUN_WITH.getId());
     }
 
 
@@ -133,6 +139,7 @@ public class RunnerExtensionTest {
         RunAction runAction = mock(RunAction.class);
         RunWithAction runWithAction = mock(RunWithAction.class);
         ChooseRunnerAction chooseRunnerAction = mock(ChooseRunnerAction.class);
+        RunMatrixAction runMatrixAction = mock(RunMatrixAction.class);
 
         DefaultActionGroup rightToolbarGroup = mock(DefaultActionGroup.class);
         DefaultActionGroup runToolbarGroup = mock(DefaultActionGroup.class);
@@ -146,7 +153,7 @@ public class RunnerExtensionTest {
         when(actionManager.getAction(GROUP_RUN)).thenReturn(mainMenuGroup);
 
         // test step
-        extension.setUpRunActions(actionManager, runAction, runWithAction, chooseRunnerAction);
+        extension.setUpRunActions(actionManager, runAction, runWithAction, chooseRunnerAction, runMatrixAction);
 
         // check step
         verify(actionManager, never()).registerAction(GROUP_RUN_TOOLBAR, runToolbarGroup);
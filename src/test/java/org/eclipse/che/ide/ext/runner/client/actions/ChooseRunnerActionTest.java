@@ -25,6 +25,8 @@ import org.mockito.Mock;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -177,4 +179,13 @@ public class ChooseRunnerActionTest {
         verify(systemEnv2, times(2)).getId();
         verify(systemEnv2, times(4)).getName();
     }
+
+    @Test
+    public void projectEnvironmentsShouldBeReturned() {
+        when(appContext.getCurrentProject()).thenReturn(null);
+        action.addSystemRunners(systemEnvList);
+        action.addProjectRunners(projectEnvList);
+
+        assertThat(action.getProjectEnvironments(), is(projectEnvList));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.actions;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import com.google.inject.Provider;
+
+import org.eclipse.che.ide.api.action.ActionEvent;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.app.CurrentProject;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.matrix.MatrixEntry;
+import org.eclipse.che.ide.ext.runner.client.matrix.MatrixLaunch;
+import org.eclipse.che.ide.ext.runner.client.models.Environment;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.actions.RunMatrixAction.DEFAULT_CONCURRENCY;
+import static org.eclipse.che.ide.ext.runner.client.actions.RunMatrixAction.MATRIX_CONCURRENCY_ATTRIBUTE;
+import static org.eclipse.che.ide.ext.runner.client.actions.RunMatrixAction.MATRIX_RAM_ATTRIBUTE;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class RunMatrixActionTest {
+
+    private static final String TEXT = "some text";
+
+    //variables for constructor
+    @Mock
+    private ChooseRunnerAction         chooseRunnerAction;
+    @Mock
+    private Provider<MatrixLaunch>     matrixLaunchProvider;
+    @Mock
+    private NotificationManager        notificationManager;
+    @Mock
+    private RunnerLocalizationConstant locale;
+    @Mock
+    private AppContext                 appContext;
+
+    @Mock
+    private ActionEvent    actionEvent;
+    @Mock
+    private CurrentProject currentProject;
+    @Mock
+    private MatrixLaunch   matrixLaunch;
+    @Mock
+    private Environment    environment1;
+    @Mock
+    private Environment    environment2;
+
+    @Captor
+    private ArgumentCaptor<List<MatrixEntry>> matrixCaptor;
+
+    private RunMatrixAction action;
+
+    @Before
+    public void setUp() {
+        when(locale.actionRunMatrix()).thenReturn(TEXT);
+        when(locale.actionRunMatrixDescription()).thenReturn(TEXT);
+        when(locale.matrixNoEnvironments()).thenReturn(TEXT);
+
+        action = new RunMatrixAction(chooseRunnerAction, matrixLaunchProvider, notificationManager, locale, appContext);
+
+        when(appContext.getCurrentProject()).thenReturn(currentProject);
+        when(matrixLaunchProvider.get()).thenReturn(matrixLaunch);
+        when(chooseRunnerAction.getProjectEnvironments()).thenReturn(Arrays.asList(environment1, environment2));
+        when(environment1.getRam()).thenReturn(1024);
+    }
+
+    @Test
+    public void actionShouldNotBePerformedWhenCurrentProjectIsNull() {
+        when(appContext.getCurrentProject()).thenReturn(null);
+
+        action.actionPerformed(actionEvent);
+
+        verify(matrixLaunch, never()).launch(Matchers.<List<MatrixEntry>>anyObject(), anyInt());
+    }
+
+    @Test
+    public void errorShouldBeShownWhenProjectHasNoEnvironments() {
+        when(chooseRunnerAction.getProjectEnvironments()).thenReturn(Collections.<Environment>emptyList());
+
+        action.actionPerformed(actionEvent);
+
+        verify(notificationManager).showError(TEXT);
+        verify(matrixLaunch, never()).launch(Matchers.<List<MatrixEntry>>anyObject(), anyInt());
+    }
+
+    @Test
+    public void environmentsShouldBeLaunchedWithTheirMemory() {
+        action.actionPerformed(actionEvent);
+
+        verify(matrixLaunch).launch(matrixCaptor.capture(), Matchers.eq(DEFAULT_CONCURRENCY));
+
+        List<MatrixEntry> matrix = matrixCaptor.getValue();
+        assertThat(matrix.size(), is(2));
+        assertThat(matrix.get(0).getEnvironment(), is(environment1));
+        assertThat(matrix.get(0).getRam(), is(1024));
+        assertThat(matrix.get(1).getEnvironment(), is(environment2));
+        assertThat(matrix.get(1).getRam(), is(512));
+    }
+
+    @Test
+    public void environmentsShouldBeLaunchedWithMemoryFromProjectAttributes() {
+        when(currentProject.getAttributeValue(MATRIX_RAM_ATTRIBUTE)).thenReturn("256, 2048,wrong");
+        when(currentProject.getAttributeValue(MATRIX_CONCURRENCY_ATTRIBUTE)).thenReturn("3");
+
+        action.actionPerformed(actionEvent);
+
+        verify(matrixLaunch).launch(matrixCaptor.capture(), Matchers.eq(3));
+
+        List<MatrixEntry> matrix = matrixCaptor.getValue();
+        assertThat(matrix.size(), is(4));
+        assertThat(matrix.get(0).getEnvironment(), is(environment1));
+        assertThat(matrix.get(0).getRam(), is(256));
+        assertThat(matrix.get(1).getEnvironment(), is(environment1));
+        assertThat(matrix.get(1).getRam(), is(2048));
+        assertThat(matrix.get(2).getEnvironment(), is(environment2));
+        assertThat(matrix.get(2).getRam(), is(256));
+        assertThat(matrix.get(3).getEnvironment(), is(environment2));
+        assertThat(matrix.get(3).getRam(), is(2048));
+    }
+
+}
@@ -16,6 +16,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.eclipse.che.ide.ext.runner.client.constants.ActionId.CHOOSE_RUNNER_ID;
 import static org.eclipse.che.ide.ext.runner.client.constants.ActionId.RUN_APP_ID;
+import static org.eclipse.che.ide.ext.runner.client.constants.ActionId.RUN_MATRIX;
 import static org.eclipse.che.ide.ext.runner.client.constants.ActionId.RUN_WITH;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -39,4 +40,9 @@ public class ActionIdTest {
     public void timeIntervalShouldBeReturned3() {
         assertThat(RUN_WITH.getId(), is("runWith"));
     }
+
+    @Test
+    public void timeIntervalShouldBeReturned4() {
+        assertThat(RUN_MATRIX.getId(), is("runMatrix"));
+    }
 }
\ No newline at end of file
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.manager;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.gwtmockito.GwtMockitoTestRunner;
@@ -38,7 +40,7 @@ import org.eclipse.che.ide.ext.runner.client.runneractions.impl.CheckRamAndRunAc
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetRunningProcessesAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.StopAction;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.environments.GetSystemEnvironmentsAction;
-import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.LaunchAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.AttachAction;
 import org.eclipse.che.ide.ext.runner.client.selection.Selection;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
 import org.eclipse.che.ide.ext.runner.client.state.PanelState;
@@ -81,7 +83,9 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -156,6 +160,8 @@ public class RunnerManagerPresenterTest {
     private GetSystemEnvironmentsAction  getSystemEnvironmentsAction;
     @Mock
     private RunnerUtil                   runnerUtil;
+    @Mock
+    private SourceChangesTracker         changesTracker;
 
     //tab builder mocks
     @Mock
@@ -186,10 +192,12 @@ public class RunnerManagerPresenterTest {
     @Mock
     private RunOptions                runOptions;
     @Mock
-    private LaunchAction              launchAction;
+    private AttachAction              attachAction;
     @Mock
     private CheckRamAndRunAction      checkRamAndRunAction;
     @Mock
+    private Scheduler                 scheduler;
+    @Mock
     private CurrentProject            currentProject;
     @Mock
     private ProjectDescriptor         descriptor;
@@ -267,14 +275,16 @@ public class RunnerManagerPresenterTest {
                                                selectionManager,
                                                timerFactory,
                                                getSystemEnvironmentsAction,
-                                               runnerUtil);
+                                               runnerUtil,
+                                               scheduler,
+                                               changesTracker);
 
         //adding runner
         when(dtoFactory.createDto(RunOptions.class)).thenReturn(runOptions);
         when(modelsFactory.createRunner(runOptions)).thenReturn(runner);
         when(processDescriptor.getProcessId()).thenReturn(PROCESS_ID);
         when(processDescriptor.getMemorySize()).thenReturn(MB_512.getValue());
-        when(actionFactory.createLaunch()).thenReturn(launchAction);
+        when(actionFactory.createAttach()).thenReturn(attachAction);
         when(runner.getTimeout()).thenReturn(TEXT);
         when(selectionManager.getRunner()).thenReturn(runner);
         when(runner.getActiveTab()).thenReturn(TEXT);
@@ -292,6 +302,8 @@ public class RunnerManagerPresenterTest {
         when(definition.getRunnerCategories()).thenReturn(Arrays.asList(TEXT));
         when(currentProject.getAttributeValue("runner:skipBuild")).thenReturn("true");
         when(runOptions.withSkipBuild(true)).thenReturn(runOptions);
+        when(runOptions.withSkipBuild(false)).thenReturn(runOptions);
+        when(runner.getOptions()).thenReturn(runOptions);
         when(runOptions.withMemorySize(MB_512.getValue())).thenReturn(runOptions);
         when(actionFactory.createCheckRamAndRun()).thenReturn(checkRamAndRunAction);
 
@@ -544,8 +556,67 @@ public class RunnerManagerPresenterTest {
 
         verify(timer).schedule(TimeInterval.ONE_SEC.getValue());
 
-        verify(actionFactory).createLaunch();
-        verify(launchAction).perform(runner);
+        verify(actionFactory).createAttach();
+        verify(attachAction).perform(runner);
+    }
+
+    @Test
+    public void outputOfAddedRunnerShouldBeAttachedWhenRunnerStaysSelected() {
+        presenter.addRunner(processDescriptor);
+
+        verify(attachAction, never()).attachOutput();
+
+        ArgumentCaptor<ScheduledCommand> commandCaptor = ArgumentCaptor.forClass(ScheduledCommand.class);
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+
+        commandCaptor.getValue().execute();
+
+        verify(attachAction).attachOutput();
+    }
+
+    @Test
+    public void attachingShouldBeScheduledOnceForSeveralSelections() {
+        presenter.addRunner(processDescriptor);
+        presenter.onSelectionChanged(RUNNER);
+
+        verify(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+    }
+
+    @Test
+    public void attachingShouldNotBeScheduledWhenOutputIsAttached() {
+        when(attachAction.isOutputAttached()).thenReturn(true);
+
+        presenter.addRunner(processDescriptor);
+
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
+    }
+
+    @Test
+    public void restoredRunnerShouldBeFinished() {
+        when(runner.getDescriptor()).thenReturn(processDescriptor);
+        when(runner.getProcessId()).thenReturn(PROCESS_ID);
+        presenter.addRunner(processDescriptor);
+        reset(history, view);
+
+        presenter.finishRunner(PROCESS_ID, Runner.Status.FAILED);
+
+        verify(attachAction).stop();
+        verify(runner).setStatus(Runner.Status.FAILED);
+        verify(history).update(runner);
+        verify(view).update(runner);
+        verify(consoleContainer).removeConsole(runner);
+    }
+
+    @Test
+    public void runnerShouldNotBeFinishedWhenProcessIdIsDifferent() {
+        when(runner.getDescriptor()).thenReturn(processDescriptor);
+        when(runner.getProcessId()).thenReturn(PROCESS_ID);
+        presenter.addRunner(processDescriptor);
+
+        presenter.finishRunner(Long.MIN_VALUE, Runner.Status.FAILED);
+
+        verify(attachAction, never()).stop();
+        verify(runner, never()).setStatus(Runner.Status.FAILED);
     }
 
     @Test
@@ -769,6 +840,87 @@ public class RunnerManagerPresenterTest {
 
     }
 
+    @Test
+    public void launchOfNewRunnerShouldBeTracked() {
+        presenter.launchRunner(runOptions);
+
+        verify(changesTracker).onLaunchStarted(runner, false);
+    }
+
+    @Test
+    public void buildShouldBeSkippedWhenRunnerIsRerunAndSourcesAreNotChanged() {
+        when(changesTracker.isBuildUpToDate(runner)).thenReturn(true);
+        when(changesTracker.getSavedBuildTime(runner)).thenReturn(1500L);
+        when(locale.messageBuildSkippedTime(1500L)).thenReturn(TEXT);
+        when(currentProject.getAttributeValue("runner:skipBuild")).thenReturn(null);
+        when(currentProject.getAttributeValue("runner:autoSkipBuild")).thenReturn("true");
+        presenter.addRunner(processDescriptor);
+        presenter.launchRunner(runOptions);
+
+        presenter.onRerunButtonClicked();
+
+        verify(changesTracker).onLaunchStarted(runner, true);
+        verify(runOptions).withSkipBuild(true);
+        verify(consoleContainer).printInfo(runner, TEXT);
+        verify(checkRamAndRunAction, times(2)).perform(runner);
+    }
+
+    @Test
+    public void buildShouldBeSkippedWithoutTimeWhenSavedTimeIsUnknown() {
+        when(changesTracker.isBuildUpToDate(runner)).thenReturn(true);
+        when(changesTracker.getSavedBuildTime(runner)).thenReturn(-1L);
+        when(locale.messageBuildSkipped()).thenReturn(TEXT);
+        when(currentProject.getAttributeValue("runner:autoSkipBuild")).thenReturn("true");
+        presenter.addRunner(processDescriptor);
+        presenter.launchRunner(runOptions);
+
+        presenter.onRerunButtonClicked();
+
+        verify(consoleContainer).printInfo(runner, TEXT);
+        verify(locale, never()).messageBuildSkippedTime(anyLong());
+    }
+
+    @Test
+    public void projectShouldBeBuiltWhenRunnerIsRerunAndSourcesAreChanged() {
+        when(changesTracker.isBuildUpToDate(runner)).thenReturn(false);
+        when(currentProject.getAttributeValue("runner:skipBuild")).thenReturn(null);
+        when(currentProject.getAttributeValue("runner:autoSkipBuild")).thenReturn("true");
+        presenter.addRunner(processDescriptor);
+        presenter.launchRunner(runOptions);
+
+        presenter.onRerunButtonClicked();
+
+        verify(changesTracker, times(2)).onLaunchStarted(runner, false);
+        verify(runOptions).withSkipBuild(false);
+        verify(consoleContainer, never()).printInfo(eq(runner), anyString());
+    }
+
+    @Test
+    public void projectShouldBeBuiltWhenRunnerIsRerunAndAutomaticSkipIsNotEnabledByProject() {
+        when(changesTracker.isBuildUpToDate(runner)).thenReturn(true);
+        when(currentProject.getAttributeValue("runner:skipBuild")).thenReturn(null);
+        presenter.addRunner(processDescriptor);
+        presenter.launchRunner(runOptions);
+
+        presenter.onRerunButtonClicked();
+
+        verify(changesTracker, times(2)).onLaunchStarted(runner, false);
+        verify(runOptions).withSkipBuild(false);
+        verify(consoleContainer, never()).printInfo(eq(runner), anyString());
+    }
+
+    @Test
+    public void buildShouldBeSkippedWhenRunnerIsRerunAndSkipBuildIsRequiredByProject() {
+        when(changesTracker.isBuildUpToDate(runner)).thenReturn(false);
+        presenter.addRunner(processDescriptor);
+        presenter.launchRunner(runOptions);
+
+        presenter.onRerunButtonClicked();
+
+        verify(runOptions).withSkipBuild(true);
+        verify(consoleContainer, never()).printInfo(eq(runner), anyString());
+    }
+
     @Test
     public void runnerShouldBeRerunIfRunnerNotNullAndStatusIsStopped() {
         when(runner.getStatus()).thenReturn(STOPPED);
@@ -835,7 +987,7 @@ public class RunnerManagerPresenterTest {
 
         presenter.onStopButtonClicked();
 
-        verify(launchAction).stop();
+        verify(attachAction).stop();
         verify(terminalContainer).removeTerminalUrl(runner);
         verify(actionFactory).createStop();
         verify(stopAction).perform(runner);
@@ -849,7 +1001,7 @@ public class RunnerManagerPresenterTest {
         presenter.addRunner(processDescriptor);
 
         presenter.stopRunner(runner);
-        verify(launchAction).stop();
+        verify(attachAction).stop();
         verify(stopAction).perform(runner);
     }
 
@@ -1054,6 +1206,18 @@ public class RunnerManagerPresenterTest {
         verify(consoleContainer).reset();
         verify(propertiesContainer).reset();
         verify(propertiesContainer).show((Runner)null);
+        verify(changesTracker).clear();
+    }
+
+    @Test
+    public void actionsOfRunnersShouldBeStoppedWhenProjectIsClosed() {
+        presenter.addRunner(processDescriptor);
+        presenter.setPartStack(partStack);
+
+        presenter.onProjectClosed(projectActionEvent);
+
+        verify(attachAction).stop();
+        assertThat(presenter.isRunnerExist(PROCESS_ID), is(false));
     }
 
     private void verifyLaunchRunnerWithNotNullCurrentProject() {
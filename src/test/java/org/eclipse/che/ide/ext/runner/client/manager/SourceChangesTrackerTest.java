@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.manager;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.ide.api.event.FileEvent;
+import org.eclipse.che.ide.api.event.RefreshProjectTreeEvent;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.eclipse.che.ide.api.event.FileEvent.FileOperation.CLOSE;
+import static org.eclipse.che.ide.api.event.FileEvent.FileOperation.OPEN;
+import static org.eclipse.che.ide.api.event.FileEvent.FileOperation.SAVE;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class SourceChangesTrackerTest {
+
+    private static final long BUILD_TIME = 1500L;
+
+    @Mock
+    private EventBus                eventBus;
+    @Mock
+    private RunnerMetrics           runnerMetrics;
+    @Mock
+    private Runner                  runner;
+    @Mock
+    private LaunchTrace             trace;
+    @Mock
+    private FileEvent               fileEvent;
+    @Mock
+    private RefreshProjectTreeEvent refreshEvent;
+
+    private SourceChangesTracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new SourceChangesTracker(eventBus, runnerMetrics);
+
+        when(runnerMetrics.getLaunchTrace(runner)).thenReturn(trace);
+        when(trace.isFinished(LaunchPhase.BUILD)).thenReturn(true);
+        when(trace.getDuration(LaunchPhase.BUILD)).thenReturn(BUILD_TIME);
+    }
+
+    private void saveFile() {
+        when(fileEvent.getOperationType()).thenReturn(SAVE);
+
+        tracker.onFileOperation(fileEvent);
+    }
+
+    @Test
+    public void handlerShouldBeAdded() {
+        verify(eventBus).addHandler(FileEvent.TYPE, tracker);
+        verify(eventBus).addHandler(RefreshProjectTreeEvent.TYPE, tracker);
+    }
+
+    @Test
+    public void buildShouldNotBeUpToDateWhenRunnerWasNotLaunched() {
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+    }
+
+    @Test
+    public void buildShouldBeUpToDateWhenFilesWereNotSaved() {
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(true));
+    }
+
+    @Test
+    public void buildShouldNotBeUpToDateWhenFileWasSavedAfterLaunch() {
+        tracker.onLaunchStarted(runner, false);
+
+        saveFile();
+
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+    }
+
+    @Test
+    public void buildShouldNotBeUpToDateWhenProjectTreeWasRefreshedAfterLaunch() {
+        tracker.onLaunchStarted(runner, false);
+
+        tracker.onRefresh(refreshEvent);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+    }
+
+    @Test
+    public void buildShouldBeUpToDateWhenFileWasSavedBeforeLaunch() {
+        saveFile();
+
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(true));
+    }
+
+    @Test
+    public void buildShouldBeUpToDateWhenFilesWereOnlyOpenedAndClosed() {
+        tracker.onLaunchStarted(runner, false);
+
+        when(fileEvent.getOperationType()).thenReturn(OPEN);
+        tracker.onFileOperation(fileEvent);
+        when(fileEvent.getOperationType()).thenReturn(CLOSE);
+        tracker.onFileOperation(fileEvent);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(true));
+    }
+
+    @Test
+    public void buildShouldNotBeUpToDateWhenBuildPhaseWasNotFinished() {
+        when(trace.isFinished(LaunchPhase.BUILD)).thenReturn(false);
+
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+    }
+
+    @Test
+    public void buildShouldNotBeUpToDateWhenLaunchIsNotTraced() {
+        when(runnerMetrics.getLaunchTrace(runner)).thenReturn(null);
+
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+    }
+
+    @Test
+    public void savedBuildTimeShouldBeUnknownWhenBuildWasNotSkipped() {
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.getSavedBuildTime(runner), is(-1L));
+    }
+
+    @Test
+    public void timeOfLatestRealBuildShouldBeSaved() {
+        tracker.onLaunchStarted(runner, false);
+        tracker.onLaunchStarted(runner, true);
+
+        // the launch without the build has a short build phase
+        when(trace.getDuration(LaunchPhase.BUILD)).thenReturn(10L);
+        tracker.onLaunchStarted(runner, true);
+
+        assertThat(tracker.getSavedBuildTime(runner), is(BUILD_TIME));
+    }
+
+    @Test
+    public void savedBuildTimeShouldBeRemovedWhenProjectIsBuiltAgain() {
+        tracker.onLaunchStarted(runner, true);
+
+        tracker.onLaunchStarted(runner, false);
+
+        assertThat(tracker.getSavedBuildTime(runner), is(-1L));
+    }
+
+    @Test
+    public void launchesShouldBeCleared() {
+        tracker.onLaunchStarted(runner, true);
+
+        tracker.clear();
+
+        assertThat(tracker.isBuildUpToDate(runner), is(false));
+        assertThat(tracker.getSavedBuildTime(runner), is(-1L));
+    }
+
+}
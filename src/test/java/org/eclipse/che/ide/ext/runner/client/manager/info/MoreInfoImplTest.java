@@ -12,7 +12,13 @@ package org.eclipse.che.ide.ext.runner.client.manager.info;
 
 import com.google.gwtmockito.GwtMockitoTestRunner;
 
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchStatistics;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -28,12 +34,25 @@ import static org.mockito.Mockito.when;
  */
 @RunWith(GwtMockitoTestRunner.class)
 public class MoreInfoImplTest {
-    private static final String SOME_TEXT = "some text";
+    private static final String SOME_TEXT   = "some text";
+    private static final String ENVIRONMENT = "environment";
 
     @Mock
-    private Runner       runner;
+    private Runner           runner;
+    @Mock
+    private RunnerMetrics    runnerMetrics;
     @InjectMocks
-    private MoreInfoImpl widget;
+    private MoreInfoImpl     widget;
+    private LaunchStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        statistics = new LaunchStatistics();
+
+        when(runner.getEnvironmentId()).thenReturn(ENVIRONMENT);
+        when(runnerMetrics.getMetrics(runner)).thenReturn(new OutputMetrics());
+        when(runnerMetrics.getLaunchStatistics(ENVIRONMENT)).thenReturn(statistics);
+    }
 
     @Test
     public void contentShouldBeUpdatedWhenRunnerIsExisted() throws Exception {
@@ -52,6 +71,28 @@ public class MoreInfoImplTest {
         verify(widget.ram).setText(MB_128.toString());
     }
 
+    @Test
+    public void outputMetricsShouldBeShownWhenRunnerIsExisted() throws Exception {
+        OutputMetrics metrics = new OutputMetrics();
+        metrics.onLinesReceived(42, 1024, System.currentTimeMillis());
+        metrics.setReorderDepth(7);
+        metrics.setReorderDepth(3);
+        metrics.onGapDetected();
+        metrics.onGapDetected();
+        metrics.onGapRecovered();
+        metrics.getRenderMetrics().onFlushed(42, 2, 12);
+
+        when(runnerMetrics.getMetrics(runner)).thenReturn(metrics);
+
+        widget.update(runner);
+
+        verify(widget.outputRate).setText("0/s, 0KB/s");
+        verify(widget.totalLines).setText("42");
+        verify(widget.reorderDepth).setText("3 (max 7)");
+        verify(widget.gaps).setText("1/2");
+        verify(widget.renderLatency).setText("12ms (max 12ms)");
+    }
+
     @Test
     public void contentShouldBeUpdatedWhenRunnerIsNull() throws Exception {
         widget.update(null);
@@ -61,6 +102,57 @@ public class MoreInfoImplTest {
         verify(widget.timeout).setText(TIMER_STUB);
         verify(widget.activeTime).setText(TIMER_STUB);
         verify(widget.ram).setText("0MB");
+        verify(widget.outputRate).setText("-");
+        verify(widget.totalLines).setText("-");
+        verify(widget.reorderDepth).setText("-");
+        verify(widget.gaps).setText("-");
+        verify(widget.renderLatency).setText("-");
+        verify(widget.resourcesTime).setText("-");
+        verify(widget.requestTime).setText("-");
+        verify(widget.buildTime).setText("-");
+        verify(widget.bootTime).setText("-");
+        verify(widget.launchPercentiles).setText("-");
+    }
+
+    @Test
+    public void launchWaterfallShouldBeShownWhenRunnerIsExisted() throws Exception {
+        LaunchTrace trace = new LaunchTrace(1000);
+        trace.onPhaseFinished(LaunchPhase.RESOURCES_CHECK, 1100);
+        trace.onPhaseFinished(LaunchPhase.RUN_REQUEST, 1300);
+        trace.onPhaseFinished(LaunchPhase.BUILD, 5300);
+
+        when(runnerMetrics.getLaunchTrace(runner)).thenReturn(trace);
+
+        widget.update(runner);
+
+        verify(widget.resourcesTime).setText("100ms");
+        verify(widget.requestTime).setText("200ms");
+        verify(widget.buildTime).setText("4000ms");
+        verify(widget.bootTime).setText("-");
+    }
+
+    @Test
+    public void launchWaterfallShouldBeEmptyWhenLaunchIsNotTraced() throws Exception {
+        widget.update(runner);
+
+        verify(widget.resourcesTime).setText("-");
+        verify(widget.requestTime).setText("-");
+        verify(widget.buildTime).setText("-");
+        verify(widget.bootTime).setText("-");
+        verify(widget.launchPercentiles).setText("-");
+    }
+
+    @Test
+    public void launchPercentilesOfEnvironmentShouldBeShown() throws Exception {
+        for (int i = 1; i <= 20; i++) {
+            LaunchTrace trace = new LaunchTrace(0);
+            trace.onPhaseFinished(LaunchPhase.BOOT, i * 100);
+            statistics.addLaunch(trace);
+        }
+
+        widget.update(runner);
+
+        verify(widget.launchPercentiles).setText("1000ms / 1900ms");
     }
 
 }
\ No newline at end of file
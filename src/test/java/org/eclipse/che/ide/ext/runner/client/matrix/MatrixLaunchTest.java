@@ -0,0 +1,396 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import com.google.gwt.user.client.Timer;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+import com.google.inject.Provider;
+
+import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
+import org.eclipse.che.api.runner.dto.ResourcesDescriptor;
+import org.eclipse.che.api.runner.dto.RunOptions;
+import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.dto.DtoFactory;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.manager.RunnerManager;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.models.Environment;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.WorkspaceResources;
+import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.ui.dialogs.ConfirmCallback;
+import org.eclipse.che.ide.ui.dialogs.DialogFactory;
+import org.eclipse.che.ide.ui.dialogs.message.MessageDialog;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class MatrixLaunchTest {
+
+    private static final String ENV_NAME_1 = "tomcat";
+    private static final String ENV_NAME_2 = "jetty";
+    private static final String ENV_ID_1   = "project://tomcat";
+    private static final String ENV_ID_2   = "project://jetty";
+    private static final String TITLE      = "Run Matrix";
+    private static final String SKIPPED    = "Skipped";
+    private static final String READY      = "Ready";
+    private static final String RUNNING    = "Running";
+    private static final String STOPPED    = "Stopped";
+    private static final String UNFINISHED = "Not finished";
+    private static final String URL        = "http://localhost:8080";
+    private static final String FAILED     = "failed to get resources";
+
+    @Mock
+    private RunnerManager                                       runnerManager;
+    @Mock
+    private DtoFactory                                          dtoFactory;
+    @Mock
+    private RunnerServiceClient                                 service;
+    @Mock
+    private Provider<AsyncCallbackBuilder<ResourcesDescriptor>> callbackBuilderProvider;
+    @Mock
+    private RunnerMetrics                                       runnerMetrics;
+    @Mock
+    private RunnerLocalizationConstant                          locale;
+    @Mock
+    private NotificationManager                                 notificationManager;
+    @Mock
+    private DialogFactory                                       dialogFactory;
+    @Mock
+    private MatrixSummaryView                                   summaryView;
+    @Mock
+    private TimerFactory                                        timerFactory;
+
+    @Mock
+    private AsyncCallbackBuilder<ResourcesDescriptor> asyncCallbackBuilder;
+    @Mock
+    private AsyncRequestCallback<ResourcesDescriptor> asyncRequestCallback;
+    @Mock
+    private ResourcesDescriptor                       resourcesDescriptor;
+    @Mock
+    private RunOptions                                runOptions;
+    @Mock
+    private Timer                                     timer;
+    @Mock
+    private MessageDialog                             messageDialog;
+    @Mock
+    private Environment                               environment1;
+    @Mock
+    private Environment                               environment2;
+    @Mock
+    private Runner                                    runner1;
+    @Mock
+    private Runner                                    runner2;
+    @Mock
+    private Runner                                    runner3;
+    @Mock
+    private ApplicationProcessDescriptor              descriptor;
+    @Mock
+    private Map<String, String>                       options;
+
+    @Captor
+    private ArgumentCaptor<SuccessCallback<ResourcesDescriptor>> successCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<FailureCallback>                      failureCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<TimerFactory.TimerCallBack>           timerCallbackCaptor;
+
+    private WorkspaceResources resources;
+    private MatrixLaunch       matrixLaunch;
+
+    @Before
+    public void setUp() {
+        when(timerFactory.newInstance(any(TimerFactory.TimerCallBack.class))).thenReturn(timer);
+
+        resources = new WorkspaceResources();
+
+        matrixLaunch = new MatrixLaunch(runnerManager,
+                                        dtoFactory,
+                                        service,
+                                        callbackBuilderProvider,
+                                        resources,
+                                        runnerMetrics,
+                                        locale,
+                                        notificationManager,
+                                        dialogFactory,
+                                        summaryView,
+                                        timerFactory);
+
+        when(callbackBuilderProvider.get()).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.unmarshaller(ResourcesDescriptor.class)).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.failure(any(FailureCallback.class))).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.success(Matchers.<SuccessCallback<ResourcesDescriptor>>anyObject())).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.build()).thenReturn(asyncRequestCallback);
+
+        when(dtoFactory.createDto(RunOptions.class)).thenReturn(runOptions);
+        when(runOptions.withOptions(Matchers.<Map<String, String>>any())).thenReturn(runOptions);
+        when(runOptions.withEnvironmentId(anyString())).thenReturn(runOptions);
+        when(runOptions.withMemorySize(anyInt())).thenReturn(runOptions);
+
+        when(environment1.getName()).thenReturn(ENV_NAME_1);
+        when(environment1.getId()).thenReturn(ENV_ID_1);
+        when(environment1.getOptions()).thenReturn(options);
+        when(environment2.getName()).thenReturn(ENV_NAME_2);
+        when(environment2.getId()).thenReturn(ENV_ID_2);
+        when(environment2.getOptions()).thenReturn(options);
+
+        when(runnerManager.launchRunner(runOptions, ENV_NAME_1)).thenReturn(runner1, runner3);
+        when(runnerManager.launchRunner(runOptions, ENV_NAME_2)).thenReturn(runner2);
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.IN_PROGRESS);
+        when(runner2.getStatus()).thenReturn(Runner.Status.IN_PROGRESS);
+        when(runner3.getStatus()).thenReturn(Runner.Status.IN_PROGRESS);
+        when(runnerMetrics.getTimeToReady(any(Runner.class))).thenReturn(-1L);
+
+        when(locale.matrixSummaryTitle()).thenReturn(TITLE);
+        when(locale.matrixStatusSkipped()).thenReturn(SKIPPED);
+        when(locale.matrixStatusReady()).thenReturn(READY);
+        when(locale.matrixStatusRunning()).thenReturn(RUNNING);
+        when(locale.matrixStatusStopped()).thenReturn(STOPPED);
+        when(locale.matrixStatusUnfinished()).thenReturn(UNFINISHED);
+        when(locale.getResourcesFailed()).thenReturn(FAILED);
+        when(dialogFactory.createMessageDialog(eq(TITLE), eq(summaryView), (ConfirmCallback)isNull())).thenReturn(messageDialog);
+    }
+
+    private void loadResources(String totalMemory, String usedMemory) {
+        when(resourcesDescriptor.getTotalMemory()).thenReturn(totalMemory);
+        when(resourcesDescriptor.getUsedMemory()).thenReturn(usedMemory);
+
+        verify(service).getResources(asyncRequestCallback);
+        verify(asyncCallbackBuilder).success(successCallbackCaptor.capture());
+        successCallbackCaptor.getValue().onSuccess(resourcesDescriptor);
+    }
+
+    private void checkLaunches() {
+        verify(timerFactory).newInstance(timerCallbackCaptor.capture());
+        timerCallbackCaptor.getValue().onRun();
+    }
+
+    @Test
+    public void errorShouldBeShownWhenResourcesAreNotLoaded() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 512)), 2);
+
+        verify(asyncCallbackBuilder).failure(failureCallbackCaptor.capture());
+        failureCallbackCaptor.getValue().onFailure(new Exception());
+
+        verify(notificationManager).showError(FAILED);
+        verify(runnerManager, never()).launchRunner(any(RunOptions.class), anyString());
+        verify(timer, never()).scheduleRepeating(anyInt());
+    }
+
+    @Test
+    public void runnersShouldBeLaunchedNotMoreThanConcurrency() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 512),
+                                          new MatrixEntry(environment2, 512),
+                                          new MatrixEntry(environment1, 1024)), 2);
+
+        loadResources("4096", "0");
+
+        verify(timer).scheduleRepeating(ONE_SEC.getValue());
+        verify(runOptions).withEnvironmentId(ENV_ID_1);
+        verify(runOptions).withEnvironmentId(ENV_ID_2);
+        verify(runOptions, times(2)).withMemorySize(512);
+        verify(runOptions, times(2)).withOptions(options);
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_1);
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_2);
+        verify(runOptions, never()).withMemorySize(1024);
+    }
+
+    @Test
+    public void nextRunnerShouldBeLaunchedWhenApplicationIsReady() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 512),
+                                          new MatrixEntry(environment2, 512),
+                                          new MatrixEntry(environment1, 1024)), 2);
+        loadResources("4096", "0");
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.DONE);
+        checkLaunches();
+
+        verify(runOptions).withMemorySize(1024);
+        verify(runnerManager, times(2)).launchRunner(runOptions, ENV_NAME_1);
+        verify(timer, never()).cancel();
+    }
+
+    @Test
+    public void memoryOfFailedRunnerShouldBeReleased() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 1024), new MatrixEntry(environment2, 1024)), 2);
+        loadResources("1024", "0");
+
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_1);
+        verify(runnerManager, never()).launchRunner(runOptions, ENV_NAME_2);
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.FAILED);
+        checkLaunches();
+
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_2);
+    }
+
+    @Test
+    public void entryShouldBeSkippedWhenMemoryIsNotEnough() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 512), new MatrixEntry(environment2, 2048)), 2);
+        loadResources("1024", "0");
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.DONE);
+        checkLaunches();
+
+        verify(runnerManager, never()).launchRunner(runOptions, ENV_NAME_2);
+        verify(timer).cancel();
+        verify(summaryView).addRow(ENV_NAME_1, "512MB", READY, "-");
+        verify(summaryView).addRow(ENV_NAME_2, "2048MB", SKIPPED, "-");
+    }
+
+    @Test
+    public void summaryShouldBeShownWhenAllLaunchesAreFinished() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 512), new MatrixEntry(environment2, 256)), 1);
+        loadResources("1024", "0");
+
+        verify(runnerManager, never()).launchRunner(runOptions, ENV_NAME_2);
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.DONE);
+        when(runnerMetrics.getTimeToReady(runner1)).thenReturn(300L);
+        checkLaunches();
+
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_2);
+        verify(dialogFactory, never()).createMessageDialog(anyString(), any(MatrixSummaryView.class), any(ConfirmCallback.class));
+
+        when(runner2.getStatus()).thenReturn(Runner.Status.STOPPED);
+        when(runner2.getDescriptor()).thenReturn(descriptor);
+        timerCallbackCaptor.getValue().onRun();
+
+        verify(timer).cancel();
+        verify(summaryView).clear();
+        verify(summaryView).addRow(ENV_NAME_1, "512MB", READY, "300ms");
+        verify(summaryView).addRow(ENV_NAME_2, "256MB", STOPPED, "-");
+        verify(messageDialog).show();
+    }
+
+    @Test
+    public void summaryShouldBeShownWhenNothingCanBeLaunched() {
+        matrixLaunch.launch(Collections.singletonList(new MatrixEntry(environment1, 2048)), 2);
+        loadResources("1024", "0");
+
+        verify(runnerManager, never()).launchRunner(any(RunOptions.class), anyString());
+        verify(summaryView).addRow(ENV_NAME_1, "2048MB", SKIPPED, "-");
+        verify(timer).cancel();
+        verify(messageDialog).show();
+    }
+
+    @Test
+    public void resourcesShouldNotBeRevalidatedWhileMatrixIsLaunched() {
+        matrixLaunch.launch(Collections.singletonList(new MatrixEntry(environment1, 512)), 2);
+        loadResources("1024", "0");
+
+        assertThat(resources.isRevalidationSuspended(), is(true));
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.DONE);
+        checkLaunches();
+
+        assertThat(resources.isRevalidationSuspended(), is(false));
+    }
+
+    @Test
+    public void runningApplicationWithoutUrlShouldBeConsideredAsLaunched() {
+        matrixLaunch.launch(Collections.singletonList(new MatrixEntry(environment1, 512)), 2);
+        loadResources("1024", "0");
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.RUNNING);
+        checkLaunches();
+
+        verify(timer).cancel();
+        verify(summaryView).addRow(ENV_NAME_1, "512MB", RUNNING, "-");
+    }
+
+    @Test
+    public void runningApplicationShouldBeConsideredAsLaunchedAfterHealthTimeout() {
+        matrixLaunch.launch(Collections.singletonList(new MatrixEntry(environment1, 512)), 2);
+        loadResources("1024", "0");
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.RUNNING);
+        when(runner1.getApplicationURL()).thenReturn(URL);
+        checkLaunches();
+
+        for (int time = 0; time < MatrixLaunch.HEALTH_TIMEOUT - ONE_SEC.getValue(); time += ONE_SEC.getValue()) {
+            timerCallbackCaptor.getValue().onRun();
+        }
+
+        verify(timer, never()).cancel();
+
+        timerCallbackCaptor.getValue().onRun();
+
+        verify(timer).cancel();
+        verify(summaryView).addRow(ENV_NAME_1, "512MB", RUNNING, "-");
+    }
+
+    @Test
+    public void cancelledLaunchShouldBeSkippedAndItsMemoryShouldBeReleased() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 1024), new MatrixEntry(environment2, 1024)), 2);
+        loadResources("1024", "0");
+
+        when(runner1.getStatus()).thenReturn(Runner.Status.STOPPED);
+        checkLaunches();
+
+        verify(runnerManager).launchRunner(runOptions, ENV_NAME_2);
+
+        when(runner2.getStatus()).thenReturn(Runner.Status.DONE);
+        timerCallbackCaptor.getValue().onRun();
+
+        verify(summaryView).addRow(ENV_NAME_1, "1024MB", SKIPPED, "-");
+        verify(summaryView).addRow(ENV_NAME_2, "1024MB", READY, "-");
+    }
+
+    @Test
+    public void unfinishedLaunchesShouldBeReportedWhenDeadlineIsReached() {
+        matrixLaunch.launch(Arrays.asList(new MatrixEntry(environment1, 1024), new MatrixEntry(environment2, 1024)), 2);
+        loadResources("1024", "0");
+        checkLaunches();
+
+        for (int time = ONE_SEC.getValue(); time < MatrixLaunch.DEADLINE; time += ONE_SEC.getValue()) {
+            timerCallbackCaptor.getValue().onRun();
+        }
+
+        verify(timer).cancel();
+        verify(runnerManager, never()).launchRunner(runOptions, ENV_NAME_2);
+        verify(summaryView).addRow(ENV_NAME_1, "1024MB", UNFINISHED, "-");
+        verify(summaryView).addRow(ENV_NAME_2, "1024MB", SKIPPED, "-");
+        verify(messageDialog).show();
+    }
+
+}
\ No newline at end of file
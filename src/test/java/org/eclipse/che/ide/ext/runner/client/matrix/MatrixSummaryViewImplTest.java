@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.matrix;
+
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class MatrixSummaryViewImplTest {
+
+    private static final String ENVIRONMENT = "Environment";
+    private static final String MEMORY      = "Memory";
+    private static final String STATUS      = "Status";
+    private static final String BOOT        = "Boot time";
+
+    @Mock
+    private RunnerLocalizationConstant locale;
+
+    private MatrixSummaryViewImpl view;
+
+    @Before
+    public void setUp() {
+        when(locale.matrixSummaryEnvironment()).thenReturn(ENVIRONMENT);
+        when(locale.matrixSummaryMemory()).thenReturn(MEMORY);
+        when(locale.matrixSummaryStatus()).thenReturn(STATUS);
+        when(locale.matrixSummaryBoot()).thenReturn(BOOT);
+
+        view = new MatrixSummaryViewImpl(locale);
+    }
+
+    @Test
+    public void headerShouldBeAddedWhenViewIsCreated() {
+        verify(view.table).removeAllRows();
+
+        verify(view.table).setText(0, 0, ENVIRONMENT);
+        verify(view.table).setText(0, 1, MEMORY);
+        verify(view.table).setText(0, 2, STATUS);
+        verify(view.table).setText(0, 3, BOOT);
+    }
+
+    @Test
+    public void rowShouldBeAdded() {
+        when(view.table.getRowCount()).thenReturn(1);
+
+        view.addRow("tomcat", "512MB", "DONE", "300ms");
+
+        verify(view.table).setText(1, 0, "tomcat");
+        verify(view.table).setText(1, 1, "512MB");
+        verify(view.table).setText(1, 2, "DONE");
+        verify(view.table).setText(1, 3, "300ms");
+    }
+
+    @Test
+    public void tableShouldBeClearedAndHeaderShouldBeAdded() {
+        reset(view.table);
+
+        view.clear();
+
+        verify(view.table).removeAllRows();
+        verify(view.table).setText(0, 0, ENVIRONMENT);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.BOOT;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.BUILD;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.RESOURCES_CHECK;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchStatistics.MAX_LAUNCHES;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LaunchStatisticsTest {
+
+    private LaunchStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        statistics = new LaunchStatistics();
+    }
+
+    private void addLaunch(long buildTime, long bootTime) {
+        LaunchTrace trace = new LaunchTrace(1);
+
+        trace.onPhaseFinished(BUILD, 1 + buildTime);
+        trace.onPhaseFinished(BOOT, 1 + buildTime + bootTime);
+
+        statistics.addLaunch(trace);
+    }
+
+    @Test
+    public void percentilesShouldBeUnknownWithoutLaunches() throws Exception {
+        assertThat(statistics.getLaunches(), is(0));
+        assertThat(statistics.getPercentile(BUILD, 50), is(-1L));
+        assertThat(statistics.getTotalPercentile(95), is(-1L));
+    }
+
+    @Test
+    public void percentilesShouldBeCalculatedByNearestRank() throws Exception {
+        for (int i = 20; i >= 1; i--) {
+            addLaunch(i * 1000, 100);
+        }
+
+        assertThat(statistics.getLaunches(), is(20));
+        assertThat(statistics.getPercentile(BUILD, 50), is(10_000L));
+        assertThat(statistics.getPercentile(BUILD, 95), is(19_000L));
+        assertThat(statistics.getPercentile(BUILD, 100), is(20_000L));
+        assertThat(statistics.getPercentile(BOOT, 50), is(100L));
+        assertThat(statistics.getTotalPercentile(50), is(10_100L));
+    }
+
+    @Test
+    public void unfinishedPhasesShouldBeIgnored() throws Exception {
+        addLaunch(1000, 100);
+
+        assertThat(statistics.getPercentile(RESOURCES_CHECK, 50), is(-1L));
+    }
+
+    @Test
+    public void onlyLatestLaunchesShouldBeKept() throws Exception {
+        addLaunch(50_000, 0);
+
+        for (int i = 0; i < MAX_LAUNCHES; i++) {
+            addLaunch(1000, 0);
+        }
+
+        assertThat(statistics.getLaunches(), is(MAX_LAUNCHES));
+        assertThat(statistics.getPercentile(BUILD, 100), is(1000L));
+    }
+
+}
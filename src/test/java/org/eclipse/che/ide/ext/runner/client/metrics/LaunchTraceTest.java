@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.BOOT;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.BUILD;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.RESOURCES_CHECK;
+import static org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase.RUN_REQUEST;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LaunchTraceTest {
+
+    private static final long START = 10_000;
+
+    private LaunchTrace trace;
+
+    @Before
+    public void setUp() throws Exception {
+        trace = new LaunchTrace(START);
+    }
+
+    @Test
+    public void phasesShouldFollowEachOther() throws Exception {
+        trace.onPhaseFinished(RESOURCES_CHECK, START + 100);
+        trace.onPhaseFinished(RUN_REQUEST, START + 300);
+        trace.onPhaseFinished(BUILD, START + 5300);
+
+        assertThat(trace.getOffset(RESOURCES_CHECK), is(0L));
+        assertThat(trace.getDuration(RESOURCES_CHECK), is(100L));
+        assertThat(trace.getOffset(RUN_REQUEST), is(100L));
+        assertThat(trace.getDuration(RUN_REQUEST), is(200L));
+        assertThat(trace.getOffset(BUILD), is(300L));
+        assertThat(trace.getDuration(BUILD), is(5000L));
+        assertThat(trace.getOffset(BOOT), is(5300L));
+        assertThat(trace.getDuration(BOOT), is(-1L));
+        assertThat(trace.getTotalDuration(), is(5300L));
+    }
+
+    @Test
+    public void skippedPhaseShouldNotBreakNextPhase() throws Exception {
+        trace.onPhaseFinished(RUN_REQUEST, START + 300);
+
+        assertThat(trace.isFinished(RESOURCES_CHECK), is(false));
+        assertThat(trace.getDuration(RESOURCES_CHECK), is(-1L));
+        assertThat(trace.getOffset(RUN_REQUEST), is(0L));
+        assertThat(trace.getDuration(RUN_REQUEST), is(300L));
+    }
+
+    @Test
+    public void onlyFirstEndOfPhaseShouldBeRegistered() throws Exception {
+        assertThat(trace.onPhaseFinished(BUILD, START + 100), is(true));
+        assertThat(trace.onPhaseFinished(BUILD, START + 500), is(false));
+
+        assertThat(trace.getDuration(BUILD), is(100L));
+    }
+
+    @Test
+    public void phaseCanNotBeFinishedBeforeStartOfLaunch() throws Exception {
+        trace.onPhaseFinished(RESOURCES_CHECK, START - 100);
+
+        assertThat(trace.getDuration(RESOURCES_CHECK), is(0L));
+    }
+
+}
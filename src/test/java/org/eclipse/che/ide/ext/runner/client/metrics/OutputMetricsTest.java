@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics.WINDOW;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class OutputMetricsTest {
+
+    private static final long START = 1_000_000;
+
+    private OutputMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new OutputMetrics();
+    }
+
+    @Test
+    public void metricsShouldBeEmpty() throws Exception {
+        assertThat(metrics.getTotalLines(), is(0L));
+        assertThat(metrics.getTotalBytes(), is(0L));
+        assertThat(metrics.getLinesPerSecond(START), is(0));
+        assertThat(metrics.getBytesPerSecond(START), is(0));
+        assertThat(metrics.getReorderDepth(), is(0));
+        assertThat(metrics.getDetectedGaps(), is(0));
+        assertThat(metrics.getRecoveredGaps(), is(0));
+    }
+
+    @Test
+    public void receivedLinesShouldBeCounted() throws Exception {
+        metrics.onLinesReceived(10, 100, START);
+        metrics.onLinesReceived(5, 50, START + 10);
+
+        assertThat(metrics.getTotalLines(), is(15L));
+        assertThat(metrics.getTotalBytes(), is(150L));
+    }
+
+    @Test
+    public void ratesShouldBeMeasuredByOneSecondWindows() throws Exception {
+        metrics.onLinesReceived(100, 1_000, START);
+        metrics.onLinesReceived(200, 2_000, START + WINDOW / 2);
+
+        // the first window isn't finished yet
+        assertThat(metrics.getLinesPerSecond(START + WINDOW - 1), is(0));
+
+        assertThat(metrics.getLinesPerSecond(START + WINDOW), is(300));
+        assertThat(metrics.getBytesPerSecond(START + WINDOW), is(3_000));
+    }
+
+    @Test
+    public void rateShouldDropWhenNothingIsReceived() throws Exception {
+        metrics.onLinesReceived(100, 1_000, START);
+        metrics.onLinesReceived(100, 1_000, START + WINDOW);
+
+        assertThat(metrics.getLinesPerSecond(START + WINDOW), is(100));
+        assertThat(metrics.getLinesPerSecond(START + 5 * WINDOW), is(25));
+        assertThat(metrics.getLinesPerSecond(START + 7 * WINDOW), is(0));
+    }
+
+    @Test
+    public void reorderDepthShouldBeTracked() throws Exception {
+        metrics.setReorderDepth(5);
+        metrics.setReorderDepth(2);
+
+        assertThat(metrics.getReorderDepth(), is(2));
+        assertThat(metrics.getMaxReorderDepth(), is(5));
+    }
+
+    @Test
+    public void gapsShouldBeCounted() throws Exception {
+        metrics.onGapDetected();
+        metrics.onGapDetected();
+        metrics.onGapRecovered();
+
+        assertThat(metrics.getDetectedGaps(), is(2));
+        assertThat(metrics.getRecoveredGaps(), is(1));
+    }
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.metrics;
+
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RunnerMetricsTest {
+
+    private static final String ENVIRONMENT = "environment";
+
+    @Mock
+    private Runner runner1;
+    @Mock
+    private Runner runner2;
+
+    private RunnerMetrics runnerMetrics;
+
+    @Before
+    public void setUp() throws Exception {
+        runnerMetrics = new RunnerMetrics();
+
+        when(runner1.getEnvironmentId()).thenReturn(ENVIRONMENT);
+    }
+
+    @Test
+    public void sameMetricsShouldBeReturnedForSameRunner() throws Exception {
+        OutputMetrics metrics = runnerMetrics.getMetrics(runner1);
+
+        assertThat(runnerMetrics.getMetrics(runner1), sameInstance(metrics));
+        assertThat(runnerMetrics.getMetrics(runner2), not(sameInstance(metrics)));
+    }
+
+    @Test
+    public void metricsShouldBeRemoved() throws Exception {
+        OutputMetrics metrics = runnerMetrics.getMetrics(runner1);
+
+        runnerMetrics.remove(runner1);
+
+        assertThat(runnerMetrics.getMetrics(runner1), not(sameInstance(metrics)));
+    }
+
+    @Test
+    public void metricsOfAllRunnersShouldBeCleared() throws Exception {
+        OutputMetrics metrics1 = runnerMetrics.getMetrics(runner1);
+        OutputMetrics metrics2 = runnerMetrics.getMetrics(runner2);
+
+        runnerMetrics.clear();
+
+        assertThat(runnerMetrics.getMetrics(runner1), not(sameInstance(metrics1)));
+        assertThat(runnerMetrics.getMetrics(runner2), not(sameInstance(metrics2)));
+    }
+
+    @Test
+    public void launchPhasesShouldBeTraced() throws Exception {
+        runnerMetrics.onLaunchStarted(runner1, 1000);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.RESOURCES_CHECK, 1100);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.RUN_REQUEST, 1300);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BUILD, 9300);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BOOT, 10300);
+
+        LaunchTrace trace = runnerMetrics.getLaunchTrace(runner1);
+
+        assertThat(trace.getDuration(LaunchPhase.BUILD), is(8000L));
+        assertThat(trace.getTotalDuration(), is(9300L));
+        assertThat(runnerMetrics.getTimeToReady(runner1), is(1000L));
+        assertThat(runnerMetrics.getLaunchTrace(runner2), nullValue());
+    }
+
+    @Test
+    public void phaseShouldNotBeRegisteredWhenLaunchIsNotTraced() throws Exception {
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BOOT, 1000);
+
+        assertThat(runnerMetrics.getTimeToReady(runner1), is(-1L));
+        assertThat(runnerMetrics.getLaunchStatistics(ENVIRONMENT).getLaunches(), is(0));
+    }
+
+    @Test
+    public void finishedLaunchShouldBeAddedToStatisticsOfEnvironmentOnce() throws Exception {
+        runnerMetrics.onLaunchStarted(runner1, 1000);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BOOT, 3000);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BOOT, 4000);
+
+        LaunchStatistics statistics = runnerMetrics.getLaunchStatistics(ENVIRONMENT);
+
+        assertThat(statistics.getLaunches(), is(1));
+        assertThat(statistics.getTotalPercentile(50), is(2000L));
+    }
+
+    @Test
+    public void statisticsShouldBeKeptWhenMetricsAreCleared() throws Exception {
+        runnerMetrics.onLaunchStarted(runner1, 1000);
+        runnerMetrics.onLaunchPhaseFinished(runner1, LaunchPhase.BOOT, 3000);
+
+        runnerMetrics.clear();
+
+        assertThat(runnerMetrics.getLaunchTrace(runner1), nullValue());
+        assertThat(runnerMetrics.getLaunchStatistics(ENVIRONMENT).getLaunches(), is(1));
+    }
+
+}
@@ -37,6 +37,7 @@ import static org.eclipse.che.api.runner.dto.RunnerMetric.ALWAYS_ON;
 import static org.eclipse.che.api.runner.dto.RunnerMetric.LIFETIME;
 import static org.eclipse.che.api.runner.dto.RunnerMetric.STOP_TIME;
 import static org.eclipse.che.api.runner.dto.RunnerMetric.TERMINATION_TIME;
+import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_GET_STATUS;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_RUNNER_RECIPE;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_SHELL_URL;
 import static org.eclipse.che.api.runner.internal.Constants.LINK_REL_STOP;
@@ -479,6 +480,21 @@ public class RunnerImplTest {
         verify(descriptor, times(2)).getLinks();
     }
 
+    @Test
+    public void statusUrlWhenDescriptorIsNullShouldBeNullToo() {
+        assertThat(runner.getStatusUrl(), nullValue());
+    }
+
+    @Test
+    public void statusUrlShouldBeReturnedWhenDescriptorIsNotNull() {
+        addLinkToList(LINK_REL_GET_STATUS, URL);
+        when(descriptor.getLinks()).thenReturn(links);
+
+        runner.setProcessDescriptor(descriptor);
+
+        assertThat(runner.getStatusUrl(), is(link1));
+    }
+
     private void addLinkToList(String name, String url) {
         when(link1.getRel()).thenReturn(name);
         when(link1.getHref()).thenReturn(url);
@@ -26,6 +26,8 @@ import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
@@ -45,10 +47,12 @@ import org.mockito.Mock;
 
 import java.util.HashMap;
 
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
-import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -125,6 +129,10 @@ public class CheckRamAndRunActionTest {
     private CurrentProject                            project;
     @Mock
     private Throwable                                 reason;
+    @Mock
+    private RunnerMetrics                             runnerMetrics;
+    @Mock
+    private ResourcesDescriptor                       knownResourcesDescriptor;
 
     @Captor
     private ArgumentCaptor<FailureCallback>                      failedCallBackCaptor;
@@ -133,11 +141,13 @@ public class CheckRamAndRunActionTest {
     @Captor
     private ArgumentCaptor<ConfirmCallback>                      confirmCallbackArgumentCaptor;
 
+    private WorkspaceResources   resources;
     private CheckRamAndRunAction checkRamAndRunAction;
 
     @Before
     public void setUp() {
         when(actionFactory.createRun()).thenReturn(runAction);
+        resources = new WorkspaceResources();
         checkRamAndRunAction =
                 new CheckRamAndRunAction(service,
                                          appContext,
@@ -147,7 +157,9 @@ public class CheckRamAndRunActionTest {
                                          constant,
                                          runnerUtil,
                                          actionFactory,
-                                         managerPresenter);
+                                         managerPresenter,
+                                         runnerMetrics,
+                                         resources);
 
         when(appContext.getCurrentProject()).thenReturn(project);
         when(constant.getResourcesFailed()).thenReturn(RESOURCE);
@@ -167,7 +179,7 @@ public class CheckRamAndRunActionTest {
         checkRamAndRunAction.perform(runner);
 
         verify(appContext).getCurrentProject();
-        verifyNoMoreInteractions(runnerUtil, constant, service, runner, runAction);
+        verifyNoMoreInteractions(runnerUtil, constant, service, runner, runAction, runnerMetrics);
     }
 
     @Test
@@ -254,6 +266,7 @@ public class CheckRamAndRunActionTest {
 
         checkRamAndRunAction.perform(runner);
 
+        verify(runnerMetrics).onLaunchStarted(eq(runner), anyLong());
         verify(service).getResources(asyncRequestCallback);
         verify(callbackBuilderProvider).get();
         verify(asyncCallbackBuilder).unmarshaller(ResourcesDescriptor.class);
@@ -263,6 +276,9 @@ public class CheckRamAndRunActionTest {
         SuccessCallback<ResourcesDescriptor> successCallback = successCallBackCaptor.getValue();
         successCallback.onSuccess(resourcesDescriptor);
 
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.RESOURCES_CHECK), anyLong());
+        assertThat(resources.isLoaded(), is(true));
+
         verify(resourcesDescriptor).getTotalMemory();
         verify(resourcesDescriptor).getUsedMemory();
         verify(project).getProjectDescription();
@@ -278,6 +294,108 @@ public class CheckRamAndRunActionTest {
         verify(runAction).perform(runner);
     }
 
+    @Test
+    public void runnerShouldBeRunAgainstKnownResourcesAndResourcesShouldBeRevalidated() {
+        prepareKnownResources();
+
+        checkRamAndRunAction.perform(runner);
+
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.RESOURCES_CHECK), anyLong());
+        verify(runner).setRAM(256);
+        verify(runAction).perform(runner);
+
+        verify(service).getResources(asyncRequestCallback);
+
+        when(resourcesDescriptor.getTotalMemory()).thenReturn("2048");
+        when(resourcesDescriptor.getUsedMemory()).thenReturn("512");
+
+        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
+        successCallBackCaptor.getValue().onSuccess(resourcesDescriptor);
+
+        assertThat(resources.getTotalMemory(), is(2048));
+        assertThat(resources.getUsedMemory(), is(512));
+        verify(runAction).perform(runner);
+    }
+
+    @Test
+    public void knownResourcesShouldNotBeRevalidatedWhenRevalidationIsSuspended() {
+        prepareKnownResources();
+        resources.suspendRevalidation();
+
+        checkRamAndRunAction.perform(runner);
+
+        verify(runAction).perform(runner);
+        verify(service, never()).getResources(asyncRequestCallback);
+    }
+
+    @Test
+    public void resourcesShouldBeLoadedWhenKnownResourcesAreNotEnough() {
+        prepareKnownResources();
+        when(knownResourcesDescriptor.getUsedMemory()).thenReturn("1024");
+        resources.setResources(knownResourcesDescriptor);
+
+        checkRamAndRunAction.perform(runner);
+
+        verify(service).getResources(asyncRequestCallback);
+        verify(runner, never()).setStatus(Runner.Status.FAILED);
+        verify(runAction, never()).perform(runner);
+
+        when(resourcesDescriptor.getTotalMemory()).thenReturn("1024");
+        when(resourcesDescriptor.getUsedMemory()).thenReturn("256");
+
+        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
+        successCallBackCaptor.getValue().onSuccess(resourcesDescriptor);
+
+        assertThat(resources.getUsedMemory(), is(256));
+        verify(runAction).perform(runner);
+    }
+
+    @Test
+    public void runnerShouldNotBeRunWhenLoadedResourcesAreNotEnoughToo() {
+        prepareKnownResources();
+        when(knownResourcesDescriptor.getUsedMemory()).thenReturn("1024");
+        resources.setResources(knownResourcesDescriptor);
+
+        checkRamAndRunAction.perform(runner);
+
+        when(resourcesDescriptor.getTotalMemory()).thenReturn("1024");
+        when(resourcesDescriptor.getUsedMemory()).thenReturn("1024");
+
+        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
+        successCallBackCaptor.getValue().onSuccess(resourcesDescriptor);
+
+        verify(runner).setStatus(Runner.Status.FAILED);
+        verify(runAction, never()).perform(runner);
+    }
+
+    @Test
+    public void knownResourcesShouldBeInvalidatedWhenRevalidationIsFailed() {
+        prepareKnownResources();
+
+        checkRamAndRunAction.perform(runner);
+
+        verify(asyncCallbackBuilder).failure(failedCallBackCaptor.capture());
+        failedCallBackCaptor.getValue().onFailure(reason);
+
+        assertThat(resources.isLoaded(), is(false));
+        verify(runnerUtil, never()).showError(runner, RESOURCE, reason);
+        verify(runAction).perform(runner);
+    }
+
+    private void prepareKnownResources() {
+        when(project.getProjectDescription()).thenReturn(projectDescriptor);
+        when(projectDescriptor.getRunners()).thenReturn(runners);
+        when(runner.getEnvironmentId()).thenReturn(ID_ENVIRONMENT);
+        when(runners.getConfigs()).thenReturn(hashMap);
+        when(hashMap.get(ID_ENVIRONMENT)).thenReturn(runnerConfiguration);
+        when(runner.getRAM()).thenReturn(256);
+        when(runnerConfiguration.getRam()).thenReturn(256);
+
+        when(knownResourcesDescriptor.getTotalMemory()).thenReturn("1024");
+        when(knownResourcesDescriptor.getUsedMemory()).thenReturn("256");
+        resources.setResources(knownResourcesDescriptor);
+    }
+
     @Test
     public void shouldPerformWhenOverrideMemoryIsZero() {
         //preparing runner and run configuration
@@ -511,7 +629,7 @@ public class CheckRamAndRunActionTest {
         when(constant.messagesOverrideMemory()).thenReturn(messageOverrideMemory);
         when(constant.messagesOverrideLessRequiredMemory(128, 384)).
                                                                            thenReturn(messagesOverrideLessRequiredMemory);
-        when(dialogFactory.createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), isNull(CancelCallback.class)))
+        when(dialogFactory.createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), any(CancelCallback.class)))
                 .thenReturn(confirmDialog);
         when(dialogFactory.createMessageDialog(anyString(), anyString(), any(ConfirmCallback.class))).thenReturn(messageDialog);
 
@@ -544,7 +662,7 @@ public class CheckRamAndRunActionTest {
         verify(runnerConfiguration).getRam();
 
         verify(dialogFactory).createConfirmDialog(eq(titleWarning), eq(messageOverrideMemory), confirmCallbackArgumentCaptor.capture(),
-                                                  isNull(CancelCallback.class));
+                                                  any(CancelCallback.class));
         ConfirmCallback confirmCallback = confirmCallbackArgumentCaptor.getValue();
         confirmCallback.accepted();
 
@@ -565,6 +683,26 @@ public class CheckRamAndRunActionTest {
         verify(messageDialog).show();
     }
 
+    @Test
+    public void runnerShouldBeStoppedWhenRunWithRequiredMemoryIsCancelled() {
+        ArgumentCaptor<CancelCallback> cancelCallbackCaptor = ArgumentCaptor.forClass(CancelCallback.class);
+        when(dialogFactory.createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), any(CancelCallback.class)))
+                .thenReturn(confirmDialog);
+        when(dialogFactory.createMessageDialog(anyString(), anyString(), any(ConfirmCallback.class))).thenReturn(messageDialog);
+        prepareKnownResources();
+        when(runner.getRAM()).thenReturn(128);
+        when(runnerConfiguration.getRam()).thenReturn(384);
+
+        checkRamAndRunAction.perform(runner);
+
+        verify(dialogFactory).createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), cancelCallbackCaptor.capture());
+        cancelCallbackCaptor.getValue().cancelled();
+
+        verify(runner).setStatus(Runner.Status.STOPPED);
+        verify(managerPresenter).update(runner);
+        verify(runAction, never()).perform(runner);
+    }
+
     @Test
     public void shouldShowMessageTotalMemoryLessRequiredMemoryButRunnerDescriptorIsNull() {
         String titleWarning = "some warning";
@@ -580,7 +718,7 @@ public class CheckRamAndRunActionTest {
         when(constant.titlesWarning()).thenReturn(titleWarning);
         when(constant.messagesOverrideMemory()).thenReturn(messageOverrideMemory);
         when(constant.messagesOverrideLessRequiredMemory(128, 384)).thenReturn(messagesOverrideLessRequiredMemory);
-        when(dialogFactory.createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), isNull(CancelCallback.class)))
+        when(dialogFactory.createConfirmDialog(anyString(), anyString(), any(ConfirmCallback.class), any(CancelCallback.class)))
                 .thenReturn(confirmDialog);
         when(dialogFactory.createMessageDialog(anyString(), anyString(), any(ConfirmCallback.class))).thenReturn(messageDialog);
 
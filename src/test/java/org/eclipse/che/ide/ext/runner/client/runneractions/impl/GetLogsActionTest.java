@@ -14,20 +14,18 @@ import com.google.inject.Provider;
 
 import org.eclipse.che.api.analytics.client.logger.AnalyticsEventLogger;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
-import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
-import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
 import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerView;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
-import org.eclipse.che.ide.rest.AsyncRequestCallback;
-import org.eclipse.che.ide.rest.Unmarshallable;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +38,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -52,55 +51,45 @@ import static org.mockito.Mockito.when;
 public class GetLogsActionTest {
 
     private static final String SOME_TEXT = "some text";
+    private static final String LOG_URL   = "http://localhost/logs";
 
     @Captor
-    private ArgumentCaptor<SuccessCallback<String>> successCallbackCaptor;
-    @Captor
-    private ArgumentCaptor<FailureCallback>         failureCallbackCaptor;
+    private ArgumentCaptor<FailureCallback> failureCallbackCaptor;
 
     @Mock
-    private AsyncCallbackBuilder<String> callbackBuilder;
-    @Mock
-    private AsyncRequestCallback<String> callback;
+    private PagedLogReader    logReader;
     @Mock
-    private CurrentProject               project;
+    private CurrentProject    project;
     @Mock
-    private Runner                       runner;
+    private Runner            runner;
     @Mock
-    private RunnerManagerView            view;
+    private RunnerManagerView view;
 
     // constructor parameters
     @Mock
-    private RunnerServiceClient                    service;
-    @Mock
-    private AppContext                             appContext;
+    private AppContext                 appContext;
     @Mock
-    private Provider<AsyncCallbackBuilder<String>> callbackBuilderProvider;
+    private Provider<PagedLogReader>   logReaderProvider;
     @Mock
-    private RunnerLocalizationConstant             constant;
+    private RunnerLocalizationConstant constant;
     @Mock
-    private RunnerUtil                             runnerUtil;
+    private RunnerUtil                 runnerUtil;
     @Mock
-    private RunnerManagerPresenter                 runnerManagerPresenter;
+    private RunnerManagerPresenter     runnerManagerPresenter;
     @Mock
-    private ConsoleContainer                       consoleContainer;
+    private ConsoleContainer           consoleContainer;
     @Mock
-    private AnalyticsEventLogger                   eventLogger;
+    private AnalyticsEventLogger       eventLogger;
 
     private GetLogsAction action;
 
     @Before
     public void setUp() throws Exception {
-        when(callbackBuilderProvider.get()).thenReturn(callbackBuilder);
-
-        when(callbackBuilder.unmarshaller(Matchers.<Unmarshallable<String>>anyObject())).thenReturn(callbackBuilder);
-        when(callbackBuilder.success(Matchers.<SuccessCallback<String>>anyObject())).thenReturn(callbackBuilder);
-        when(callbackBuilder.failure(any(FailureCallback.class))).thenReturn(callbackBuilder);
+        when(logReaderProvider.get()).thenReturn(logReader);
 
         when(runnerManagerPresenter.getView()).thenReturn(view);
-        action = new GetLogsAction(service,
-                                   appContext,
-                                   callbackBuilderProvider,
+        action = new GetLogsAction(appContext,
+                                   logReaderProvider,
                                    constant,
                                    runnerUtil,
                                    consoleContainer,
@@ -115,7 +104,7 @@ public class GetLogsActionTest {
         verify(eventLogger).log(action);
         verify(runnerUtil, never()).showError(any(Runner.class), anyString(), any(Throwable.class));
         verify(runnerManagerPresenter, never()).setActive();
-        verify(service, never()).getLogs(any(Link.class), Matchers.<AsyncRequestCallback<String>>anyObject());
+        verify(logReader, never()).open(anyString(), Matchers.<SuccessCallback<LogPage>>any(), any(FailureCallback.class));
     }
 
     @Test
@@ -127,14 +116,15 @@ public class GetLogsActionTest {
 
         verify(eventLogger).log(action);
         verify(runnerManagerPresenter, never()).setActive();
-        verify(service, never()).getLogs(any(Link.class), Matchers.<AsyncRequestCallback<String>>anyObject());
+        verify(logReader, never()).open(anyString(), Matchers.<SuccessCallback<LogPage>>any(), any(FailureCallback.class));
     }
 
     @Test
-    public void requestShouldBeExecutedWhenAllIsOK() throws Exception {
+    public void logShouldBeOpenedWhenAllIsOK() throws Exception {
         when(appContext.getCurrentProject()).thenReturn(project);
 
         Link viewLogsLink = mock(Link.class);
+        when(viewLogsLink.getHref()).thenReturn(LOG_URL);
         when(runner.getLogUrl()).thenReturn(viewLogsLink);
 
         action.perform(runner);
@@ -143,34 +133,18 @@ public class GetLogsActionTest {
         verify(runnerUtil, never()).showError(any(Runner.class), anyString(), any(Throwable.class));
 
         verify(runnerManagerPresenter).setActive();
-        verify(service).getLogs(eq(viewLogsLink), Matchers.<AsyncRequestCallback<String>>anyObject());
-    }
-
-    @Test
-    public void successCallbackShouldBeExecutedWhenRequestIsSuccessful() throws Exception {
-        when(appContext.getCurrentProject()).thenReturn(project);
-
-        Link viewLogsLink = mock(Link.class);
-        when(runner.getLogUrl()).thenReturn(viewLogsLink);
-
-        action.perform(runner);
-
-        verify(eventLogger).log(action);
-        verify(callbackBuilder).success(successCallbackCaptor.capture());
-
-        SuccessCallback<String> successCallback = successCallbackCaptor.getValue();
-        successCallback.onSuccess(SOME_TEXT);
-
-        verify(consoleContainer).print(runner, SOME_TEXT);
+        verify(consoleContainer).showLog(runner, logReader);
+        verify(logReader).open(eq(LOG_URL), (SuccessCallback<LogPage>)isNull(), any(FailureCallback.class));
     }
 
     @Test
-    public void failedCallbackShouldBeExecutedWhenRequestIsFailed() throws Exception {
+    public void errorShouldBeShownWhenPageIsNotLoaded() throws Exception {
         Throwable throwable = mock(Throwable.class);
 
         when(appContext.getCurrentProject()).thenReturn(project);
 
         Link viewLogsLink = mock(Link.class);
+        when(viewLogsLink.getHref()).thenReturn(LOG_URL);
         when(runner.getLogUrl()).thenReturn(viewLogsLink);
 
         when(constant.applicationLogsFailed()).thenReturn(SOME_TEXT);
@@ -178,7 +152,7 @@ public class GetLogsActionTest {
         action.perform(runner);
 
         verify(eventLogger).log(action);
-        verify(callbackBuilder).failure(failureCallbackCaptor.capture());
+        verify(logReader).open(eq(LOG_URL), Matchers.<SuccessCallback<LogPage>>any(), failureCallbackCaptor.capture());
 
         FailureCallback failureCallback = failureCallbackCaptor.getValue();
         failureCallback.onFailure(throwable);
@@ -186,4 +160,4 @@ public class GetLogsActionTest {
         verify(runnerUtil).showError(runner, SOME_TEXT, throwable);
     }
 
-}
\ No newline at end of file
+}
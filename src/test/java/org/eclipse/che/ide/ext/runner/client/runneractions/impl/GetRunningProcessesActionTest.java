@@ -14,31 +14,23 @@ import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
 import org.eclipse.che.api.runner.ApplicationStatus;
 import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
 import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
-import org.eclipse.che.api.user.shared.dto.ProfileDescriptor;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
-import org.eclipse.che.ide.api.app.CurrentUser;
 import org.eclipse.che.ide.api.notification.Notification;
 import org.eclipse.che.ide.api.notification.NotificationManager;
 import org.eclipse.che.ide.collections.Array;
 import org.eclipse.che.ide.collections.java.JsonArrayListAdapter;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
-import org.eclipse.che.ide.ext.runner.client.TestUtil;
 import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
 import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
-import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.RunnerAction;
-import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.tabs.properties.container.PropertiesContainer;
-import org.eclipse.che.ide.ext.runner.client.tabs.terminal.container.TerminalContainer;
-import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.rest.Unmarshallable;
-import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 import com.google.inject.Provider;
 
 import org.junit.Before;
@@ -50,19 +42,20 @@ import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.reset;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -70,14 +63,10 @@ import static org.mockito.Mockito.when;
  */
 @RunWith(MockitoJUnitRunner.class)
 public class GetRunningProcessesActionTest {
-    private static final String PATH_TO_PROJECT         = "somePath";
-    private static final String PROJECT_NAME            = "projectName";
-    private static final String MESSAGE                 = "some tested message";
-    private static final String WORKSPACE_ID            = "someId";
-    private static final String SOME_USER_ID            = "SOME_USER_ID";
-    private static final String PROCESS_STARTED_CHANNEL = "runner:process_started:";
-    private static final String CHANNEL                 =
-            PROCESS_STARTED_CHANNEL + WORKSPACE_ID + ':' + PATH_TO_PROJECT + ':' + SOME_USER_ID;
+    private static final String PATH_TO_PROJECT = "somePath";
+    private static final String PROJECT_NAME    = "projectName";
+    private static final String MESSAGE         = "some tested message";
+    private static final String SUMMARY_MESSAGE = "some summary message";
 
     private static JsonArrayListAdapter<ApplicationProcessDescriptor> result;
 
@@ -95,86 +84,64 @@ public class GetRunningProcessesActionTest {
     @Mock
     private Provider<AsyncCallbackBuilder<Array<ApplicationProcessDescriptor>>> callbackBuilderProvider;
     @Mock
-    private WebSocketUtil                                                       webSocketUtil;
-    @Mock
-    private RunnerActionFactory                                                 actionFactory;
+    private RunningProcessesCache                                               processesCache;
     @Mock
     private RunnerManagerPresenter                                              runnerManagerPresenter;
     @Mock
-    private ConsoleContainer                                                    consoleContainer;
-    @Mock
-    private TerminalContainer                                                   terminalContainer;
-    @Mock
     private PropertiesContainer                                                 propertiesContainer;
 
     //captors
     @Captor
-    private ArgumentCaptor<SubscriptionHandler<ApplicationProcessDescriptor>>    handlerArgumentCaptor;
+    private ArgumentCaptor<RunningProcessesCache.ProcessStartedListener>         processStartedListenerCaptor;
     @Captor
     private ArgumentCaptor<SuccessCallback<Array<ApplicationProcessDescriptor>>> successCallBackCaptor;
     @Captor
     private ArgumentCaptor<Notification>                                         notificationCaptor;
-    @Captor
-    private ArgumentCaptor<Notification>                                         notificationCaptor2;
 
     //project variables
     @Mock
-    private CurrentProject                                                              project;
+    private CurrentProject                                            project;
     @Mock
-    private ProjectDescriptor                                                           projectDescriptor;
+    private ProjectDescriptor                                         projectDescriptor;
     //runner variables
     @Mock
-    private Runner                                                                      runner;
+    private Runner                                                    runner;
     @Mock
-    private Runner                                                                      runner1;
+    private Runner                                                    runner1;
     @Mock
-    private Runner                                                                      runner2;
+    private Runner                                                    runner2;
     @Mock
-    private RunnerAction.StopActionListener                                             listener;
+    private RunnerAction.StopActionListener                           listener;
     //another variables
     @Mock
-    private AsyncCallbackBuilder<Array<ApplicationProcessDescriptor>>                   asyncCallbackBuilder;
-    @Mock
-    private Unmarshallable<Array<ApplicationProcessDescriptor>>                         arrayUnmarshallable;
-    @Mock
-    private AsyncRequestCallback<Array<ApplicationProcessDescriptor>>                   callback;
-    @Mock
-    private CurrentUser                                                                 currentUser;
-    @Mock
-    private ProfileDescriptor                                                           profileDescriptor;
+    private AsyncCallbackBuilder<Array<ApplicationProcessDescriptor>> asyncCallbackBuilder;
     @Mock
-    private org.eclipse.che.ide.websocket.rest.Unmarshallable<ApplicationProcessDescriptor> processDescriptorUnmarshallable;
+    private Unmarshallable<Array<ApplicationProcessDescriptor>>       arrayUnmarshallable;
     @Mock
-    private ApplicationProcessDescriptor                                                processDescriptor;
+    private AsyncRequestCallback<Array<ApplicationProcessDescriptor>> callback;
     @Mock
-    private ApplicationProcessDescriptor                                                processDescriptor1;
+    private ApplicationProcessDescriptor                              processDescriptor;
     @Mock
-    private ApplicationProcessDescriptor                                                processDescriptor2;
+    private ApplicationProcessDescriptor                              processDescriptor1;
     @Mock
-    private ApplicationProcessDescriptor                                                processDescriptor3;
+    private ApplicationProcessDescriptor                              processDescriptor2;
     @Mock
-    private GetLogsAction                                                               logsAction;
+    private ApplicationProcessDescriptor                              processDescriptor3;
 
     private GetRunningProcessesAction getRunningProcessesAction;
 
     @Before
     public void setUp() {
-        when(actionFactory.createGetLogs()).thenReturn(logsAction);
         getRunningProcessesAction = new GetRunningProcessesAction(notificationManager,
                                                                   service,
                                                                   dtoUnmarshallerFactory,
                                                                   appContext,
                                                                   locale,
                                                                   callbackBuilderProvider,
-                                                                  webSocketUtil,
-                                                                  actionFactory,
+                                                                  processesCache,
                                                                   runnerManagerPresenter,
-                                                                  propertiesContainer,
-                                                                  WORKSPACE_ID);
+                                                                  propertiesContainer);
         when(appContext.getCurrentProject()).thenReturn(project);
-        when(appContext.getCurrentUser()).thenReturn(currentUser);
-        when(currentUser.getProfile()).thenReturn(profileDescriptor);
-        when(profileDescriptor.getId()).thenReturn(SOME_USER_ID);
         when(callbackBuilderProvider.get()).thenReturn(asyncCallbackBuilder);
         when(dtoUnmarshallerFactory.newArrayUnmarshaller(ApplicationProcessDescriptor.class)).thenReturn(arrayUnmarshallable);
         when(asyncCallbackBuilder.unmarshaller(arrayUnmarshallable)).thenReturn(asyncCallbackBuilder);
@@ -187,9 +154,8 @@ public class GetRunningProcessesActionTest {
         when(projectDescriptor.getPath()).thenReturn(PATH_TO_PROJECT);
         when(projectDescriptor.getName()).thenReturn(PROJECT_NAME);
         when(locale.projectRunningNow(PROJECT_NAME)).thenReturn(MESSAGE);
+        when(locale.projectRunningProcesses(2, PROJECT_NAME)).thenReturn(SUMMARY_MESSAGE);
 
-        when(appContext.getCurrentProject()).thenReturn(project);
-        when(dtoUnmarshallerFactory.newWSUnmarshaller(ApplicationProcessDescriptor.class)).thenReturn(processDescriptorUnmarshallable);
         when(processDescriptor.getProcessId()).thenReturn(1234567890L);
         when(runnerManagerPresenter.isRunnerExist(1234567890L)).thenReturn(false);
 
@@ -199,6 +165,9 @@ public class GetRunningProcessesActionTest {
         list.add(processDescriptor3);
         result = new JsonArrayListAdapter<>(list);
 
+        when(processDescriptor1.getProcessId()).thenReturn(1L);
+        when(processDescriptor2.getProcessId()).thenReturn(2L);
+        when(processDescriptor3.getProcessId()).thenReturn(3L);
         when(processDescriptor1.getStatus()).thenReturn(ApplicationStatus.RUNNING);
         when(processDescriptor2.getStatus()).thenReturn(ApplicationStatus.NEW);
         when(processDescriptor3.getStatus()).thenReturn(ApplicationStatus.CANCELLED);
@@ -210,7 +179,6 @@ public class GetRunningProcessesActionTest {
 
     @Test
     public void performShouldNotBeCompletedIfProjectIsNull() {
-        reset(logsAction, actionFactory);
         when(appContext.getCurrentProject()).thenReturn(null);
 
         getRunningProcessesAction.perform();
@@ -222,221 +190,205 @@ public class GetRunningProcessesActionTest {
                                  appContext,
                                  locale,
                                  callbackBuilderProvider,
-                                 webSocketUtil,
-                                 actionFactory,
+                                 processesCache,
                                  runnerManagerPresenter);
     }
 
     @Test
-    public void shouldPerformSuccessfullyCheckingAndSuccessPreparingRunnerWhenStatusIsRunning() throws Exception {
-        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
-
+    public void projectShouldBeWatchedWhenActionIsPerformed() {
         getRunningProcessesAction.perform();
 
-        verify(appContext).getCurrentProject();
-        verifyCreationChannel();
+        verify(processesCache).watch(PATH_TO_PROJECT, getRunningProcessesAction);
+        verify(processesCache).getProcesses(PATH_TO_PROJECT);
+        verify(service).getRunningProcesses(PATH_TO_PROJECT, callback);
+    }
 
-        verify(webSocketUtil).subscribeHandler(anyString(), handlerArgumentCaptor.capture());
-        SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = handlerArgumentCaptor.getValue();
+    @Test
+    public void runnerShouldBeAddedWhenProcessWithStatusRunningIsStarted() {
+        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
 
-        Method method = SubscriptionHandler.class.getDeclaredMethod("onMessageReceived", Object.class);
-        method.setAccessible(true);
-        method.invoke(processStartedHandler, processDescriptor);
+        startProcess();
 
         verify(runnerManagerPresenter).isRunnerExist(1234567890L);
-        verify(processDescriptor).getProcessId();
-        verify(processDescriptor).getStatus();
         verify(runnerManagerPresenter).addRunner(processDescriptor);
-        verify(logsAction).perform(runner);
-
         verify(locale).projectRunningNow(PROJECT_NAME);
-        verify(project, times(3)).getProjectDescription();
-        verify(projectDescriptor).getName();
-
-        verifyShowNotification();
-
-        verify(webSocketUtil).subscribeHandler(CHANNEL, processStartedHandler);
+        verifyShowNotification(MESSAGE);
     }
 
-    private void verifyShowNotification() {
-        verify(notificationManager).showNotification(notificationCaptor.capture());
-        Notification notification = notificationCaptor.getValue();
-        assertThat(notification.getMessage(), is(MESSAGE));
-        assertThat(notification.isImportant(), is(true));
-        assertThat(notification.isInfo(), is(true));
+    @Test
+    public void runnerShouldBeAddedWhenProcessWithStatusNewIsStarted() {
+        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.NEW);
+
+        startProcess();
 
-        runnerAndApplicationShouldBePrepared();
+        verify(runnerManagerPresenter).isRunnerExist(1234567890L);
+        verify(runnerManagerPresenter).addRunner(processDescriptor);
+        verifyShowNotification(MESSAGE);
     }
 
     @Test
-    public void shouldPerformWithSuccessfullyCheckingAndSuccessPreparingRunnerWithRunningAppWhenStatusIsNEW() throws Exception {
-        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.NEW);
+    public void runnerShouldNotBeAddedWhenStartedProcessIsNotNewOrRunning() {
+        when(processDescriptor.getStatus()).thenReturn(null);
 
-        getRunningProcessesAction.perform();
+        startProcess();
 
-        verify(appContext).getCurrentProject();
-        verifyCreationChannel();
+        verify(runnerManagerPresenter, never()).addRunner(any(ApplicationProcessDescriptor.class));
+        verifyZeroInteractions(notificationManager);
+    }
 
-        verify(webSocketUtil).subscribeHandler(anyString(), handlerArgumentCaptor.capture());
-        SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = handlerArgumentCaptor.getValue();
+    @Test
+    public void runnerShouldNotBeAddedWhenRunnerOfStartedProcessIsExist() {
+        when(runnerManagerPresenter.isRunnerExist(1234567890L)).thenReturn(true);
+        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
 
-        Method method = SubscriptionHandler.class.getDeclaredMethod("onMessageReceived", Object.class);
-        method.setAccessible(true);
-        method.invoke(processStartedHandler, processDescriptor);
+        startProcess();
 
-        verify(runnerManagerPresenter).isRunnerExist(1234567890L);
-        verify(processDescriptor).getStatus();
-        verify(runnerManagerPresenter).addRunner(processDescriptor);
-        verify(logsAction).perform(runner);
-
-        verify(notificationManager).showNotification(notificationCaptor.capture());
-        Notification notification = notificationCaptor.getValue();
-        assertThat(notification.getMessage(), is(MESSAGE));
-        assertThat(notification.isImportant(), is(true));
-        assertThat(notification.isInfo(), is(true));
+        verify(runnerManagerPresenter, never()).addRunner(any(ApplicationProcessDescriptor.class));
+        verifyZeroInteractions(notificationManager);
+    }
 
-        verify(webSocketUtil).subscribeHandler(CHANNEL, processStartedHandler);
+    private void startProcess() {
+        getRunningProcessesAction.perform();
 
-        runnerAndApplicationShouldBePrepared();
+        verify(processesCache).watch(anyString(), processStartedListenerCaptor.capture());
+        processStartedListenerCaptor.getValue().onProcessStarted(processDescriptor);
     }
 
     @Test
-    public void shouldPerformWithSuccessfullyCheckingAndSuccessPreparingRunnerWhenStatusIsNotNewOrRunning() throws Exception {
-        reset(logsAction);
-        when(processDescriptor.getStatus()).thenReturn(null);
-
+    public void runnersShouldBeAddedWhenProcessesAreLoaded() {
         getRunningProcessesAction.perform();
 
-        verify(appContext).getCurrentProject();
-        verifyCreationChannel();
+        loadProcesses(result);
 
-        verify(webSocketUtil).subscribeHandler(anyString(), handlerArgumentCaptor.capture());
-        SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = handlerArgumentCaptor.getValue();
+        verify(processesCache).setProcesses(eq(PATH_TO_PROJECT), Matchers.<Iterable<ApplicationProcessDescriptor>>anyObject());
 
-        TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", processDescriptor);
+        verify(propertiesContainer).setVisible(true);
 
-        verify(runnerManagerPresenter).isRunnerExist(1234567890L);
-        verify(processDescriptor).getProcessId();
-        verify(processDescriptor).getStatus();
-        verifyNoMoreInteractions(runnerManagerPresenter, logsAction, notificationManager, locale);
+        verify(runnerManagerPresenter).addRunner(processDescriptor1);
+        verify(runnerManagerPresenter).addRunner(processDescriptor2);
+        verify(runnerManagerPresenter, never()).addRunner(processDescriptor3);
+        verify(runnerManagerPresenter, never()).finishRunner(anyLong(), any(Runner.Status.class));
 
-        verify(webSocketUtil).subscribeHandler(CHANNEL, processStartedHandler);
+        verify(locale).projectRunningProcesses(2, PROJECT_NAME);
+        verifyShowNotification(SUMMARY_MESSAGE);
     }
 
     @Test
-    public void shouldPerformWithSuccessfullyCheckingAndSuccessPreparingRunnerWhenRunnerIsExist() throws Exception {
-        reset(logsAction);
-        when(runnerManagerPresenter.isRunnerExist(1234567890L)).thenReturn(true);
-        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
-
+    public void runnersShouldNotBeAddedWhenLoadedProcessesAreEmpty() {
         getRunningProcessesAction.perform();
 
-        verify(appContext).getCurrentProject();
-        verifyCreationChannel();
-
-        verify(webSocketUtil).subscribeHandler(anyString(), handlerArgumentCaptor.capture());
-        SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = handlerArgumentCaptor.getValue();
+        JsonArrayListAdapter<ApplicationProcessDescriptor> emptyResult =
+                new JsonArrayListAdapter<>(new ArrayList<ApplicationProcessDescriptor>());
+        loadProcesses(emptyResult);
 
-        TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", processDescriptor);
-
-        verify(runnerManagerPresenter).isRunnerExist(1234567890L);
-        verify(processDescriptor).getProcessId();
-        verifyNoMoreInteractions(runnerManagerPresenter, logsAction, notificationManager, locale);
+        verify(processesCache).setProcesses(eq(PATH_TO_PROJECT), Matchers.<Iterable<ApplicationProcessDescriptor>>anyObject());
+        verify(service).getRunningProcesses(PATH_TO_PROJECT, callback);
+        verifyNoMoreInteractions(service, propertiesContainer, notificationManager);
+    }
 
-        verify(webSocketUtil).subscribeHandler(CHANNEL, processStartedHandler);
+    @Test
+    public void cachedRunnersShouldBeRestoredBeforeProcessesAreLoaded() {
+        when(processesCache.getProcesses(PATH_TO_PROJECT)).thenReturn(Arrays.asList(processDescriptor1, processDescriptor3));
 
-        runnerAndApplicationShouldBePrepared();
-        verify(webSocketUtil).subscribeHandler(CHANNEL, processStartedHandler);
-    }
+        getRunningProcessesAction.perform();
 
-    private void verifyCreationChannel() {
-        verify(project, times(2)).getProjectDescription();
-        verify(projectDescriptor, times(2)).getPath();
-        verify(appContext).getCurrentUser();
-        verify(currentUser).getProfile();
-        verify(profileDescriptor).getId();
+        verify(runnerManagerPresenter).addRunner(processDescriptor1);
+        verify(runnerManagerPresenter, never()).addRunner(processDescriptor3);
+        verify(propertiesContainer).setVisible(true);
+        verifyZeroInteractions(notificationManager);
     }
 
     @Test
-    public void runnerProcessShouldNotBeStoppedWhenChannelAndProcessStartedHandlerAndStopListenerAreNull() {
-        reset(logsAction);
+    public void restoredRunnerShouldBeKeptWhenProcessIsStillRunning() {
+        when(processesCache.getProcesses(PATH_TO_PROJECT)).thenReturn(Arrays.asList(processDescriptor1));
 
-        getRunningProcessesAction.stop();
+        getRunningProcessesAction.perform();
 
-        verifyNoMoreInteractions(webSocketUtil, logsAction);
+        loadProcesses(new JsonArrayListAdapter<>(Arrays.asList(processDescriptor1)));
+
+        verify(runnerManagerPresenter).addRunner(processDescriptor1);
+        verify(runnerManagerPresenter, never()).finishRunner(anyLong(), any(Runner.Status.class));
+        verifyZeroInteractions(notificationManager);
     }
 
     @Test
-    public void runnerProcessShouldNotBeStoppedWhenChannelIsNullAndProcessStartedHandlerIsNullButStopListenerIsNotNull() {
-        reset(logsAction);
-        getRunningProcessesAction.setListener(listener);
+    public void restoredRunnerShouldBeStoppedWhenProcessIsNotLoaded() {
+        when(processesCache.getProcesses(PATH_TO_PROJECT)).thenReturn(Arrays.asList(processDescriptor1));
 
-        getRunningProcessesAction.stop();
+        getRunningProcessesAction.perform();
 
-        verify(listener, never()).onStopAction();
-        verifyNoMoreInteractions(webSocketUtil, logsAction);
+        loadProcesses(new JsonArrayListAdapter<>(Arrays.asList(processDescriptor2)));
+
+        verify(runnerManagerPresenter).finishRunner(1L, Runner.Status.STOPPED);
+        verify(runnerManagerPresenter).addRunner(processDescriptor2);
+        verify(locale).projectRunningNow(PROJECT_NAME);
+        verifyShowNotification(MESSAGE);
     }
 
     @Test
-    public void runnerProcessShouldBeStoppedWhenChannelAndProcessStartedHandlerAndStopListenerNotNull() {
-        reset(logsAction);
-        when(processDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
-        getRunningProcessesAction.setListener(listener);
+    public void restoredRunnerShouldBeFailedWhenProcessIsFailed() {
+        when(processesCache.getProcesses(PATH_TO_PROJECT)).thenReturn(Arrays.asList(processDescriptor1));
+
         getRunningProcessesAction.perform();
 
-        verify(webSocketUtil).subscribeHandler(anyString(), handlerArgumentCaptor.capture());
-        SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = handlerArgumentCaptor.getValue();
+        when(processDescriptor1.getStatus()).thenReturn(ApplicationStatus.FAILED);
+        loadProcesses(new JsonArrayListAdapter<>(Arrays.asList(processDescriptor1)));
+
+        verify(runnerManagerPresenter).finishRunner(1L, Runner.Status.FAILED);
+        verifyZeroInteractions(notificationManager);
+    }
 
+    @Test
+    public void loadedProcessesShouldBeIgnoredWhenActionIsStopped() {
+        getRunningProcessesAction.perform();
         getRunningProcessesAction.stop();
 
-        verify(webSocketUtil).unSubscribeHandler(CHANNEL, processStartedHandler);
+        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
+        successCallBackCaptor.getValue().onSuccess(result);
 
-        verify(listener).onStopAction();
+        verify(processesCache, never()).setProcesses(anyString(), Matchers.<Iterable<ApplicationProcessDescriptor>>anyObject());
+        verify(runnerManagerPresenter, never()).addRunner(any(ApplicationProcessDescriptor.class));
+        verifyZeroInteractions(notificationManager);
     }
 
-    public void runnerAndApplicationShouldBePrepared() {
-        reset(notificationManager);
-
+    private void loadProcesses(Array<ApplicationProcessDescriptor> processes) {
         verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
-        SuccessCallback<Array<ApplicationProcessDescriptor>> successCallback = successCallBackCaptor.getValue();
-        successCallback.onSuccess(result);
-
-        verify(processDescriptor1).getStatus();
-        verify(processDescriptor2).getStatus();
-        verify(processDescriptor3).getStatus();
+        successCallBackCaptor.getValue().onSuccess(processes);
+    }
 
-        verify(propertiesContainer).setVisible(true);
+    private void verifyShowNotification(String message) {
+        verify(notificationManager).showNotification(notificationCaptor.capture());
+        Notification notification = notificationCaptor.getValue();
+        assertThat(notification.getMessage(), is(message));
+        assertThat(notification.isImportant(), is(true));
+        assertThat(notification.isInfo(), is(true));
+    }
 
-        verify(runnerManagerPresenter).addRunner(processDescriptor1);
-        verify(runnerManagerPresenter).addRunner(processDescriptor2);
-        verify(runnerManagerPresenter, never()).addRunner(processDescriptor3);
+    @Test
+    public void runnerProcessShouldNotBeStoppedWhenActionWasNotPerformed() {
+        getRunningProcessesAction.stop();
 
-        verify(logsAction).perform(runner1);
-        verify(logsAction).perform(runner2);
+        verifyZeroInteractions(processesCache);
+    }
 
-        verify(notificationManager, times(2)).showNotification(notificationCaptor2.capture());
-        Notification notification2 = notificationCaptor2.getValue();
+    @Test
+    public void runnerProcessShouldNotBeStoppedWhenActionWasNotPerformedButStopListenerIsNotNull() {
+        getRunningProcessesAction.setListener(listener);
 
-        assertThat(notification2.getMessage(), is(MESSAGE));
-        assertThat(notification2.isImportant(), is(true));
-        assertThat(notification2.isInfo(), is(true));
+        getRunningProcessesAction.stop();
 
-        verify(service).getRunningProcesses(PATH_TO_PROJECT, callback);
+        verify(listener, never()).onStopAction();
+        verifyZeroInteractions(processesCache);
     }
 
     @Test
-    public void runnerAndApplicationShouldNotBePreparedBecauseDescriptorsArrayIsEmpty() {
-        result = new JsonArrayListAdapter<>(new ArrayList<ApplicationProcessDescriptor>());
-        reset(notificationManager,logsAction);
-
+    public void runnerProcessShouldBeStoppedWhenActionWasPerformed() {
+        getRunningProcessesAction.setListener(listener);
         getRunningProcessesAction.perform();
 
-        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
-        SuccessCallback<Array<ApplicationProcessDescriptor>> successCallback = successCallBackCaptor.getValue();
-
-        successCallback.onSuccess(result);
+        getRunningProcessesAction.stop();
 
-        verify(service).getRunningProcesses(PATH_TO_PROJECT, callback);
-        verifyNoMoreInteractions(service, propertiesContainer, notificationManager, logsAction);
+        verify(processesCache).removeListener(PATH_TO_PROJECT);
+        verify(listener).onStopAction();
     }
 }
@@ -26,6 +26,9 @@ import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
 import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchTrace;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.LaunchAction;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
@@ -40,6 +43,9 @@ import org.mockito.Mock;
 
 import static org.eclipse.che.ide.ext.runner.client.tabs.properties.panel.common.RAM.MB_512;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -93,6 +99,12 @@ public class RunActionTest {
     private ApplicationProcessDescriptor                                  descriptor;
     @Mock
     private LaunchAction                                                  launchAction;
+    @Mock
+    private RunnerMetrics                                                 runnerMetrics;
+    @Mock
+    private LaunchTrace                                                   launchTrace;
+    @Mock
+    private WorkspaceResources                                            resources;
     //captors
     @Captor
     private ArgumentCaptor<FailureCallback>                               failedCallBackCaptor;
@@ -105,7 +117,7 @@ public class RunActionTest {
     public void setUp() {
         when(actionFactory.createLaunch()).thenReturn(launchAction);
         runAction = new RunAction(service, appContext, locale, presenter,
-                                  callbackBuilderProvider, runnerUtil, actionFactory, eventLogger);
+                                  callbackBuilderProvider, runnerUtil, actionFactory, eventLogger, runnerMetrics, resources);
 
         //preparing callbacks for server
         when(appContext.getCurrentProject()).thenReturn(project);
@@ -129,7 +141,33 @@ public class RunActionTest {
 
         verify(eventLogger).log(runAction);
         verify(appContext).getCurrentProject();
-        verifyNoMoreInteractions(runner, service, locale, launchAction, presenter, callbackBuilderProvider);
+        verifyNoMoreInteractions(runner, service, locale, launchAction, presenter, callbackBuilderProvider, runnerMetrics, resources);
+    }
+
+    @Test
+    public void launchTraceShouldBeStartedWhenRunnerIsNotTraced() {
+        runAction.perform(runner);
+
+        verify(runnerMetrics).onLaunchStarted(eq(runner), anyLong());
+    }
+
+    @Test
+    public void launchTraceShouldBeStartedWhenPreviousLaunchIsFinished() {
+        when(runnerMetrics.getLaunchTrace(runner)).thenReturn(launchTrace);
+        when(launchTrace.isFinished(LaunchPhase.RUN_REQUEST)).thenReturn(true);
+
+        runAction.perform(runner);
+
+        verify(runnerMetrics).onLaunchStarted(eq(runner), anyLong());
+    }
+
+    @Test
+    public void launchTraceShouldNotBeRestartedWhenLaunchIsInProgress() {
+        when(runnerMetrics.getLaunchTrace(runner)).thenReturn(launchTrace);
+
+        runAction.perform(runner);
+
+        verify(runnerMetrics, never()).onLaunchStarted(eq(runner), anyLong());
     }
 
     @Test
@@ -149,11 +187,13 @@ public class RunActionTest {
         SuccessCallback<ApplicationProcessDescriptor> successCallback = successCallBackCaptor.getValue();
         successCallback.onSuccess(descriptor);
 
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.RUN_REQUEST), anyLong());
         verify(runner).setProcessDescriptor(descriptor);
         verify(runner).setRAM(MB_512.getValue());
         verify(runner).setStatus(Runner.Status.IN_PROGRESS);
 
         verify(presenter).addRunnerId(12345678L);
+        verify(resources).onProcessStarted(12345678L, MB_512.getValue());
 
         verify(launchAction).perform(runner);
 
@@ -176,6 +216,7 @@ public class RunActionTest {
         FailureCallback failureCallback = failedCallBackCaptor.getValue();
         failureCallback.onFailure(reason);
 
+        verify(resources).invalidate();
         runnerUtil.showError(runner, someRunningMessage, null);
 
         verify(service).run(PATH_TO_PROJECT, runOptions, asyncRequestCallback);
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl;
+
+import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
+import org.eclipse.che.api.user.shared.dto.ProfileDescriptor;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.app.CurrentUser;
+import org.eclipse.che.ide.ext.runner.client.TestUtil;
+import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import org.eclipse.che.ide.websocket.rest.Unmarshallable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RunningProcessesCacheTest {
+    private static final String PATH_TO_PROJECT = "somePath";
+    private static final String WORKSPACE_ID    = "someId";
+    private static final String SOME_USER_ID    = "SOME_USER_ID";
+    private static final String CHANNEL         = "runner:process_started:" + WORKSPACE_ID + ':' + PATH_TO_PROJECT + ':' + SOME_USER_ID;
+
+    @Mock
+    private WebSocketUtil                                                     webSocketUtil;
+    @Mock
+    private DtoUnmarshallerFactory                                            dtoUnmarshallerFactory;
+    @Mock
+    private AppContext                                                        appContext;
+    @Mock
+    private CurrentUser                                                       currentUser;
+    @Mock
+    private ProfileDescriptor                                                 profileDescriptor;
+    @Mock
+    private Unmarshallable<ApplicationProcessDescriptor>                      unmarshallable;
+    @Mock
+    private RunningProcessesCache.ProcessStartedListener                      listener;
+    @Mock
+    private RunningProcessesCache.ProcessStartedListener                      otherListener;
+    @Mock
+    private ApplicationProcessDescriptor                                      processDescriptor1;
+    @Mock
+    private ApplicationProcessDescriptor                                      processDescriptor2;
+    @Mock
+    private ApplicationProcessDescriptor                                      processDescriptor3;
+    @Captor
+    private ArgumentCaptor<SubscriptionHandler<ApplicationProcessDescriptor>> handlerCaptor;
+
+    private RunningProcessesCache cache;
+
+    @Before
+    public void setUp() {
+        when(appContext.getCurrentUser()).thenReturn(currentUser);
+        when(currentUser.getProfile()).thenReturn(profileDescriptor);
+        when(profileDescriptor.getId()).thenReturn(SOME_USER_ID);
+        when(dtoUnmarshallerFactory.newWSUnmarshaller(ApplicationProcessDescriptor.class)).thenReturn(unmarshallable);
+
+        when(processDescriptor1.getProcessId()).thenReturn(1L);
+        when(processDescriptor2.getProcessId()).thenReturn(2L);
+        when(processDescriptor3.getProcessId()).thenReturn(3L);
+
+        cache = new RunningProcessesCache(webSocketUtil, dtoUnmarshallerFactory, appContext, WORKSPACE_ID);
+    }
+
+    @Test
+    public void processesShouldBeNullWhenTheyWereNotLoaded() {
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), nullValue());
+    }
+
+    @Test
+    public void processesShouldBeReturnedWhenTheyWereLoaded() {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1, processDescriptor2));
+
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), is(Arrays.asList(processDescriptor1, processDescriptor2)));
+    }
+
+    @Test
+    public void processesShouldBeReplacedWhenTheyAreLoadedAgain() {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1, processDescriptor2));
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor3));
+
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), is(Arrays.asList(processDescriptor3)));
+    }
+
+    @Test
+    public void channelShouldBeSubscribedOnceForProject() {
+        cache.watch(PATH_TO_PROJECT, listener);
+        cache.watch(PATH_TO_PROJECT, otherListener);
+
+        verify(webSocketUtil).subscribeHandler(eq(CHANNEL), handlerCaptor.capture());
+    }
+
+    @Test
+    public void startedProcessShouldBeCachedAndListenerShouldBeNotified() throws Exception {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1));
+        cache.watch(PATH_TO_PROJECT, listener);
+
+        receive(processDescriptor2);
+
+        List<ApplicationProcessDescriptor> processes = cache.getProcesses(PATH_TO_PROJECT);
+        assertThat(processes, is(Arrays.asList(processDescriptor1, processDescriptor2)));
+        verify(listener).onProcessStarted(processDescriptor2);
+    }
+
+    @Test
+    public void startedProcessShouldBeCachedWhenListenerIsRemoved() throws Exception {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1));
+        cache.watch(PATH_TO_PROJECT, listener);
+        cache.removeListener(PATH_TO_PROJECT);
+
+        receive(processDescriptor2);
+
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), is(Arrays.asList(processDescriptor1, processDescriptor2)));
+        verify(listener, never()).onProcessStarted(any(ApplicationProcessDescriptor.class));
+        verify(webSocketUtil, never()).unSubscribeHandler(anyString(), any(SubscriptionHandler.class));
+    }
+
+    @Test
+    public void startedProcessShouldNotBeCachedWhenProcessesWereNotLoaded() throws Exception {
+        cache.watch(PATH_TO_PROJECT, listener);
+
+        receive(processDescriptor2);
+
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), nullValue());
+        verify(listener).onProcessStarted(processDescriptor2);
+    }
+
+    @Test
+    public void earliestWatchedClosedProjectShouldBeEvictedWhenTooManyProjectsAreCached() throws Exception {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1));
+        cache.watch(PATH_TO_PROJECT, listener);
+        cache.removeListener(PATH_TO_PROJECT);
+        verify(webSocketUtil).subscribeHandler(eq(CHANNEL), handlerCaptor.capture());
+
+        for (int i = 0; i < RunningProcessesCache.MAX_PROJECTS; i++) {
+            cache.watch(PATH_TO_PROJECT + i, otherListener);
+        }
+
+        verify(webSocketUtil).unSubscribeHandler(CHANNEL, handlerCaptor.getValue());
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), nullValue());
+    }
+
+    @Test
+    public void openProjectShouldNotBeEvicted() throws Exception {
+        cache.setProcesses(PATH_TO_PROJECT, Arrays.asList(processDescriptor1));
+        cache.watch(PATH_TO_PROJECT, listener);
+
+        for (int i = 0; i < RunningProcessesCache.MAX_PROJECTS; i++) {
+            cache.watch(PATH_TO_PROJECT + i, otherListener);
+        }
+
+        verify(webSocketUtil, never()).unSubscribeHandler(eq(CHANNEL), any(SubscriptionHandler.class));
+        assertThat(cache.getProcesses(PATH_TO_PROJECT), is(Arrays.asList(processDescriptor1)));
+    }
+
+    private void receive(ApplicationProcessDescriptor processDescriptor) throws Exception {
+        verify(webSocketUtil).subscribeHandler(anyString(), handlerCaptor.capture());
+        TestUtil.invokeMethodByName(handlerCaptor.getValue(), "onMessageReceived", processDescriptor);
+    }
+}
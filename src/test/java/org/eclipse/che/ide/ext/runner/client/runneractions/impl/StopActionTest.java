@@ -89,6 +89,8 @@ public class StopActionTest {
     private AnalyticsEventLogger                                         eventLogger;
     @Mock
     private EventBus                                                     eventBus;
+    @Mock
+    private WorkspaceResources                                           resources;
 
     //action variables
     @Mock
@@ -144,7 +146,8 @@ public class StopActionTest {
                                     consoleContainer,
                                     eventBus,
                                     eventLogger,
-                                    presenter);
+                                    presenter,
+                                    resources);
 
         when(appContext.getCurrentProject()).thenReturn(project);
         when(runner.getStopUrl()).thenReturn(stopLink);
@@ -289,6 +292,19 @@ public class StopActionTest {
         verify(eventBus).fireEvent(Matchers.<RunnerApplicationStatusEvent>any());
     }
 
+    @Test
+    public void memoryOfStoppedProcessShouldBeReleased() {
+        when(descriptor.getProcessId()).thenReturn(12345678L);
+        when(runner.getStatus()).thenReturn(Runner.Status.RUNNING);
+
+        stopAction.perform(runner);
+
+        verify(asyncCallbackBuilder).success(successCallBackCaptor.capture());
+        successCallBackCaptor.getValue().onSuccess(descriptor);
+
+        verify(resources).onProcessFinished(12345678L);
+    }
+
     @Test
     public void shouldSuccessPerformWithStatusNotRunningOrDone() {
         //set status not running or done
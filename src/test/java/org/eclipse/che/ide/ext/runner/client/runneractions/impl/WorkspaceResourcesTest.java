@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl;
+
+import org.eclipse.che.api.runner.dto.ResourcesDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WorkspaceResourcesTest {
+    private static final long PROCESS_ID = 1234567L;
+
+    @Mock
+    private ResourcesDescriptor resourcesDescriptor;
+
+    private WorkspaceResources resources;
+
+    @Before
+    public void setUp() {
+        when(resourcesDescriptor.getTotalMemory()).thenReturn("2048");
+        when(resourcesDescriptor.getUsedMemory()).thenReturn("512");
+
+        resources = new WorkspaceResources();
+    }
+
+    @Test
+    public void resourcesShouldNotBeLoadedByDefault() {
+        assertThat(resources.isLoaded(), is(false));
+    }
+
+    @Test
+    public void resourcesShouldBeLoaded() {
+        resources.setResources(resourcesDescriptor);
+
+        assertThat(resources.isLoaded(), is(true));
+        assertThat(resources.getTotalMemory(), is(2048));
+        assertThat(resources.getUsedMemory(), is(512));
+    }
+
+    @Test
+    public void resourcesShouldBeInvalidated() {
+        resources.setResources(resourcesDescriptor);
+
+        resources.invalidate();
+
+        assertThat(resources.isLoaded(), is(false));
+    }
+
+    @Test
+    public void memoryOfStartedProcessShouldBeUsedOnce() {
+        resources.setResources(resourcesDescriptor);
+
+        resources.onProcessStarted(PROCESS_ID, 256);
+        resources.onProcessStarted(PROCESS_ID, 256);
+
+        assertThat(resources.getUsedMemory(), is(768));
+    }
+
+    @Test
+    public void memoryOfFinishedProcessShouldBeReleasedOnce() {
+        resources.setResources(resourcesDescriptor);
+        resources.onProcessStarted(PROCESS_ID, 256);
+
+        resources.onProcessFinished(PROCESS_ID);
+        resources.onProcessFinished(PROCESS_ID);
+
+        assertThat(resources.getUsedMemory(), is(512));
+    }
+
+    @Test
+    public void memoryShouldNotBeReleasedWhenProcessWasNotStartedInIde() {
+        resources.setResources(resourcesDescriptor);
+
+        resources.onProcessFinished(PROCESS_ID);
+
+        assertThat(resources.getUsedMemory(), is(512));
+    }
+
+    @Test
+    public void memoryOfProcessShouldBeReleasedAfterRevalidation() {
+        resources.onProcessStarted(PROCESS_ID, 256);
+        resources.setResources(resourcesDescriptor);
+
+        resources.onProcessFinished(PROCESS_ID);
+
+        assertThat(resources.getUsedMemory(), is(256));
+    }
+
+    @Test
+    public void trackedProcessesShouldBeForgottenWhenServerUsesLessMemory() {
+        resources.onProcessStarted(PROCESS_ID, 256);
+        resources.onProcessStarted(PROCESS_ID + 1, 512);
+        resources.setResources(resourcesDescriptor);
+
+        resources.onProcessFinished(PROCESS_ID);
+        resources.onProcessFinished(PROCESS_ID + 1);
+
+        assertThat(resources.getUsedMemory(), is(512));
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch;
+
+import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.app.CurrentProject;
+import org.eclipse.che.ide.api.notification.Notification;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetLogsAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.OutputAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions.StatusAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AttachActionTest {
+    private static final String SOME_TEXT = "some text";
+
+    @Mock
+    private Runner                     runner;
+    @Mock
+    private CurrentProject             project;
+    @Mock
+    private ProjectDescriptor          projectDescriptor;
+    @Mock
+    private AppContext                 appContext;
+    @Mock
+    private RunnerLocalizationConstant locale;
+    @Mock
+    private RunnerActionFactory        runnerActionFactory;
+    @Mock
+    private StatusAction               statusAction;
+    @Mock
+    private OutputAction               outputAction;
+    @Mock
+    private GetLogsAction              logsAction;
+    @Mock
+    private LogPage                    page;
+
+    @Captor
+    private ArgumentCaptor<SuccessCallback<LogPage>> logCallbackCaptor;
+
+    private AttachAction action;
+
+    @Before
+    public void setUp() throws Exception {
+        when(runnerActionFactory.createOutput()).thenReturn(outputAction);
+        when(runnerActionFactory.createGetLogs()).thenReturn(logsAction);
+        when(runnerActionFactory.createStatus(Matchers.<Notification>any())).thenReturn(statusAction);
+        when(appContext.getCurrentProject()).thenReturn(project);
+        when(project.getProjectDescription()).thenReturn(projectDescriptor);
+        when(projectDescriptor.getName()).thenReturn(SOME_TEXT);
+        when(locale.projectRunningNow(SOME_TEXT)).thenReturn(SOME_TEXT);
+
+        action = new AttachAction(appContext, locale, runnerActionFactory);
+    }
+
+    @Test
+    public void nothingShouldHappenWhenCurrentProjectIsNull() throws Exception {
+        when(appContext.getCurrentProject()).thenReturn(null);
+
+        action.perform(runner);
+        action.attachOutput();
+
+        verify(runnerActionFactory, never()).createStatus(Matchers.<Notification>any());
+        verify(logsAction, never()).perform(eq(runner), Matchers.<SuccessCallback<LogPage>>any());
+        verify(outputAction, never()).attach(runner);
+    }
+
+    @Test
+    public void onlyStatusShouldBeTrackedAfterPerforming() throws Exception {
+        action.perform(runner);
+
+        verify(project).setIsRunningEnabled(false);
+        verify(statusAction).perform(runner);
+
+        verify(logsAction, never()).perform(eq(runner), Matchers.<SuccessCallback<LogPage>>any());
+        verify(outputAction, never()).attach(runner);
+        assertThat(action.isOutputAttached(), is(false));
+    }
+
+    @Test
+    public void logAndOutputShouldBeAttachedOnce() throws Exception {
+        action.perform(runner);
+
+        action.attachOutput();
+        action.attachOutput();
+
+        verify(outputAction).attach(runner);
+        verify(logsAction).perform(eq(runner), logCallbackCaptor.capture());
+        assertThat(action.isOutputAttached(), is(true));
+
+        logCallbackCaptor.getValue().onSuccess(page);
+
+        verify(outputAction).onLogLoaded(page);
+    }
+
+    @Test
+    public void statusLogAndOutputShouldBeStoppedWhenActionIsStopped() throws Exception {
+        action.perform(runner);
+        action.attachOutput();
+
+        action.stop();
+
+        verify(statusAction).stop();
+        verify(logsAction).stop();
+        verify(outputAction).stop();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.AdaptiveReorderPolicy.INITIAL_DELAY;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.AdaptiveReorderPolicy.MAX_DELAY;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.AdaptiveReorderPolicy.MIN_DELAY;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class AdaptiveReorderPolicyTest {
+
+    private AdaptiveReorderPolicy policy;
+
+    @Before
+    public void setUp() throws Exception {
+        policy = new AdaptiveReorderPolicy();
+    }
+
+    @Test
+    public void initialDelayShouldBeReturnedWhenNoDelayIsObserved() {
+        assertThat(policy.getDelay(), is(INITIAL_DELAY));
+    }
+
+    @Test
+    public void delayShouldNotBeLessThanMinimum() {
+        policy.addDelay(0);
+
+        assertThat(policy.getDelay(), is(MIN_DELAY));
+    }
+
+    @Test
+    public void delayShouldNotBeGreaterThanMaximum() {
+        policy.addDelay(MAX_DELAY * 2);
+
+        assertThat(policy.getDelay(), is(MAX_DELAY));
+    }
+
+    @Test
+    public void delayShouldConvergeToStableObservedDelay() {
+        policy.addDelay(1_000);
+
+        assertThat(policy.getDelay(), is(3_000));
+
+        for (int i = 0; i < 50; i++) {
+            policy.addDelay(1_000);
+        }
+
+        assertThat(policy.getDelay(), is(1_000));
+    }
+
+    @Test
+    public void delayShouldGrowWhenObservedDelaysAreJittery() {
+        for (int i = 0; i < 50; i++) {
+            policy.addDelay(i % 2 == 0 ? 100 : 900);
+        }
+
+        assertThat(policy.getDelay() > 900, is(true));
+    }
+
+    @Test
+    public void delayShouldFollowChangedDelays() {
+        for (int i = 0; i < 50; i++) {
+            policy.addDelay(2_000);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            policy.addDelay(300);
+        }
+
+        assertThat(policy.getDelay(), is(300));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LogFrameDecoderTest {
+
+    private List<LogMessage> messages;
+
+    @Before
+    public void setUp() throws Exception {
+        messages = new ArrayList<>();
+    }
+
+    private void assertMessage(int index, int number, String text) {
+        LogMessage message = messages.get(index);
+
+        assertThat(message.getNumber(), is(number));
+        assertThat(message.getText(), is(text));
+    }
+
+    @Test
+    public void singleMessageShouldBeDecoded() {
+        LogFrameDecoder.decode("{\"num\":3,\"line\":\"[INFO] text\"}", messages);
+
+        assertThat(messages.size(), is(1));
+        assertMessage(0, 3, "[INFO] text");
+    }
+
+    @Test
+    public void fieldsShouldBeDecodedInAnyOrder() {
+        LogFrameDecoder.decode("{ \"line\" : \"text\\twith tab\", \"extra\" : {\"a\":[1,2]}, \"num\" : 5 }", messages);
+
+        assertThat(messages.size(), is(1));
+        assertMessage(0, 5, "text\twith tab");
+    }
+
+    @Test
+    public void arrayOfMessagesShouldBeDecoded() {
+        LogFrameDecoder.decode("[{\"num\":2,\"line\":\"second\"},{\"num\":1,\"line\":\"first\"}]", messages);
+
+        assertThat(messages.size(), is(2));
+        assertMessage(0, 2, "second");
+        assertMessage(1, 1, "first");
+    }
+
+    @Test
+    public void emptyArrayShouldBeDecoded() {
+        LogFrameDecoder.decode("[]", messages);
+
+        assertThat(messages.isEmpty(), is(true));
+    }
+
+    @Test
+    public void arrayOfLinesShouldBeDecoded() {
+        LogFrameDecoder.decode("{\"num\":10,\"lines\":[\"a\",\"b\",null,\"d\"]}", messages);
+
+        assertThat(messages.size(), is(3));
+        assertMessage(0, 10, "a");
+        assertMessage(1, 11, "b");
+        assertMessage(2, 13, "d");
+    }
+
+    @Test
+    public void arrayOfLinesShouldBeDecodedWhenNumberGoesAfterIt() {
+        LogFrameDecoder.decode("{\"lines\":[\"a\",\"b\"],\"num\":7}", messages);
+
+        assertThat(messages.size(), is(2));
+        assertMessage(0, 7, "a");
+        assertMessage(1, 8, "b");
+    }
+
+    @Test
+    public void objectWithoutLineShouldBeIgnored() {
+        LogFrameDecoder.decode("{\"num\":1}", messages);
+
+        assertThat(messages.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lineWithoutNumberShouldNotBeDecoded() {
+        LogFrameDecoder.decode("{\"line\":\"text\"}", messages);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fractionalNumberShouldNotBeDecoded() {
+        LogFrameDecoder.decode("{\"num\":1.0,\"line\":\"text\"}", messages);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void plainStringShouldNotBeDecoded() {
+        LogFrameDecoder.decode("\"text\"", messages);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void contentAfterFrameShouldNotBeDecoded() {
+        LogFrameDecoder.decode("{\"num\":1,\"line\":\"text\"} {}", messages);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void truncatedFrameShouldNotBeDecoded() {
+        LogFrameDecoder.decode("[{\"num\":1,\"line\":\"text\"}", messages);
+    }
+
+}
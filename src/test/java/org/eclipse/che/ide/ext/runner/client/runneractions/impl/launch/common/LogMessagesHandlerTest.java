@@ -10,12 +10,18 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
 
+import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.ide.collections.js.JsoArray;
 import org.eclipse.che.ide.commons.exception.UnmarshallerException;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogRangeReader;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
-import org.eclipse.che.ide.ext.runner.client.constants.TimeInterval;
 import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.rest.Pair;
 import com.google.gwt.user.client.Timer;
@@ -25,11 +31,23 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.AdaptiveReorderPolicy.INITIAL_DELAY;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.AdaptiveReorderPolicy.MIN_DELAY;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -44,6 +62,14 @@ public class LogMessagesHandlerTest {
     private static final String MESSAGE1 = "message1";
     private static final String MESSAGE2 = "message2";
     private static final String MESSAGE3 = "message3";
+    private static final String LOG_URL  = "http://localhost/logs";
+
+    @Captor
+    private ArgumentCaptor<SuccessCallback<LogPage>>   successCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<FailureCallback>            failureCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<TimerFactory.TimerCallBack> timerCaptor;
 
     //mocks for constructor
     @Mock
@@ -53,10 +79,14 @@ public class LogMessagesHandlerTest {
     @Mock
     private TimerFactory                    timerFactory;
     @Mock
+    private LogRangeReader                  rangeReader;
+    @Mock
     private Runner                          runner;
     @Mock
     private LogMessagesHandler.ErrorHandler errorHandler;
 
+    @Mock
+    private Link           logLink;
     @Mock
     private JsoArray<Pair> headers;
     @Mock
@@ -76,13 +106,15 @@ public class LogMessagesHandlerTest {
     @Mock
     private Message        message3;
 
+    private RunnerMetrics      runnerMetrics;
     private LogMessagesHandler logMessagesHandler;
 
     @Before
     public void setUp() {
         when(timerFactory.newInstance(any(TimerFactory.TimerCallBack.class))).thenReturn(flushTimer);
 
-        logMessagesHandler = new LogMessagesHandler(unmarshaller, consoleContainer, timerFactory, runner, errorHandler);
+        runnerMetrics = new RunnerMetrics();
+        logMessagesHandler = new LogMessagesHandler(unmarshaller, consoleContainer, timerFactory, rangeReader, runnerMetrics, runner, errorHandler);
 
         when(headers.size()).thenReturn(1);
         when(headers.get(0)).thenReturn(pair1);
@@ -96,7 +128,9 @@ public class LogMessagesHandlerTest {
         when(logMessage2.getText()).thenReturn(MESSAGE2);
         when(logMessage3.getText()).thenReturn(MESSAGE3);
 
-        when(unmarshaller.getPayload()).thenReturn(logMessage1).thenReturn(logMessage2).thenReturn(logMessage3);
+        when(unmarshaller.getPayload()).thenReturn(singletonList(logMessage1))
+                                       .thenReturn(singletonList(logMessage2))
+                                       .thenReturn(singletonList(logMessage3));
     }
 
     @Test
@@ -109,7 +143,7 @@ public class LogMessagesHandlerTest {
         timerCaptor.getValue().onRun();
         verify(logMessage1).getText();
         verify(consoleContainer).print(runner, MESSAGE1);
-        verify(logMessage1, times(2)).getNumber();
+        verify(logMessage1, times(3)).getNumber();
     }
 
     @Test
@@ -132,16 +166,16 @@ public class LogMessagesHandlerTest {
         logMessagesHandler.stop();
 
         verify(logMessage1).getText();
-        verify(consoleContainer).print(runner, MESSAGE1);
-        verify(logMessage1, times(2)).getNumber();
+        verify(logMessage1, times(3)).getNumber();
 
         verify(logMessage2).getText();
-        verify(consoleContainer).print(runner, MESSAGE2);
-        verify(logMessage2, times(2)).getNumber();
+        verify(logMessage2, times(3)).getNumber();
 
         verify(logMessage3).getText();
-        verify(consoleContainer).print(runner, MESSAGE3);
-        verify(logMessage3, times(2)).getNumber();
+        verify(logMessage3, times(3)).getNumber();
+
+        // all buffered messages are printed by one batch
+        verify(consoleContainer).print(runner, MESSAGE2 + '\n' + MESSAGE1 + '\n' + MESSAGE3);
 
         verify(flushTimer).cancel();
     }
@@ -153,12 +187,13 @@ public class LogMessagesHandlerTest {
 
         logMessagesHandler.onMessage(message1);
 
-        verify(flushTimer).cancel();
         verify(logMessage1).getText();
         verify(consoleContainer).print(runner, MESSAGE1);
-        verify(logMessage1, times(2)).getNumber();
+        verify(logMessage1, times(3)).getNumber();
 
-        verify(flushTimer).schedule(TimeInterval.FIVE_SEC.getValue());
+        // there is no gap, so the timer isn't needed
+        verify(flushTimer, never()).cancel();
+        verify(flushTimer, never()).schedule(anyInt());
     }
 
     /* If we get message with wrong ordinal index we can't print this message. This message we should put in queue.*/
@@ -169,9 +204,9 @@ public class LogMessagesHandlerTest {
         verify(flushTimer, never()).cancel();
         verify(logMessage1, never()).getText();
         verify(consoleContainer, never()).print(runner, MESSAGE1);
-        verify(logMessage1).getNumber();
+        verify(logMessage1, times(2)).getNumber();
 
-        verify(flushTimer).schedule(TimeInterval.FIVE_SEC.getValue());
+        verify(flushTimer, never()).schedule(anyInt());
     }
 
     /*
@@ -192,18 +227,18 @@ public class LogMessagesHandlerTest {
         verify(flushTimer).cancel();
 
         verify(logMessage1).getText();
-        verify(consoleContainer).print(runner, MESSAGE1);
         verify(logMessage1, times(3)).getNumber();
 
         verify(logMessage2).getText();
-        verify(consoleContainer).print(runner, MESSAGE2);
         verify(logMessage2, times(3)).getNumber();
 
         verify(logMessage3).getText();
-        verify(consoleContainer).print(runner, MESSAGE3);
-        verify(logMessage3, times(2)).getNumber();
+        verify(logMessage3, times(3)).getNumber();
 
-        verify(flushTimer, times(3)).schedule(TimeInterval.FIVE_SEC.getValue());
+        verify(consoleContainer).print(runner, MESSAGE3 + '\n' + MESSAGE1 + '\n' + MESSAGE2);
+
+        // the timer is armed once for the gap and it isn't rearmed by messages received during the gap
+        verify(flushTimer).schedule(INITIAL_DELAY);
     }
 
     /*
@@ -223,18 +258,19 @@ public class LogMessagesHandlerTest {
 
         verify(flushTimer).cancel();
         verify(logMessage1).getText();
-        verify(consoleContainer).print(runner, MESSAGE1);
         verify(logMessage1, times(3)).getNumber();
 
         verify(logMessage2).getText();
-        verify(consoleContainer).print(runner, MESSAGE2);
-        verify(logMessage2, times(2)).getNumber();
+        verify(logMessage2, times(3)).getNumber();
+
+        verify(consoleContainer).print(runner, MESSAGE2 + '\n' + MESSAGE1);
 
         verify(logMessage3, never()).getText();
         verify(consoleContainer, never()).print(runner, MESSAGE3);
-        verify(logMessage3).getNumber();
+        verify(logMessage3, times(2)).getNumber();
 
-        verify(flushTimer, times(3)).schedule(TimeInterval.FIVE_SEC.getValue());
+        verify(flushTimer).schedule(INITIAL_DELAY);
+        verify(flushTimer, times(2)).schedule(anyInt());
     }
 
     @Test
@@ -264,4 +300,356 @@ public class LogMessagesHandlerTest {
 
         verify(errorHandler).onErrorHappened();
     }
+
+    private void receive(int number, String text) {
+        logMessagesHandler.onMessageReceived(singletonList(new LogMessage(number, text)));
+    }
+
+    private void runFlushTimer() {
+        verify(timerFactory).newInstance(timerCaptor.capture());
+        timerCaptor.getValue().onRun();
+    }
+
+    private void prepareLogUrl() {
+        when(logLink.getHref()).thenReturn(LOG_URL);
+        when(runner.getLogUrl()).thenReturn(logLink);
+    }
+
+    @Test
+    public void flushTimerShouldNotBeRearmedWhileDeadlineOfGapIsTheSame() {
+        receive(1, "a");
+        receive(3, "c");
+        receive(4, "d");
+        receive(5, "e");
+
+        verify(flushTimer).schedule(INITIAL_DELAY);
+        verify(flushTimer, never()).cancel();
+
+        receive(2, "b");
+
+        verify(consoleContainer).print(runner, "b\nc\nd\ne");
+        verify(flushTimer).cancel();
+    }
+
+    @Test
+    public void deadlineShouldBeShortenedWhenGapsAreFilledQuickly() {
+        for (int number = 1; number < 20; number += 2) {
+            receive(number + 1, "line");
+            receive(number, "line");
+        }
+
+        receive(22, "line");
+
+        verify(flushTimer).schedule(INITIAL_DELAY);
+        verify(flushTimer, atLeastOnce()).schedule(MIN_DELAY);
+    }
+
+    @Test
+    public void missingLinesShouldBeLoadedFromLogAndSplicedIntoGap() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(2, "bb");
+        receive(5, "e");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL),
+                                 eq("bytes=5-" + (5 + 3 * LogMessagesHandler.LINE_LENGTH - 1)),
+                                 successCallbackCaptor.capture(),
+                                 any(FailureCallback.class));
+
+        successCallbackCaptor.getValue().onSuccess(new LogPage(5, 13, 100, "c\nd\ne\nf\n"));
+
+        InOrder inOrder = inOrder(consoleContainer);
+        inOrder.verify(consoleContainer).print(runner, "a");
+        inOrder.verify(consoleContainer).print(runner, "bb");
+        inOrder.verify(consoleContainer).print(runner, "c\nd\ne");
+
+        OutputMetrics metrics = runnerMetrics.getMetrics(runner);
+        assertThat(metrics.getTotalLines(), is(5L));
+        assertThat(metrics.getTotalBytes(), is(11L));
+        assertThat(metrics.getDetectedGaps(), is(1));
+        assertThat(metrics.getRecoveredGaps(), is(1));
+        assertThat(metrics.getReorderDepth(), is(0));
+        assertThat(metrics.getMaxReorderDepth(), is(1));
+    }
+
+    @Test
+    public void gapShouldBeSkippedWhenNoMissingLineIsLoaded() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+        successCallbackCaptor.getValue().onSuccess(new LogPage(2, 4, 100, "bbb"));
+
+        verify(consoleContainer).print(runner, "c");
+    }
+
+    @Test
+    public void gapShouldBeSkippedWhenLoadedLinesAreInconsistent() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+        successCallbackCaptor.getValue().onSuccess(new LogPage(2, 8, 100, "b\nzzz\n"));
+
+        verify(consoleContainer, never()).print(runner, "b");
+        verify(consoleContainer).print(runner, "c");
+
+        // positions of lines aren't known anymore, so the next gap is skipped without loading
+        receive(5, "e");
+        timerCaptor.getValue().onRun();
+
+        verify(rangeReader).read(anyString(), anyString(), Matchers.<SuccessCallback<LogPage>>anyObject(), any(FailureCallback.class));
+        verify(consoleContainer).print(runner, "e");
+    }
+
+    @Test
+    public void gapShouldBeSkippedWhenLinesAreNotLoaded() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), Matchers.<SuccessCallback<LogPage>>anyObject(), failureCallbackCaptor.capture());
+        failureCallbackCaptor.getValue().onFailure(new Exception());
+
+        verify(consoleContainer).print(runner, "c");
+    }
+
+    @Test
+    public void gapShouldBeSkippedWhenRunnerHasNoLog() {
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+        verify(consoleContainer).print(runner, "c");
+    }
+
+    @Test
+    public void loadedLinesShouldBeIgnoredWhenGapWasSkippedDuringLoading() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+
+        logMessagesHandler.stop();
+        successCallbackCaptor.getValue().onSuccess(new LogPage(2, 6, 100, "b\nc\n"));
+
+        verify(consoleContainer, never()).print(runner, "b");
+        verify(consoleContainer).print(runner, "c");
+    }
+
+    @Test
+    public void missedLinesShouldBeLoadedFromLastPrintedLine() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(2, "bb");
+
+        logMessagesHandler.loadMissedLines();
+
+        verify(rangeReader).read(eq(LOG_URL),
+                                 eq(LogRangeReader.getRange(5, 5 + LogMessagesHandler.MAX_RECOVERY_LENGTH - 1)),
+                                 successCallbackCaptor.capture(),
+                                 any(FailureCallback.class));
+        successCallbackCaptor.getValue().onSuccess(new LogPage(5, 10, 10, "c\nd\ne"));
+
+        verify(consoleContainer).print(runner, "c\nd");
+
+        // the incomplete line is delivered by WebSocket
+        receive(3, "c");
+        receive(5, "e");
+
+        verify(consoleContainer).print(runner, "e");
+        verify(consoleContainer, times(1)).print(runner, "c\nd");
+    }
+
+    @Test
+    public void missedLinesShouldBeLoadedUntilEndOfLog() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        logMessagesHandler.loadMissedLines();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+        successCallbackCaptor.getValue().onSuccess(new LogPage(2, 6, 100, "b\nc\n"));
+
+        verify(consoleContainer).print(runner, "b\nc");
+        verify(rangeReader).read(eq(LOG_URL),
+                                 eq(LogRangeReader.getRange(6, 6 + LogMessagesHandler.MAX_RECOVERY_LENGTH - 1)),
+                                 Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                 any(FailureCallback.class));
+    }
+
+    @Test
+    public void missedLinesShouldBeLoadedUpToLimitOfPages() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        logMessagesHandler.loadMissedLines();
+
+        for (int i = 1; i <= LogMessagesHandler.MAX_MISSED_PAGES; i++) {
+            verify(rangeReader, times(i)).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+
+            int start = 2 * i;
+            successCallbackCaptor.getValue().onSuccess(new LogPage(start, start + 2, 100, "x\n"));
+        }
+
+        verify(rangeReader, times(LogMessagesHandler.MAX_MISSED_PAGES)).read(anyString(),
+                                                                            anyString(),
+                                                                            Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                                                            any(FailureCallback.class));
+    }
+
+    @Test
+    public void missedLinesShouldNotBeLoadedWhenNoLineWasPrinted() {
+        prepareLogUrl();
+
+        logMessagesHandler.loadMissedLines();
+
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+    }
+
+    @Test
+    public void missedLinesShouldNotBeLoadedWhenPositionInLogIsUnknown() {
+        prepareLogUrl();
+
+        receive(2, "b");
+        logMessagesHandler.stop();
+
+        logMessagesHandler.loadMissedLines();
+
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+    }
+
+    @Test
+    public void loadedMissedLinesShouldBeIgnoredWhenLinesWerePrintedDuringLoading() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        logMessagesHandler.loadMissedLines();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), successCallbackCaptor.capture(), any(FailureCallback.class));
+
+        receive(2, "b");
+        successCallbackCaptor.getValue().onSuccess(new LogPage(2, 6, 6, "b\nc\n"));
+
+        verify(consoleContainer).print(runner, "b");
+        verify(consoleContainer, never()).print(runner, "b\nc");
+    }
+
+    @Test
+    public void gapShouldNotBeRecoveredWhenWindowWasMovedWithoutPrinting() {
+        prepareLogUrl();
+
+        receive(LogReorderBuffer.WINDOW_SIZE + 5, "x");
+
+        runFlushTimer();
+
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+        verify(consoleContainer).print(runner, "x");
+    }
+
+    @Test
+    public void flushTimerShouldBeRearmedWhenDeadlineIsReachedDuringRecovery() {
+        prepareLogUrl();
+
+        receive(1, "a");
+        receive(3, "c");
+
+        runFlushTimer();
+        timerCaptor.getValue().onRun();
+
+        verify(rangeReader).read(eq(LOG_URL), anyString(), Matchers.<SuccessCallback<LogPage>>anyObject(), any(FailureCallback.class));
+        verify(flushTimer).schedule(anyInt());
+
+        receive(5, "e");
+
+        verify(flushTimer, times(2)).schedule(anyInt());
+    }
+
+    @Test
+    public void attachedHandlerShouldNotLoadLinesWhichPrecedeFirstReceivedLine() {
+        prepareLogUrl();
+        logMessagesHandler.attach();
+
+        receive(5, "e");
+        logMessagesHandler.loadMissedLines();
+
+        verify(consoleContainer).print(runner, "e");
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+    }
+
+    @Test
+    public void attachedHandlerShouldContinueWholeShownLog() {
+        prepareLogUrl();
+        logMessagesHandler.attach();
+
+        logMessagesHandler.onLogLoaded(new LogPage(0, 4, 4, "a\nb\n"));
+
+        receive(2, "b");
+        receive(4, "d");
+
+        verify(consoleContainer, never()).print(runner, "b");
+
+        runFlushTimer();
+
+        verify(rangeReader).read(eq(LOG_URL),
+                                 eq(LogRangeReader.getRange(4, 4 + 2 * LogMessagesHandler.LINE_LENGTH - 1)),
+                                 Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                 any(FailureCallback.class));
+    }
+
+    @Test
+    public void attachedHandlerShouldNotRecoverGapsWhenShownLogIsNotComplete() {
+        prepareLogUrl();
+        logMessagesHandler.attach();
+
+        logMessagesHandler.onLogLoaded(new LogPage(100, 200, 200, "b\nc\n"));
+
+        receive(5, "e");
+        receive(7, "g");
+
+        runFlushTimer();
+
+        verify(rangeReader, never()).read(anyString(),
+                                          anyString(),
+                                          Matchers.<SuccessCallback<LogPage>>anyObject(),
+                                          any(FailureCallback.class));
+        verify(consoleContainer).print(runner, "e");
+        verify(consoleContainer).print(runner, "g");
+    }
 }
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.eclipse.che.ide.collections.js.JsoArray;
+import org.eclipse.che.ide.ext.runner.client.metrics.OutputMetrics;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
+import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogRangeReader;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
+import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
+import org.eclipse.che.ide.websocket.Message;
+import org.eclipse.che.ide.websocket.rest.Pair;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.gwt.user.client.Timer;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recorded batched frames are replayed through a fake message bus at a high rate and the output of the handler is checked.
+ *
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class LogMessagesReplayTest {
+
+    private static final String CHANNEL     = "runner:output:1";
+    private static final int    LINE_COUNT  = 100_000;
+    private static final int    FRAME_LINES = 500;
+
+    @Mock
+    private LogMessageUnmarshaller          unmarshaller;
+    @Mock
+    private ConsoleContainer                consoleContainer;
+    @Mock
+    private TimerFactory                    timerFactory;
+    @Mock
+    private LogRangeReader                  rangeReader;
+    @Mock
+    private Runner                          runner;
+    @Mock
+    private LogMessagesHandler.ErrorHandler errorHandler;
+    @Mock
+    private Timer                           flushTimer;
+
+    private RunnerMetrics      runnerMetrics;
+    private FakeMessageBus     messageBus;
+    private LogMessagesHandler handler;
+
+    @Before
+    public void setUp() throws Exception {
+        when(timerFactory.newInstance(any(TimerFactory.TimerCallBack.class))).thenReturn(flushTimer);
+
+        runnerMetrics = new RunnerMetrics();
+        messageBus = new FakeMessageBus(unmarshaller);
+        handler = new LogMessagesHandler(unmarshaller, consoleContainer, timerFactory, rangeReader, runnerMetrics, runner, errorHandler);
+
+        messageBus.subscribe(CHANNEL, handler);
+    }
+
+    /** Records frames which contain {@link #FRAME_LINES} lines each. Lines are shuffled inside frames and neighbour frames are swapped. */
+    private List<List<LogMessage>> recordFrames(long seed) {
+        Random random = new Random(seed);
+        List<List<LogMessage>> frames = new ArrayList<>();
+
+        for (int first = 1; first <= LINE_COUNT; first += FRAME_LINES) {
+            List<LogMessage> frame = new ArrayList<>();
+
+            for (int number = first; number < first + FRAME_LINES; number++) {
+                frame.add(new LogMessage(number, "line " + number));
+            }
+
+            Collections.shuffle(frame, random);
+            frames.add(frame);
+        }
+
+        for (int i = 1; i < frames.size(); i += 2) {
+            if (random.nextBoolean()) {
+                Collections.swap(frames, i - 1, i);
+            }
+        }
+
+        return frames;
+    }
+
+    private List<String> getPrintedLines(int maxBatches) {
+        ArgumentCaptor<String> textCaptor = ArgumentCaptor.forClass(String.class);
+        verify(consoleContainer, atMost(maxBatches)).print(eq(runner), textCaptor.capture());
+
+        List<String> lines = new ArrayList<>();
+        for (String text : textCaptor.getAllValues()) {
+            Collections.addAll(lines, text.split("\n"));
+        }
+
+        return lines;
+    }
+
+    @Test
+    public void allLinesShouldBePrintedInOrderByBatches() throws Exception {
+        List<List<LogMessage>> frames = recordFrames(7);
+
+        for (List<LogMessage> frame : frames) {
+            messageBus.publish(CHANNEL, frame);
+        }
+
+        List<String> lines = getPrintedLines(frames.size());
+
+        assertThat(lines.size(), is(LINE_COUNT));
+        for (int i = 0; i < LINE_COUNT; i++) {
+            assertThat(lines.get(i), equalTo("line " + (i + 1)));
+        }
+
+        OutputMetrics metrics = runnerMetrics.getMetrics(runner);
+        assertThat(metrics.getTotalLines(), is((long)LINE_COUNT));
+        assertThat(metrics.getReorderDepth(), is(0));
+        assertThat(metrics.getMaxReorderDepth() > 0, is(true));
+    }
+
+    @Test
+    public void linesAfterLostFrameShouldBePrintedWhenHandlerIsStopped() throws Exception {
+        List<List<LogMessage>> frames = recordFrames(11);
+        List<LogMessage> lostFrame = frames.remove(frames.size() / 2);
+
+        for (List<LogMessage> frame : frames) {
+            messageBus.publish(CHANNEL, frame);
+        }
+
+        handler.stop();
+
+        List<String> lines = getPrintedLines(frames.size() + 1);
+
+        assertThat(lines.size(), is(LINE_COUNT - lostFrame.size()));
+        for (int i = 1; i < lines.size(); i++) {
+            int previous = Integer.parseInt(lines.get(i - 1).substring("line ".length()));
+            int current = Integer.parseInt(lines.get(i).substring("line ".length()));
+
+            assertThat(current > previous, is(true));
+        }
+    }
+
+    /** The message bus which delivers frames to subscribed handlers without a WebSocket connection. */
+    private static class FakeMessageBus {
+        private final LogMessageUnmarshaller              unmarshaller;
+        private final Map<String, SubscriptionHandler<?>> handlers;
+        private final JsoArray<Pair>                      headers;
+
+        @SuppressWarnings("unchecked")
+        private FakeMessageBus(LogMessageUnmarshaller unmarshaller) {
+            this.unmarshaller = unmarshaller;
+            this.handlers = new HashMap<>();
+
+            Pair pair = mock(Pair.class);
+            when(pair.getName()).thenReturn("x-everrest-websocket-message-type");
+            when(pair.getValue()).thenReturn("none");
+
+            this.headers = mock(JsoArray.class);
+            when(headers.size()).thenReturn(1);
+            when(headers.get(0)).thenReturn(pair);
+        }
+
+        private void subscribe(String channel, SubscriptionHandler<?> handler) {
+            handlers.put(channel, handler);
+        }
+
+        /** Delivers a recorded frame. The unmarshaller returns the content of the frame which was delivered last. */
+        private void publish(String channel, final List<LogMessage> frame) throws Exception {
+            Message message = mock(Message.class);
+            when(message.getHeaders()).thenReturn(headers);
+
+            when(unmarshaller.getPayload()).thenAnswer(new Answer<List<LogMessage>>() {
+                @Override
+                public List<LogMessage> answer(InvocationOnMock invocation) throws Throwable {
+                    return frame;
+                }
+            });
+
+            handlers.get(channel).onMessage(message);
+        }
+    }
+
+}
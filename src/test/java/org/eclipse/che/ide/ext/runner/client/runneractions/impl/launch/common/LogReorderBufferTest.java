@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogReorderBuffer.WINDOW_SIZE;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The buffer is checked with in-order, shuffled and gapped traces of messages.
+ *
+ * @author Andrey Plotnikov
+ */
+public class LogReorderBufferTest {
+
+    private List<Integer>    printed;
+    private LogReorderBuffer buffer;
+
+    @Before
+    public void setUp() throws Exception {
+        printed = new ArrayList<>();
+
+        buffer = new LogReorderBuffer(new LogReorderBuffer.Printer() {
+            @Override
+            public void print(@Nonnull LogMessage message) {
+                printed.add(message.getNumber());
+            }
+        });
+    }
+
+    private void add(int... numbers) {
+        for (int number : numbers) {
+            buffer.add(new LogMessage(number, "line " + number));
+        }
+    }
+
+    private List<Integer> range(int from, int to) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            result.add(i);
+        }
+
+        return result;
+    }
+
+    @Test
+    public void inOrderTraceShouldBePrintedAtOnce() throws Exception {
+        for (int i = 1; i <= 10_000; i++) {
+            add(i);
+        }
+
+        assertThat(printed, equalTo(range(1, 10_000)));
+        assertThat(buffer.getBuffered(), is(0));
+        assertThat(buffer.getBase(), is(10_001));
+    }
+
+    @Test
+    public void shuffledTraceShouldBePrintedInOrder() throws Exception {
+        List<Integer> trace = range(1, 10_000);
+
+        // messages are shuffled inside blocks which are smaller than the window
+        Random random = new Random(42);
+        for (int from = 0; from < trace.size(); from += WINDOW_SIZE / 2) {
+            Collections.shuffle(trace.subList(from, Math.min(trace.size(), from + WINDOW_SIZE / 2)), random);
+        }
+
+        for (int number : trace) {
+            add(number);
+        }
+
+        assertThat(printed, equalTo(range(1, 10_000)));
+        assertThat(buffer.hasGap(), is(false));
+    }
+
+    @Test
+    public void messagesAfterGapShouldWaitForMissingMessage() throws Exception {
+        add(1, 2, 4, 5, 7);
+
+        assertThat(printed, equalTo(range(1, 2)));
+        assertThat(buffer.hasGap(), is(true));
+        assertThat(buffer.getBase(), is(3));
+        assertThat(buffer.getGapEnd(), is(3));
+        assertThat(buffer.getBuffered(), is(3));
+
+        add(3);
+
+        assertThat(printed, equalTo(range(1, 5)));
+        assertThat(buffer.getBase(), is(6));
+        assertThat(buffer.getGapEnd(), is(6));
+    }
+
+    @Test
+    public void bufferedMessagesShouldBePrintedSkippingGapsWhenBufferIsFlushed() throws Exception {
+        add(3, 5, 6);
+
+        buffer.flush();
+
+        assertThat(printed, equalTo(Arrays.asList(3, 5, 6)));
+        assertThat(buffer.getBase(), is(7));
+        assertThat(buffer.hasGap(), is(false));
+        assertThat(buffer.getGapEnd(), is(-1));
+    }
+
+    @Test
+    public void lateAndDuplicatedMessagesShouldBeIgnored() throws Exception {
+        add(1, 2, 2, 1, 4, 4);
+
+        buffer.flush();
+        add(3);
+
+        assertThat(printed, equalTo(Arrays.asList(1, 2, 4)));
+    }
+
+    @Test
+    public void windowShouldBeMovedWhenMessageIsTooFarAhead() throws Exception {
+        add(2, 3, WINDOW_SIZE + 5);
+
+        assertThat(printed, equalTo(Arrays.asList(2, 3)));
+        assertThat(buffer.getBase(), is(6));
+        assertThat(buffer.getBuffered(), is(1));
+        assertThat(buffer.getGapEnd(), is(WINDOW_SIZE + 4));
+    }
+
+    @Test
+    public void hugeJumpOfNumberShouldNotCauseUnboundedWork() throws Exception {
+        add(1, 3, Integer.MAX_VALUE - 1);
+
+        assertThat(printed, equalTo(Arrays.asList(1, 3)));
+        assertThat(buffer.getBuffered(), is(1));
+
+        buffer.flush();
+
+        assertThat(printed, equalTo(Arrays.asList(1, 3, Integer.MAX_VALUE - 1)));
+    }
+
+    @Test
+    public void gappedTraceShouldBePrintedInOrderAfterFlush() throws Exception {
+        List<Integer> expected = new ArrayList<>();
+
+        // every tenth message is lost
+        for (int i = 1; i <= 10_000; i++) {
+            if (i % 10 != 0) {
+                add(i);
+                expected.add(i);
+            }
+        }
+
+        buffer.flush();
+
+        assertThat(printed, equalTo(expected));
+        assertThat(buffer.getBuffered(), is(0));
+    }
+
+    @Test
+    public void windowShouldBeMovedWithoutPrintingWhenMessagesAreSkipped() throws Exception {
+        add(3, 7);
+
+        buffer.skip(5);
+
+        assertThat(printed.isEmpty(), is(true));
+        assertThat(buffer.getBase(), is(5));
+        assertThat(buffer.getBuffered(), is(1));
+
+        add(4, 5, 6);
+
+        assertThat(printed, equalTo(range(5, 7)));
+    }
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
+import org.eclipse.che.ide.ext.runner.client.util.UrlProbe;
+import com.google.gwt.user.client.Timer;
+import com.google.gwtmockito.GwtMockitoTestRunner;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(GwtMockitoTestRunner.class)
+public class ReadinessProberTest {
+
+    private static final String URL           = "http://localhost:8080/app";
+    private static final int    INITIAL_DELAY = 250;
+    private static final int    MAX_DELAY     = 1000;
+    private static final int    MAX_ATTEMPTS  = 4;
+
+    @Captor
+    private ArgumentCaptor<TimerFactory.TimerCallBack> timerCaptor;
+    @Captor
+    private ArgumentCaptor<SuccessCallback<Integer>>   successCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<FailureCallback>            failureCallbackCaptor;
+
+    @Mock
+    private UrlProbe                      urlProbe;
+    @Mock
+    private TimerFactory                  timerFactory;
+    @Mock
+    private Timer                         probeTimer;
+    @Mock
+    private ReadinessProber.ReadyCallback callback;
+
+    private ReadinessProber prober;
+
+    @Before
+    public void setUp() {
+        when(timerFactory.newInstance(any(TimerFactory.TimerCallBack.class))).thenReturn(probeTimer);
+
+        prober = new ReadinessProber(urlProbe, timerFactory, INITIAL_DELAY, MAX_DELAY, MAX_ATTEMPTS);
+
+        verify(timerFactory).newInstance(timerCaptor.capture());
+    }
+
+    private void runProbe(int probe) {
+        timerCaptor.getValue().onRun();
+
+        verify(urlProbe, times(probe)).probe(eq(URL), successCallbackCaptor.capture(), failureCallbackCaptor.capture());
+    }
+
+    @Test
+    public void firstProbeShouldBeScheduledWithInitialDelay() {
+        prober.start(URL, callback);
+
+        verify(probeTimer).schedule(INITIAL_DELAY);
+        verify(urlProbe, never()).probe(eq(URL), any(SuccessCallback.class), any(FailureCallback.class));
+    }
+
+    @Test
+    public void delayShouldBeDoubledUntilMaximumDelay() {
+        prober.start(URL, callback);
+
+        runProbe(1);
+        failureCallbackCaptor.getValue().onFailure(new Exception());
+
+        runProbe(2);
+        successCallbackCaptor.getValue().onSuccess(502);
+
+        runProbe(3);
+        failureCallbackCaptor.getValue().onFailure(new Exception());
+
+        InOrder inOrder = inOrder(probeTimer);
+        inOrder.verify(probeTimer).schedule(INITIAL_DELAY);
+        inOrder.verify(probeTimer).schedule(500);
+        inOrder.verify(probeTimer, times(2)).schedule(MAX_DELAY);
+
+        verify(callback, never()).onReady();
+    }
+
+    @Test
+    public void callbackShouldBeCalledWhenApplicationResponds() {
+        prober.start(URL, callback);
+
+        runProbe(1);
+        successCallbackCaptor.getValue().onSuccess(302);
+
+        verify(callback).onReady();
+        verify(probeTimer).schedule(anyInt());
+    }
+
+    @Test
+    public void probingShouldBeContinuedWhenStatusOfResponseCantBeRead() {
+        prober.start(URL, callback);
+
+        runProbe(1);
+        successCallbackCaptor.getValue().onSuccess(0);
+
+        verify(callback, never()).onReady();
+        verify(probeTimer, times(2)).schedule(anyInt());
+    }
+
+    @Test
+    public void probingShouldBeStoppedWhenMaximumAmountOfProbesIsSent() {
+        prober.start(URL, callback);
+
+        for (int probe = 1; probe <= MAX_ATTEMPTS; probe++) {
+            runProbe(probe);
+            failureCallbackCaptor.getValue().onFailure(new Exception());
+        }
+
+        verify(probeTimer, times(MAX_ATTEMPTS)).schedule(anyInt());
+        verify(probeTimer, times(2)).cancel();
+
+        timerCaptor.getValue().onRun();
+
+        verify(urlProbe, times(MAX_ATTEMPTS)).probe(eq(URL), any(SuccessCallback.class), any(FailureCallback.class));
+    }
+
+    @Test
+    public void responseShouldBeIgnoredWhenProbingIsStopped() {
+        prober.start(URL, callback);
+
+        runProbe(1);
+        prober.stop();
+        successCallbackCaptor.getValue().onSuccess(200);
+
+        verify(callback, never()).onReady();
+    }
+
+    @Test
+    public void probeShouldNotBeSentWhenProbingIsStopped() {
+        prober.start(URL, callback);
+        prober.stop();
+
+        timerCaptor.getValue().onRun();
+
+        verify(urlProbe, never()).probe(eq(URL), any(SuccessCallback.class), any(FailureCallback.class));
+    }
+
+}
@@ -17,7 +17,10 @@ import org.eclipse.che.ide.api.notification.Notification;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.TestUtil;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.ReadinessProber;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.TimerFactory;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
@@ -34,8 +37,10 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 
 import static org.eclipse.che.ide.api.notification.Notification.Status.FINISHED;
+import static org.eclipse.che.ide.api.notification.Notification.Type.INFO;
 import static org.eclipse.che.ide.api.notification.Notification.Type.WARNING;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,6 +60,7 @@ public class CheckHealthStatusActionTest {
     private static final long   PROCESS_ID           = 1234567L;
     private static final String WEB_SOCKET_CHANNEL   = APP_HEALTH_CHANNEL + PROCESS_ID;
     private static final String RESULT               = "some message";
+    private static final String ALIVE_RESULT         = "{\"url\":\"http://localhost:8080\",\"status\":\"OK\"}";
 
     //variables for constructor
     @Mock
@@ -70,21 +76,27 @@ public class CheckHealthStatusActionTest {
     @Mock
     private TimerFactory               timerFactory;
     @Mock
+    private ReadinessProber            readinessProber;
+    @Mock
+    private RunnerMetrics              runnerMetrics;
+    @Mock
     private Notification               notification;
 
     @Mock
-    private CurrentProject                              project;
+    private CurrentProject                                project;
     @Mock
-    private Runner                                      runner;
+    private Runner                                        runner;
     @Mock
-    private ProjectDescriptor                           projectDescriptor;
+    private ProjectDescriptor                             projectDescriptor;
     @Mock
-    private Timer                                       changeAppAliveTimer;
+    private Timer                                         changeAppAliveTimer;
     //captors
     @Captor
-    private ArgumentCaptor<TimerFactory.TimerCallBack>  changeAppAliveTimerCaptor;
+    private ArgumentCaptor<TimerFactory.TimerCallBack>    changeAppAliveTimerCaptor;
+    @Captor
+    private ArgumentCaptor<SubscriptionHandler<String>>   runnerHealthHandlerCaptor;
     @Captor
-    private ArgumentCaptor<SubscriptionHandler<String>> runnerHealthHandlerCaptor;
+    private ArgumentCaptor<ReadinessProber.ReadyCallback> readyCallbackCaptor;
 
     private CheckHealthStatusAction checkHealthStatusAction;
 
@@ -96,6 +108,8 @@ public class CheckHealthStatusActionTest {
                                                               webSocketUtil,
                                                               consoleContainer,
                                                               timerFactory,
+                                                              readinessProber,
+                                                              runnerMetrics,
                                                               notification);
         when(appContext.getCurrentProject()).thenReturn(project);
         when(runner.getApplicationURL()).thenReturn(APPLICATION_URL);
@@ -121,7 +135,8 @@ public class CheckHealthStatusActionTest {
                                  presenter,
                                  webSocketUtil,
                                  consoleContainer,
-                                 timerFactory);
+                                 timerFactory,
+                                 readinessProber);
     }
 
     @Test
@@ -179,6 +194,24 @@ public class CheckHealthStatusActionTest {
         verify(changeAppAliveTimer).cancel();
     }
 
+    @Test
+    public void shouldStopWhenApplicationIsAlive() throws Exception {
+        when(locale.applicationStarted(PROJECT_NAME)).thenReturn(NOTIFICATION_MESSAGE);
+
+        checkHealthStatusAction.perform(runner);
+
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), runnerHealthHandlerCaptor.capture());
+        SubscriptionHandler<String> runnerHealthHandler = runnerHealthHandlerCaptor.getValue();
+
+        TestUtil.invokeMethodByName(runnerHealthHandler, "onMessageReceived", ALIVE_RESULT);
+
+        verify(runner).setStatus(Runner.Status.DONE);
+        verify(presenter).update(runner);
+        verify(notification).update(NOTIFICATION_MESSAGE, INFO, FINISHED, null, true);
+        verify(consoleContainer).printInfo(runner, NOTIFICATION_MESSAGE);
+        verify(webSocketUtil).unSubscribeHandler(WEB_SOCKET_CHANNEL, runnerHealthHandler);
+    }
+
     @Test
     public void shouldStopWhenTimerAndWebSocketChannelAndRunnerHealthHandlerAreNull() throws Exception {
         checkHealthStatusAction.stop();
@@ -187,4 +220,50 @@ public class CheckHealthStatusActionTest {
         verify(changeAppAliveTimer, never()).cancel();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void applicationShouldBeProbed() {
+        checkHealthStatusAction.perform(runner);
+
+        verify(readinessProber).start(eq(APPLICATION_URL), any(ReadinessProber.ReadyCallback.class));
+    }
+
+    @Test
+    public void runnerShouldBeDoneWhenApplicationResponds() {
+        when(locale.applicationStarted(PROJECT_NAME)).thenReturn(NOTIFICATION_MESSAGE);
+
+        checkHealthStatusAction.perform(runner);
+
+        verify(readinessProber).start(eq(APPLICATION_URL), readyCallbackCaptor.capture());
+        readyCallbackCaptor.getValue().onReady();
+
+        verify(changeAppAliveTimer).cancel();
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.BOOT), anyLong());
+        verify(runner).setStatus(Runner.Status.DONE);
+        verify(presenter).update(runner);
+        verify(notification).update(NOTIFICATION_MESSAGE, INFO, FINISHED, null, true);
+        verify(consoleContainer).printInfo(runner, NOTIFICATION_MESSAGE);
+        verify(webSocketUtil).unSubscribeHandler(eq(WEB_SOCKET_CHANNEL), any(SubscriptionHandler.class));
+        verify(readinessProber).stop();
+    }
+
+    @Test
+    public void probingShouldBeStoppedWhenApplicationMaybeStarted() {
+        checkHealthStatusAction.perform(runner);
+
+        verify(timerFactory).newInstance(changeAppAliveTimerCaptor.capture());
+        changeAppAliveTimerCaptor.getValue().onRun();
+
+        verify(readinessProber).stop();
+        verify(runner, never()).setStatus(Runner.Status.DONE);
+    }
+
+    @Test
+    public void probingShouldBeStoppedWhenActionIsStopped() {
+        checkHealthStatusAction.perform(runner);
+
+        checkHealthStatusAction.stop();
+
+        verify(readinessProber).stop();
+    }
+
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class HealthFrameDecoderTest {
+
+    @Test
+    public void applicationShouldBeAliveWhenStatusIsOk() {
+        assertThat(HealthFrameDecoder.isAlive("{\"url\":\"http://localhost:8080\",\"status\":\"OK\"}"), is(true));
+        assertThat(HealthFrameDecoder.isAlive(" { \"status\" : \"OK\", \"code\" : 200, \"url\" : null } "), is(true));
+    }
+
+    @Test
+    public void applicationShouldNotBeAliveWhenStatusIsNotOk() {
+        assertThat(HealthFrameDecoder.isAlive("{\"url\":\"http://localhost:8080\",\"status\":\"STARTING\"}"), is(false));
+    }
+
+    @Test
+    public void applicationShouldNotBeAliveWhenUrlIsAbsent() {
+        assertThat(HealthFrameDecoder.isAlive("{\"status\":\"OK\"}"), is(false));
+    }
+
+    @Test
+    public void applicationShouldNotBeAliveWhenStatusIsAbsent() {
+        assertThat(HealthFrameDecoder.isAlive("{\"url\":\"http://localhost:8080\"}"), is(false));
+        assertThat(HealthFrameDecoder.isAlive("{}"), is(false));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void plainTextShouldNotBeDecoded() {
+        HealthFrameDecoder.isAlive("some message");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void truncatedFrameShouldNotBeDecoded() {
+        HealthFrameDecoder.isAlive("{\"url\":\"http://localhost:8080\",\"status\":\"OK\"");
+    }
+
+}
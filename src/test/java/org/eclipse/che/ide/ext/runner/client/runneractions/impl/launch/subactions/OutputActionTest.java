@@ -13,17 +13,22 @@ package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactio
 import org.eclipse.che.ide.ext.runner.client.inject.factories.HandlerFactory;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.LogMessagesHandler;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPage;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
@@ -38,6 +43,9 @@ public class OutputActionTest {
     private static final long   PROCESS_ID    = 123456;
     private static final String SOCKET_CHANEL = OutputAction.OUTPUT_CHANNEL + PROCESS_ID;
 
+    @Captor
+    private ArgumentCaptor<WebSocketUtil.ReconnectHandler> reconnectHandlerCaptor;
+
     //constructor mocks
     @Mock
     private HandlerFactory handlerFactory;
@@ -65,7 +73,29 @@ public class OutputActionTest {
 
         verify(handlerFactory).createLogMessageHandler(runner, action);
         verify(runner).getProcessId();
-        verify(webSocketUtil).subscribeHandler(SOCKET_CHANEL, runnerOutputHandler);
+        verify(webSocketUtil).subscribeHandler(eq(SOCKET_CHANEL), eq(runnerOutputHandler), any(WebSocketUtil.ReconnectHandler.class));
+    }
+
+    @Test
+    public void missedLinesShouldBeLoadedWhenConnectionIsRestored() throws Exception {
+        action.perform(runner);
+
+        verify(webSocketUtil).subscribeHandler(eq(SOCKET_CHANEL), eq(runnerOutputHandler), reconnectHandlerCaptor.capture());
+        reconnectHandlerCaptor.getValue().onReconnected();
+
+        verify(runnerOutputHandler).loadMissedLines();
+    }
+
+    @Test
+    public void outputShouldContinueShownLogWhenRunnerIsAttached() throws Exception {
+        LogPage page = mock(LogPage.class);
+
+        action.attach(runner);
+        action.onLogLoaded(page);
+
+        verify(webSocketUtil).subscribeHandler(eq(SOCKET_CHANEL), eq(runnerOutputHandler), any(WebSocketUtil.ReconnectHandler.class));
+        verify(runnerOutputHandler).attach();
+        verify(runnerOutputHandler).onLogLoaded(page);
     }
 
     @Test
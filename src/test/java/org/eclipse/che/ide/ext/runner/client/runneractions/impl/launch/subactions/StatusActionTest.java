@@ -10,10 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.subactions;
 
+import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.api.project.shared.dto.ProjectDescriptor;
 import org.eclipse.che.api.runner.ApplicationStatus;
 import org.eclipse.che.api.runner.dto.ApplicationProcessDescriptor;
+import org.eclipse.che.api.runner.dto.RunnerMetric;
+import org.eclipse.che.api.runner.gwt.client.RunnerServiceClient;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.api.notification.Notification;
@@ -21,19 +24,29 @@ import org.eclipse.che.ide.commons.exception.ServerException;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.TestUtil;
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.RunnerActionFactory;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerPresenter;
 import org.eclipse.che.ide.ext.runner.client.manager.RunnerManagerView;
+import org.eclipse.che.ide.ext.runner.client.metrics.LaunchPhase;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.GetLogsAction;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.WorkspaceResources;
 import org.eclipse.che.ide.ext.runner.client.runneractions.impl.launch.common.RunnerApplicationStatusEvent;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.container.ConsoleContainer;
 import org.eclipse.che.ide.ext.runner.client.util.RunnerUtil;
 import org.eclipse.che.ide.ext.runner.client.util.WebSocketUtil;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.http.client.Response;
 import com.google.gwtmockito.GwtMockitoTestRunner;
+import com.google.inject.Provider;
 import com.google.web.bindery.event.shared.EventBus;
 
 import org.junit.Before;
@@ -41,10 +54,20 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.Matchers;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -66,29 +89,39 @@ public class StatusActionTest {
 
     //variables for constructor
     @Mock
-    private DtoUnmarshallerFactory     dtoUnmarshallerFactory;
+    private DtoUnmarshallerFactory                                       dtoUnmarshallerFactory;
+    @Mock
+    private DtoFactory                                                   dtoFactory;
+    @Mock
+    private WebSocketUtil                                                webSocketUtil;
+    @Mock
+    private AppContext                                                   appContext;
     @Mock
-    private DtoFactory                 dtoFactory;
+    private EventBus                                                     eventBus;
     @Mock
-    private WebSocketUtil              webSocketUtil;
+    private RunnerLocalizationConstant                                   locale;
     @Mock
-    private AppContext                 appContext;
+    private RunnerManagerPresenter                                       presenter;
     @Mock
-    private EventBus                   eventBus;
+    private RunnerUtil                                                   runnerUtil;
     @Mock
-    private RunnerLocalizationConstant locale;
+    private ConsoleContainer                                             consoleContainer;
     @Mock
-    private RunnerManagerPresenter     presenter;
+    private RunnerManagerView                                            view;
     @Mock
-    private RunnerUtil                 runnerUtil;
+    private RunnerActionFactory                                          actionFactory;
     @Mock
-    private ConsoleContainer    consoleContainer;
+    private Notification                                                 notification;
     @Mock
-    private RunnerManagerView   view;
+    private RunnerServiceClient                                          service;
     @Mock
-    private RunnerActionFactory actionFactory;
+    private Provider<AsyncCallbackBuilder<ApplicationProcessDescriptor>> callbackBuilderProvider;
     @Mock
-    private Notification        notification;
+    private RunnerMetrics                                                runnerMetrics;
+    @Mock
+    private Scheduler                                                    scheduler;
+    @Mock
+    private WorkspaceResources                                           resources;
 
     @Mock
     private ServerException                                                   serverException;
@@ -108,11 +141,31 @@ public class StatusActionTest {
     private ProjectDescriptor                                                 projectDescriptor;
     @Mock
     private ApplicationProcessDescriptor                                      descriptor;
+    @Mock
+    private ApplicationProcessDescriptor                                      currentDescriptor;
+    @Mock
+    private AsyncCallbackBuilder<ApplicationProcessDescriptor>                asyncCallbackBuilder;
+    @Mock
+    private AsyncRequestCallback<ApplicationProcessDescriptor>                callback;
+    @Mock
+    private Link                                                              statusLink;
+    @Mock
+    private ApplicationProcessDescriptor                                      nextDescriptor;
+    @Mock
+    private RunnerMetric                                                      stat;
+    @Mock
+    private RunnerMetric                                                      otherStat;
     //captors
     @Captor
     private ArgumentCaptor<SubscriptionHandler<ApplicationProcessDescriptor>> subscriptionHandlerCaptor;
     @Captor
     private ArgumentCaptor<RunnerApplicationStatusEvent>                      runnerApplicationStatusEventCaptor;
+    @Captor
+    private ArgumentCaptor<WebSocketUtil.ReconnectHandler>                    reconnectHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<SuccessCallback<ApplicationProcessDescriptor>>     successCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<ScheduledCommand>                                  commandCaptor;
 
     private StatusAction statusAction;
 
@@ -132,6 +185,11 @@ public class StatusActionTest {
                                         runnerUtil,
                                         consoleContainer,
                                         actionFactory,
+                                        service,
+                                        callbackBuilderProvider,
+                                        runnerMetrics,
+                                        scheduler,
+                                        resources,
                                         notification);
 
         when(project.getProjectDescription()).thenReturn(projectDescriptor);
@@ -141,6 +199,21 @@ public class StatusActionTest {
         when(locale.applicationStarting(PROJECT_NAME)).thenReturn(MESSAGE);
 
         when(locale.applicationCanceled(PROJECT_NAME)).thenReturn(MESSAGE);
+
+        when(callbackBuilderProvider.get()).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.unmarshaller(ApplicationProcessDescriptor.class)).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.failure(any(FailureCallback.class))).thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.success(Matchers.<SuccessCallback<ApplicationProcessDescriptor>>anyObject()))
+                .thenReturn(asyncCallbackBuilder);
+        when(asyncCallbackBuilder.build()).thenReturn(callback);
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((ScheduledCommand)invocation.getArguments()[0]).execute();
+                return null;
+            }
+        }).when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
     }
 
     @Test
@@ -157,12 +230,16 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
 
-        verify(webSocketUtil).subscribeHandler(WEB_SOCKET_CHANNEL, processStartedHandler);
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               eq(processStartedHandler),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         verify(notification).setStatus(Notification.Status.FINISHED);
     }
 
@@ -172,7 +249,9 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -182,6 +261,7 @@ public class StatusActionTest {
 
         verify(descriptor).getStatus();
 
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.BUILD), anyLong());
         verify(runner).setStatus(Runner.Status.RUNNING);
 
         verify(presenter).update(runner);
@@ -206,7 +286,9 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -242,7 +324,9 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -266,6 +350,8 @@ public class StatusActionTest {
 
         verify(consoleContainer).printInfo(runner, FailedMessage);
 
+        verify(resources).onProcessFinished(anyLong());
+
         verify(webSocketUtil).unSubscribeHandler(WEB_SOCKET_CHANNEL, processStartedHandler);
         verify(checkHealthStatusAction).stop();
 
@@ -283,7 +369,9 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -318,7 +406,9 @@ public class StatusActionTest {
 
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -331,6 +421,8 @@ public class StatusActionTest {
         verify(runner).setStatus(Runner.Status.IN_PROGRESS);
         verify(presenter).update(runner);
 
+        verify(resources, never()).onProcessFinished(anyLong());
+
         verify(eventBus).fireEvent(any(RunnerApplicationStatusEvent.class));
     }
 
@@ -346,7 +438,9 @@ public class StatusActionTest {
 
         verify(dtoUnmarshallerFactory).newWSUnmarshaller(ApplicationProcessDescriptor.class);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onErrorReceived", Throwable.class, serverException);
@@ -383,7 +477,9 @@ public class StatusActionTest {
 
         verify(dtoUnmarshallerFactory).newWSUnmarshaller(ApplicationProcessDescriptor.class);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onErrorReceived", Throwable.class, serverException);
@@ -417,7 +513,9 @@ public class StatusActionTest {
 
         verify(dtoUnmarshallerFactory).newWSUnmarshaller(ApplicationProcessDescriptor.class);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onErrorReceived", Throwable.class, simpleException);
@@ -456,7 +554,9 @@ public class StatusActionTest {
         //launch this method for initialize webSocketChannel and runnerStatusHandler
         statusAction.perform(runner);
 
-        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL), subscriptionHandlerCaptor.capture());
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
         SubscriptionHandler<ApplicationProcessDescriptor> processStartedHandler = subscriptionHandlerCaptor.getValue();
 
         TestUtil.invokeMethodByName(processStartedHandler, "onMessageReceived", descriptor);
@@ -473,4 +573,192 @@ public class StatusActionTest {
 
         verify(eventBus).fireEvent(any(RunnerApplicationStatusEvent.class));
     }
-}
\ No newline at end of file
+
+    private SuccessCallback<ApplicationProcessDescriptor> reconnect() {
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               Matchers.<SubscriptionHandler>anyObject(),
+                                               reconnectHandlerCaptor.capture());
+        reconnectHandlerCaptor.getValue().onReconnected();
+
+        verify(service).getStatus(statusLink, callback);
+        verify(asyncCallbackBuilder).success(successCallbackCaptor.capture());
+
+        return successCallbackCaptor.getValue();
+    }
+
+    @Test
+    public void statusShouldNotBeLoadedAfterReconnectWithoutStatusUrl() {
+        statusAction.perform(runner);
+
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               Matchers.<SubscriptionHandler>anyObject(),
+                                               reconnectHandlerCaptor.capture());
+        reconnectHandlerCaptor.getValue().onReconnected();
+
+        verify(service, never()).getStatus(any(Link.class), Matchers.<AsyncRequestCallback<ApplicationProcessDescriptor>>anyObject());
+    }
+
+    @Test
+    public void changedStatusShouldBeAppliedAfterReconnect() {
+        when(runner.getStatusUrl()).thenReturn(statusLink);
+        when(runner.getDescriptor()).thenReturn(currentDescriptor);
+        when(currentDescriptor.getStatus()).thenReturn(ApplicationStatus.NEW);
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+
+        statusAction.perform(runner);
+        reconnect().onSuccess(descriptor);
+
+        verify(runner).setProcessDescriptor(descriptor);
+        verify(runner).setStatus(Runner.Status.RUNNING);
+        verify(checkHealthStatusAction).perform(runner);
+        verify(eventBus).fireEvent(any(RunnerApplicationStatusEvent.class));
+    }
+
+    @Test
+    public void sameStatusShouldNotBeAppliedAfterReconnect() {
+        when(runner.getStatusUrl()).thenReturn(statusLink);
+        when(runner.getDescriptor()).thenReturn(currentDescriptor);
+        when(currentDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+
+        statusAction.perform(runner);
+        reconnect().onSuccess(descriptor);
+
+        verify(runner, never()).setProcessDescriptor(descriptor);
+        verify(checkHealthStatusAction, never()).perform(runner);
+    }
+
+    @Test
+    public void loadedStatusShouldNotBeAppliedWhenActionIsStopped() {
+        when(runner.getStatusUrl()).thenReturn(statusLink);
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.STOPPED);
+
+        statusAction.perform(runner);
+        SuccessCallback<ApplicationProcessDescriptor> successCallback = reconnect();
+
+        statusAction.stop();
+        successCallback.onSuccess(descriptor);
+
+        verify(runner, never()).setProcessDescriptor(descriptor);
+    }
+
+    @Test
+    public void duplicateDescriptorShouldBeIgnored() throws Exception {
+        when(runner.getDescriptor()).thenReturn(currentDescriptor);
+        when(currentDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+
+        receive(descriptor);
+
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
+        verify(runner, never()).setProcessDescriptor(descriptor);
+        verify(presenter, never()).update(runner);
+        verify(eventBus, never()).fireEvent(any(RunnerApplicationStatusEvent.class));
+    }
+
+    @Test
+    public void changedStatisticsShouldBeAppliedWithoutChangingOfStatus() throws Exception {
+        when(runner.getDescriptor()).thenReturn(currentDescriptor);
+        when(currentDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(currentDescriptor.getRunStats()).thenReturn(Arrays.asList(stat));
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(descriptor.getRunStats()).thenReturn(Arrays.asList(otherStat));
+        when(stat.getName()).thenReturn(RunnerMetric.TERMINATION_TIME);
+        when(otherStat.getName()).thenReturn(RunnerMetric.TERMINATION_TIME);
+        when(otherStat.getValue()).thenReturn("1000");
+
+        receive(descriptor);
+
+        verify(runner).setProcessDescriptor(descriptor);
+        verify(presenter).update(runner);
+        verify(eventBus).fireEvent(any(RunnerApplicationStatusEvent.class));
+
+        verify(runner, never()).setStatus(any(Runner.Status.class));
+        verify(checkHealthStatusAction, never()).perform(runner);
+        verify(notification, never()).update(MESSAGE, Notification.Type.INFO, Notification.Status.FINISHED, null, true);
+    }
+
+    @Test
+    public void changedLinksShouldBeApplied() throws Exception {
+        when(runner.getDescriptor()).thenReturn(currentDescriptor);
+        when(currentDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(descriptor.getLinks()).thenReturn(Collections.singletonList(statusLink));
+
+        receive(descriptor);
+
+        verify(runner).setProcessDescriptor(descriptor);
+        verify(presenter).update(runner);
+    }
+
+    @Test
+    public void burstOfDescriptorsShouldBeAppliedOnce() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.NEW);
+        when(nextDescriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+
+        statusAction.perform(runner);
+
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
+        SubscriptionHandler<ApplicationProcessDescriptor> handler = subscriptionHandlerCaptor.getValue();
+
+        TestUtil.invokeMethodByName(handler, "onMessageReceived", descriptor);
+        TestUtil.invokeMethodByName(handler, "onMessageReceived", nextDescriptor);
+
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+        verify(runner, never()).setProcessDescriptor(any(ApplicationProcessDescriptor.class));
+
+        commandCaptor.getValue().execute();
+
+        verify(runner, never()).setProcessDescriptor(descriptor);
+        verify(runner).setProcessDescriptor(nextDescriptor);
+        verify(runner).setStatus(Runner.Status.RUNNING);
+        verify(eventBus).fireEvent(any(RunnerApplicationStatusEvent.class));
+    }
+
+    @Test
+    public void buildShouldBeRegisteredWhenRunningDescriptorIsSkipped() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+        when(nextDescriptor.getStatus()).thenReturn(ApplicationStatus.FAILED);
+
+        receive(descriptor);
+        TestUtil.invokeMethodByName(subscriptionHandlerCaptor.getValue(), "onMessageReceived", nextDescriptor);
+
+        verify(runnerMetrics).onLaunchPhaseFinished(eq(runner), eq(LaunchPhase.BUILD), anyLong());
+
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+
+        verify(runner, never()).setProcessDescriptor(descriptor);
+        verify(runner).setProcessDescriptor(nextDescriptor);
+    }
+
+    @Test
+    public void pendingDescriptorShouldNotBeAppliedWhenActionIsStopped() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+        when(descriptor.getStatus()).thenReturn(ApplicationStatus.RUNNING);
+
+        receive(descriptor);
+
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+
+        statusAction.stop();
+        commandCaptor.getValue().execute();
+
+        verify(runner, never()).setProcessDescriptor(descriptor);
+    }
+
+    private void receive(ApplicationProcessDescriptor processDescriptor) throws Exception {
+        statusAction.perform(runner);
+
+        verify(webSocketUtil).subscribeHandler(eq(WEB_SOCKET_CHANNEL),
+                                               subscriptionHandlerCaptor.capture(),
+                                               any(WebSocketUtil.ReconnectHandler.class));
+
+        TestUtil.invokeMethodByName(subscriptionHandlerCaptor.getValue(), "onMessageReceived", processDescriptor);
+    }
+
+}
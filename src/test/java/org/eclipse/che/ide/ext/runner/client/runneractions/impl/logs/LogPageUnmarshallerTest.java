@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import com.google.gwt.http.client.Response;
+
+import org.eclipse.che.ide.commons.exception.UnmarshallerException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPageUnmarshaller.CONTENT_RANGE;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LogPageUnmarshallerTest {
+
+    private static final String TEXT = "some text";
+
+    @Mock
+    private Response response;
+
+    private LogPageUnmarshaller unmarshaller;
+
+    @Before
+    public void setUp() throws Exception {
+        when(response.getText()).thenReturn(TEXT);
+
+        unmarshaller = new LogPageUnmarshaller();
+    }
+
+    @Test
+    public void pageShouldBeReadFromContentRange() throws Exception {
+        when(response.getHeader(CONTENT_RANGE)).thenReturn("bytes 100-108/1000");
+
+        unmarshaller.unmarshal(response);
+        LogPage page = unmarshaller.getPayload();
+
+        assertThat(page.getStart(), equalTo(100));
+        assertThat(page.getEnd(), equalTo(109));
+        assertThat(page.getTotal(), equalTo(1000));
+        assertThat(page.getText(), equalTo(TEXT));
+    }
+
+    @Test
+    public void wholeLogShouldBeReturnedWhenContentRangeIsAbsent() throws Exception {
+        unmarshaller.unmarshal(response);
+        LogPage page = unmarshaller.getPayload();
+
+        assertThat(page.getStart(), equalTo(0));
+        assertThat(page.getEnd(), equalTo(TEXT.length()));
+        assertThat(page.getTotal(), equalTo(TEXT.length()));
+        assertThat(page.getText(), equalTo(TEXT));
+    }
+
+    @Test
+    public void emptyPageShouldBeReturnedWhenResponseHasNoText() throws Exception {
+        when(response.getText()).thenReturn(null);
+
+        unmarshaller.unmarshal(response);
+        LogPage page = unmarshaller.getPayload();
+
+        assertThat(page.getTotal(), equalTo(0));
+        assertThat(page.getText(), equalTo(""));
+    }
+
+    @Test(expected = UnmarshallerException.class)
+    public void exceptionShouldBeThrownWhenContentRangeIsBroken() throws Exception {
+        when(response.getHeader(CONTENT_RANGE)).thenReturn("bytes 100/1000");
+
+        unmarshaller.unmarshal(response);
+    }
+
+    @Test(expected = UnmarshallerException.class)
+    public void exceptionShouldBeThrownWhenContentRangeContainsNotNumbers() throws Exception {
+        when(response.getHeader(CONTENT_RANGE)).thenReturn("bytes a-b/c");
+
+        unmarshaller.unmarshal(response);
+    }
+
+}
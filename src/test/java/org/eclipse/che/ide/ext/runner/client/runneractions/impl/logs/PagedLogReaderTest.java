@@ -0,0 +1,348 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs;
+
+import com.google.gwt.http.client.Response;
+import com.google.inject.Provider;
+
+import org.eclipse.che.ide.ext.runner.client.callbacks.AsyncCallbackBuilder;
+import org.eclipse.che.ide.ext.runner.client.callbacks.FailureCallback;
+import org.eclipse.che.ide.ext.runner.client.callbacks.SuccessCallback;
+import org.eclipse.che.ide.rest.AsyncRequest;
+import org.eclipse.che.ide.rest.AsyncRequestCallback;
+import org.eclipse.che.ide.rest.AsyncRequestFactory;
+import org.eclipse.che.ide.rest.Unmarshallable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogPageUnmarshaller.CONTENT_RANGE;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader.PAGE_SIZE;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.LogRangeReader.RANGE;
+import static org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader.RESIDENT_PAGES;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The reader is tested against a stub log endpoint which answers range requests like a real server does.
+ *
+ * @author Andrey Plotnikov
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PagedLogReaderTest {
+
+    private static final String URL        = "http://localhost/runner/logs";
+    private static final int    LINE_COUNT = 30_000;
+
+    @Mock
+    private AsyncRequestFactory                     asyncRequestFactory;
+    @Mock
+    private Provider<AsyncCallbackBuilder<LogPage>> callbackBuilderProvider;
+    @Mock
+    private AsyncCallbackBuilder<LogPage>           callbackBuilder;
+    @Mock
+    private AsyncRequestCallback<LogPage>           callback;
+    @Mock
+    private AsyncRequest                            request;
+    @Mock
+    private FailureCallback                         failureCallback;
+
+    private String                   log;
+    private String                   range;
+    private boolean                  isEndpointAvailable;
+    private boolean                  isRangeSupported;
+    private Unmarshallable<LogPage>  unmarshaller;
+    private SuccessCallback<LogPage> successCallback;
+    private FailureCallback          requestFailureCallback;
+    private List<String>             loadedLines;
+    private int                      anchorLine;
+    private boolean                  isAnchorAtTop;
+
+    private PagedLogReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            text.append("line ").append(100_000 + i).append('\n');
+        }
+
+        log = text.toString();
+        isEndpointAvailable = true;
+        isRangeSupported = true;
+
+        when(callbackBuilderProvider.get()).thenReturn(callbackBuilder);
+        when(callbackBuilder.unmarshaller(Matchers.<Unmarshallable<LogPage>>anyObject())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                //noinspection unchecked
+                unmarshaller = (Unmarshallable<LogPage>)invocation.getArguments()[0];
+                return callbackBuilder;
+            }
+        });
+        when(callbackBuilder.success(Matchers.<SuccessCallback<LogPage>>anyObject())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                //noinspection unchecked
+                successCallback = (SuccessCallback<LogPage>)invocation.getArguments()[0];
+                return callbackBuilder;
+            }
+        });
+        when(callbackBuilder.failure(any(FailureCallback.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                requestFailureCallback = (FailureCallback)invocation.getArguments()[0];
+                return callbackBuilder;
+            }
+        });
+        when(callbackBuilder.build()).thenReturn(callback);
+
+        when(asyncRequestFactory.createGetRequest(URL)).thenReturn(request);
+        when(request.header(eq(RANGE), anyString())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                range = (String)invocation.getArguments()[1];
+                return request;
+            }
+        });
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                respond();
+                return null;
+            }
+        }).when(request).send(Matchers.<AsyncRequestCallback<LogPage>>anyObject());
+
+        reader = new PagedLogReader(new LogRangeReader(asyncRequestFactory, callbackBuilderProvider));
+        reader.setListener(new PagedLogReader.Listener() {
+            @Override
+            public void onPagesLoaded(@Nonnull List<String> lines, @Nonnegative int anchor, boolean isAtTop) {
+                loadedLines = lines;
+                anchorLine = anchor;
+                isAnchorAtTop = isAtTop;
+            }
+        });
+    }
+
+    /** The stub of the log endpoint: it answers the last request with a part of the log which is defined by the range header. */
+    private void respond() throws Exception {
+        if (!isEndpointAvailable) {
+            requestFailureCallback.onFailure(new Exception("log isn't available"));
+            return;
+        }
+
+        int total = log.length();
+        int start = 0;
+        int end = total - 1;
+
+        if (isRangeSupported) {
+            String bytes = range.substring("bytes=".length());
+            int dash = bytes.indexOf('-');
+
+            if (dash == 0) {
+                start = Math.max(0, total - Integer.parseInt(bytes.substring(1)));
+            } else {
+                start = Integer.parseInt(bytes.substring(0, dash));
+                end = Math.min(end, Integer.parseInt(bytes.substring(dash + 1)));
+            }
+        }
+
+        Response response = mock(Response.class);
+        when(response.getText()).thenReturn(log.substring(start, end + 1));
+        if (isRangeSupported) {
+            when(response.getHeader(CONTENT_RANGE)).thenReturn("bytes " + start + '-' + end + '/' + total);
+        }
+
+        unmarshaller.unmarshal(response);
+        successCallback.onSuccess(unmarshaller.getPayload());
+    }
+
+    @Test
+    public void lastPageShouldBeLoadedWhenLogIsOpened() throws Exception {
+        reader.open(URL, failureCallback);
+
+        verify(request).header(RANGE, "bytes=-" + PAGE_SIZE);
+        verify(callback).setSuccessCodes(new int[]{Response.SC_OK, Response.SC_PARTIAL_CONTENT});
+
+        assertThat(loadedLines.get(loadedLines.size() - 1), equalTo("line " + (100_000 + LINE_COUNT - 1)));
+        assertThat(anchorLine, equalTo(loadedLines.size() - 1));
+        assertThat(isAnchorAtTop, is(false));
+        assertThat(reader.hasPrevious(), is(true));
+        assertThat(reader.hasNext(), is(false));
+        assertThat(reader.isLoading(), is(false));
+    }
+
+    @Test
+    public void partialLinesShouldBeSkippedOnEdgesOfLoadedPages() throws Exception {
+        reader.open(URL, failureCallback);
+
+        for (String line : loadedLines) {
+            assertThat(line.length(), equalTo("line 100000".length()));
+        }
+    }
+
+    @Test
+    public void previousPageShouldBeLoadedAndAnchorShouldPointToFormerFirstLine() throws Exception {
+        reader.open(URL, failureCallback);
+        String firstLine = loadedLines.get(0);
+        int size = loadedLines.size();
+
+        reader.loadPrevious();
+
+        assertThat(loadedLines.size() > size, is(true));
+        assertThat(loadedLines.get(anchorLine), equalTo(firstLine));
+        assertThat(isAnchorAtTop, is(true));
+        assertThat(loadedLines.get(loadedLines.size() - 1), equalTo("line " + (100_000 + LINE_COUNT - 1)));
+    }
+
+    @Test
+    public void loadedLinesShouldBeContinuous() throws Exception {
+        reader.open(URL, failureCallback);
+        reader.loadPrevious();
+        reader.loadPrevious();
+
+        int first = Integer.parseInt(loadedLines.get(0).substring("line ".length()));
+        for (int i = 0; i < loadedLines.size(); i++) {
+            assertThat(loadedLines.get(i), equalTo("line " + (first + i)));
+        }
+    }
+
+    @Test
+    public void onlyResidentPagesShouldBeKept() throws Exception {
+        reader.open(URL, failureCallback);
+
+        while (reader.hasPrevious()) {
+            reader.loadPrevious();
+        }
+
+        assertThat(loadedLines.get(0), equalTo("line 100000"));
+        assertThat(reader.hasNext(), is(true));
+        assertTrue(loadedLines.size() * "line 100000\n".length() <= RESIDENT_PAGES * PAGE_SIZE);
+    }
+
+    @Test
+    public void nextPageShouldBeLoadedAndAnchorShouldPointToFormerLastLine() throws Exception {
+        reader.open(URL, failureCallback);
+
+        while (reader.hasPrevious()) {
+            reader.loadPrevious();
+        }
+
+        String lastLine = loadedLines.get(loadedLines.size() - 1);
+
+        reader.loadNext();
+
+        assertThat(loadedLines.get(anchorLine), equalTo(lastLine));
+        assertThat(isAnchorAtTop, is(false));
+    }
+
+    @Test
+    public void anchorsShouldPointToFormerEdgeLinesWhenLogContainsEmptyLines() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            text.append("line ").append(100_000 + i).append(i % 3 == 0 ? "\n\n" : "\n");
+        }
+        log = text.toString();
+
+        reader.open(URL, failureCallback);
+        String firstLine = loadedLines.get(0);
+
+        reader.loadPrevious();
+
+        assertThat(loadedLines.get(anchorLine), equalTo(firstLine));
+
+        while (reader.hasPrevious()) {
+            reader.loadPrevious();
+        }
+        String lastLine = loadedLines.get(loadedLines.size() - 1);
+
+        reader.loadNext();
+
+        assertThat(loadedLines.get(anchorLine), equalTo(lastLine));
+    }
+
+    @Test
+    public void wholeLogShouldBeReadWhenPagesAreLoadedOneByOne() throws Exception {
+        reader.open(URL, failureCallback);
+
+        while (reader.hasPrevious()) {
+            reader.loadPrevious();
+        }
+
+        while (reader.hasNext()) {
+            reader.loadNext();
+        }
+
+        assertThat(loadedLines.get(loadedLines.size() - 1), equalTo("line " + (100_000 + LINE_COUNT - 1)));
+    }
+
+    @Test
+    public void pageShouldNotBeRequestedWhilePreviousRequestIsInProgress() throws Exception {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                // the stub endpoint doesn't answer until respond() is called
+                return null;
+            }
+        }).when(request).send(Matchers.<AsyncRequestCallback<LogPage>>anyObject());
+
+        reader.open(URL, failureCallback);
+        respond();
+
+        reader.loadPrevious();
+        reader.loadPrevious();
+
+        assertThat(reader.isLoading(), is(true));
+        verify(request, times(2)).send(callback);
+    }
+
+    @Test
+    public void failureCallbackShouldBeCalledWhenPageIsNotLoaded() throws Exception {
+        isEndpointAvailable = false;
+
+        reader.open(URL, failureCallback);
+
+        verify(failureCallback).onFailure(any(Throwable.class));
+        assertThat(reader.isLoading(), is(false));
+        assertThat(reader.getLines().isEmpty(), is(true));
+    }
+
+    @Test
+    public void wholeLogShouldBeShownWhenRangeIsNotSupported() throws Exception {
+        isRangeSupported = false;
+
+        reader.open(URL, failureCallback);
+
+        assertThat(loadedLines.size(), equalTo(LINE_COUNT));
+        assertThat(reader.hasPrevious(), is(false));
+        assertThat(reader.hasNext(), is(false));
+    }
+
+}
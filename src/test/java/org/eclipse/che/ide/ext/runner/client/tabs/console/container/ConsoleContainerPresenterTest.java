@@ -12,9 +12,12 @@ package org.eclipse.che.ide.ext.runner.client.tabs.console.container;
 
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
 import org.eclipse.che.ide.ext.runner.client.selection.Selection;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Console;
+import org.eclipse.che.ide.ext.runner.client.tabs.console.panel.LogBufferManager;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import com.google.gwt.user.client.ui.AcceptsOneWidget;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwtmockito.GwtMockitoTestRunner;
@@ -26,11 +29,17 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDERR;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -50,6 +59,10 @@ public class ConsoleContainerPresenterTest {
     private SelectionManager     selectionManager;
     @Mock
     private WidgetFactory        widgetFactory;
+    @Mock
+    private LogBufferManager     logBufferManager;
+    @Mock
+    private RunnerMetrics        runnerMetrics;
 
     @Mock
     private Runner  runner;
@@ -90,6 +103,16 @@ public class ConsoleContainerPresenterTest {
         verify(console).print(MESSAGE);
     }
 
+    @Test
+    public void logReaderShouldBeSetToConsoleOfRunner() {
+        PagedLogReader logReader = mock(PagedLogReader.class);
+
+        presenter.showLog(runner, logReader);
+
+        verify(widgetFactory).createConsole(runner);
+        verify(console).setLogReader(logReader);
+    }
+
     @Test
     public void infoMessageShouldBePrintedWhenConsoleIsNull() {
         presenter.printInfo(runner, MESSAGE);
@@ -157,6 +180,38 @@ public class ConsoleContainerPresenterTest {
         presenter.reset();
 
         verify(view).removeWidget(console);
+        verify(console).release();
+        verify(logBufferManager).releaseAll();
+        verify(runnerMetrics).clear();
+    }
+
+    @Test
+    public void consoleShouldBeRemovedAndReleased() {
+        presenter.print(runner, MESSAGE);
+
+        presenter.removeConsole(runner);
+
+        verify(view).removeWidget(console);
+        verify(console).release();
+
+        presenter.print(runner, MESSAGE);
+
+        verify(widgetFactory, times(2)).createConsole(runner);
+    }
+
+    @Test
+    public void newConsoleShouldBeShownWhenConsoleOfSelectedRunnerIsRemoved() {
+        Console newConsole = mock(Console.class);
+        when(widgetFactory.createConsole(runner)).thenReturn(console).thenReturn(newConsole);
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        presenter.removeConsole(runner);
+
+        verify(console).release();
+        verify(console, never()).setActive(false);
+        verify(view).showWidget(newConsole);
+        verify(newConsole).setActive(true);
     }
 
     @Test
@@ -185,6 +240,59 @@ public class ConsoleContainerPresenterTest {
         verify(view).showWidget(console);
     }
 
+    @Test
+    public void selectedConsoleShouldBeActivated() {
+        when(selectionManager.getRunner()).thenReturn(runner);
+
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        verify(console).setActive(true);
+    }
+
+    @Test
+    public void previousSelectedConsoleShouldBeDeactivated() {
+        Runner runner2 = mock(Runner.class);
+        Console console2 = mock(Console.class);
+        when(widgetFactory.createConsole(runner2)).thenReturn(console2);
+        when(selectionManager.getRunner()).thenReturn(runner).thenReturn(runner2);
+
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        verify(console).setActive(false);
+        verify(console2).setActive(true);
+    }
+
+    @Test
+    public void consoleShouldNotBeActivatedWhenContainerIsHidden() {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.setVisible(false);
+
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        verify(console).setActive(false);
+        verify(console, never()).setActive(true);
+    }
+
+    @Test
+    public void selectedConsoleShouldBeActivatedWhenContainerBecomesVisible() {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        presenter.setVisible(false);
+        presenter.setVisible(true);
+
+        verify(console).setActive(false);
+        verify(console, times(2)).setActive(true);
+    }
+
+    @Test
+    public void consoleOfNotSelectedRunnerShouldNotBeActivated() {
+        presenter.print(runner, MESSAGE);
+
+        verify(console, never()).setActive(anyBoolean());
+    }
+
     @Test
     public void viewShouldBeReturned() {
         assertThat(presenter.getView(), CoreMatchers.<IsWidget>is(view));
@@ -278,4 +386,108 @@ public class ConsoleContainerPresenterTest {
         verify(console).clear();
     }
 
+    @Test
+    public void searchShouldNotBePerformedWhenConsoleIsNotSelected() throws Exception {
+        presenter.onSearchChanged(MESSAGE, false);
+
+        verify(console, never()).search(anyString(), anyInt());
+        verify(view, never()).showMatchesInfo(anyInt(), anyInt());
+    }
+
+    @Test
+    public void searchShouldBePerformed() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        when(console.search(MESSAGE, 0)).thenReturn(3);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        presenter.onSearchChanged(MESSAGE, false);
+
+        verify(console).search(MESSAGE, 0);
+        verify(view).showMatchesInfo(1, 3);
+    }
+
+    @Test
+    public void searchOfErrorsShouldBePerformed() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        presenter.onSearchChanged("", true);
+
+        verify(console).search("", ERROR.getMask() | STDERR.getMask());
+        verify(view).showMatchesInfo(0, 0);
+    }
+
+    @Test
+    public void searchShouldNotBePerformedWhenParametersAreNotChanged() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        presenter.onSearchChanged(MESSAGE, false);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        verify(console).search(MESSAGE, 0);
+    }
+
+    @Test
+    public void searchShouldBeReset() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        presenter.onSearchChanged("", false);
+
+        verify(console).search("", 0);
+        verify(view).clearMatchesInfo();
+    }
+
+    @Test
+    public void searchShouldBePerformedInNewSelectedConsole() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        presenter.onSelectionChanged(Selection.RUNNER);
+
+        verify(console, times(2)).search(MESSAGE, 0);
+    }
+
+    @Test
+    public void nextMatchShouldBeSelected() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        when(console.search(MESSAGE, 0)).thenReturn(3);
+        when(console.selectNextMatch()).thenReturn(1);
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        presenter.onNextMatchClicked();
+
+        verify(view).showMatchesInfo(2, 3);
+    }
+
+    @Test
+    public void previousMatchShouldBeSelected() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        when(console.search(MESSAGE, 0)).thenReturn(3);
+        when(console.selectPreviousMatch()).thenReturn(2);
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        presenter.onPreviousMatchClicked();
+
+        verify(view).showMatchesInfo(3, 3);
+    }
+
+    @Test
+    public void matchShouldNotBeSelectedWhenNothingIsFound() throws Exception {
+        when(selectionManager.getRunner()).thenReturn(runner);
+        presenter.onSelectionChanged(Selection.RUNNER);
+        presenter.onSearchChanged(MESSAGE, false);
+
+        presenter.onNextMatchClicked();
+        presenter.onPreviousMatchClicked();
+
+        verify(console, never()).selectNextMatch();
+        verify(console, never()).selectPreviousMatch();
+    }
+
 }
\ No newline at end of file
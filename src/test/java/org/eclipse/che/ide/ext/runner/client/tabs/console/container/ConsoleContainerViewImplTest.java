@@ -14,6 +14,10 @@ import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.RunnerResources;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
 import org.eclipse.che.ide.ext.runner.client.tabs.console.button.ConsoleButton;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.event.dom.client.KeyCodes;
+import com.google.gwt.event.dom.client.KeyUpEvent;
+import com.google.gwt.event.logical.shared.ValueChangeEvent;
 import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwtmockito.GwtMockitoTestRunner;
 
@@ -26,8 +30,10 @@ import org.mockito.Mock;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -72,6 +78,9 @@ public class ConsoleContainerViewImplTest {
 
         view = new ConsoleContainerViewImpl(resources, widgetFactory, locale);
         view.setDelegate(delegate);
+
+        when(view.searchField.getText()).thenReturn(SOME_MESSAGE);
+        when(view.errorsOnly.getValue()).thenReturn(true);
     }
 
     @Test
@@ -144,4 +153,75 @@ public class ConsoleContainerViewImplTest {
 
         verify(button1).setCheckedStatus(false);
     }
+
+    @Test
+    public void matchesInfoShouldBeShown() {
+        when(locale.consoleSearchMatches(1, 2)).thenReturn(SOME_MESSAGE);
+
+        view.showMatchesInfo(1, 2);
+
+        verify(view.matchesInfo).setText(SOME_MESSAGE);
+    }
+
+    @Test
+    public void matchesInfoShouldBeCleared() {
+        view.clearMatchesInfo();
+
+        verify(view.matchesInfo).setText("");
+    }
+
+    @Test
+    public void searchShouldBeChangedWhenTextIsInputted() {
+        KeyUpEvent event = mock(KeyUpEvent.class);
+        when(event.getNativeKeyCode()).thenReturn((int)'a');
+
+        view.onSearchFieldKeyUp(event);
+
+        verify(delegate).onSearchChanged(SOME_MESSAGE, true);
+    }
+
+    @Test
+    public void nextMatchShouldBeSelectedWhenEnterIsPressed() {
+        KeyUpEvent event = mock(KeyUpEvent.class);
+        when(event.getNativeKeyCode()).thenReturn(KeyCodes.KEY_ENTER);
+
+        view.onSearchFieldKeyUp(event);
+
+        verify(delegate).onNextMatchClicked();
+        verify(delegate, never()).onSearchChanged(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void previousMatchShouldBeSelectedWhenShiftEnterIsPressed() {
+        KeyUpEvent event = mock(KeyUpEvent.class);
+        when(event.getNativeKeyCode()).thenReturn(KeyCodes.KEY_ENTER);
+        when(event.isShiftKeyDown()).thenReturn(true);
+
+        view.onSearchFieldKeyUp(event);
+
+        verify(delegate).onPreviousMatchClicked();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void searchShouldBeChangedWhenErrorsOnlyIsChanged() {
+        view.onErrorsOnlyChanged(mock(ValueChangeEvent.class));
+
+        verify(delegate).onSearchChanged(SOME_MESSAGE, true);
+    }
+
+    @Test
+    public void previousMatchButtonActionShouldBePerformed() {
+        view.onPreviousMatchClicked(mock(ClickEvent.class));
+
+        verify(delegate).onPreviousMatchClicked();
+    }
+
+    @Test
+    public void nextMatchButtonActionShouldBePerformed() {
+        view.onNextMatchClicked(mock(ClickEvent.class));
+
+        verify(delegate).onNextMatchClicked();
+    }
+
 }
\ No newline at end of file
@@ -11,11 +11,18 @@
 package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
 
 import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.ide.ext.runner.client.RunnerLocalizationConstant;
 import org.eclipse.che.ide.ext.runner.client.RunnerResources;
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
+import org.eclipse.che.ide.ext.runner.client.runneractions.impl.logs.PagedLogReader;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.safehtml.shared.SafeHtml;
-import com.google.gwt.user.client.ui.HTML;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.gwtmockito.GwtMockitoTestRunner;
 import com.google.inject.Provider;
@@ -25,19 +32,32 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.TestUtil.getFieldValueByName;
+import static org.eclipse.che.ide.ext.runner.client.constants.TimeInterval.ONE_SEC;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.CLEANED;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.MAXIMUM;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.DOCKER;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.WARNING;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
@@ -52,10 +72,24 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 @RunWith(GwtMockitoTestRunner.class)
 public class ConsoleImplTest {
 
-    private static final String SOME_TEXT = "some text";
+    private static final String SOME_TEXT   = "some text";
+    private static final String VIRTUALIZED = "virtualized";
+    private static final String LINE        = "<pre>line</pre>";
+    private static final int    BUDGET      = 10 * 1024 * 1024;
+    /** The budget which is enough for 1 000 lines that are added by {@link #addLines(int)}. */
+    private static final int    SMALL_BUDGET = 1_000 * (LogBuffer.LINE_OVERHEAD + 2 * (INFO.getPrefix().length() + 5));
+    private static final int    THRESHOLD    = 1_000_000;
 
     @Captor
-    private ArgumentCaptor<HTML> htmlArgumentCaptor;
+    private ArgumentCaptor<SafeHtml>      htmlArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<ScrollHandler> scrollHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<ScheduledCommand> commandCaptor;
+    @Captor
+    private ArgumentCaptor<PagedLogReader.Listener> listenerCaptor;
+    @Captor
+    private ArgumentCaptor<RepeatingCommand> repeatingCommandCaptor;
 
     // additional field
     @Mock
@@ -65,41 +99,93 @@ public class ConsoleImplTest {
     @Mock
     private RunnerResources.RunnerCss css;
     @Mock
-    private Widget                    widget1;
-    @Mock
-    private Widget                    widget2;
+    private PagedLogReader            logReader;
 
     // constructor field
     @Mock(answer = RETURNS_DEEP_STUBS)
-    private RunnerResources          res;
+    private RunnerResources            res;
+    @Mock
+    private Runner                     runner;
     @Mock
-    private Runner                   runner;
+    private Provider<MessageBuilder>   messageBuilderProvider;
     @Mock
-    private Provider<MessageBuilder> messageBuilderProvider;
+    private WidgetFactory              widgetFactory;
     @Mock
-    private WidgetFactory            widgetFactory;
+    private RunnerLocalizationConstant locale;
+    @Mock
+    private Scheduler                  scheduler;
 
-    @InjectMocks
     private ConsoleImpl console;
 
     @Before
     public void setUp() throws Exception {
         when(messageBuilderProvider.get()).thenReturn(messageBuilder);
 
-        when(messageBuilder.type(any(MessageType.class))).thenReturn(messageBuilder);
+        when(messageBuilder.types(anyInt())).thenReturn(messageBuilder);
         when(messageBuilder.message(anyString())).thenReturn(messageBuilder);
         when(messageBuilder.build()).thenReturn(content);
+        when(content.asString()).thenReturn(LINE);
         when(res.runnerCss()).thenReturn(css);
         when(css.wrappedText()).thenReturn(SOME_TEXT);
+        when(css.virtualizedConsole()).thenReturn(VIRTUALIZED);
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                ((ScheduledCommand)invocation.getArguments()[0]).execute();
+                return null;
+            }
+        }).when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+
+        console = createConsole(BUDGET);
+    }
+
+    private ConsoleImpl createConsole(int budget) {
+        return createConsole(budget, THRESHOLD);
+    }
+
+    private ConsoleImpl createConsole(int budget, int overloadThreshold) {
+        LogBufferManager logBufferManager = new LogBufferManager(budget, budget);
+        ConsoleImpl result = new ConsoleImpl(res,
+                                             messageBuilderProvider,
+                                             widgetFactory,
+                                             locale,
+                                             logBufferManager,
+                                             scheduler,
+                                             new RunnerMetrics(),
+                                             overloadThreshold,
+                                             runner);
+        result.setActive(true);
+
+        return result;
+    }
+
+    private LogBuffer getLines() throws Exception {
+        return (LogBuffer)getFieldValueByName(console, "lines");
+    }
+
+    private void addLines(int count) throws Exception {
+        LogBuffer lines = getLines();
+
+        for (int i = 0; i < count; i++) {
+            lines.add(INFO.getPrefix() + " line", INFO.getMask());
+        }
+    }
+
+    private int countRenderedLines() {
+        verify(console.viewport).setHTML(htmlArgumentCaptor.capture());
+
+        String html = htmlArgumentCaptor.getValue().asString();
+        return html.split(LINE, -1).length - 1;
     }
 
     @Test
     public void infoMessageShouldBePrinted() throws Exception {
         console.printInfo(SOME_TEXT);
 
-        verify(console.output).add(any(HTML.class));
+        verify(console.viewport).setHTML(any(SafeHtml.class));
 
-        verify(messageBuilder).type(INFO);
+        verify(messageBuilder).types(INFO.getMask());
         verify(messageBuilder).message(INFO.getPrefix() + ' ' + SOME_TEXT);
     }
 
@@ -107,9 +193,9 @@ public class ConsoleImplTest {
     public void errorMessageShouldBePrinted() throws Exception {
         console.printError(SOME_TEXT);
 
-        verify(console.output).add(any(HTML.class));
+        verify(console.viewport).setHTML(any(SafeHtml.class));
 
-        verify(messageBuilder).type(ERROR);
+        verify(messageBuilder).types(ERROR.getMask());
         verify(messageBuilder).message(ERROR.getPrefix() + ' ' + SOME_TEXT);
     }
 
@@ -117,46 +203,65 @@ public class ConsoleImplTest {
     public void warningMessageShouldBePrinted() throws Exception {
         console.printWarn(SOME_TEXT);
 
-        verify(console.output).add(any(HTML.class));
+        verify(console.viewport).setHTML(any(SafeHtml.class));
 
-        verify(messageBuilder).type(WARNING);
+        verify(messageBuilder).types(WARNING.getMask());
         verify(messageBuilder).message(WARNING.getPrefix() + ' ' + SOME_TEXT);
     }
 
     @Test
-    public void messageShouldBeCleanedWhenTheAmountIs1000AndLogUrlIsAbsent() throws Exception {
-        when(console.output.getWidgetCount()).thenReturn(1000);
-
+    public void printedLineShouldBeStored() throws Exception {
         console.printInfo(SOME_TEXT);
 
-        verify(messageBuilder).type(INFO);
-        verify(messageBuilder).message(INFO.getPrefix() + ' ' + SOME_TEXT);
+        assertThat(getLines().size(), is(1));
+        assertThat(getLines().getText(0), is(INFO.getPrefix() + ' ' + SOME_TEXT));
+        assertThat(getLines().getFlags(0), is(INFO.getMask()));
+    }
+
+    @Test
+    public void onlyVisibleLinesShouldBeRendered() throws Exception {
+        addLines(1_000);
+        when(console.panel.getVerticalScrollPosition()).thenReturn(1_400);
+        when(console.panel.getOffsetHeight()).thenReturn(140);
 
-        verify(console.output, times(100)).remove(0);
-        verify(console.output, never()).insert(any(HTML.class), eq(0));
-        verify(console.output).add(any(HTML.class));
+        verify(console.panel).addScrollHandler(scrollHandlerCaptor.capture());
+        scrollHandlerCaptor.getValue().onScroll(mock(ScrollEvent.class));
+
+        // 10 visible lines with one partially visible line and 20 lines of overscan at the top and at the bottom
+        assertThat(countRenderedLines(), is(51));
+        assertThat(htmlArgumentCaptor.getValue().asString(), containsString("top:1120px;"));
+    }
+
+    @Test
+    public void linesShouldBeCleanedWhenBudgetIsExceededAndLogUrlIsAbsent() throws Exception {
+        console = createConsole(SMALL_BUDGET);
+        addLines(1_000);
+
+        console.printInfo(SOME_TEXT);
+
+        assertThat(getLines().size(), is(1_000 - CLEANED.getValue() + 1));
+        assertThat(getLines().getEvicted(), is(CLEANED.getValue()));
+        verify(console.output, never()).insert(any(Widget.class), eq(0));
     }
 
     @Test
-    public void messageShouldBeCleanedWhenTheAmountIs1000AndLogHrefIsAbsent() throws Exception {
-        when(console.output.getWidgetCount()).thenReturn(1000);
+    public void linesShouldBeCleanedWhenBudgetIsExceededAndLogHrefIsAbsent() throws Exception {
+        console = createConsole(SMALL_BUDGET);
+        addLines(1_000);
 
         Link logLink = mock(Link.class);
         when(runner.getLogUrl()).thenReturn(logLink);
 
         console.printInfo(SOME_TEXT);
 
-        verify(messageBuilder).type(INFO);
-        verify(messageBuilder).message(INFO.getPrefix() + ' ' + SOME_TEXT);
-
-        verify(console.output, times(100)).remove(0);
-        verify(console.output, never()).insert(any(HTML.class), eq(0));
-        verify(console.output).add(any(HTML.class));
+        assertThat(getLines().size(), is(1_000 - CLEANED.getValue() + 1));
+        verify(console.output, never()).insert(any(Widget.class), eq(0));
     }
 
     @Test
-    public void messageShouldBeCleanedWhenTheAmountIs1000AndLogUrlIsExist() throws Exception {
-        when(console.output.getWidgetCount()).thenReturn(1000);
+    public void linesShouldBeCleanedWhenBudgetIsExceededAndLogUrlIsExist() throws Exception {
+        console = createConsole(SMALL_BUDGET);
+        addLines(1_000);
 
         FullLogMessageWidget messageWidget = mock(FullLogMessageWidget.class);
         when(widgetFactory.createFullLogMessage(anyString())).thenReturn(messageWidget);
@@ -166,23 +271,49 @@ public class ConsoleImplTest {
 
         when(runner.getLogUrl()).thenReturn(logLink);
 
+        console.printInfo(SOME_TEXT);
         console.printInfo(SOME_TEXT);
 
-        verify(messageBuilder).type(INFO);
-        verify(messageBuilder).message(INFO.getPrefix() + ' ' + SOME_TEXT);
+        assertThat(getLines().size(), is(1_000 - CLEANED.getValue() + 2));
 
-        verify(widgetFactory).createFullLogMessage(anyString());
+        verify(widgetFactory).createFullLogMessage(SOME_TEXT);
+        verify(console.output).insert(messageWidget, 0);
+    }
+
+    @Test
+    public void linkToFullLogShouldBeShownWhenWrappedTextHidesSomeLines() throws Exception {
+        addLines(MAXIMUM.getValue());
+
+        FullLogMessageWidget messageWidget = mock(FullLogMessageWidget.class);
+        when(widgetFactory.createFullLogMessage(anyString())).thenReturn(messageWidget);
+
+        Link logLink = mock(Link.class);
+        when(logLink.getHref()).thenReturn(SOME_TEXT);
+        when(runner.getLogUrl()).thenReturn(logLink);
+
+        console.changeWrapTextParam();
+        console.printInfo(SOME_TEXT);
 
-        verify(console.output, times(100)).remove(0);
         verify(console.output).insert(messageWidget, 0);
-        verify(console.output).add(any(HTML.class));
+        // the last line should be rendered as well as previous lines
+        verify(console.viewport, times(2)).setHTML(htmlArgumentCaptor.capture());
+        String html = htmlArgumentCaptor.getValue().asString();
+        assertThat(html.split(LINE, -1).length - 1, is(MAXIMUM.getValue()));
+
+        console.changeWrapTextParam();
+
+        verify(console.output).remove(messageWidget);
     }
 
     @Test
     public void consoleShouldBeCleaned() throws Exception {
+        console.printInfo(SOME_TEXT);
+
         console.clear();
 
-        verify(console.output).clear();
+        assertThat(getLines().isEmpty(), is(true));
+        verify(console.viewport, times(2)).setHTML(htmlArgumentCaptor.capture());
+        assertThat(htmlArgumentCaptor.getValue().asString().contains(LINE), is(false));
     }
 
     @Test
@@ -190,24 +321,200 @@ public class ConsoleImplTest {
         String message = INFO.getPrefix() + SOME_TEXT;
         console.print(message);
 
-        verify(messageBuilder).type(INFO);
+        verify(messageBuilder).types(INFO.getMask());
         verify(messageBuilder).message(message);
 
-        verify(console.output).add(any(HTML.class));
+        assertThat(countRenderedLines(), is(1));
     }
 
     @Test
-    public void wrappedTextCssShouldNotBeApplied() {
-        String message = INFO.getPrefix() + SOME_TEXT;
+    public void linesShouldBeBuiltOnlyWhenTheyAreRendered() throws Exception {
+        addLines(1_000);
+        when(console.panel.getVerticalScrollPosition()).thenReturn(13_860);
+        when(console.panel.getOffsetHeight()).thenReturn(140);
+
+        console.scrollBottom();
+
+        // the last 10 visible lines and 20 lines of overscan at the top
+        verify(messageBuilderProvider, times(30)).get();
+    }
+
+    @Test
+    public void printedLinesShouldBeRenderedByOneFlush() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+
+        console.print(INFO.getPrefix() + SOME_TEXT + '\n' + INFO.getPrefix() + SOME_TEXT);
+        console.printWarn(SOME_TEXT);
+
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+        verify(console.viewport, never()).setHTML(any(SafeHtml.class));
+
+        commandCaptor.getValue().execute();
+
+        assertThat(countRenderedLines(), is(3));
+        assertThat(console.getRenderMetrics().getFlushCount(), is(1));
+        assertThat(console.getRenderMetrics().getLastLinesPerFlush(), is(3));
+    }
+
+    @Test
+    public void flushShouldBeScheduledAgainAfterPreviousFlush() throws Exception {
+        console.printInfo(SOME_TEXT);
+        console.printInfo(SOME_TEXT);
+
+        verify(scheduler, times(2)).scheduleDeferred(any(ScheduledCommand.class));
+        assertThat(console.getRenderMetrics().getFlushCount(), is(2));
+    }
+
+    @Test
+    public void pendingLinesShouldNotBeRenderedWhenConsoleIsCleaned() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+
+        console.printInfo(SOME_TEXT);
+        console.clear();
+
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+
+        assertThat(console.getRenderMetrics().getFlushCount(), is(0));
+    }
+
+    @Test
+    public void messageWithoutKnownPrefixShouldBePrinted() throws Exception {
+        console.print(SOME_TEXT);
+
+        verify(messageBuilder).types(0);
+        verify(messageBuilder).message(SOME_TEXT);
+
+        assertThat(countRenderedLines(), is(1));
+    }
+
+    @Test
+    public void foundLineShouldBeSelectedAndHighlighted() throws Exception {
+        when(css.searchMatch()).thenReturn(SOME_TEXT);
+        when(console.panel.getOffsetHeight()).thenReturn(140);
+        console.print(INFO.getPrefix() + " first\n" + ERROR.getPrefix() + " second\n" + INFO.getPrefix() + " third second");
+
+        assertThat(console.search("SECOND", 0), is(2));
+
+        verify(console.panel).setVerticalScrollPosition(0);
+        verify(console.viewport, times(2)).setHTML(htmlArgumentCaptor.capture());
+        assertThat(htmlArgumentCaptor.getValue().asString(), containsString("<div class='" + SOME_TEXT + "'>" + LINE + "</div>"));
+    }
+
+    @Test
+    public void foundLineShouldBeRenderedWhenItIsOlderThanLastWrappedLines() throws Exception {
+        when(css.searchMatch()).thenReturn(SOME_TEXT);
+        StringBuilder text = new StringBuilder(ERROR.getPrefix() + " first\n");
+
+        for (int i = 0; i < MAXIMUM.getValue() + 10; i++) {
+            text.append(INFO.getPrefix()).append(" line\n");
+        }
+
+        console.print(text.toString());
         console.changeWrapTextParam();
-        console.print(message);
-        verify(res, times(2)).runnerCss();
-        verify(css, times(2)).wrappedText();
 
-        verify(messageBuilder).type(INFO);
-        verify(messageBuilder).message(message);
+        assertThat(console.search("first", 0), is(1));
+
+        verify(console.viewport, atLeastOnce()).setHTML(htmlArgumentCaptor.capture());
+        String html = htmlArgumentCaptor.getValue().asString();
+        assertThat(html, containsString("<div class='" + SOME_TEXT + "'>" + LINE + "</div>"));
+        assertThat(html.split(LINE, -1).length - 1, is(MAXIMUM.getValue()));
+    }
+
+    @Test
+    public void foundLinesShouldBeFilteredByTypes() throws Exception {
+        console.print(INFO.getPrefix() + " first\n" + ERROR.getPrefix() + " second\n" + INFO.getPrefix() + " third second");
 
-        verify(console.output).add(any(HTML.class));
+        assertThat(console.search("second", INFO.getMask()), is(1));
+        assertThat(console.search("", ERROR.getMask()), is(1));
+    }
+
+    @Test
+    public void foundLinesShouldBeNavigated() throws Exception {
+        console.print(INFO.getPrefix() + " first\n" + ERROR.getPrefix() + " second\n" + INFO.getPrefix() + " third second");
+        console.search("second", 0);
+
+        assertThat(console.selectNextMatch(), is(1));
+        assertThat(console.selectNextMatch(), is(0));
+        assertThat(console.selectPreviousMatch(), is(1));
+    }
+
+    @Test
+    public void navigationShouldNotBeDoneWhenNothingIsFound() throws Exception {
+        console.printInfo(SOME_TEXT);
+
+        assertThat(console.search("absent", 0), is(0));
+        assertThat(console.selectNextMatch(), is(-1));
+        assertThat(console.selectPreviousMatch(), is(-1));
+    }
+
+    @Test
+    public void consoleShouldNotBeScrolledToBottomWhenFoundLineIsSelected() throws Exception {
+        console.printInfo(SOME_TEXT);
+        console.search("some", 0);
+        reset(console.panel);
+
+        console.printInfo(SOME_TEXT);
+
+        verify(console.panel, never()).getElement();
+    }
+
+    @Test
+    public void consoleShouldBeScrolledToBottomWhenSearchIsReset() throws Exception {
+        console.printInfo(SOME_TEXT);
+        console.search("some", 0);
+
+        assertThat(console.search("", 0), is(0));
+
+        reset(console.panel);
+        console.printInfo(SOME_TEXT);
+
+        verify(console.panel, times(2)).getElement();
+    }
+
+    @Test
+    public void inactiveConsoleShouldOnlyStorePrintedLines() throws Exception {
+        console.setActive(false);
+
+        console.printInfo(SOME_TEXT);
+        console.printError(SOME_TEXT);
+
+        assertThat(getLines().size(), is(2));
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
+        verify(console.viewport, never()).setHTML(any(SafeHtml.class));
+    }
+
+    @Test
+    public void storedLinesShouldBeRenderedWhenConsoleBecomesActive() throws Exception {
+        console.setActive(false);
+        console.printInfo(SOME_TEXT);
+        console.printError(SOME_TEXT);
+
+        console.setActive(true);
+
+        verify(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+        assertThat(countRenderedLines(), is(2));
+        assertThat(console.getRenderMetrics().getLastLinesPerFlush(), is(2));
+    }
+
+    @Test
+    public void scheduledFlushShouldBeSkippedWhenConsoleBecomesInactive() throws Exception {
+        doNothing().when(scheduler).scheduleDeferred(any(ScheduledCommand.class));
+        console.printInfo(SOME_TEXT);
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+
+        console.setActive(false);
+        commandCaptor.getValue().execute();
+
+        verify(console.viewport, never()).setHTML(any(SafeHtml.class));
+        assertThat(console.getRenderMetrics().getFlushCount(), is(0));
+    }
+
+    @Test
+    public void flushShouldNotBeScheduledWhenActiveConsoleHasNoPendingLines() throws Exception {
+        console.setActive(true);
+
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
     }
 
     @Test
@@ -222,11 +529,10 @@ public class ConsoleImplTest {
         String message = DOCKER.getPrefix() + ' ' + ERROR.getPrefix() + SOME_TEXT;
         console.print(message);
 
-        verify(messageBuilder).type(DOCKER);
-        verify(messageBuilder).type(ERROR);
+        verify(messageBuilder).types(DOCKER.getMask() | ERROR.getMask());
         verify(messageBuilder).message(message);
 
-        verify(console.output).add(any(HTML.class));
+        assertThat(countRenderedLines(), is(1));
     }
 
     @Test
@@ -236,10 +542,10 @@ public class ConsoleImplTest {
 
         console.print(message);
 
-        verify(messageBuilder, times(2)).type(INFO);
-        verify(messageBuilder, times(2)).message(content);
-
-        verify(console.output, times(2)).add(any(HTML.class));
+        assertThat(getLines().size(), is(2));
+        assertThat(getLines().getText(0), is(content));
+        assertThat(getLines().getText(1), is(content));
+        assertThat(getLines().getFlags(1), is(INFO.getMask()));
     }
 
     @Test
@@ -249,51 +555,39 @@ public class ConsoleImplTest {
 
         console.print(message);
 
-        verify(messageBuilder).type(INFO);
+        verify(messageBuilder).types(INFO.getMask());
         verify(messageBuilder).message(content);
 
-        verify(console.output).add(any(HTML.class));
+        assertThat(getLines().size(), is(1));
     }
 
     @Test
     public void shouldChangeWrapTextParamWhenIsWrappedTextIsTrue() {
-        when(console.output.getWidgetCount()).thenReturn(2);
-        when(console.output.getWidget(0)).thenReturn(widget1);
-        when(console.output.getWidget(1)).thenReturn(widget2);
-
         console.changeWrapTextParam();
 
-        verify(res).runnerCss();
-        verify(css).wrappedText();
-
-        verify(console.output, times(3)).getWidgetCount();
-        verify(console.output).getWidget(0);
-        verify(console.output).getWidget(1);
-
-        verify(widget1).addStyleName(SOME_TEXT);
-        verify(widget2).addStyleName(SOME_TEXT);
+        verify(console.viewport).removeStyleName(VIRTUALIZED);
+        verify(console.viewport).addStyleName(SOME_TEXT);
     }
 
     @Test
     public void shouldChangeWrapTextParamWhenIsWrappedTextIsFalse() {
-        when(console.output.getWidgetCount()).thenReturn(2);
-        when(console.output.getWidget(0)).thenReturn(widget1);
-        when(console.output.getWidget(1)).thenReturn(widget2);
-
         console.changeWrapTextParam();
-        reset(widget1, widget2);
-
         console.changeWrapTextParam();
 
-        verify(res, times(2)).runnerCss();
-        verify(css, times(2)).wrappedText();
+        verify(console.viewport).removeStyleName(SOME_TEXT);
+        // the first time the style is added when the console is created
+        verify(console.viewport, times(2)).addStyleName(VIRTUALIZED);
+    }
+
+    @Test
+    public void visibleLinesShouldNotBeRenderedOnScrollWhenTextIsWrapped() {
+        console.changeWrapTextParam();
+        verify(console.viewport).setHTML(any(SafeHtml.class));
 
-        verify(console.output, times(6)).getWidgetCount();
-        verify(console.output, times(2)).getWidget(0);
-        verify(console.output, times(2)).getWidget(1);
+        verify(console.panel).addScrollHandler(scrollHandlerCaptor.capture());
+        scrollHandlerCaptor.getValue().onScroll(mock(ScrollEvent.class));
 
-        verify(widget1).removeStyleName(SOME_TEXT);
-        verify(widget2).removeStyleName(SOME_TEXT);
+        verify(console.viewport).setHTML(any(SafeHtml.class));
     }
 
     @Test
@@ -307,4 +601,270 @@ public class ConsoleImplTest {
         assertThat(console.isWrapText(), is(true));
     }
 
-}
\ No newline at end of file
+    private ScrollHandler getScrollHandler() {
+        verify(console.panel).addScrollHandler(scrollHandlerCaptor.capture());
+        return scrollHandlerCaptor.getValue();
+    }
+
+    @Test
+    public void pagesOfLogShouldBeShownAbovePrintedLines() throws Exception {
+        console.printError(SOME_TEXT);
+
+        console.setLogReader(logReader);
+        verify(logReader).setListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onPagesLoaded(Arrays.asList("line 1", INFO.getPrefix() + " line 2"), 1, false);
+
+        LogBuffer lines = getLines();
+        assertThat(lines.size(), is(3));
+        assertThat(lines.getText(0), is("line 1"));
+        assertThat(lines.getFlags(1), is(INFO.getMask()));
+        assertThat(lines.getText(2), is(ERROR.getPrefix() + ' ' + SOME_TEXT));
+        assertThat(lines.getFlags(2), is(ERROR.getMask()));
+    }
+
+    @Test
+    public void printedLinesShouldBeKeptWhenNextPageIsLoaded() throws Exception {
+        console.printError(SOME_TEXT);
+
+        console.setLogReader(logReader);
+        verify(logReader).setListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onPagesLoaded(Arrays.asList("line 1"), 0, false);
+        console.print("live line");
+        listenerCaptor.getValue().onPagesLoaded(Arrays.asList("line 1", "line 2"), 1, false);
+
+        LogBuffer lines = getLines();
+        assertThat(lines.size(), is(4));
+        assertThat(lines.getText(1), is("line 2"));
+        assertThat(lines.getText(2), is(ERROR.getPrefix() + ' ' + SOME_TEXT));
+        assertThat(lines.getText(3), is("live line"));
+    }
+
+    @Test
+    public void anchorLineShouldBeShownAtTopOfConsoleWhenPreviousPageIsLoaded() throws Exception {
+        console.setLogReader(logReader);
+        verify(logReader).setListener(listenerCaptor.capture());
+
+        listenerCaptor.getValue().onPagesLoaded(Arrays.asList("line 1", "line 2", "line 3"), 2, true);
+
+        verify(console.panel).setVerticalScrollPosition(28);
+    }
+
+    @Test
+    public void previousPageShouldBeLoadedWhenConsoleIsScrolledToTop() throws Exception {
+        console.setLogReader(logReader);
+        when(console.panel.getVerticalScrollPosition()).thenReturn(0);
+
+        getScrollHandler().onScroll(mock(ScrollEvent.class));
+
+        verify(logReader).loadPrevious();
+        verify(logReader, never()).loadNext();
+    }
+
+    @Test
+    public void nextPageShouldBeLoadedWhenConsoleIsScrolledToBottom() throws Exception {
+        console.setLogReader(logReader);
+        when(console.panel.getVerticalScrollPosition()).thenReturn(100);
+        when(console.panel.getMaximumVerticalScrollPosition()).thenReturn(100);
+
+        getScrollHandler().onScroll(mock(ScrollEvent.class));
+
+        verify(logReader).loadNext();
+        verify(logReader, never()).loadPrevious();
+    }
+
+    @Test
+    public void pageShouldNotBeLoadedWhileReaderIsLoading() throws Exception {
+        console.setLogReader(logReader);
+        when(logReader.isLoading()).thenReturn(true);
+
+        getScrollHandler().onScroll(mock(ScrollEvent.class));
+
+        verify(logReader, never()).loadPrevious();
+        verify(logReader, never()).loadNext();
+    }
+
+    @Test
+    public void readerShouldBeDetachedWhenConsoleIsCleared() throws Exception {
+        console.setLogReader(logReader);
+        verify(logReader).setListener(listenerCaptor.capture());
+
+        console.clear();
+
+        getScrollHandler().onScroll(mock(ScrollEvent.class));
+        listenerCaptor.getValue().onPagesLoaded(Arrays.asList("line 1"), 0, false);
+
+        verify(logReader, never()).loadPrevious();
+        assertThat(getLines().isEmpty(), is(true));
+    }
+
+    @Test
+    public void memoryOfConsoleShouldBeReleased() throws Exception {
+        LogBufferManager logBufferManager = (LogBufferManager)getFieldValueByName(console, "logBufferManager");
+        console.printInfo(SOME_TEXT);
+        console.setLogReader(logReader);
+
+        console.release();
+
+        assertThat(getLines().isEmpty(), is(true));
+        assertThat(logBufferManager.getBytes(), is(0));
+    }
+
+    @Test
+    public void releasedConsoleShouldNotKeepMessages() throws Exception {
+        LogBufferManager logBufferManager = (LogBufferManager)getFieldValueByName(console, "logBufferManager");
+        console.setActive(true);
+
+        console.release();
+        console.printInfo(SOME_TEXT);
+
+        assertThat(getLines().isEmpty(), is(true));
+        assertThat(logBufferManager.getBytes(), is(0));
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
+    }
+
+    private String createLargeText() {
+        StringBuilder text = new StringBuilder();
+        while (text.length() <= ConsoleImpl.INCREMENTAL_LENGTH) {
+            text.append(SOME_TEXT).append('\n');
+        }
+
+        return text.toString();
+    }
+
+    private RepeatingCommand getIngestion() {
+        verify(scheduler).scheduleIncremental(repeatingCommandCaptor.capture());
+        return repeatingCommandCaptor.getValue();
+    }
+
+    @Test
+    public void largeTextShouldBeProcessedIncrementally() throws Exception {
+        when(locale.consoleLoadingProgress(anyInt())).thenReturn(SOME_TEXT);
+        String text = createLargeText();
+
+        console.print(text);
+
+        assertThat(getLines().isEmpty(), is(true));
+        verify(console.progress).setVisible(true);
+        verify(console.progress).setText(SOME_TEXT);
+
+        RepeatingCommand ingestion = getIngestion();
+        //noinspection StatementWithEmptyBody
+        while (ingestion.execute()) {
+        }
+
+        assertThat(getLines().size(), is(text.split("\n").length));
+        verify(console.progress).setVisible(false);
+    }
+
+    @Test
+    public void typedLinesShouldBePrintedAfterTextWhichIsBeingProcessed() throws Exception {
+        console.print(createLargeText());
+        console.printInfo(SOME_TEXT);
+
+        assertThat(getLines().isEmpty(), is(true));
+
+        RepeatingCommand ingestion = getIngestion();
+        //noinspection StatementWithEmptyBody
+        while (ingestion.execute()) {
+        }
+
+        LogBuffer lines = getLines();
+        assertThat(lines.getText(lines.size() - 1), is(INFO.getPrefix() + ' ' + SOME_TEXT));
+        assertThat(lines.getFlags(lines.size() - 1), is(INFO.getMask()));
+    }
+
+    @Test
+    public void largePagesOfLogShouldBeProcessedIncrementally() throws Exception {
+        console.printError(SOME_TEXT);
+        console.setLogReader(logReader);
+        verify(logReader).setListener(listenerCaptor.capture());
+
+        List<String> pageLines = Arrays.asList(createLargeText().split("\n"));
+        listenerCaptor.getValue().onPagesLoaded(pageLines, 0, true);
+        console.printInfo(SOME_TEXT);
+
+        assertThat(getLines().isEmpty(), is(true));
+        verify(console.progress).setVisible(true);
+
+        RepeatingCommand ingestion = getIngestion();
+        //noinspection StatementWithEmptyBody
+        while (ingestion.execute()) {
+        }
+
+        LogBuffer lines = getLines();
+        assertThat(lines.size(), is(pageLines.size() + 2));
+        assertThat(lines.getText(0), is(pageLines.get(0)));
+        assertThat(lines.getText(pageLines.size()), is(ERROR.getPrefix() + ' ' + SOME_TEXT));
+        assertThat(lines.getText(pageLines.size() + 1), is(INFO.getPrefix() + ' ' + SOME_TEXT));
+        verify(console.progress, atLeastOnce()).setVisible(false);
+    }
+
+    @Test
+    public void processingShouldBeCancelledWhenConsoleBecomesInactive() throws Exception {
+        when(locale.consoleLoadingCancelled()).thenReturn(SOME_TEXT);
+
+        console.print(createLargeText());
+        console.setActive(false);
+
+        assertThat(getIngestion().execute(), is(false));
+
+        LogBuffer lines = getLines();
+        assertThat(lines.size(), is(1));
+        assertThat(lines.getText(0), is(WARNING.getPrefix() + ' ' + SOME_TEXT));
+        verify(console.progress).setVisible(false);
+    }
+
+    private RepeatingCommand startSampling() {
+        when(locale.consoleLinesSuppressed(anyInt())).thenReturn(SOME_TEXT);
+        console = createConsole(BUDGET, 2);
+
+        console.printInfo(SOME_TEXT);
+        console.printInfo(SOME_TEXT);
+        console.printInfo(SOME_TEXT);
+
+        verify(scheduler).scheduleFixedDelay(repeatingCommandCaptor.capture(), eq(ONE_SEC.getValue()));
+        return repeatingCommandCaptor.getValue();
+    }
+
+    @Test
+    public void consoleShouldRenderLinesOnceASecondWhenOutputIsTooFast() throws Exception {
+        RepeatingCommand sampling = startSampling();
+
+        verify(console.overload).setVisible(true);
+        verify(console.overload).setText(SOME_TEXT);
+
+        console.printInfo(SOME_TEXT);
+        console.printInfo(SOME_TEXT);
+
+        // printed lines are stored, but they are rendered only by the sampled rendering
+        verify(scheduler, times(3)).scheduleDeferred(any(ScheduledCommand.class));
+        assertThat(getLines().size(), is(5));
+        assertThat(console.getRenderMetrics().getFlushCount(), is(3));
+
+        assertThat(sampling.execute(), is(true));
+
+        assertThat(console.getRenderMetrics().getFlushCount(), is(4));
+        assertThat(console.getRenderMetrics().getLastLinesPerFlush(), is(2));
+        // the console has no height, so none of sampled lines were shown
+        verify(locale).consoleLinesSuppressed(3);
+    }
+
+    @Test
+    public void sampledRenderingShouldBeStoppedWhenConsoleBecomesInactive() throws Exception {
+        RepeatingCommand sampling = startSampling();
+
+        console.setActive(false);
+
+        assertThat(sampling.execute(), is(false));
+        verify(console.overload).setVisible(false);
+
+        console.printInfo(SOME_TEXT);
+        console.setActive(true);
+
+        // the console renders every flush again
+        verify(scheduler, times(4)).scheduleDeferred(any(ScheduledCommand.class));
+    }
+
+}
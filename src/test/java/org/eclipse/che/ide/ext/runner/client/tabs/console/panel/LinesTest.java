@@ -16,6 +16,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.CLEANED;
 import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.MAXIMUM;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.OVERSCAN;
 import static org.junit.Assert.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 /**
@@ -32,4 +33,9 @@ public class LinesTest {
     public void shouldReturnTabHeight2() throws Exception {
         assertThat(MAXIMUM.getValue(), is(1_000));
     }
+
+    @Test
+    public void shouldReturnOverscanLines() throws Exception {
+        assertThat(OVERSCAN.getValue(), is(20));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LogBufferManagerTest {
+
+    private static final String TEXT       = "text";
+    private static final int    LINE_BYTES = LogBuffer.LINE_OVERHEAD + 2 * TEXT.length();
+    private static final int    BUDGET     = 1_000 * LINE_BYTES;
+
+    private LogBufferManager manager;
+
+    @Before
+    public void setUp() throws Exception {
+        manager = new LogBufferManager(BUDGET, BUDGET);
+    }
+
+    private static void addLines(LogBuffer buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.add(TEXT, INFO.getMask());
+        }
+    }
+
+    @Test
+    public void bytesOfAllBuffersShouldBeCounted() throws Exception {
+        addLines(manager.create(), 10);
+        addLines(manager.create(), 20);
+
+        assertThat(manager.getBytes(), is(30 * LINE_BYTES));
+    }
+
+    @Test
+    public void oldestLinesOfAllBuffersShouldBeEvictedWhenWorkspaceBudgetIsExceeded() throws Exception {
+        LogBuffer first = manager.create();
+        LogBuffer second = manager.create();
+
+        addLines(first, 500);
+        addLines(second, 501);
+
+        assertThat(first.size(), is(500 - Lines.CLEANED.getValue()));
+        assertThat(first.getEvicted(), is(Lines.CLEANED.getValue()));
+        assertThat(second.size(), is(501));
+        assertThat(manager.getBytes(), is((1_001 - Lines.CLEANED.getValue()) * LINE_BYTES));
+    }
+
+    @Test
+    public void bufferShouldBeReleased() throws Exception {
+        LogBuffer first = manager.create();
+        LogBuffer second = manager.create();
+
+        addLines(first, 500);
+        addLines(second, 500);
+
+        manager.release(first);
+        addLines(second, 1);
+
+        assertThat(first.isEmpty(), is(true));
+        assertThat(second.size(), is(501));
+        assertThat(manager.getBytes(), is(501 * LINE_BYTES));
+    }
+
+    @Test
+    public void allBuffersShouldBeReleased() throws Exception {
+        LogBuffer first = manager.create();
+        LogBuffer second = manager.create();
+
+        addLines(first, 10);
+        addLines(second, 10);
+
+        manager.releaseAll();
+
+        assertThat(first.isEmpty(), is(true));
+        assertThat(second.isEmpty(), is(true));
+        assertThat(manager.getBytes(), is(0));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.Lines.CLEANED;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.DOCKER;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LogBufferTest {
+
+    private static final String TEXT       = "text";
+    private static final int    LINE_BYTES = LogBuffer.LINE_OVERHEAD + 2 * TEXT.length();
+    private static final int    BUDGET     = 1_000 * LINE_BYTES;
+
+    private LogBuffer buffer;
+
+    @Before
+    public void setUp() throws Exception {
+        buffer = new LogBufferManager(BUDGET, 10 * BUDGET).create();
+    }
+
+    private void addLines(int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.add(TEXT + i, INFO.getMask());
+        }
+    }
+
+    @Test
+    public void bufferShouldBeEmpty() throws Exception {
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(buffer.size(), is(0));
+        assertThat(buffer.getBytes(), is(0));
+    }
+
+    @Test
+    public void lineShouldBeAdded() throws Exception {
+        buffer.add(TEXT, DOCKER.getMask() | ERROR.getMask());
+
+        assertThat(buffer.size(), is(1));
+        assertThat(buffer.getText(0), is(TEXT));
+        assertThat(buffer.getFlags(0), is(DOCKER.getMask() | ERROR.getMask()));
+        assertThat(buffer.getBytes(), is(LINE_BYTES));
+    }
+
+    @Test
+    public void linesShouldBeKeptInOrderWhenBufferGrows() throws Exception {
+        addLines(600);
+
+        assertThat(buffer.size(), is(600));
+
+        for (int i = 0; i < 600; i++) {
+            assertThat(buffer.getText(i), is(TEXT + i));
+            assertThat(buffer.getSequence(i), is(i));
+        }
+    }
+
+    @Test
+    public void oldestLinesShouldBeEvictedWhenBudgetIsExceeded() throws Exception {
+        for (int i = 0; i < 1_001; i++) {
+            buffer.add(TEXT, INFO.getMask());
+        }
+
+        assertThat(buffer.size(), is(1_001 - CLEANED.getValue()));
+        assertThat(buffer.getEvicted(), is(CLEANED.getValue()));
+        assertThat(buffer.getBytes(), is((1_001 - CLEANED.getValue()) * LINE_BYTES));
+        assertThat(buffer.getSequence(0), is(CLEANED.getValue()));
+    }
+
+    @Test
+    public void linesShouldBeKeptInOrderWhenBufferWrapsAround() throws Exception {
+        for (int i = 0; i < 1_100; i++) {
+            buffer.add(TEXT + (char)('a' + i % 26), INFO.getMask());
+        }
+
+        assertThat(buffer.getText(0), is(TEXT + (char)('a' + buffer.getSequence(0) % 26)));
+        assertThat(buffer.getText(buffer.size() - 1), is(TEXT + (char)('a' + 1_099 % 26)));
+    }
+
+    @Test
+    public void newestLineShouldNotBeEvictedWhenItIsBiggerThanBudget() throws Exception {
+        buffer = new LogBufferManager(1, 1).create();
+
+        buffer.add(TEXT, INFO.getMask());
+        buffer.add(TEXT + TEXT, INFO.getMask());
+
+        assertThat(buffer.size(), is(1));
+        assertThat(buffer.getText(0), is(TEXT + TEXT));
+    }
+
+    @Test
+    public void bufferShouldBeCleaned() throws Exception {
+        addLines(10);
+
+        buffer.clear();
+
+        assertThat(buffer.isEmpty(), is(true));
+        assertThat(buffer.getBytes(), is(0));
+        assertThat(buffer.getEvicted(), is(0));
+    }
+
+    @Test
+    public void indexOfLineShouldBeFoundBySequence() throws Exception {
+        for (int i = 0; i < 1_001; i++) {
+            buffer.add(TEXT, INFO.getMask());
+        }
+
+        assertThat(buffer.indexOf(CLEANED.getValue()), is(0));
+        assertThat(buffer.indexOf(1_000), is(1_000 - CLEANED.getValue()));
+        assertThat(buffer.indexOf(CLEANED.getValue() - 1), is(-1));
+        assertThat(buffer.indexOf(1_001), is(-1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void exceptionShouldBeThrownWhenIndexIsOutOfBounds() throws Exception {
+        addLines(1);
+
+        buffer.getText(1);
+    }
+
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.LogIngestion.SLICE_LINES;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LogIngestionTest {
+
+    private List<String>  lines;
+    private List<Integer> flags;
+    private int           slices;
+
+    private LogIngestion ingestion;
+
+    @Before
+    public void setUp() throws Exception {
+        lines = new ArrayList<>();
+        flags = new ArrayList<>();
+
+        ingestion = new LogIngestion(new LogIngestion.Sink() {
+            @Override
+            public void onLine(@Nonnull String line, int lineFlags) {
+                lines.add(line);
+                flags.add(lineFlags);
+            }
+
+            @Override
+            public void onSliceProcessed() {
+                slices++;
+            }
+        });
+    }
+
+    private void executeAll() {
+        //noinspection StatementWithEmptyBody
+        while (ingestion.execute()) {
+        }
+    }
+
+    @Test
+    public void textShouldBeSplitIntoClassifiedLines() throws Exception {
+        ingestion.add(INFO.getPrefix() + " line 1\n" + ERROR.getPrefix() + " line 2\nline 3");
+
+        executeAll();
+
+        assertThat(lines.size(), is(3));
+        assertThat(lines.get(0), equalTo(INFO.getPrefix() + " line 1"));
+        assertThat(flags.get(0), is(INFO.getMask()));
+        assertThat(flags.get(1), is(ERROR.getMask()));
+        assertThat(lines.get(2), equalTo("line 3"));
+        assertThat(flags.get(2), is(0));
+    }
+
+    @Test
+    public void emptyLinesShouldBeSkipped() throws Exception {
+        ingestion.add("\n\nline 1\n\n\nline 2\n");
+
+        executeAll();
+
+        assertThat(lines.size(), is(2));
+        assertThat(lines.get(1), equalTo("line 2"));
+    }
+
+    @Test
+    public void commandShouldBeScheduledOnlyOnce() throws Exception {
+        assertThat(ingestion.add("line 1"), is(true));
+        assertThat(ingestion.add("line 2"), is(false));
+
+        executeAll();
+
+        assertThat(ingestion.add("line 3"), is(true));
+    }
+
+    @Test
+    public void largeTextShouldBeProcessedBySeveralSlices() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < SLICE_LINES * 2 + 1; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+
+        ingestion.add(text.toString());
+
+        assertThat(ingestion.execute(), is(true));
+        assertThat(ingestion.isRunning(), is(true));
+        assertThat(ingestion.getProgress() < 100, is(true));
+
+        executeAll();
+
+        assertThat(lines.size(), is(SLICE_LINES * 2 + 1));
+        assertThat(lines.get(SLICE_LINES * 2), equalTo("line " + SLICE_LINES * 2));
+        assertThat(slices >= 3, is(true));
+        assertThat(ingestion.isRunning(), is(false));
+        assertThat(ingestion.getProgress(), is(100));
+    }
+
+    @Test
+    public void orderOfQueuedLinesShouldBeKept() throws Exception {
+        ingestion.add("line 1\nline 2");
+        ingestion.add(INFO.getPrefix() + " line 3", INFO.getMask());
+        ingestion.add("line 4");
+
+        executeAll();
+
+        assertThat(lines.size(), is(4));
+        assertThat(lines.get(1), equalTo("line 2"));
+        assertThat(lines.get(2), equalTo(INFO.getPrefix() + " line 3"));
+        assertThat(flags.get(2), is(INFO.getMask()));
+        assertThat(lines.get(3), equalTo("line 4"));
+    }
+
+    @Test
+    public void queuedTextShouldBeRemovedWhenIngestionIsCancelled() throws Exception {
+        ingestion.add("line 1\nline 2");
+
+        ingestion.cancel();
+
+        assertThat(ingestion.isRunning(), is(false));
+        assertThat(ingestion.execute(), is(false));
+        assertThat(lines.isEmpty(), is(true));
+        assertThat(ingestion.add("line 3"), is(true));
+    }
+
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDERR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDOUT;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class LogSearchIndexTest {
+
+    private LogBuffer      buffer;
+    private LogSearchIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        buffer = new LogBufferManager(10 * 1024 * 1024, 10 * 1024 * 1024).create();
+        index = new LogSearchIndex(buffer);
+
+        add("[INFO] Starting server", INFO);
+        add("[STDOUT] java.lang.NullPointerException", STDOUT);
+        add("[STDERR] java.lang.IllegalStateException: server", STDERR);
+        add("[ERROR] Server failed", ERROR);
+    }
+
+    private void add(String text, MessageType type) {
+        buffer.add(text, type.getMask());
+        index.onLineAdded();
+    }
+
+    @Test
+    public void linesWithSubstringShouldBeFound() throws Exception {
+        assertThat(index.search("Exception", 0), is(new int[]{1, 2}));
+    }
+
+    @Test
+    public void searchShouldBeCaseInsensitive() throws Exception {
+        assertThat(index.search("SERVER", 0), is(new int[]{0, 2, 3}));
+    }
+
+    @Test
+    public void linesShouldBeFilteredByTypes() throws Exception {
+        int errors = ERROR.getMask() | STDERR.getMask();
+
+        assertThat(index.search("server", errors), is(new int[]{2, 3}));
+        assertThat(index.search("", errors), is(new int[]{2, 3}));
+    }
+
+    @Test
+    public void shortQueryShouldBeFound() throws Exception {
+        assertThat(index.search("Se", 0), is(new int[]{0, 2, 3}));
+    }
+
+    @Test
+    public void nothingShouldBeFoundWhenGramIsAbsent() throws Exception {
+        assertThat(index.search("unknown", 0), is(new int[0]));
+    }
+
+    @Test
+    public void candidateShouldBeCheckedByWholeQuery() throws Exception {
+        // all grams of the query exist, but lines don't contain the whole query
+        assertThat(index.search("PointerException: server", 0), is(new int[0]));
+    }
+
+    @Test
+    public void newLinesShouldBeFound() throws Exception {
+        add("[INFO] Server started", INFO);
+
+        assertThat(index.search("server", INFO.getMask()), is(new int[]{0, 4}));
+    }
+
+    @Test
+    public void evictedLinesShouldNotBeFound() throws Exception {
+        buffer = new LogBufferManager(1, 1).create();
+        index = new LogSearchIndex(buffer);
+
+        add("[INFO] first server", INFO);
+        add("[INFO] second server", INFO);
+
+        assertThat(index.search("server", 0), is(new int[]{buffer.getSequence(0)}));
+    }
+
+    @Test
+    public void indexShouldBeCleaned() throws Exception {
+        buffer.clear();
+        index.clear();
+
+        assertThat(index.search("server", 0), is(new int[0]));
+    }
+
+    @Test
+    public void memoryOfIndexShouldBeCountedInBudgetOfBuffer() throws Exception {
+        LogBufferManager manager = new LogBufferManager(10 * 1024 * 1024, 10 * 1024 * 1024);
+        buffer = manager.create();
+        index = new LogSearchIndex(buffer);
+
+        add("[INFO] abcd", INFO);
+
+        // grams of the line: "[in", "inf", "nfo", "fo]", "o] ", "] a", " ab", "abc", "bcd"
+        int indexBytes = 9 * (LogSearchIndex.GRAM_OVERHEAD + LogSearchIndex.POSTING_BYTES);
+
+        assertThat(index.getBytes(), is(indexBytes));
+        assertThat(buffer.getBytes(), is(LogBuffer.LINE_OVERHEAD + 2 * "[INFO] abcd".length() + indexBytes));
+        assertThat(manager.getBytes(), is(buffer.getBytes()));
+    }
+
+    @Test
+    public void postingsShouldBeEvictedWithTheirLines() throws Exception {
+        int budget = 64 * 1024;
+        buffer = new LogBufferManager(budget, budget).create();
+        index = new LogSearchIndex(buffer);
+
+        add("[INFO] unique first line", INFO);
+
+        for (int i = 0; i < 10_000; i++) {
+            add("[INFO] line " + i, INFO);
+        }
+
+        assertThat(buffer.getBytes() <= budget, is(true));
+        assertThat(buffer.getEvicted() > 0, is(true));
+        // grams which are met only in evicted lines are removed from the index
+        assertThat(index.search("unique", 0), is(new int[0]));
+        assertThat(index.search("[INFO]", 0).length, is(buffer.size()));
+    }
+
+    @Test
+    public void memoryOfIndexShouldBeReleasedWhenBufferIsCleaned() throws Exception {
+        LogBufferManager manager = new LogBufferManager(10 * 1024 * 1024, 10 * 1024 * 1024);
+        buffer = manager.create();
+        index = new LogSearchIndex(buffer);
+        add("[INFO] Starting server", INFO);
+
+        buffer.clear();
+
+        assertThat(index.getBytes(), is(0));
+        assertThat(manager.getBytes(), is(0));
+        assertThat(index.search("server", 0), is(new int[0]));
+
+        index.clear();
+
+        assertThat(manager.getBytes(), is(0));
+    }
+
+}
@@ -59,6 +59,26 @@ public class MessageBuilderTest {
         assertThat(content, equalTo(getContentByPath(getClass(), "MessageWithTwoTypesAndContent.txt")));
     }
 
+    @Test
+    public void messageWithTypesMaskAndContentShouldBeGenerated() throws Exception {
+        String content = new MessageBuilder().types(DOCKER.getMask() | ERROR.getMask())
+                                             .message(DOCKER.getPrefix() + ' ' + ERROR.getPrefix() + ' ' + SOME_TEXT)
+                                             .build()
+                                             .asString();
+
+        assertThat(content, equalTo(getContentByPath(getClass(), "MessageWithTwoTypesAndContent.txt")));
+    }
+
+    @Test
+    public void contentOfMessageShouldBeSanitized() throws Exception {
+        String content = new MessageBuilder().type(INFO)
+                                             .message(INFO.getPrefix() + " <script>")
+                                             .build()
+                                             .asString();
+
+        assertThat(content, equalTo("<pre style='margin:0px;'>[<span style='color:lightgreen;'><b>INFO</b></span>] &lt;script&gt;</pre>"));
+    }
+
     @Test
     public void messageWithContentWithoutTypeShouldBeGenerated() throws Exception {
         String content = new MessageBuilder().message(SOME_TEXT)
@@ -64,4 +64,16 @@ public class MessageTypeTest {
         MessageType.detect(SOME_TEXT);
     }
 
+    @Test
+    public void masksOfMessageTypesShouldBeDifferentBits() throws Exception {
+        int masks = 0;
+
+        for (MessageType type : MessageType.values()) {
+            assertThat(Integer.bitCount(type.getMask()), is(1));
+            assertThat(masks & type.getMask(), is(0));
+
+            masks |= type.getMask();
+        }
+    }
+
 }
\ No newline at end of file
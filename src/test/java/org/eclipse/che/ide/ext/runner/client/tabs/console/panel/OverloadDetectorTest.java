@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.OverloadDetector.WINDOW;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class OverloadDetectorTest {
+
+    private static final int  THRESHOLD = 100;
+    private static final long START     = 1_000_000;
+
+    private OverloadDetector detector;
+
+    @Before
+    public void setUp() throws Exception {
+        detector = new OverloadDetector(THRESHOLD);
+    }
+
+    @Test
+    public void consoleShouldNotBeOverloadedWhenRateIsBelowThreshold() {
+        assertThat(detector.onLines(60, START), is(false));
+        assertThat(detector.onLines(40, START + 500), is(false));
+        assertThat(detector.onLines(100, START + WINDOW), is(false));
+        assertThat(detector.isOverloaded(), is(false));
+    }
+
+    @Test
+    public void consoleShouldBeOverloadedAsSoonAsThresholdIsExceeded() {
+        assertThat(detector.onLines(60, START), is(false));
+        assertThat(detector.onLines(41, START + 10), is(true));
+        assertThat(detector.isOverloaded(), is(true));
+    }
+
+    @Test
+    public void overloadShouldContinueWhileRateIsAboveHalfOfThreshold() {
+        detector.onLines(THRESHOLD + 1, START);
+
+        assertThat(detector.onLines(THRESHOLD / 2 + 1, START + WINDOW), is(true));
+        assertThat(detector.onLines(0, START + 2 * WINDOW), is(true));
+    }
+
+    @Test
+    public void overloadShouldBeFinishedAfterQuietWindow() {
+        detector.onLines(THRESHOLD + 1, START);
+        detector.onLines(10, START + WINDOW);
+
+        assertThat(detector.onLines(0, START + 2 * WINDOW), is(false));
+    }
+
+    @Test
+    public void overloadShouldBeFinishedWhenNoLinesArePrinted() {
+        detector.onLines(THRESHOLD * 10, START);
+
+        assertThat(detector.onLines(0, START + WINDOW / 2), is(true));
+        assertThat(detector.onLines(0, START + 2 * WINDOW), is(false));
+    }
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Test;
+
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.DOCKER;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.ERROR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.INFO;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDERR;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.STDOUT;
+import static org.eclipse.che.ide.ext.runner.client.tabs.console.panel.MessageType.WARNING;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class PrefixClassifierTest {
+
+    private static final String SOME_TEXT = " some text";
+
+    @Test
+    public void lineWithOnePrefixShouldBeClassified() throws Exception {
+        for (MessageType type : MessageType.values()) {
+            assertThat(PrefixClassifier.classify(type.getPrefix() + SOME_TEXT), is(type.getMask()));
+        }
+    }
+
+    @Test
+    public void lineWithStackedPrefixesShouldBeClassified() throws Exception {
+        int mask = PrefixClassifier.classify(DOCKER.getPrefix() + ' ' + ERROR.getPrefix() + SOME_TEXT);
+
+        assertThat(mask, is(DOCKER.getMask() | ERROR.getMask()));
+    }
+
+    @Test
+    public void prefixesShouldBeParsedOnlyAtTheBeginningOfLine() throws Exception {
+        assertThat(PrefixClassifier.classify("text " + INFO.getPrefix()), is(0));
+        assertThat(PrefixClassifier.classify(STDOUT.getPrefix() + " text " + ERROR.getPrefix()), is(STDOUT.getMask()));
+    }
+
+    @Test
+    public void stackedPrefixesShouldBeSeparatedByOneSpace() throws Exception {
+        int mask = PrefixClassifier.classify(DOCKER.getPrefix() + "  " + ERROR.getPrefix() + SOME_TEXT);
+
+        assertThat(mask, is(DOCKER.getMask()));
+    }
+
+    @Test
+    public void repeatedPrefixShouldBeParsedOnce() throws Exception {
+        String line = WARNING.getPrefix() + ' ' + WARNING.getPrefix() + SOME_TEXT;
+
+        assertThat(PrefixClassifier.classify(line), is(WARNING.getMask()));
+    }
+
+    @Test
+    public void lineWithoutKnownPrefixShouldNotBeClassified() throws Exception {
+        assertThat(PrefixClassifier.classify(""), is(0));
+        assertThat(PrefixClassifier.classify("["), is(0));
+        assertThat(PrefixClassifier.classify("[DEBUG] text"), is(0));
+        assertThat(PrefixClassifier.classify("[ф] text"), is(0));
+    }
+
+    @Test
+    public void prefixLengthShouldBeReturned() throws Exception {
+        assertThat(PrefixClassifier.getPrefixLength(0), is(0));
+        assertThat(PrefixClassifier.getPrefixLength(STDERR.getMask()), is(STDERR.getPrefix().length()));
+        assertThat(PrefixClassifier.getPrefixLength(DOCKER.getMask() | ERROR.getMask()),
+                   is((DOCKER.getPrefix() + ' ' + ERROR.getPrefix()).length()));
+    }
+
+    @Test
+    public void prefixHtmlShouldBeCached() throws Exception {
+        String line = INFO.getPrefix() + ' ' + ERROR.getPrefix() + SOME_TEXT;
+        int mask = INFO.getMask() | ERROR.getMask();
+
+        assertThat(PrefixClassifier.getPrefixHtml(line, mask) == PrefixClassifier.getPrefixHtml(line, mask), is(true));
+        assertThat(PrefixClassifier.getPrefixHtml(line, mask).asString(),
+                   is("<pre style='margin:0px;'>[<span style='color:lightgreen;'><b>INFO</b></span>]" +
+                      "[<span style='color:#F62217;'><b>ERROR</b></span>]"));
+    }
+
+    @Test
+    public void prefixHtmlShouldKeepOrderOfPrefixesInLine() throws Exception {
+        String line = STDERR.getPrefix() + ' ' + ERROR.getPrefix() + SOME_TEXT;
+        int mask = PrefixClassifier.classify(line);
+
+        assertThat(PrefixClassifier.getPrefixHtml(line, mask).asString(),
+                   is("<pre style='margin:0px;'>[<span style='color:#F62217;'><b>STDERR</b></span>]" +
+                      "[<span style='color:#F62217;'><b>ERROR</b></span>]"));
+    }
+
+}
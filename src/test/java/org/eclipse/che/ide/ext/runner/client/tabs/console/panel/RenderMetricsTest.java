@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.tabs.console.panel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class RenderMetricsTest {
+
+    private RenderMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new RenderMetrics();
+    }
+
+    @Test
+    public void metricsShouldBeEmpty() throws Exception {
+        assertThat(metrics.getFlushCount(), is(0));
+        assertThat(metrics.getAverageLinesPerFlush(), is(0D));
+        assertThat(metrics.getAverageFlushTime(), is(0D));
+    }
+
+    @Test
+    public void flushesShouldBeRegistered() throws Exception {
+        metrics.onFlushed(10, 4, 20);
+        metrics.onFlushed(30, 2, 10);
+
+        assertThat(metrics.getFlushCount(), is(2));
+
+        assertThat(metrics.getLastLinesPerFlush(), is(30));
+        assertThat(metrics.getMaxLinesPerFlush(), is(30));
+        assertThat(metrics.getAverageLinesPerFlush(), is(20D));
+
+        assertThat(metrics.getLastFlushTime(), is(2L));
+        assertThat(metrics.getMaxFlushTime(), is(4L));
+        assertThat(metrics.getAverageFlushTime(), is(3D));
+
+        assertThat(metrics.getLastLatency(), is(10L));
+        assertThat(metrics.getMaxLatency(), is(20L));
+    }
+
+}
@@ -15,6 +15,7 @@ import com.google.gwt.user.client.ui.IsWidget;
 import com.google.gwtmockito.GwtMockitoTestRunner;
 
 import org.eclipse.che.ide.ext.runner.client.inject.factories.WidgetFactory;
+import org.eclipse.che.ide.ext.runner.client.metrics.RunnerMetrics;
 import org.eclipse.che.ide.ext.runner.client.models.Runner;
 import org.eclipse.che.ide.ext.runner.client.selection.SelectionManager;
 import org.eclipse.che.ide.ext.runner.client.tabs.history.runner.RunnerWidget;
@@ -46,6 +47,8 @@ public class HistoryPresenterTest {
     private WidgetFactory    widgetFactory;
     @Mock
     private SelectionManager selectionManager;
+    @Mock
+    private RunnerMetrics    runnerMetrics;
 
     @Mock
     private RunnerWidget runnerWidget;
@@ -170,6 +173,7 @@ public class HistoryPresenterTest {
         historyPresenter.onRunnerCleanBtnClicked(runner);
 
         verify(view).removeRunner(runnerWidget);
+        verify(runnerMetrics).remove(runner);
     }
 
     @Test
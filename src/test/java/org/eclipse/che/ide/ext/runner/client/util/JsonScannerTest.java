@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2015 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.runner.client.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Andrey Plotnikov
+ */
+public class JsonScannerTest {
+
+    @Test
+    public void stringWithoutEscapesShouldBeRead() {
+        JsonScanner scanner = new JsonScanner("  \"some text\" ");
+
+        assertThat(scanner.readString(), is("some text"));
+        assertThat(scanner.isEnd(), is(true));
+    }
+
+    @Test
+    public void stringWithEscapesShouldBeRead() {
+        JsonScanner scanner = new JsonScanner("\"tab\\tquote\\\"slash\\/line\\nunicode\\u0041\\u00e9\"");
+
+        assertThat(scanner.readString(), is("tab\tquote\"slash/line\nunicodeA\u00e9"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unterminatedStringShouldNotBeRead() {
+        new JsonScanner("\"text").readString();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void wrongUnicodeEscapeShouldNotBeRead() {
+        new JsonScanner("\"\\u00zz\"").readString();
+    }
+
+    @Test
+    public void integerShouldBeRead() {
+        assertThat(new JsonScanner(" 12345").readInt(), is(12345));
+        assertThat(new JsonScanner("-7").readInt(), is(-7));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fractionShouldNotBeReadAsInteger() {
+        new JsonScanner("1.5").readInt();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tooBigNumberShouldNotBeReadAsInteger() {
+        new JsonScanner("12345678901").readInt();
+    }
+
+    @Test
+    public void characterShouldBeConsumedOnlyWhenItIsNext() {
+        JsonScanner scanner = new JsonScanner(" { }");
+
+        assertThat(scanner.consume('['), is(false));
+        assertThat(scanner.consume('{'), is(true));
+        assertThat(scanner.peek(), is('}'));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unexpectedCharacterShouldBeReported() {
+        new JsonScanner("[").expect('{');
+    }
+
+    @Test
+    public void valuesOfAllTypesShouldBeSkipped() {
+        JsonScanner scanner = new JsonScanner("{\"a\":[1,-2.5e3,true,false,null,{}],\"b\":{\"c\":\"}\"},\"d\":[]} 7");
+
+        scanner.skipValue();
+
+        assertThat(scanner.readInt(), is(7));
+        assertThat(scanner.isEnd(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void brokenObjectShouldNotBeSkipped() {
+        new JsonScanner("{\"a\":1,}").skipValue();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void wrongLiteralShouldNotBeSkipped() {
+        new JsonScanner("nul").skipValue();
+    }
+
+}
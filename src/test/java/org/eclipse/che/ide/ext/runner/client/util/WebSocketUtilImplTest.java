@@ -10,20 +10,37 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.runner.client.util;
 
+import org.eclipse.che.ide.websocket.Message;
 import org.eclipse.che.ide.websocket.MessageBus;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.events.ConnectionClosedHandler;
+import org.eclipse.che.ide.websocket.events.ConnectionOpenedHandler;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
+import org.eclipse.che.ide.websocket.events.WebSocketClosedEvent;
 import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 /**
  * @author Dmitry Shnurenko
@@ -31,38 +48,237 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class WebSocketUtilImplTest {
 
-    private static final String SOME_TEXT = "someText";
+    private static final String SOME_TEXT  = "someText";
+    private static final String OTHER_TEXT = "otherText";
 
+    @Captor
+    private ArgumentCaptor<ScheduledCommand>        commandCaptor;
+    @Captor
+    private ArgumentCaptor<MessageHandler>          messageHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<ConnectionOpenedHandler> openedHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<ConnectionClosedHandler> closedHandlerCaptor;
+
+    @Mock
+    private MessageBus                     messageBus;
+    @Mock
+    private Scheduler                      scheduler;
+    @Mock
+    private SubscriptionHandler            handler;
+    @Mock
+    private SubscriptionHandler            otherHandler;
+    @Mock
+    private Message                        message;
     @Mock
-    private MessageBus          messageBus;
+    private WebSocketUtil.ReconnectHandler reconnectHandler;
     @Mock
-    private SubscriptionHandler handler;
+    private WebSocketClosedEvent           closedEvent;
     @InjectMocks
-    private WebSocketUtilImpl   util;
+    private WebSocketUtilImpl              util;
+
+    private void applyChanges() {
+        verify(scheduler).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+    }
+
+    private MessageHandler subscribedMessageHandler(String channel) throws Exception {
+        verify(messageBus).subscribe(eq(channel), messageHandlerCaptor.capture());
+        return messageHandlerCaptor.getValue();
+    }
 
     @Test
     public void handlerShouldBeSubscribed() throws Exception {
         util.subscribeHandler(SOME_TEXT, handler);
 
-        verify(messageBus).subscribe(SOME_TEXT, handler);
+        verify(messageBus, never()).subscribe(anyString(), any(MessageHandler.class));
+
+        applyChanges();
+
+        subscribedMessageHandler(SOME_TEXT).onMessage(message);
+
+        verify(handler).onMessage(message);
     }
 
     @Test
     public void handlerShouldBeUnSubscribed() throws Exception {
-        when(messageBus.isHandlerSubscribed(handler, SOME_TEXT)).thenReturn(true);
+        util.subscribeHandler(SOME_TEXT, handler);
+        applyChanges();
+        MessageHandler messageHandler = subscribedMessageHandler(SOME_TEXT);
 
         util.unSubscribeHandler(SOME_TEXT, handler);
+        verify(scheduler, times(2)).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
 
-        verify(messageBus).unsubscribe(SOME_TEXT, handler);
+        verify(messageBus).unsubscribe(SOME_TEXT, messageHandler);
     }
 
     @Test
     public void handlerShouldNotBeUnSubscribedIfItIsUnSubscribed() throws Exception {
-        when(messageBus.isHandlerSubscribed(handler, SOME_TEXT)).thenReturn(false);
+        util.unSubscribeHandler(SOME_TEXT, handler);
+
+        verify(scheduler, never()).scheduleDeferred(any(ScheduledCommand.class));
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+    }
 
+    @Test
+    public void channelShouldBeSubscribedOnceForSeveralHandlers() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
+        util.subscribeHandler(SOME_TEXT, otherHandler);
+        applyChanges();
+
+        subscribedMessageHandler(SOME_TEXT).onMessage(message);
+
+        verify(handler).onMessage(message);
+        verify(otherHandler).onMessage(message);
+    }
+
+    @Test
+    public void changesShouldBeAppliedInOneCommand() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
+        util.subscribeHandler(OTHER_TEXT, otherHandler);
+        applyChanges();
+
+        verify(messageBus).subscribe(eq(SOME_TEXT), any(MessageHandler.class));
+        verify(messageBus).subscribe(eq(OTHER_TEXT), any(MessageHandler.class));
+    }
+
+    @Test
+    public void channelShouldNotBeTouchedWhenHandlerLeavesInSameTurn() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
         util.unSubscribeHandler(SOME_TEXT, handler);
+        applyChanges();
+
+        verify(messageBus, never()).subscribe(anyString(), any(MessageHandler.class));
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+    }
+
+    @Test
+    public void channelShouldBeKeptUntilLastHandlerLeaves() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
+        util.subscribeHandler(SOME_TEXT, otherHandler);
+        applyChanges();
+        MessageHandler messageHandler = subscribedMessageHandler(SOME_TEXT);
+
+        util.unSubscribeHandler(SOME_TEXT, handler);
+        verify(scheduler, times(2)).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+
+        messageHandler.onMessage(message);
+
+        verify(handler, never()).onMessage(message);
+        verify(otherHandler).onMessage(message);
+
+        util.unSubscribeHandler(SOME_TEXT, otherHandler);
+        verify(scheduler, times(3)).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+
+        verify(messageBus).unsubscribe(SOME_TEXT, messageHandler);
+    }
+
+    @Test
+    public void repeatedSubscriptionOfHandlerShouldBeCounted() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
+        util.subscribeHandler(SOME_TEXT, handler);
+        applyChanges();
+        MessageHandler messageHandler = subscribedMessageHandler(SOME_TEXT);
+
+        messageHandler.onMessage(message);
+        verify(handler).onMessage(message);
+
+        util.unSubscribeHandler(SOME_TEXT, handler);
+        verify(scheduler, times(2)).scheduleDeferred(commandCaptor.capture());
+        commandCaptor.getValue().execute();
+
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+    }
+
+    @Test
+    public void handlerShouldBeAbleToUnSubscribeWhileMessageIsDelivered() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler);
+        util.subscribeHandler(SOME_TEXT, otherHandler);
+        applyChanges();
+
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                util.unSubscribeHandler(SOME_TEXT, handler);
+                util.unSubscribeHandler(SOME_TEXT, otherHandler);
+                return null;
+            }
+        }).when(handler).onMessage(message);
+
+        subscribedMessageHandler(SOME_TEXT).onMessage(message);
+
+        verify(handler).onMessage(message);
+        verify(otherHandler, never()).onMessage(message);
+    }
+
+    private void reconnect() {
+        verify(messageBus).addOnCloseHandler(closedHandlerCaptor.capture());
+        verify(messageBus).addOnOpenHandler(openedHandlerCaptor.capture());
+
+        closedHandlerCaptor.getValue().onClose(closedEvent);
+        openedHandlerCaptor.getValue().onOpen();
+    }
+
+    @Test
+    public void channelShouldBeSubscribedAgainAfterReconnect() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler, reconnectHandler);
+        applyChanges();
+        MessageHandler messageHandler = subscribedMessageHandler(SOME_TEXT);
+
+        reconnect();
+
+        InOrder inOrder = inOrder(messageBus, reconnectHandler);
+        inOrder.verify(messageBus).unsubscribe(SOME_TEXT, messageHandler);
+        inOrder.verify(messageBus).subscribe(SOME_TEXT, messageHandler);
+        inOrder.verify(reconnectHandler).onReconnected();
+    }
+
+    @Test
+    public void channelShouldBeSubscribedAfterReconnectWhenSubscriptionFailedWhileConnectionWasClosed() throws Exception {
+        doThrow(new WebSocketException(SOME_TEXT)).doNothing().when(messageBus).subscribe(eq(SOME_TEXT), any(MessageHandler.class));
+
+        util.subscribeHandler(SOME_TEXT, handler, reconnectHandler);
+        applyChanges();
+
+        reconnect();
+
+        verify(messageBus, times(2)).subscribe(eq(SOME_TEXT), messageHandlerCaptor.capture());
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+        verify(reconnectHandler).onReconnected();
+
+        messageHandlerCaptor.getValue().onMessage(message);
+
+        verify(handler).onMessage(message);
+    }
+
+    @Test
+    public void channelShouldNotBeSubscribedAgainWhenConnectionIsOpenedFirstTime() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler, reconnectHandler);
+        applyChanges();
+
+        verify(messageBus).addOnOpenHandler(openedHandlerCaptor.capture());
+        openedHandlerCaptor.getValue().onOpen();
+
+        verify(messageBus, never()).unsubscribe(anyString(), any(MessageHandler.class));
+        verify(reconnectHandler, never()).onReconnected();
+    }
+
+    @Test
+    public void reconnectHandlerOfUnSubscribedHandlerShouldNotBeNotified() throws Exception {
+        util.subscribeHandler(SOME_TEXT, handler, reconnectHandler);
+        util.subscribeHandler(SOME_TEXT, otherHandler);
+        applyChanges();
+
+        util.unSubscribeHandler(SOME_TEXT, handler);
+
+        reconnect();
 
-        verify(messageBus, never()).unsubscribe(anyString(), any(SubscriptionHandler.class));
+        verify(reconnectHandler, never()).onReconnected();
     }
 
-}
\ No newline at end of file
+}